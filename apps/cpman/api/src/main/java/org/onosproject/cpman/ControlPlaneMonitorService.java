@@ -20,6 +20,7 @@ import org.onlab.util.Tools;
 import org.onosproject.cluster.NodeId;
 import org.onosproject.net.DeviceId;
 
+import java.util.Collection;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
@@ -45,6 +46,17 @@ public interface ControlPlaneMonitorService {
     void updateMetric(ControlMetric controlMetric, int updateIntervalInMinutes,
                       Optional<DeviceId> deviceId);
 
+    /**
+     * Adds a snapshot of control metric values. The values are stored at
+     * once, rather than being buffered until all metrics of their resource
+     * have been received.
+     *
+     * @param controlMetrics control plane metrics of a same device or of
+     *                       the system
+     * @param deviceId       device identifier
+     */
+    void updateMetrics(Collection<ControlMetric> controlMetrics, Optional<DeviceId> deviceId);
+
     /**
      * Adds a new control metric value with a certain update interval.
      *
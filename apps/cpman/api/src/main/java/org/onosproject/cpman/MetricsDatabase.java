@@ -22,6 +22,27 @@ import java.util.concurrent.TimeUnit;
  * Database for storing a metric.
  */
 public interface MetricsDatabase {
+
+    /**
+     * Aggregation function over a range of metric values.
+     */
+    enum Aggregation {
+        /**
+         * Average of the values.
+         */
+        AVG,
+
+        /**
+         * Smallest value.
+         */
+        MIN,
+
+        /**
+         * Largest value.
+         */
+        MAX
+    }
+
     /**
      * Returns the metric name of this database.
      *
@@ -123,6 +144,30 @@ public interface MetricsDatabase {
      */
     double[] metrics(String metricType, long startTime, long endTime);
 
+    /**
+     * Aggregates the metric values of a given metric type for a given
+     * period, leaving out the missing values.
+     *
+     * @param metricType    metric type
+     * @param aggregation   aggregation function
+     * @param startTime     start time in seconds, exclusive
+     * @param endTime       end time in seconds, inclusive
+     * @return aggregated value, or NaN if there is no value in the period
+     */
+    double aggregate(String metricType, Aggregation aggregation, long startTime, long endTime);
+
+    /**
+     * Returns a percentile of the metric values of a given metric type for
+     * a given period, using the nearest rank method.
+     *
+     * @param metricType    metric type
+     * @param percentile    percentile, between 0 and 100
+     * @param startTime     start time in seconds, exclusive
+     * @param endTime       end time in seconds, inclusive
+     * @return percentile, or NaN if there is no value in the period
+     */
+    double percentile(String metricType, double percentile, long startTime, long endTime);
+
     /**
      * Returns the latest metric update time.
      *
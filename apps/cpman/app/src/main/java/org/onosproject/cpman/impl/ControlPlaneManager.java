@@ -34,6 +34,7 @@ import org.slf4j.LoggerFactory;
 
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.onosproject.cpman.message.ControlMessageEvent.Type.STATS_UPDATE;
 
@@ -81,10 +82,13 @@ public class ControlPlaneManager {
             // TODO: this can be changed to switch-case if we have more than
             // one event type
             if (event.type().equals(STATS_UPDATE)) {
-                controlMessages.forEach(c ->
-                    monitorService.updateMetric(getControlMetric(c), 1,
-                            Optional.of(c.deviceId()))
-                );
+                // store the metrics of each device at once
+                controlMessages.stream()
+                        .collect(Collectors.groupingBy(ControlMessage::deviceId,
+                                Collectors.mapping(ControlPlaneManager.this::getControlMetric,
+                                        Collectors.toList())))
+                        .forEach((deviceId, metrics) ->
+                                monitorService.updateMetrics(metrics, Optional.of(deviceId)));
             }
         }
     }
@@ -44,6 +44,7 @@ import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -205,6 +206,43 @@ public class ControlPlaneMonitor implements ControlPlaneMonitorService {
         }
     }
 
+    @Override
+    public void updateMetrics(Collection<ControlMetric> controlMetrics,
+                              Optional<DeviceId> deviceId) {
+        if (deviceId.isPresent()) {
+            Map<ControlMetricType, Double> messages = filter(controlMetrics, CONTROL_MESSAGE_METRICS);
+            if (!messages.isEmpty()) {
+                availableDeviceIdSet.add(deviceId.get());
+                updateControlMessages(messages, deviceId.get());
+            }
+        } else {
+            Map<ControlMetricType, Double> cpu = filter(controlMetrics, CPU_METRICS);
+            if (!cpu.isEmpty()) {
+                cpuMetrics.updateMetrics(convertMap(cpu));
+            }
+            Map<ControlMetricType, Double> memory = filter(controlMetrics, MEMORY_METRICS);
+            if (!memory.isEmpty()) {
+                memoryMetrics.updateMetrics(convertMap(memory));
+            }
+        }
+    }
+
+    /**
+     * Returns the loads of the given metrics whose type is among the given ones.
+     *
+     * @param controlMetrics control metrics
+     * @param metricTypes    metric types
+     * @return a metric map which is comprised of metric type and value
+     */
+    private Map<ControlMetricType, Double> filter(Collection<ControlMetric> controlMetrics,
+                                                  Set<ControlMetricType> metricTypes) {
+        Map<ControlMetricType, Double> metricMap = Maps.newHashMap();
+        controlMetrics.stream()
+                .filter(cm -> metricTypes.contains(cm.metricType()))
+                .forEach(cm -> metricMap.put(cm.metricType(), (double) cm.metricValue().getLoad()));
+        return metricMap;
+    }
+
     @Override
     public void updateMetric(ControlMetric cm, int updateIntervalInMinutes,
                              String resourceName) {
@@ -319,7 +357,7 @@ public class ControlPlaneMonitor implements ControlPlaneMonitorService {
     private MetricsDatabase genMDbBuilder(String resourceName,
                                           Type resourceType,
                                           Set<ControlMetricType> metricTypes) {
-        MetricsDatabase.Builder builder = new DefaultMetricsDatabase.Builder();
+        MetricsDatabase.Builder builder = new RingBufferMetricsDatabase.Builder();
         builder.withMetricName(resourceType.toString());
         builder.withResourceName(resourceName);
         metricTypes.forEach(type -> builder.addMetricType(type.toString()));
@@ -36,6 +36,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.DoubleStream;
 import java.util.stream.IntStream;
 
 import static com.google.common.base.Preconditions.checkArgument;
@@ -57,6 +58,7 @@ public final class DefaultMetricsDatabase implements MetricsDatabase {
     private static final String NON_EXIST_METRIC = "Non-existing metric type.";
     private static final String INSUFFICIENT_DURATION = "Given duration less than one minute.";
     private static final String EXCEEDED_DURATION = "Given duration exceeds a day time.";
+    private static final String INVALID_PERCENTILE = "Percentile must be between 0 and 100.";
 
     /**
      * Constructs a metrics database using the given metric name and
@@ -207,6 +209,35 @@ public final class DefaultMetricsDatabase implements MetricsDatabase {
         }
     }
 
+    @Override
+    public double aggregate(String metricType, Aggregation aggregation, long startTime, long endTime) {
+        checkNotNull(aggregation);
+        DoubleStream values = Arrays.stream(metrics(metricType, startTime, endTime))
+                .filter(value -> !Double.isNaN(value));
+        switch (aggregation) {
+            case MIN:
+                return values.min().orElse(Double.NaN);
+            case MAX:
+                return values.max().orElse(Double.NaN);
+            default:
+                return values.average().orElse(Double.NaN);
+        }
+    }
+
+    @Override
+    public double percentile(String metricType, double percentile, long startTime, long endTime) {
+        checkArgument(percentile >= 0 && percentile <= 100, INVALID_PERCENTILE);
+        double[] values = Arrays.stream(metrics(metricType, startTime, endTime))
+                .filter(value -> !Double.isNaN(value))
+                .sorted()
+                .toArray();
+        if (values.length == 0) {
+            return Double.NaN;
+        }
+        int rank = (int) Math.ceil(percentile / 100 * values.length);
+        return values[Math.max(rank, 1) - 1];
+    }
+
     @Override
     public long lastUpdate(String metricType) {
         try {
@@ -0,0 +1,491 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.cpman.impl;
+
+import com.google.common.collect.ImmutableMap;
+import org.onosproject.cpman.MetricsDatabase;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * An in-memory implementation of control plane metrics back-end database.
+ * <p>
+ * The samples of each metric type are kept in ring buffers of primitive
+ * values, one per resolution: the samples of the last day, one per minute,
+ * and aggregates of the last week per hour and of the last month per day.
+ * All metric types of a database share the time slots of a resolution and
+ * the values of a metric type are contiguous, so a snapshot of all metric
+ * types is written at once and a range is aggregated by scanning an array.
+ * </p>
+ */
+public final class RingBufferMetricsDatabase implements MetricsDatabase {
+
+    private static final long SECONDS_OF_DAY = 60L * 60L * 24L;
+    private static final long SECONDS_OF_MINUTE = 60L;
+    private static final String NON_EXIST_METRIC = "Non-existing metric type.";
+    private static final String INSUFFICIENT_DURATION = "Given duration less than one minute.";
+    private static final String EXCEEDED_DURATION = "Given duration exceeds a day time.";
+    private static final String INVALID_PERCENTILE = "Percentile must be between 0 and 100.";
+
+    private final String metricName;
+    private final String resourceName;
+    private final Map<String, Integer> columns;
+
+    // finest resolution first; the finest one keeps the samples themselves
+    private final Resolution[] resolutions;
+
+    private final double[] lastValues;
+    private long lastUpdateTime;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private RingBufferMetricsDatabase(String metricName, String resourceName,
+                                      Map<String, Integer> columns, Resolution[] resolutions) {
+        this.metricName = metricName;
+        this.resourceName = resourceName;
+        this.columns = columns;
+        this.resolutions = resolutions;
+        this.lastValues = new double[columns.size()];
+        Arrays.fill(lastValues, Double.NaN);
+    }
+
+    @Override
+    public String metricName() {
+        return metricName;
+    }
+
+    @Override
+    public String resourceName() {
+        return resourceName;
+    }
+
+    @Override
+    public void updateMetric(String metricType, double value) {
+        updateMetric(metricType, value, System.currentTimeMillis() / 1000L);
+    }
+
+    @Override
+    public void updateMetric(String metricType, double value, long time) {
+        int column = column(metricType);
+        lock.writeLock().lock();
+        try {
+            write(column, value, time);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void updateMetrics(Map<String, Double> metrics) {
+        updateMetrics(metrics, System.currentTimeMillis() / 1000L);
+    }
+
+    @Override
+    public void updateMetrics(Map<String, Double> metrics, long time) {
+        int[] metricColumns = new int[metrics.size()];
+        double[] values = new double[metrics.size()];
+        int i = 0;
+        for (Map.Entry<String, Double> metric : metrics.entrySet()) {
+            metricColumns[i] = column(metric.getKey());
+            values[i++] = metric.getValue();
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (i = 0; i < metricColumns.length; i++) {
+                write(metricColumns[i], values[i], time);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void write(int column, double value, long time) {
+        for (Resolution resolution : resolutions) {
+            resolution.add(column, value, time);
+        }
+        lastValues[column] = value;
+        lastUpdateTime = Math.max(lastUpdateTime, time);
+    }
+
+    @Override
+    public double recentMetric(String metricType) {
+        int column = column(metricType);
+        lock.readLock().lock();
+        try {
+            return lastValues[column];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public double[] recentMetrics(String metricType, int duration, TimeUnit unit) {
+        int column = column(metricType);
+        lock.readLock().lock();
+        try {
+            long endTime = lastUpdateTime;
+            long startTime = endTime - TimeUnit.SECONDS.convert(duration, unit);
+            checkTimeRange(startTime, endTime);
+            return resolutions[0].samples(column, startTime, endTime);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public double minMetric(String metricType) {
+        return aggregateOfDay(metricType, Aggregation.MIN);
+    }
+
+    @Override
+    public double maxMetric(String metricType) {
+        return aggregateOfDay(metricType, Aggregation.MAX);
+    }
+
+    private double aggregateOfDay(String metricType, Aggregation aggregation) {
+        int column = column(metricType);
+        lock.readLock().lock();
+        try {
+            return resolutions[0].aggregate(column, aggregation,
+                                            lastUpdateTime - SECONDS_OF_DAY, lastUpdateTime);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public double[] metrics(String metricType) {
+        int column = column(metricType);
+        lock.readLock().lock();
+        try {
+            return resolutions[0].samples(column, lastUpdateTime - SECONDS_OF_DAY, lastUpdateTime);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public double[] metrics(String metricType, long startTime, long endTime) {
+        int column = column(metricType);
+        checkTimeRange(startTime, endTime);
+        lock.readLock().lock();
+        try {
+            return resolutions[0].samples(column, startTime, endTime);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long lastUpdate(String metricType) {
+        column(metricType);
+        lock.readLock().lock();
+        try {
+            return lastUpdateTime;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The period may be longer than a day, in which case the samples are
+     * read from the finest resolution still holding its start.
+     * </p>
+     */
+    @Override
+    public double aggregate(String metricType, Aggregation aggregation,
+                            long startTime, long endTime) {
+        int column = column(metricType);
+        checkNotNull(aggregation);
+        lock.readLock().lock();
+        try {
+            return resolution(startTime).aggregate(column, aggregation, startTime, endTime);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * When the period is longer than a day, the per-slot averages of a
+     * coarser resolution stand for the samples.
+     * </p>
+     */
+    @Override
+    public double percentile(String metricType, double percentile,
+                             long startTime, long endTime) {
+        int column = column(metricType);
+        checkArgument(percentile >= 0 && percentile <= 100, INVALID_PERCENTILE);
+        double[] samples;
+        lock.readLock().lock();
+        try {
+            samples = resolution(startTime).samples(column, startTime, endTime);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        int count = 0;
+        for (double sample : samples) {
+            if (!Double.isNaN(sample)) {
+                samples[count++] = sample;
+            }
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+        Arrays.sort(samples, 0, count);
+        int rank = (int) Math.ceil(percentile / 100 * count);
+        return samples[Math.max(rank, 1) - 1];
+    }
+
+    // finest resolution whose ring still holds the given time
+    private Resolution resolution(long startTime) {
+        for (Resolution resolution : resolutions) {
+            if (resolution.holds(startTime, lastUpdateTime)) {
+                return resolution;
+            }
+        }
+        return resolutions[resolutions.length - 1];
+    }
+
+    private int column(String metricType) {
+        Integer column = columns.get(metricType);
+        checkArgument(column != null, NON_EXIST_METRIC);
+        return column;
+    }
+
+    // try to check whether projected time range is within a day
+    private void checkTimeRange(long startTime, long endTime) {
+        // check whether the given startTime and endTime larger than 1 minute
+        checkArgument(endTime - startTime >= SECONDS_OF_MINUTE, INSUFFICIENT_DURATION);
+
+        // check whether the given start time and endTime smaller than 1 day
+        checkArgument(endTime - startTime <= SECONDS_OF_DAY, EXCEEDED_DURATION);
+    }
+
+    /**
+     * Ring buffer of time slots of a given length, holding for each metric
+     * type either the last sample of the slot, or the sum, count, minimum and
+     * maximum of its samples.
+     */
+    private static final class Resolution {
+        private final int columns;
+        private final long step;
+        private final int rows;
+        private final boolean consolidated;
+
+        // slot held by each row; shared by all metric types
+        private final long[] slots;
+
+        // values of a metric type are held in rows [column * rows, (column + 1) * rows)
+        private final double[] last;
+        private final double[] sum;
+        private final double[] min;
+        private final double[] max;
+        private final int[] count;
+
+        Resolution(int columns, long step, int rows, boolean consolidated) {
+            this.columns = columns;
+            this.step = step;
+            this.rows = rows;
+            this.consolidated = consolidated;
+            this.slots = new long[rows];
+            Arrays.fill(slots, -1L);
+            int size = columns * rows;
+            this.last = consolidated ? null : new double[size];
+            this.sum = consolidated ? new double[size] : null;
+            this.min = consolidated ? new double[size] : null;
+            this.max = consolidated ? new double[size] : null;
+            this.count = consolidated ? new int[size] : null;
+        }
+
+        boolean holds(long time, long lastUpdateTime) {
+            return time / step > lastUpdateTime / step - rows;
+        }
+
+        void add(int column, double value, long time) {
+            long slot = time / step;
+            int row = (int) (slot % rows);
+            if (slots[row] != slot) {
+                if (slots[row] > slot) {
+                    // older than the ring
+                    return;
+                }
+                recycle(row, slot);
+            }
+
+            int index = column * rows + row;
+            if (consolidated) {
+                sum[index] += value;
+                min[index] = count[index] == 0 ? value : Math.min(min[index], value);
+                max[index] = count[index] == 0 ? value : Math.max(max[index], value);
+                count[index]++;
+            } else {
+                last[index] = value;
+            }
+        }
+
+        private void recycle(int row, long slot) {
+            slots[row] = slot;
+            for (int index = row; index < columns * rows; index += rows) {
+                if (consolidated) {
+                    sum[index] = 0;
+                    count[index] = 0;
+                } else {
+                    last[index] = Double.NaN;
+                }
+            }
+        }
+
+        // value of a row; the sample or the average of the samples of the slot
+        private double value(int index) {
+            if (consolidated) {
+                return count[index] == 0 ? Double.NaN : sum[index] / count[index];
+            }
+            return last[index];
+        }
+
+        /**
+         * Returns one value per slot after the one of the start time, up to
+         * the one of the end time; NaN for the slots without samples.
+         */
+        double[] samples(int column, long startTime, long endTime) {
+            long first = startTime / step + 1;
+            long lastSlot = endTime / step;
+            double[] values = new double[(int) Math.max(0, lastSlot - first + 1)];
+            for (int i = 0; i < values.length; i++) {
+                long slot = first + i;
+                int row = (int) (slot % rows);
+                values[i] = slot >= 0 && slots[row] == slot ? value(column * rows + row) : Double.NaN;
+            }
+            return values;
+        }
+
+        double aggregate(int column, Aggregation aggregation, long startTime, long endTime) {
+            long first = Math.max(startTime / step + 1, endTime / step - rows + 1);
+            long lastSlot = endTime / step;
+            double total = 0;
+            long samples = 0;
+            double result = Double.NaN;
+            for (long slot = Math.max(first, 0); slot <= lastSlot; slot++) {
+                int row = (int) (slot % rows);
+                int index = column * rows + row;
+                if (slots[row] != slot) {
+                    continue;
+                }
+                double low;
+                double high;
+                if (consolidated) {
+                    if (count[index] == 0) {
+                        continue;
+                    }
+                    total += sum[index];
+                    samples += count[index];
+                    low = min[index];
+                    high = max[index];
+                } else {
+                    if (Double.isNaN(last[index])) {
+                        continue;
+                    }
+                    total += last[index];
+                    samples++;
+                    low = last[index];
+                    high = last[index];
+                }
+                if (aggregation == Aggregation.MIN) {
+                    result = Double.isNaN(result) ? low : Math.min(result, low);
+                } else if (aggregation == Aggregation.MAX) {
+                    result = Double.isNaN(result) ? high : Math.max(result, high);
+                }
+            }
+            if (aggregation == Aggregation.AVG) {
+                return samples == 0 ? Double.NaN : total / samples;
+            }
+            return result;
+        }
+    }
+
+    /**
+     * A builder of in-memory metrics databases.
+     */
+    public static final class Builder implements MetricsDatabase.Builder {
+        private static final long RESOLUTION_IN_SECOND = 60L;
+        private static final int ROW_VALUE = 60 * 24;
+        private static final long HOURLY_RESOLUTION_IN_SECOND = 60L * 60L;
+        private static final int HOURLY_ROW_VALUE = 24 * 7;
+        private static final long DAILY_RESOLUTION_IN_SECOND = 60L * 60L * 24L;
+        private static final int DAILY_ROW_VALUE = 30;
+        private static final String METRIC_NAME_MSG = "Must specify a metric name.";
+        private static final String RESOURCE_NAME_MSG = "Must specify a resource name.";
+        private static final String METRIC_TYPE_MSG = "Must supply at least a metric type.";
+
+        private final Set<String> metricTypes = new LinkedHashSet<>();
+        private String metricName;
+        private String resourceName;
+
+        @Override
+        public Builder withMetricName(String metric) {
+            this.metricName = metric;
+            return this;
+        }
+
+        @Override
+        public Builder withResourceName(String resource) {
+            this.resourceName = resource;
+            return this;
+        }
+
+        @Override
+        public Builder addMetricType(String metricType) {
+            metricTypes.add(checkNotNull(metricType));
+            return this;
+        }
+
+        @Override
+        public MetricsDatabase build() {
+            checkNotNull(metricName, METRIC_NAME_MSG);
+            checkNotNull(resourceName, RESOURCE_NAME_MSG);
+            checkArgument(!metricTypes.isEmpty(), METRIC_TYPE_MSG);
+
+            ImmutableMap.Builder<String, Integer> columns = ImmutableMap.builder();
+            int column = 0;
+            for (String metricType : metricTypes) {
+                columns.put(metricType, column++);
+            }
+
+            Resolution[] resolutions = {
+                new Resolution(column, RESOLUTION_IN_SECOND, ROW_VALUE, false),
+                new Resolution(column, HOURLY_RESOLUTION_IN_SECOND, HOURLY_ROW_VALUE, true),
+                new Resolution(column, DAILY_RESOLUTION_IN_SECOND, DAILY_ROW_VALUE, true),
+            };
+            return new RingBufferMetricsDatabase(metricName, resourceName,
+                                                 columns.build(), resolutions);
+        }
+    }
+}
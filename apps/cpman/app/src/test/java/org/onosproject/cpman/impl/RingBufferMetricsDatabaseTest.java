@@ -0,0 +1,168 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.cpman.impl;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Before;
+import org.junit.Test;
+import org.onosproject.cpman.MetricsDatabase;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.onosproject.cpman.MetricsDatabase.Aggregation.AVG;
+import static org.onosproject.cpman.MetricsDatabase.Aggregation.MAX;
+import static org.onosproject.cpman.MetricsDatabase.Aggregation.MIN;
+
+/**
+ * Unit test for the in-memory control plane metrics database.
+ */
+public class RingBufferMetricsDatabaseTest {
+
+    private static final String MEMORY_METRIC = "memory";
+    private static final String DEFAULT_RES = "resource";
+    private static final String MEMORY_FREE_PERC = "freePerc";
+    private static final String MEMORY_USED_PERC = "usedPerc";
+
+    // aligned on a day, so that the slots of every resolution start together
+    private static final long START_TIME = 1_000L * 24L * 60L * 60L;
+
+    private MetricsDatabase mdb;
+
+    /**
+     * Initializes metrics database instance.
+     */
+    @Before
+    public void setUp() {
+        mdb = new RingBufferMetricsDatabase.Builder()
+                .withMetricName(MEMORY_METRIC)
+                .withResourceName(DEFAULT_RES)
+                .addMetricType(MEMORY_FREE_PERC)
+                .addMetricType(MEMORY_USED_PERC)
+                .build();
+    }
+
+    /**
+     * Tests the metric update function.
+     */
+    @Test
+    public void testMetricUpdate() {
+        mdb.updateMetric(MEMORY_FREE_PERC, 30, START_TIME);
+        assertThat(mdb.recentMetric(MEMORY_FREE_PERC), is(30D));
+
+        mdb.updateMetric(MEMORY_FREE_PERC, 40, START_TIME + 60);
+        assertThat(mdb.recentMetric(MEMORY_FREE_PERC), is(40D));
+        assertThat(mdb.lastUpdate(MEMORY_FREE_PERC), is(START_TIME + 60));
+    }
+
+    /**
+     * Tests that a snapshot of all metric types is stored at once.
+     */
+    @Test
+    public void testMetricsUpdate() {
+        mdb.updateMetrics(ImmutableMap.of(MEMORY_FREE_PERC, 30D, MEMORY_USED_PERC, 70D), START_TIME);
+
+        assertThat(mdb.recentMetric(MEMORY_FREE_PERC), is(30D));
+        assertThat(mdb.recentMetric(MEMORY_USED_PERC), is(70D));
+    }
+
+    /**
+     * Tests the metric range fetch function.
+     */
+    @Test
+    public void testMetricRangeFetch() {
+        for (int minute = 0; minute < 10; minute++) {
+            mdb.updateMetric(MEMORY_FREE_PERC, minute, START_TIME + minute * 60);
+        }
+
+        assertThat(mdb.metrics(MEMORY_FREE_PERC).length, is(60 * 24));
+        assertThat(mdb.recentMetrics(MEMORY_FREE_PERC, 1, TimeUnit.HOURS).length, is(60));
+
+        double[] recent = mdb.recentMetrics(MEMORY_FREE_PERC, 3, TimeUnit.MINUTES);
+        assertThat(recent.length, is(3));
+        assertThat(recent[0], is(7D));
+        assertThat(recent[2], is(9D));
+
+        // slots without samples
+        assertThat(Double.isNaN(mdb.metrics(MEMORY_USED_PERC, START_TIME, START_TIME + 60)[0]), is(true));
+    }
+
+    /**
+     * Tests the aggregation of samples over a period.
+     */
+    @Test
+    public void testAggregation() {
+        for (int minute = 0; minute < 10; minute++) {
+            mdb.updateMetric(MEMORY_FREE_PERC, minute, START_TIME + minute * 60);
+        }
+
+        assertThat(mdb.minMetric(MEMORY_FREE_PERC), is(0D));
+        assertThat(mdb.maxMetric(MEMORY_FREE_PERC), is(9D));
+        assertThat(mdb.aggregate(MEMORY_FREE_PERC, AVG, START_TIME - 1, START_TIME + 540), is(4.5D));
+        assertThat(mdb.percentile(MEMORY_FREE_PERC, 50, START_TIME - 1, START_TIME + 540), is(4D));
+        assertThat(mdb.percentile(MEMORY_FREE_PERC, 100, START_TIME - 1, START_TIME + 540), is(9D));
+        assertThat(Double.isNaN(mdb.aggregate(MEMORY_USED_PERC, AVG, START_TIME - 1, START_TIME + 540)),
+                   is(true));
+    }
+
+    /**
+     * Tests that periods older than a day are aggregated from the coarser
+     * resolutions.
+     */
+    @Test
+    public void testDownsampledAggregation() {
+        long twoDays = TimeUnit.DAYS.toSeconds(2);
+        for (long time = START_TIME; time <= START_TIME + twoDays; time += 60) {
+            mdb.updateMetric(MEMORY_FREE_PERC, time < START_TIME + 3600 ? 100 : 1, time);
+        }
+
+        // the first hour has left the ring of samples, not the hourly one
+        assertThat(mdb.aggregate(MEMORY_FREE_PERC, MAX, START_TIME - 1, START_TIME + twoDays), is(100D));
+        assertThat(mdb.aggregate(MEMORY_FREE_PERC, MIN, START_TIME - 1, START_TIME + twoDays), is(1D));
+        assertThat(mdb.maxMetric(MEMORY_FREE_PERC), is(1D));
+    }
+
+    /**
+     * Tests that samples older than the ring are dropped.
+     */
+    @Test
+    public void testOverwrittenSlots() {
+        mdb.updateMetric(MEMORY_FREE_PERC, 10, START_TIME);
+        mdb.updateMetric(MEMORY_FREE_PERC, 20, START_TIME + TimeUnit.DAYS.toSeconds(1));
+        mdb.updateMetric(MEMORY_FREE_PERC, 30, START_TIME);
+
+        double[] all = mdb.metrics(MEMORY_FREE_PERC);
+        assertThat(all[all.length - 1], is(20D));
+        assertThat(mdb.minMetric(MEMORY_FREE_PERC), is(20D));
+    }
+
+    /**
+     * Tests that an unknown metric type is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonExistingMetric() {
+        mdb.updateMetric("unknown", 10, START_TIME);
+    }
+
+    /**
+     * Test the projected time range.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testExceededTimeRange() {
+        mdb.recentMetrics(MEMORY_FREE_PERC, 25, TimeUnit.HOURS);
+    }
+}
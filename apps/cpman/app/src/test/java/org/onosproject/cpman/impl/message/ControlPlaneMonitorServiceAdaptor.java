@@ -23,6 +23,7 @@ import org.onosproject.cpman.ControlPlaneMonitorService;
 import org.onosproject.cpman.ControlResource;
 import org.onosproject.net.DeviceId;
 
+import java.util.Collection;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
@@ -38,6 +39,11 @@ public class ControlPlaneMonitorServiceAdaptor implements ControlPlaneMonitorSer
                              Optional<DeviceId> deviceId) {
     }
 
+    @Override
+    public void updateMetrics(Collection<ControlMetric> controlMetrics,
+                              Optional<DeviceId> deviceId) {
+    }
+
     @Override
     public void updateMetric(ControlMetric controlMetric,
                              int updateIntervalInMinutes,
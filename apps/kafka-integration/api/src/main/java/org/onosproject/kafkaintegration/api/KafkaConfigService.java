@@ -26,5 +26,14 @@ public interface KafkaConfigService {
      */
     KafkaServerConfig getConfigParams();
 
+    /**
+     * Sets whether the events are exported in streaming mode, in which case
+     * the producer batches the records with the streaming linger time and
+     * batch size. The producer is restarted if the mode changes.
+     *
+     * @param streamingExport true if the events are exported in streaming mode
+     */
+    void setStreamingExport(boolean streamingExport);
+
 }
 
@@ -16,6 +16,10 @@
 package org.onosproject.kafkaintegration.api;
 
 import org.onosproject.kafkaintegration.api.dto.OnosEvent;
+import org.onosproject.store.service.Task;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * APIs to insert and delete into a local store. This store is used to keep
@@ -36,4 +40,28 @@ public interface KafkaEventStorageService {
      * @return the Onos Event
      */
     OnosEvent consumeEvent();
+
+    /**
+     * Takes up to the given number of Onos Events from the Distributed Work
+     * Queue. The events stay in progress until they are completed.
+     *
+     * @param maxEvents maximum number of events to take
+     * @return future for the tasks holding the events
+     */
+    CompletableFuture<Collection<Task<OnosEvent>>> takeEvents(int maxEvents);
+
+    /**
+     * Completes the tasks of Onos Events taken from the Distributed Work Queue.
+     *
+     * @param taskIds identifiers of the tasks
+     * @return future completed once the tasks have been completed
+     */
+    CompletableFuture<Void> completeEvents(Collection<String> taskIds);
+
+    /**
+     * Returns the number of Onos Events waiting in the Distributed Work Queue.
+     *
+     * @return future for the number of pending events
+     */
+    CompletableFuture<Long> pendingEvents();
 }
@@ -23,6 +23,10 @@ import static com.google.common.base.Preconditions.checkNotNull;
  */
 public final class KafkaServerConfig {
 
+    // Kafka producer defaults
+    private static final int DEFAULT_LINGER_MS = 0;
+    private static final int DEFAULT_BATCH_SIZE = 16384;
+
     private final String ipAddress;
 
     private final String port;
@@ -37,10 +41,14 @@ public final class KafkaServerConfig {
 
     private final String valueSerializer;
 
+    private final int lingerMs;
+
+    private final int batchSize;
+
     private KafkaServerConfig(String ipAddress, String port, int numOfRetries,
                               int maxInFlightRequestsPerConnection,
                               int requestRequiredAcks, String keySerializer,
-                              String valueSerializer) {
+                              String valueSerializer, int lingerMs, int batchSize) {
 
         this.ipAddress = checkNotNull(ipAddress, "Ip Address Cannot be null");
         this.port = checkNotNull(port, "Port Number cannot be null");
@@ -50,6 +58,8 @@ public final class KafkaServerConfig {
         this.acksRequired = requestRequiredAcks;
         this.keySerializer = keySerializer;
         this.valueSerializer = valueSerializer;
+        this.lingerMs = lingerMs;
+        this.batchSize = batchSize;
     }
 
     public final String getIpAddress() {
@@ -72,6 +82,14 @@ public final class KafkaServerConfig {
         return acksRequired;
     }
 
+    public final int getLingerMs() {
+        return lingerMs;
+    }
+
+    public final int getBatchSize() {
+        return batchSize;
+    }
+
     public final String getKeySerializer() {
         return keySerializer;
     }
@@ -107,6 +125,10 @@ public final class KafkaServerConfig {
 
         private String valueSerializer;
 
+        private int lingerMs = DEFAULT_LINGER_MS;
+
+        private int batchSize = DEFAULT_BATCH_SIZE;
+
         public Builder ipAddress(String ipAddress) {
             this.ipAddress = ipAddress;
             return this;
@@ -143,6 +165,16 @@ public final class KafkaServerConfig {
             return this;
         }
 
+        public Builder lingerMs(int lingerMs) {
+            this.lingerMs = lingerMs;
+            return this;
+        }
+
+        public Builder batchSize(int batchSize) {
+            this.batchSize = batchSize;
+            return this;
+        }
+
         public KafkaServerConfig build() {
             checkNotNull(ipAddress, "App name cannot be null");
             checkNotNull(port, "Subscriber group ID cannot " + "be " + "null");
@@ -150,7 +182,7 @@ public final class KafkaServerConfig {
             return new KafkaServerConfig(ipAddress, port, numOfRetries,
                                          maxInFlightRequestsPerConnection,
                                          acksRequired, keySerializer,
-                                         valueSerializer);
+                                         valueSerializer, lingerMs, batchSize);
         }
     }
 }
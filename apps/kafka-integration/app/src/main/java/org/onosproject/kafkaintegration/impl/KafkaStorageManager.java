@@ -22,6 +22,7 @@ import org.onosproject.store.service.Serializer;
 import org.onosproject.store.service.StorageService;
 import org.onosproject.store.service.Task;
 import org.onosproject.store.service.WorkQueue;
+import org.onosproject.store.service.WorkQueueStats;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
@@ -30,6 +31,7 @@ import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collection;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 
@@ -90,4 +92,19 @@ public class KafkaStorageManager implements KafkaEventStorageService {
         return null;
     }
 
+    @Override
+    public CompletableFuture<Collection<Task<OnosEvent>>> takeEvents(int maxEvents) {
+        return queue.take(maxEvents);
+    }
+
+    @Override
+    public CompletableFuture<Void> completeEvents(Collection<String> taskIds) {
+        log.debug("Completing {} Events in Distributed Work Queue", taskIds.size());
+        return queue.complete(taskIds);
+    }
+
+    @Override
+    public CompletableFuture<Long> pendingEvents() {
+        return queue.stats().thenApply(WorkQueueStats::totalPending);
+    }
 }
@@ -15,9 +15,17 @@
  */
 package org.onosproject.kafkaintegration.kafka;
 
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import org.onlab.metrics.MetricsComponent;
+import org.onlab.metrics.MetricsFeature;
+import org.onlab.metrics.MetricsService;
+import org.onosproject.cfg.ComponentConfigService;
+import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.apache.kafka.clients.producer.ProducerRecord;
@@ -31,13 +39,30 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.onosproject.kafkaintegration.api.dto.OnosEvent;
 
+import java.util.Dictionary;
 import java.util.Objects;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
 
-@Component(immediate = true)
+import static com.google.common.base.Strings.isNullOrEmpty;
+import static org.onlab.util.Tools.get;
+import static org.onosproject.kafkaintegration.kafka.OsgiPropertyConstants.EXPORT_BATCH_SIZE;
+import static org.onosproject.kafkaintegration.kafka.OsgiPropertyConstants.EXPORT_BATCH_SIZE_DEFAULT;
+import static org.onosproject.kafkaintegration.kafka.OsgiPropertyConstants.MAX_IN_FLIGHT_RECORDS;
+import static org.onosproject.kafkaintegration.kafka.OsgiPropertyConstants.MAX_IN_FLIGHT_RECORDS_DEFAULT;
+import static org.onosproject.kafkaintegration.kafka.OsgiPropertyConstants.STREAMING_EXPORT;
+import static org.onosproject.kafkaintegration.kafka.OsgiPropertyConstants.STREAMING_EXPORT_DEFAULT;
+
+@Component(immediate = true,
+        property = {
+                STREAMING_EXPORT + ":Boolean=" + STREAMING_EXPORT_DEFAULT,
+                EXPORT_BATCH_SIZE + ":Integer=" + EXPORT_BATCH_SIZE_DEFAULT,
+                MAX_IN_FLIGHT_RECORDS + ":Integer=" + MAX_IN_FLIGHT_RECORDS_DEFAULT,
+        }
+)
 public class EventPublisher {
 
     private final Logger log = LoggerFactory.getLogger(getClass());
@@ -57,44 +82,206 @@ public class EventPublisher {
     @Reference(cardinality = ReferenceCardinality.MANDATORY)
     protected KafkaPublisherService kafkaPublisher;
 
+    @Reference(cardinality = ReferenceCardinality.MANDATORY)
+    protected ComponentConfigService componentConfigService;
+
+    @Reference(cardinality = ReferenceCardinality.MANDATORY)
+    protected MetricsService metricsService;
+
+    /**
+     * Export the events in batches, without waiting for each event to be
+     * acknowledged; failed events are retried after the events queued since.
+     */
+    protected boolean streamingExport = STREAMING_EXPORT_DEFAULT;
+
+    /** Maximum number of events taken from the work queue at once in streaming mode. */
+    protected int exportBatchSize = EXPORT_BATCH_SIZE_DEFAULT;
+
+    /** Maximum number of records sent but not yet acknowledged in streaming mode. */
+    protected int maxInFlightRecords = MAX_IN_FLIGHT_RECORDS_DEFAULT;
+
     protected ScheduledExecutorService exService;
 
     private static final String SUBSCRIBER_TOPIC = "WORK_QUEUE_SUBSCRIBER";
 
+    private static final String METRICS_COMPONENT = "KafkaIntegration";
+    private static final String METRICS_FEATURE = "EventExport";
+
     private NodeId localNodeId;
 
     // Thread Scheduler Parameters
     private final long delay = 0;
     private final long period = 1;
+    // Pause of the streaming exporter once the work queue is drained
+    private static final long STREAMING_IDLE_MILLIS = 100;
+    // Wait for the records in flight when the streaming exporter is stopped
+    private static final long DRAIN_TIMEOUT_SECONDS = 5;
 
     private EventCollector eventCollector;
 
+    private MetricsFeature metricsFeature;
+    private MetricsComponent metricsComponent;
+    private Meter exportMeter;
+    private volatile EventStreamExporter streamExporter;
+
     @Activate
-    protected void activate() {
+    protected void activate(ComponentContext context) {
+        componentConfigService.registerProperties(getClass());
 
         leadershipService.runForLeadership(SUBSCRIBER_TOPIC);
 
         localNodeId = clusterService.getLocalNode().id();
 
+        registerMetrics();
+        readComponentConfiguration(context);
         startCollector();
 
         log.info("Started");
     }
 
     private void startCollector() {
+        kafkaConfigService.setStreamingExport(streamingExport);
         exService = Executors.newSingleThreadScheduledExecutor();
-        eventCollector = new EventCollector();
-        exService.scheduleAtFixedRate(eventCollector, delay, period, TimeUnit.SECONDS);
+        if (streamingExport) {
+            streamExporter = new EventStreamExporter(kafkaStore, kafkaPublisher, exportBatchSize,
+                                                     maxInFlightRecords, exportMeter);
+            exService.scheduleWithFixedDelay(new EventStreamer(streamExporter), delay,
+                                             STREAMING_IDLE_MILLIS, TimeUnit.MILLISECONDS);
+        } else {
+            eventCollector = new EventCollector();
+            exService.scheduleAtFixedRate(eventCollector, delay, period, TimeUnit.SECONDS);
+        }
     }
 
     @Deactivate
     protected void deactivate() {
+        componentConfigService.unregisterProperties(getClass(), false);
         stopCollector();
+        metricsService.removeMetric(metricsComponent, metricsFeature, "exported");
+        metricsService.removeMetric(metricsComponent, metricsFeature, "failed");
+        metricsService.removeMetric(metricsComponent, metricsFeature, "inFlight");
+        metricsService.removeMetric(metricsComponent, metricsFeature, "lag");
         log.info("Stopped");
     }
 
+    @Modified
+    protected void modified(ComponentContext context) {
+        boolean oldStreamingExport = streamingExport;
+        int oldExportBatchSize = exportBatchSize;
+        int oldMaxInFlightRecords = maxInFlightRecords;
+
+        readComponentConfiguration(context);
+
+        if (oldStreamingExport != streamingExport || oldExportBatchSize != exportBatchSize
+                || oldMaxInFlightRecords != maxInFlightRecords) {
+            stopCollector();
+            startCollector();
+            log.info("Reconfigured with streamingExport = {}, exportBatchSize = {}, maxInFlightRecords = {}",
+                     streamingExport, exportBatchSize, maxInFlightRecords);
+        }
+    }
+
+    private void readComponentConfiguration(ComponentContext context) {
+        if (context == null) {
+            return;
+        }
+        Dictionary<?, ?> properties = context.getProperties();
+        try {
+            String s = get(properties, STREAMING_EXPORT);
+            streamingExport = isNullOrEmpty(s) ? streamingExport : Boolean.parseBoolean(s.trim());
+
+            s = get(properties, EXPORT_BATCH_SIZE);
+            int newExportBatchSize = isNullOrEmpty(s) ? exportBatchSize : Integer.parseInt(s.trim());
+
+            s = get(properties, MAX_IN_FLIGHT_RECORDS);
+            int newMaxInFlightRecords = isNullOrEmpty(s) ? maxInFlightRecords : Integer.parseInt(s.trim());
+
+            if (newExportBatchSize > 0 && newMaxInFlightRecords > 0) {
+                exportBatchSize = newExportBatchSize;
+                maxInFlightRecords = newMaxInFlightRecords;
+            } else {
+                log.warn("Ignoring non positive exportBatchSize {} or maxInFlightRecords {}",
+                         newExportBatchSize, newMaxInFlightRecords);
+            }
+        } catch (NumberFormatException | ClassCastException e) {
+            log.warn("Malformed configuration detected; keeping current values", e);
+        }
+    }
+
+    private void registerMetrics() {
+        metricsComponent = metricsService.registerComponent(METRICS_COMPONENT);
+        metricsFeature = metricsComponent.registerFeature(METRICS_FEATURE);
+        exportMeter = metricsService.createMeter(metricsComponent, metricsFeature, "exported");
+        metricsService.registerMetric(metricsComponent, metricsFeature, "failed",
+                                      (Gauge<Long>) () -> exporterValue(EventStreamExporter::failed));
+        metricsService.registerMetric(metricsComponent, metricsFeature, "inFlight",
+                                      (Gauge<Long>) () -> exporterValue(e -> (long) e.inFlight()));
+        metricsService.registerMetric(metricsComponent, metricsFeature, "lag",
+                                      (Gauge<Long>) () -> exporterValue(EventStreamExporter::lag));
+    }
+
+    private long exporterValue(ToLongFunction<EventStreamExporter> value) {
+        EventStreamExporter exporter = streamExporter;
+        return exporter == null ? 0 : value.applyAsLong(exporter);
+    }
+
     private void stopCollector() {
         exService.shutdown();
+        EventStreamExporter exporter = streamExporter;
+        if (exporter != null) {
+            try {
+                exService.awaitTermination(period, TimeUnit.SECONDS);
+                // complete the tasks of the records in flight before dropping
+                // the exporter, or they would be handed out again on failover
+                if (!exporter.drain(DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    log.warn("{} records still in flight; their events may be exported again",
+                             exporter.inFlight());
+                }
+            } catch (InterruptedException e) {
+                exporter.completeAcknowledged();
+                Thread.currentThread().interrupt();
+            }
+            streamExporter = null;
+        }
+    }
+
+    private boolean isLeader() {
+        // do not allow to proceed without leadership
+        NodeId leaderNodeId = leadershipService.getLeader(SUBSCRIBER_TOPIC);
+        if (!Objects.equals(localNodeId, leaderNodeId)) {
+            log.debug("Not a Leader so cannot consume event");
+            return false;
+        }
+        return true;
+    }
+
+    private class EventStreamer implements Runnable {
+
+        private final EventStreamExporter exporter;
+
+        EventStreamer(EventStreamExporter exporter) {
+            this.exporter = exporter;
+        }
+
+        @Override
+        public void run() {
+            if (!isLeader()) {
+                return;
+            }
+
+            try {
+                // keep going while the work queue has events
+                int sent;
+                do {
+                    sent = exporter.exportBatch();
+                } while (sent > 0);
+            } catch (InterruptedException e) {
+                log.error("Thread interupted");
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.warn("Cannot export events to Kafka", e);
+            }
+        }
     }
 
     private class EventCollector implements Runnable {
@@ -102,10 +289,7 @@ public class EventPublisher {
         @Override
         public void run() {
 
-            // do not allow to proceed without leadership
-            NodeId leaderNodeId = leadershipService.getLeader(SUBSCRIBER_TOPIC);
-            if (!Objects.equals(localNodeId, leaderNodeId)) {
-                log.debug("Not a Leader so cannot consume event");
+            if (!isLeader()) {
                 return;
             }
 
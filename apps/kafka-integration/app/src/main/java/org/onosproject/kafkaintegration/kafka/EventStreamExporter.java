@@ -0,0 +1,228 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.kafkaintegration.kafka;
+
+import com.codahale.metrics.Meter;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.onosproject.kafkaintegration.api.KafkaEventStorageService;
+import org.onosproject.kafkaintegration.api.KafkaPublisherService;
+import org.onosproject.kafkaintegration.api.dto.OnosEvent;
+import org.onosproject.store.service.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Exports the Onos Events of the Distributed Work Queue to Kafka in batches.
+ * <p>
+ * Records are sent without waiting for the acknowledgement of the previous
+ * ones, up to a bound on the records in flight. A task is completed in the
+ * work queue only once its record has been acknowledged; the event of a
+ * record which failed is queued again, at the tail of the work queue. Unlike
+ * the export one event at a time, the events are therefore not exported in
+ * order once a record has failed.
+ * </p>
+ */
+class EventStreamExporter {
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    private static final long TAKE_TIMEOUT_SECONDS = 5;
+    private static final long LAG_REFRESH_MILLIS = 1_000;
+    private static final long DRAIN_CHECK_MILLIS = 10;
+
+    private final KafkaEventStorageService kafkaStore;
+    private final KafkaPublisherService kafkaPublisher;
+    private final int batchSize;
+    private final int maxInFlight;
+    private final Meter exportMeter;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Queue<String> acknowledged = new ConcurrentLinkedQueue<>();
+    private final Queue<Task<OnosEvent>> failed = new ConcurrentLinkedQueue<>();
+
+    private final LongAdder exportedCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private volatile long lag;
+    private long lastLagRefresh;
+
+    /**
+     * Creates a new exporter.
+     *
+     * @param kafkaStore     work queue of the events
+     * @param kafkaPublisher Kafka producer
+     * @param batchSize      maximum number of events taken from the work queue at once
+     * @param maxInFlight    maximum number of records sent but not yet acknowledged
+     * @param exportMeter    meter marked for every acknowledged record
+     */
+    EventStreamExporter(KafkaEventStorageService kafkaStore,
+                        KafkaPublisherService kafkaPublisher,
+                        int batchSize, int maxInFlight, Meter exportMeter) {
+        checkArgument(batchSize > 0, "Batch size must be positive");
+        checkArgument(maxInFlight > 0, "Maximum number of records in flight must be positive");
+        this.kafkaStore = kafkaStore;
+        this.kafkaPublisher = kafkaPublisher;
+        this.batchSize = batchSize;
+        this.maxInFlight = maxInFlight;
+        this.exportMeter = exportMeter;
+    }
+
+    /**
+     * Acknowledges the records completed so far, then takes the next batch of
+     * events from the work queue and sends them. Must be called from a single
+     * thread.
+     *
+     * @return number of events sent; 0 if the work queue is empty or too many
+     * records are in flight
+     * @throws InterruptedException if interrupted while taking the events
+     */
+    int exportBatch() throws InterruptedException {
+        completeAcknowledged();
+        refreshLag();
+
+        int permits = Math.min(batchSize, maxInFlight - inFlight.get());
+        if (permits <= 0) {
+            return 0;
+        }
+
+        Collection<Task<OnosEvent>> tasks;
+        try {
+            tasks = kafkaStore.takeEvents(permits).get(TAKE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            log.warn("Cannot take events from the work queue", e);
+            return 0;
+        }
+
+        for (Task<OnosEvent> task : tasks) {
+            OnosEvent event = task.payload();
+            inFlight.incrementAndGet();
+            kafkaPublisher.send(new ProducerRecord<>(event.type().toString(), event.subject()),
+                                (metadata, error) -> {
+                                    if (error == null) {
+                                        acknowledged.add(task.taskId());
+                                        exportedCount.increment();
+                                        exportMeter.mark();
+                                    } else {
+                                        log.debug("Cannot publish {} event to Kafka", event.type(), error);
+                                        failed.add(task);
+                                        failedCount.increment();
+                                    }
+                                    inFlight.decrementAndGet();
+                                });
+        }
+        log.trace("Sent {} events to Kafka", tasks.size());
+        return tasks.size();
+    }
+
+    /**
+     * Completes the tasks of the acknowledged records in the work queue and
+     * queues again the events of the failed records.
+     */
+    void completeAcknowledged() {
+        List<String> taskIds = new ArrayList<>();
+        String taskId;
+        while ((taskId = acknowledged.poll()) != null) {
+            taskIds.add(taskId);
+        }
+
+        Task<OnosEvent> task;
+        while ((task = failed.poll()) != null) {
+            kafkaStore.publishEvent(task.payload());
+            taskIds.add(task.taskId());
+        }
+
+        if (!taskIds.isEmpty()) {
+            kafkaStore.completeEvents(taskIds);
+        }
+    }
+
+    /**
+     * Waits for the records in flight to be acknowledged or to fail, then
+     * completes their tasks. The tasks of the records still in flight after
+     * the timeout are left in progress, and handed out again on failover.
+     * Must be called once no more batches are exported.
+     *
+     * @param timeout maximum time to wait
+     * @param unit    unit of the timeout
+     * @return true if no record was left in flight
+     * @throws InterruptedException if interrupted while waiting
+     */
+    boolean drain(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (inFlight.get() > 0 && System.nanoTime() - deadline < 0) {
+            TimeUnit.MILLISECONDS.sleep(DRAIN_CHECK_MILLIS);
+        }
+        completeAcknowledged();
+        return inFlight.get() == 0;
+    }
+
+    private void refreshLag() {
+        long now = System.currentTimeMillis();
+        if (now - lastLagRefresh >= LAG_REFRESH_MILLIS) {
+            lastLagRefresh = now;
+            kafkaStore.pendingEvents().thenAccept(pending -> lag = pending);
+        }
+    }
+
+    /**
+     * Returns the number of records sent but not yet acknowledged.
+     *
+     * @return records in flight
+     */
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Returns the number of events exported so far.
+     *
+     * @return exported events
+     */
+    long exported() {
+        return exportedCount.sum();
+    }
+
+    /**
+     * Returns the number of records which failed so far.
+     *
+     * @return failed records
+     */
+    long failed() {
+        return failedCount.sum();
+    }
+
+    /**
+     * Returns the number of events waiting in the work queue, as of the last
+     * refresh.
+     *
+     * @return pending events
+     */
+    long lag() {
+        return lag;
+    }
+}
@@ -43,6 +43,10 @@ import static org.onosproject.kafkaintegration.kafka.OsgiPropertyConstants.*;
                 REQUIRED_ACKS + ":Integer=" + REQUIRED_ACKS_DEFAULT,
                 KEY_SERIALIZER + "=" + KEY_SERIALIZER_DEFAULT,
                 VALUE_SERIALIZER + "=" + VALUE_SERIALIZER_DEFAULT,
+                LINGER_MS + ":Integer=" + LINGER_MS_DEFAULT,
+                BATCH_SIZE + ":Integer=" + BATCH_SIZE_DEFAULT,
+                STREAMING_LINGER_MS + ":Integer=" + STREAMING_LINGER_MS_DEFAULT,
+                STREAMING_BATCH_SIZE + ":Integer=" + STREAMING_BATCH_SIZE_DEFAULT,
         }
 )
 public class KafkaConfigManager implements KafkaConfigService {
@@ -73,6 +77,20 @@ public class KafkaConfigManager implements KafkaConfigService {
     /** Serializer class for value that implements the Serializer interface. */
     protected String valueSerializer = VALUE_SERIALIZER_DEFAULT;
 
+    /** Time in ms the producer waits for more records before sending a batch. */
+    protected int lingerMs = LINGER_MS_DEFAULT;
+
+    /** Maximum size in bytes of a batch of records sent to a partition. */
+    protected int batchSize = BATCH_SIZE_DEFAULT;
+
+    /** Time in ms the producer waits for more records before sending a batch, in streaming export mode. */
+    protected int streamingLingerMs = STREAMING_LINGER_MS_DEFAULT;
+
+    /** Maximum size in bytes of a batch of records sent to a partition, in streaming export mode. */
+    protected int streamingBatchSize = STREAMING_BATCH_SIZE_DEFAULT;
+
+    private volatile boolean streamingExport;
+
     @Activate
     protected void activate(ComponentContext context) {
         componentConfigService.registerProperties(getClass());
@@ -96,6 +114,10 @@ public class KafkaConfigManager implements KafkaConfigService {
             requestRequiredAcks = REQUIRED_ACKS_DEFAULT;
             keySerializer = KEY_SERIALIZER_DEFAULT;
             valueSerializer = VALUE_SERIALIZER_DEFAULT;
+            lingerMs = LINGER_MS_DEFAULT;
+            batchSize = BATCH_SIZE_DEFAULT;
+            streamingLingerMs = STREAMING_LINGER_MS_DEFAULT;
+            streamingBatchSize = STREAMING_BATCH_SIZE_DEFAULT;
             return;
         }
 
@@ -105,6 +127,10 @@ public class KafkaConfigManager implements KafkaConfigService {
         int newRetries;
         int newMaxInFlightRequestsPerConnection;
         int newRequestRequiredAcks;
+        int newLingerMs;
+        int newBatchSize;
+        int newStreamingLingerMs;
+        int newStreamingBatchSize;
         try {
             String s = get(properties, BOOTSTRAP_SERVERS);
             newBootstrapServers =
@@ -124,13 +150,26 @@ public class KafkaConfigManager implements KafkaConfigService {
                     isNullOrEmpty(s) ? requestRequiredAcks
                                      : Integer.parseInt(s.trim());
 
+            s = get(properties, LINGER_MS);
+            newLingerMs = isNullOrEmpty(s) ? lingerMs : Integer.parseInt(s.trim());
+
+            s = get(properties, BATCH_SIZE);
+            newBatchSize = isNullOrEmpty(s) ? batchSize : Integer.parseInt(s.trim());
+
+            s = get(properties, STREAMING_LINGER_MS);
+            newStreamingLingerMs = isNullOrEmpty(s) ? streamingLingerMs : Integer.parseInt(s.trim());
+
+            s = get(properties, STREAMING_BATCH_SIZE);
+            newStreamingBatchSize = isNullOrEmpty(s) ? streamingBatchSize : Integer.parseInt(s.trim());
+
         } catch (NumberFormatException | ClassCastException e) {
             return;
         }
 
         if (configModified(newBootstrapServers, newRetries,
                            newMaxInFlightRequestsPerConnection,
-                           newRequestRequiredAcks)) {
+                           newRequestRequiredAcks, newLingerMs, newBatchSize,
+                           newStreamingLingerMs, newStreamingBatchSize)) {
             bootstrapServers = newBootstrapServers;
             String kafkaServerIp = bootstrapServers
                     .substring(0, bootstrapServers.indexOf(":"));
@@ -144,19 +183,31 @@ public class KafkaConfigManager implements KafkaConfigService {
 
             requestRequiredAcks = newRequestRequiredAcks;
 
+            lingerMs = newLingerMs;
+
+            batchSize = newBatchSize;
+
+            streamingLingerMs = newStreamingLingerMs;
+
+            streamingBatchSize = newStreamingBatchSize;
+
             kafkaPublisherAdminService.restart(KafkaServerConfig.builder()
                     .ipAddress(kafkaServerIp).port(kafkaServerPortNum)
                     .numOfRetries(retries)
                     .maxInFlightRequestsPerConnection(maxInFlightRequestsPerConnection)
                     .acksRequired(requestRequiredAcks)
                     .keySerializer(keySerializer)
-                    .valueSerializer(valueSerializer).build());
+                    .valueSerializer(valueSerializer)
+                    .lingerMs(streamingExport ? streamingLingerMs : lingerMs)
+                    .batchSize(streamingExport ? streamingBatchSize : batchSize).build());
 
             log.info("Kafka Server Config has been Modified - "
                     + "bootstrapServers {}, retries {}, "
                     + "maxInFlightRequestsPerConnection {}, "
-                    + "requestRequiredAcks {}", bootstrapServers, retries,
-                     maxInFlightRequestsPerConnection, requestRequiredAcks);
+                    + "requestRequiredAcks {}, lingerMs {}, batchSize {}, "
+                    + "streamingLingerMs {}, streamingBatchSize {}", bootstrapServers, retries,
+                     maxInFlightRequestsPerConnection, requestRequiredAcks, lingerMs, batchSize,
+                     streamingLingerMs, streamingBatchSize);
         } else {
             return;
         }
@@ -164,12 +215,18 @@ public class KafkaConfigManager implements KafkaConfigService {
 
     private boolean configModified(String newBootstrapServers, int newRetries,
                                    int newMaxInFlightRequestsPerConnection,
-                                   int newRequestRequiredAcks) {
+                                   int newRequestRequiredAcks,
+                                   int newLingerMs, int newBatchSize,
+                                   int newStreamingLingerMs, int newStreamingBatchSize) {
 
         return !newBootstrapServers.equals(bootstrapServers)
                 || newRetries != retries
                 || newMaxInFlightRequestsPerConnection != maxInFlightRequestsPerConnection
-                || newRequestRequiredAcks != requestRequiredAcks;
+                || newRequestRequiredAcks != requestRequiredAcks
+                || newLingerMs != lingerMs
+                || newBatchSize != batchSize
+                || newStreamingLingerMs != streamingLingerMs
+                || newStreamingBatchSize != streamingBatchSize;
 
     }
 
@@ -182,8 +239,19 @@ public class KafkaConfigManager implements KafkaConfigService {
                 .numOfRetries(retries)
                 .maxInFlightRequestsPerConnection(maxInFlightRequestsPerConnection)
                 .acksRequired(requestRequiredAcks).keySerializer(keySerializer)
-                .valueSerializer(valueSerializer).build();
+                .valueSerializer(valueSerializer)
+                .lingerMs(streamingExport ? streamingLingerMs : lingerMs)
+                .batchSize(streamingExport ? streamingBatchSize : batchSize).build();
 
     }
 
+    @Override
+    public void setStreamingExport(boolean streamingExport) {
+        if (this.streamingExport != streamingExport) {
+            this.streamingExport = streamingExport;
+            kafkaPublisherAdminService.restart(getConfigParams());
+            log.info("Kafka producer restarted for streamingExport = {}", streamingExport);
+        }
+    }
+
 }
@@ -41,4 +41,25 @@ public final class OsgiPropertyConstants {
     static final String VALUE_SERIALIZER = "valueSerializer";
     static final String VALUE_SERIALIZER_DEFAULT = "org.apache.kafka.common.serialization.ByteArraySerializer";
 
+    static final String LINGER_MS = "lingerMs";
+    static final int LINGER_MS_DEFAULT = 0;
+
+    static final String BATCH_SIZE = "batchSize";
+    static final int BATCH_SIZE_DEFAULT = 16384;
+
+    static final String STREAMING_LINGER_MS = "streamingLingerMs";
+    static final int STREAMING_LINGER_MS_DEFAULT = 5;
+
+    static final String STREAMING_BATCH_SIZE = "streamingBatchSize";
+    static final int STREAMING_BATCH_SIZE_DEFAULT = 64 * 1024;
+
+    static final String STREAMING_EXPORT = "streamingExport";
+    static final boolean STREAMING_EXPORT_DEFAULT = false;
+
+    static final String EXPORT_BATCH_SIZE = "exportBatchSize";
+    static final int EXPORT_BATCH_SIZE_DEFAULT = 500;
+
+    static final String MAX_IN_FLIGHT_RECORDS = "maxInFlightRecords";
+    static final int MAX_IN_FLIGHT_RECORDS_DEFAULT = 10_000;
+
 }
@@ -16,6 +16,7 @@
 
 package org.onosproject.kafkaintegration.kafka;
 
+import org.apache.kafka.clients.producer.Callback;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.clients.producer.RecordMetadata;
@@ -72,6 +73,8 @@ public class PublishManager implements KafkaPublisherService, KafkaPublisherAdmi
         prop.put("request.required.acks", config.getAcksRequired());
         prop.put("key.serializer", config.getKeySerializer());
         prop.put("value.serializer", config.getValueSerializer());
+        prop.put("linger.ms", config.getLingerMs());
+        prop.put("batch.size", config.getBatchSize());
 
         kafkaProducer = new KafkaProducer<>(prop);
         log.info("Kafka Producer has started.");
@@ -97,4 +100,9 @@ public class PublishManager implements KafkaPublisherService, KafkaPublisherAdmi
     public Future<RecordMetadata> send(ProducerRecord<String, byte[]> record) {
         return kafkaProducer.send(record);
     }
+
+    @Override
+    public Future<RecordMetadata> send(ProducerRecord<String, byte[]> record, Callback callback) {
+        return kafkaProducer.send(record, callback);
+    }
 }
@@ -0,0 +1,162 @@
+/**
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.kafkaintegration.kafka;
+
+import com.codahale.metrics.Meter;
+import org.junit.Before;
+import org.junit.Test;
+import org.onosproject.kafkaintegration.api.dto.OnosEvent;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Tests for the streaming export of events to Kafka.
+ */
+public class EventStreamExporterTest {
+
+    private static final int BATCH_SIZE = 4;
+    private static final int MAX_IN_FLIGHT = 6;
+
+    private InMemoryEventStorage storage;
+    private InMemoryKafkaBroker broker;
+    private Meter meter;
+    private EventStreamExporter exporter;
+
+    @Before
+    public void setUp() {
+        storage = new InMemoryEventStorage();
+        broker = new InMemoryKafkaBroker();
+        meter = new Meter();
+        exporter = new EventStreamExporter(storage, broker, BATCH_SIZE, MAX_IN_FLIGHT, meter);
+    }
+
+    private void publish(int count) {
+        for (int i = 0; i < count; i++) {
+            storage.publishEvent(new OnosEvent(OnosEvent.Type.DEVICE, new byte[]{(byte) i}));
+        }
+    }
+
+    /**
+     * Tests that events are sent in batches and that the number of records
+     * in flight is bounded.
+     */
+    @Test
+    public void testBoundedInFlight() throws InterruptedException {
+        publish(10);
+
+        assertThat(exporter.exportBatch(), is(BATCH_SIZE));
+        assertThat(exporter.exportBatch(), is(MAX_IN_FLIGHT - BATCH_SIZE));
+        assertThat(exporter.exportBatch(), is(0));
+        assertThat(exporter.inFlight(), is(MAX_IN_FLIGHT));
+
+        broker.acknowledgeAll();
+        assertThat(exporter.exportBatch(), is(BATCH_SIZE));
+        assertThat(exporter.exportBatch(), is(0));
+        broker.acknowledgeAll();
+        exporter.completeAcknowledged();
+
+        assertThat(broker.records(), hasSize(10));
+        assertThat(storage.completed(), is(10L));
+        assertThat(exporter.exported(), is(10L));
+        assertThat(meter.getCount(), is(10L));
+    }
+
+    /**
+     * Tests that tasks are completed only once their records are acknowledged.
+     */
+    @Test
+    public void testCompleteOnAcknowledgement() throws InterruptedException {
+        publish(3);
+
+        exporter.exportBatch();
+        exporter.completeAcknowledged();
+        assertThat(storage.inProgress(), hasSize(3));
+        assertThat(storage.completed(), is(0L));
+
+        broker.acknowledgeAll();
+        exporter.completeAcknowledged();
+        assertThat(storage.inProgress(), hasSize(0));
+        assertThat(storage.completed(), is(3L));
+    }
+
+    /**
+     * Tests that the events of failed records are queued again.
+     */
+    @Test
+    public void testRetryFailed() throws InterruptedException {
+        publish(2);
+
+        exporter.exportBatch();
+        broker.failAll();
+        assertThat(exporter.failed(), is(2L));
+
+        // the failed events are queued again, then sent with the next batch
+        assertThat(exporter.exportBatch(), is(2));
+        broker.acknowledgeAll();
+        exporter.completeAcknowledged();
+
+        assertThat(broker.records(), hasSize(2));
+        assertThat(storage.inProgress(), hasSize(0));
+    }
+
+    /**
+     * Tests that draining waits for the records in flight and completes
+     * their tasks.
+     */
+    @Test
+    public void testDrain() throws InterruptedException {
+        publish(3);
+        exporter.exportBatch();
+
+        Thread acknowledger = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            broker.acknowledgeAll();
+        });
+        acknowledger.start();
+
+        assertThat(exporter.drain(5, TimeUnit.SECONDS), is(true));
+        acknowledger.join();
+        assertThat(exporter.inFlight(), is(0));
+        assertThat(storage.inProgress(), hasSize(0));
+        assertThat(storage.completed(), is(3L));
+    }
+
+    /**
+     * Tests that draining gives up on the records still in flight after the
+     * timeout, but completes the acknowledged ones.
+     */
+    @Test
+    public void testDrainTimeout() throws InterruptedException {
+        publish(2);
+        exporter.exportBatch();
+        broker.acknowledgeAll();
+        publish(1);
+        exporter.exportBatch();
+
+        assertThat(exporter.drain(20, TimeUnit.MILLISECONDS), is(false));
+        assertThat(exporter.inFlight(), is(1));
+        assertThat(storage.completed(), is(2L));
+        assertThat(storage.inProgress(), hasSize(1));
+    }
+}
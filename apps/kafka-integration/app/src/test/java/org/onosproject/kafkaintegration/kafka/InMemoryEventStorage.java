@@ -0,0 +1,95 @@
+/**
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.kafkaintegration.kafka;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+import org.onosproject.kafkaintegration.api.KafkaEventStorageService;
+import org.onosproject.kafkaintegration.api.dto.OnosEvent;
+import org.onosproject.store.service.Task;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * In-memory stand-in for the Distributed Work Queue of the events.
+ */
+class InMemoryEventStorage implements KafkaEventStorageService {
+
+    private final Deque<OnosEvent> queue = new ArrayDeque<>();
+    private final Map<String, OnosEvent> inProgress = Maps.newLinkedHashMap();
+    private long nextTaskId;
+    private long completed;
+
+    @Override
+    public synchronized void publishEvent(OnosEvent event) {
+        queue.add(event);
+    }
+
+    @Override
+    public synchronized OnosEvent consumeEvent() {
+        return queue.poll();
+    }
+
+    @Override
+    public synchronized CompletableFuture<Collection<Task<OnosEvent>>> takeEvents(int maxEvents) {
+        ImmutableList.Builder<Task<OnosEvent>> tasks = ImmutableList.builder();
+        for (int i = 0; i < maxEvents && !queue.isEmpty(); i++) {
+            String taskId = String.valueOf(nextTaskId++);
+            OnosEvent event = queue.poll();
+            inProgress.put(taskId, event);
+            tasks.add(new Task<>(taskId, event));
+        }
+        return CompletableFuture.completedFuture(tasks.build());
+    }
+
+    @Override
+    public synchronized CompletableFuture<Void> completeEvents(Collection<String> taskIds) {
+        taskIds.forEach(taskId -> {
+            if (inProgress.remove(taskId) != null) {
+                completed++;
+            }
+        });
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public synchronized CompletableFuture<Long> pendingEvents() {
+        return CompletableFuture.completedFuture((long) queue.size());
+    }
+
+    /**
+     * Returns the events taken but not completed yet.
+     *
+     * @return events in progress
+     */
+    synchronized List<OnosEvent> inProgress() {
+        return ImmutableList.copyOf(inProgress.values());
+    }
+
+    /**
+     * Returns the number of completed tasks.
+     *
+     * @return completed tasks
+     */
+    synchronized long completed() {
+        return completed;
+    }
+}
@@ -0,0 +1,101 @@
+/**
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.kafkaintegration.kafka;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.kafka.clients.producer.Callback;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.onosproject.kafkaintegration.api.KafkaPublisherService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+/**
+ * In-memory stand-in for a Kafka broker. Records are acknowledged only when
+ * the test says so.
+ */
+class InMemoryKafkaBroker implements KafkaPublisherService {
+
+    private final List<ProducerRecord<String, byte[]>> records = new ArrayList<>();
+    private final List<PendingRecord> pending = new ArrayList<>();
+
+    @Override
+    public synchronized Future<RecordMetadata> send(ProducerRecord<String, byte[]> record) {
+        CompletableFuture<RecordMetadata> future = new CompletableFuture<>();
+        send(record, (metadata, error) -> future.complete(metadata));
+        acknowledgeAll();
+        return future;
+    }
+
+    @Override
+    public synchronized Future<RecordMetadata> send(ProducerRecord<String, byte[]> record, Callback callback) {
+        CompletableFuture<RecordMetadata> future = new CompletableFuture<>();
+        pending.add(new PendingRecord(record, callback, future));
+        return future;
+    }
+
+    /**
+     * Acknowledges all the records sent so far.
+     */
+    synchronized void acknowledgeAll() {
+        for (PendingRecord p : pending) {
+            records.add(p.record);
+            RecordMetadata metadata = new RecordMetadata(new TopicPartition(p.record.topic(), 0),
+                                                         records.size() - 1, 0);
+            p.callback.onCompletion(metadata, null);
+            p.future.complete(metadata);
+        }
+        pending.clear();
+    }
+
+    /**
+     * Fails all the records sent so far.
+     */
+    synchronized void failAll() {
+        Exception error = new IllegalStateException("broker unavailable");
+        for (PendingRecord p : pending) {
+            p.callback.onCompletion(null, error);
+            p.future.completeExceptionally(error);
+        }
+        pending.clear();
+    }
+
+    /**
+     * Returns the records acknowledged so far.
+     *
+     * @return acknowledged records
+     */
+    synchronized List<ProducerRecord<String, byte[]>> records() {
+        return ImmutableList.copyOf(records);
+    }
+
+    private static final class PendingRecord {
+        private final ProducerRecord<String, byte[]> record;
+        private final Callback callback;
+        private final CompletableFuture<RecordMetadata> future;
+
+        private PendingRecord(ProducerRecord<String, byte[]> record, Callback callback,
+                              CompletableFuture<RecordMetadata> future) {
+            this.record = record;
+            this.callback = callback;
+            this.future = future;
+        }
+    }
+}
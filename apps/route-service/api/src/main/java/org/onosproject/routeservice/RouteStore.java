@@ -44,6 +44,26 @@ public interface RouteStore extends Store<InternalRouteEvent, RouteStoreDelegate
      */
     void removeRoute(Route route);
 
+    /**
+     * Adds or updates the given routes in the store. Stores backed by
+     * distributed primitives may write the routes in fewer round trips than
+     * when updating them one by one.
+     *
+     * @param routes routes to add or update
+     */
+    default void updateRoutes(Collection<Route> routes) {
+        routes.forEach(this::updateRoute);
+    }
+
+    /**
+     * Removes the given routes from the store.
+     *
+     * @param routes routes to remove
+     */
+    default void removeRoutes(Collection<Route> routes) {
+        routes.forEach(this::removeRoute);
+    }
+
     /**
      * Replaces the all the routes for a prefix
      * with the given route.
@@ -0,0 +1,309 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.routeservice;
+
+import com.codahale.metrics.Gauge;
+import com.google.common.collect.Lists;
+import org.onlab.metrics.MetricsComponent;
+import org.onlab.metrics.MetricsFeature;
+import org.onlab.metrics.MetricsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Coalesces the route updates and withdrawals of a route source and hands
+ * them to the route service in bulk.
+ * <p>
+ * Operations are held for at most a window of time, or until a number of
+ * distinct routes is pending. Within a window only the last operation on a
+ * route is kept, so a route updated many times, or updated then withdrawn,
+ * reaches the route service once. Withdrawals of a batch are applied before
+ * its updates, as the route sources did before. A batch the route service
+ * fails to apply is merged back into the pending operations, the newer ones
+ * taking precedence, and retried after a window.
+ * </p>
+ */
+public class RouteUpdateAccumulator {
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    private static final String METRICS_FEATURE = "routeAccumulator";
+    private static final String[] METRIC_NAMES = {
+        "received", "applied", "batches", "lastConvergenceMillis", "maxConvergenceMillis"
+    };
+
+    private final RouteAdminService routeService;
+    private final ScheduledExecutorService executor;
+    private final int maxRoutes;
+    private final long maxBatchMillis;
+
+    // Pending operations; true for an update, false for a withdrawal
+    private Map<Route, Boolean> pending = new LinkedHashMap<>();
+    private long firstPendingNanos;
+
+    // Serializes the batches, so that they reach the route service in order
+    private final Object flushLock = new Object();
+
+    private final LongAdder received = new LongAdder();
+    private final LongAdder applied = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private volatile long lastConvergenceMillis;
+    private final AtomicLong maxConvergenceMillis = new AtomicLong();
+
+    private MetricsComponent metricsComponent;
+    private MetricsFeature metricsFeature;
+
+    /**
+     * Creates a new accumulator.
+     *
+     * @param routeService   route service the batches are handed to
+     * @param executor       executor the batches are applied on
+     * @param maxRoutes      number of pending routes after which the batch is
+     *                       applied without waiting
+     * @param maxBatchMillis longest time an operation is held back, in millis
+     */
+    public RouteUpdateAccumulator(RouteAdminService routeService,
+                                  ScheduledExecutorService executor,
+                                  int maxRoutes, long maxBatchMillis) {
+        checkArgument(maxRoutes > 0, "Maximum number of routes must be positive");
+        checkArgument(maxBatchMillis > 0, "Maximum millis must be positive");
+        this.routeService = checkNotNull(routeService);
+        this.executor = checkNotNull(executor);
+        this.maxRoutes = maxRoutes;
+        this.maxBatchMillis = maxBatchMillis;
+    }
+
+    /**
+     * Queues the given routes to be updated.
+     *
+     * @param routes routes to update
+     */
+    public void update(Collection<Route> routes) {
+        add(routes, true);
+    }
+
+    /**
+     * Queues the given routes to be withdrawn.
+     *
+     * @param routes routes to withdraw
+     */
+    public void withdraw(Collection<Route> routes) {
+        add(routes, false);
+    }
+
+    private void add(Collection<Route> routes, boolean update) {
+        if (routes.isEmpty()) {
+            return;
+        }
+        received.add(routes.size());
+
+        boolean first;
+        boolean full;
+        synchronized (this) {
+            first = pending.isEmpty();
+            if (first) {
+                firstPendingNanos = System.nanoTime();
+            }
+            for (Route route : routes) {
+                // last writer wins; re-inserting keeps the latest operation
+                pending.remove(route);
+                pending.put(route, update);
+            }
+            full = pending.size() >= maxRoutes;
+        }
+
+        if (full) {
+            executor.execute(this::flush);
+        } else if (first) {
+            executor.schedule(this::flush, maxBatchMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Hands all pending operations to the route service.
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            Map<Route, Boolean> batch;
+            long startNanos;
+            synchronized (this) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = pending;
+                startNanos = firstPendingNanos;
+                pending = new LinkedHashMap<>();
+            }
+
+            List<Route> updates = Lists.newArrayListWithExpectedSize(batch.size());
+            List<Route> withdraws = Lists.newArrayList();
+            batch.forEach((route, update) -> (update ? updates : withdraws).add(route));
+
+            try {
+                routeService.withdraw(withdraws);
+                routeService.update(updates);
+            } catch (RuntimeException e) {
+                log.warn("Unable to apply a batch of {} routes, retrying in {} ms",
+                         batch.size(), maxBatchMillis, e);
+                requeue(batch, startNanos);
+                return;
+            }
+
+            long convergenceMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            applied.add(batch.size());
+            batches.increment();
+            lastConvergenceMillis = convergenceMillis;
+            maxConvergenceMillis.accumulateAndGet(convergenceMillis, Math::max);
+            log.debug("Applied {} route updates and {} withdrawals in {} ms",
+                      updates.size(), withdraws.size(), convergenceMillis);
+        }
+    }
+
+    /**
+     * Merges a batch which failed to apply back into the pending operations,
+     * and schedules a retry. The pending operations are newer, and so take
+     * precedence over those of the batch.
+     */
+    private void requeue(Map<Route, Boolean> batch, long startNanos) {
+        synchronized (this) {
+            Map<Route, Boolean> merged = new LinkedHashMap<>(batch);
+            pending.forEach((route, update) -> {
+                merged.remove(route);
+                merged.put(route, update);
+            });
+            pending = merged;
+            firstPendingNanos = startNanos;
+        }
+        try {
+            executor.schedule(this::flush, maxBatchMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            log.warn("Unable to retry the batch, the accumulator is stopped");
+        }
+    }
+
+    /**
+     * Registers the counters and convergence times of the accumulator as
+     * gauges of the given metrics component.
+     *
+     * @param metricsService metrics service
+     * @param componentName  name of the metrics component, that is of the
+     *                       route source
+     */
+    public void registerMetrics(MetricsService metricsService, String componentName) {
+        metricsComponent = metricsService.registerComponent(componentName);
+        metricsFeature = metricsComponent.registerFeature(METRICS_FEATURE);
+        metricsService.registerMetric(metricsComponent, metricsFeature, "received",
+                                      (Gauge<Long>) this::received);
+        metricsService.registerMetric(metricsComponent, metricsFeature, "applied",
+                                      (Gauge<Long>) this::applied);
+        metricsService.registerMetric(metricsComponent, metricsFeature, "batches",
+                                      (Gauge<Long>) this::batches);
+        metricsService.registerMetric(metricsComponent, metricsFeature, "lastConvergenceMillis",
+                                      (Gauge<Long>) this::lastConvergenceMillis);
+        metricsService.registerMetric(metricsComponent, metricsFeature, "maxConvergenceMillis",
+                                      (Gauge<Long>) this::maxConvergenceMillis);
+    }
+
+    /**
+     * Removes the gauges registered by {@link #registerMetrics}, if any.
+     *
+     * @param metricsService metrics service
+     */
+    public void removeMetrics(MetricsService metricsService) {
+        if (metricsComponent == null) {
+            return;
+        }
+        for (String name : METRIC_NAMES) {
+            metricsService.removeMetric(metricsComponent, metricsFeature, name);
+        }
+        metricsComponent = null;
+        metricsFeature = null;
+    }
+
+    /**
+     * Returns the number of route operations received so far.
+     *
+     * @return number of operations
+     */
+    public long received() {
+        return received.sum();
+    }
+
+    /**
+     * Returns the number of route operations handed to the route service so
+     * far; the difference with {@link #received()} is the number of pending
+     * or suppressed operations.
+     *
+     * @return number of operations
+     */
+    public long applied() {
+        return applied.sum();
+    }
+
+    /**
+     * Returns the number of batches handed to the route service so far.
+     *
+     * @return number of batches
+     */
+    public long batches() {
+        return batches.sum();
+    }
+
+    /**
+     * Returns the time between the first operation of the last batch and
+     * the route service accepting the batch.
+     *
+     * @return convergence time in millis
+     */
+    public long lastConvergenceMillis() {
+        return lastConvergenceMillis;
+    }
+
+    /**
+     * Returns the longest convergence time of a batch so far.
+     *
+     * @return convergence time in millis
+     */
+    public long maxConvergenceMillis() {
+        return maxConvergenceMillis.get();
+    }
+
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add("received", received())
+                .add("applied", applied())
+                .add("batches", batches())
+                .add("lastConvergenceMillis", lastConvergenceMillis())
+                .add("maxConvergenceMillis", maxConvergenceMillis())
+                .toString();
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.routeservice;
+
+import com.codahale.metrics.MetricFilter;
+import com.google.common.collect.ImmutableList;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.onlab.metrics.MetricsManager;
+import org.onlab.packet.IpAddress;
+import org.onlab.packet.IpPrefix;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.onlab.junit.TestTools.assertAfter;
+
+/**
+ * Tests for the route update accumulator.
+ */
+public class RouteUpdateAccumulatorTest {
+
+    private static final long LONG_WINDOW_MILLIS = 60_000;
+
+    private static final Route R1 = new Route(Route.Source.FPM, IpPrefix.valueOf("10.0.1.0/24"),
+                                              IpAddress.valueOf("192.168.1.1"));
+    private static final Route R2 = new Route(Route.Source.FPM, IpPrefix.valueOf("10.0.2.0/24"),
+                                              IpAddress.valueOf("192.168.1.1"));
+
+    private final List<Route> updates = new CopyOnWriteArrayList<>();
+    private final List<Route> withdraws = new CopyOnWriteArrayList<>();
+
+    private ScheduledExecutorService executor;
+
+    private final AtomicInteger failures = new AtomicInteger();
+
+    private final RouteAdminService routeService = new RouteServiceAdapter() {
+        @Override
+        public void update(Collection<Route> routes) {
+            if (failures.getAndDecrement() > 0) {
+                throw new IllegalStateException("unavailable");
+            }
+            updates.addAll(routes);
+        }
+
+        @Override
+        public void withdraw(Collection<Route> routes) {
+            withdraws.addAll(routes);
+        }
+    };
+
+    @Before
+    public void setUp() {
+        executor = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Tests that only the last operation on a route reaches the route service.
+     */
+    @Test
+    public void testLastWriterWins() {
+        RouteUpdateAccumulator accumulator =
+                new RouteUpdateAccumulator(routeService, executor, 1000, LONG_WINDOW_MILLIS);
+
+        accumulator.update(ImmutableList.of(R1, R2));
+        accumulator.withdraw(ImmutableList.of(R1));
+        accumulator.update(ImmutableList.of(R2));
+        accumulator.flush();
+
+        assertThat(withdraws, contains(R1));
+        assertThat(updates, contains(R2));
+        assertThat(accumulator.received(), is(4L));
+        assertThat(accumulator.applied(), is(2L));
+        assertThat(accumulator.batches(), is(1L));
+    }
+
+    /**
+     * Tests that a withdrawn route updated again within the window is updated.
+     */
+    @Test
+    public void testWithdrawThenUpdate() {
+        RouteUpdateAccumulator accumulator =
+                new RouteUpdateAccumulator(routeService, executor, 1000, LONG_WINDOW_MILLIS);
+
+        accumulator.withdraw(ImmutableList.of(R1));
+        accumulator.update(ImmutableList.of(R1));
+        accumulator.flush();
+
+        assertThat(withdraws, is(empty()));
+        assertThat(updates, contains(R1));
+    }
+
+    /**
+     * Tests that reaching the maximum number of routes applies the batch
+     * without waiting for the window.
+     */
+    @Test
+    public void testFlushOnMaxRoutes() {
+        RouteUpdateAccumulator accumulator =
+                new RouteUpdateAccumulator(routeService, executor, 2, LONG_WINDOW_MILLIS);
+
+        accumulator.update(ImmutableList.of(R1, R2));
+
+        assertAfter(1000, () -> assertThat(accumulator.batches(), is(1L)));
+        assertThat(updates, contains(R1, R2));
+    }
+
+    /**
+     * Tests that pending routes are applied when the window elapses.
+     */
+    @Test
+    public void testFlushOnWindow() {
+        RouteUpdateAccumulator accumulator =
+                new RouteUpdateAccumulator(routeService, executor, 1000, 10);
+
+        accumulator.update(ImmutableList.of(R1));
+
+        assertAfter(1000, () -> assertThat(updates, contains(R1)));
+    }
+
+    /**
+     * Tests that a batch which fails to apply is retried, merged with the
+     * operations received meanwhile.
+     */
+    @Test
+    public void testRetryFailedBatch() {
+        RouteUpdateAccumulator accumulator =
+                new RouteUpdateAccumulator(routeService, executor, 1000, 10);
+        failures.set(1);
+
+        accumulator.update(ImmutableList.of(R1, R2));
+        accumulator.flush();
+        assertThat(updates, is(empty()));
+        assertThat(accumulator.batches(), is(0L));
+
+        accumulator.withdraw(ImmutableList.of(R2));
+
+        assertAfter(1000, () -> assertThat(accumulator.batches(), is(1L)));
+        assertThat(updates, contains(R1));
+        assertThat(withdraws, contains(R2));
+        assertThat(accumulator.applied(), is(2L));
+    }
+
+    /**
+     * Tests that the counters are exposed through the metrics service.
+     */
+    @Test
+    public void testMetrics() {
+        MetricsManager metricsService = new MetricsManager();
+        RouteUpdateAccumulator accumulator =
+                new RouteUpdateAccumulator(routeService, executor, 1000, LONG_WINDOW_MILLIS);
+        accumulator.registerMetrics(metricsService, "test");
+
+        accumulator.update(ImmutableList.of(R1, R2));
+        accumulator.flush();
+
+        assertThat(gauge(metricsService, "received"), is(2L));
+        assertThat(gauge(metricsService, "batches"), is(1L));
+
+        accumulator.removeMetrics(metricsService);
+        assertThat(metricsService.getGauges(MetricFilter.ALL).isEmpty(), is(true));
+    }
+
+    private static long gauge(MetricsManager metricsService, String name) {
+        return (Long) metricsService.getGauges(MetricFilter.ALL).get("test.routeAccumulator." + name).getValue();
+    }
+}
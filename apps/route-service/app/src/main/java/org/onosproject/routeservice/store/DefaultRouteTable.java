@@ -18,12 +18,19 @@ package org.onosproject.routeservice.store;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import com.google.common.base.Throwables;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import org.onlab.packet.IpAddress;
 import org.onlab.packet.IpPrefix;
@@ -35,6 +42,8 @@ import org.onosproject.routeservice.RouteSet;
 import org.onosproject.routeservice.RouteStoreDelegate;
 import org.onosproject.routeservice.RouteTableId;
 import org.onosproject.store.serializers.KryoNamespaces;
+import org.onosproject.store.service.AsyncConsistentMultimap;
+import org.onosproject.store.service.ConsistentMapException;
 import org.onosproject.store.service.ConsistentMultimap;
 import org.onosproject.store.service.DistributedPrimitive;
 import org.onosproject.store.service.MultimapEvent;
@@ -56,6 +65,7 @@ public class DefaultRouteTable implements RouteTable {
     // The route map stores RawRoute instead of Route to translate the polymorphic IpPrefix and IpAddress types
     // into monomorphic types (specifically String). Using strings in the stored RawRoute is necessary to ensure
     // the serialized bytes are consistent whether e.g. IpAddress or Ip4Address is used when storing a route.
+    private final AsyncConsistentMultimap<String, RawRoute> asyncRoutes;
     private final ConsistentMultimap<String, RawRoute> routes;
 
     private final RouteStoreDelegate delegate;
@@ -76,7 +86,8 @@ public class DefaultRouteTable implements RouteTable {
                              StorageService storageService, ExecutorService executor) {
         this.delegate = checkNotNull(delegate);
         this.id = checkNotNull(id);
-        this.routes = buildRouteMap(checkNotNull(storageService));
+        this.asyncRoutes = buildRouteMap(checkNotNull(storageService));
+        this.routes = asyncRoutes.asMultimap();
         this.executor = checkNotNull(executor);
 
         statusChangeListener = status -> {
@@ -96,7 +107,7 @@ public class DefaultRouteTable implements RouteTable {
             new InternalRouteEvent(InternalRouteEvent.Type.ROUTE_ADDED, routeSet)));
     }
 
-    private ConsistentMultimap<String, RawRoute> buildRouteMap(StorageService storageService) {
+    private AsyncConsistentMultimap<String, RawRoute> buildRouteMap(StorageService storageService) {
         KryoNamespace routeTableSerializer = KryoNamespace.newBuilder()
                 .register(KryoNamespaces.API)
                 .register(Route.class)
@@ -107,7 +118,7 @@ public class DefaultRouteTable implements RouteTable {
                 .withName("onos-routes-" + id.name())
                 .withRelaxedReadConsistency()
                 .withSerializer(Serializer.using(routeTableSerializer))
-                .build();
+                .buildMultimap();
     }
 
     @Override
@@ -134,14 +145,72 @@ public class DefaultRouteTable implements RouteTable {
 
     @Override
     public void remove(Route route) {
-        getRoutes(route.prefix())
-            .routes()
-            .stream()
-            .filter(r -> r.equals(route))
-            .findAny()
-            .ifPresent(matchRoute -> {
-                routes.remove(matchRoute.prefix().toString(), new RawRoute(matchRoute));
-            });
+        // the multimap matches the values by their serialized form, so the
+        // stored route is removed rather than the withdrawn one
+        String prefix = route.prefix().toString();
+        storedRoutes(Collections.singleton(new RawRoute(route)),
+                     Versioned.valueOrNull(routes.get(prefix)))
+                .forEach(stored -> routes.remove(prefix, stored));
+    }
+
+    @Override
+    public void update(Collection<Route> batch) {
+        // the routes of each prefix are written at once, and the prefixes concurrently
+        complete(groupByPrefix(batch).entrySet().stream()
+                         .map(entry -> asyncRoutes.putAll(entry.getKey(), entry.getValue()))
+                         .collect(Collectors.toList()));
+    }
+
+    @Override
+    public void remove(Collection<Route> batch) {
+        complete(groupByPrefix(batch).entrySet().stream()
+                         .map(entry -> asyncRoutes.get(entry.getKey())
+                                 .thenCompose(current -> {
+                                     List<RawRoute> stored = storedRoutes(entry.getValue(),
+                                                                          Versioned.valueOrNull(current));
+                                     return stored.isEmpty() ? CompletableFuture.completedFuture(false)
+                                             : asyncRoutes.removeAll(entry.getKey(), stored);
+                                 }))
+                         .collect(Collectors.toList()));
+    }
+
+    /**
+     * Returns the stored routes of a prefix which equal the given routes,
+     * that is which have the same next hop, whatever their source.
+     *
+     * @param withdrawn routes to look up
+     * @param current   routes stored for the prefix, may be null
+     * @return stored routes
+     */
+    private List<RawRoute> storedRoutes(Collection<RawRoute> withdrawn,
+                                        Collection<? extends RawRoute> current) {
+        if (current == null) {
+            return Collections.emptyList();
+        }
+        return current.stream()
+                .filter(withdrawn::contains)
+                .collect(Collectors.toList());
+    }
+
+    private Map<String, List<RawRoute>> groupByPrefix(Collection<Route> batch) {
+        return batch.stream()
+                .map(RawRoute::new)
+                .collect(Collectors.groupingBy(RawRoute::prefix));
+    }
+
+    private void complete(List<CompletableFuture<Boolean>> futures) {
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                    .get(DistributedPrimitive.DEFAULT_OPERATION_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConsistentMapException.Interrupted();
+        } catch (TimeoutException e) {
+            throw new ConsistentMapException.Timeout();
+        } catch (ExecutionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new ConsistentMapException(e.getCause());
+        }
     }
 
     @Override
@@ -180,32 +249,51 @@ public class DefaultRouteTable implements RouteTable {
             .collect(Collectors.toSet());
     }
 
+    /**
+     * Listens to the route map and notifies the delegate of the route set of
+     * each changed prefix. Changes to a prefix which reach the listener before
+     * the notification for the prefix is sent are folded into it, so that a
+     * bulk write of the routes of a prefix results in a single notification.
+     */
     private class RouteTableListener
             implements MultimapEventListener<String, RawRoute> {
 
-        private InternalRouteEvent createRouteEvent(
-                InternalRouteEvent.Type type, MultimapEvent<String, RawRoute> event) {
-            Collection<? extends RawRoute> currentRoutes = Versioned.valueOrNull(routes.get(event.key()));
+        // Type of the latest change to each prefix not yet notified
+        private final Map<String, InternalRouteEvent.Type> pendingPrefixes = Maps.newConcurrentMap();
+
+        private InternalRouteEvent createRouteEvent(InternalRouteEvent.Type type, String key) {
+            Collection<? extends RawRoute> currentRoutes = Versioned.valueOrNull(routes.get(key));
             return new InternalRouteEvent(type, new RouteSet(
-                id, IpPrefix.valueOf(event.key()), currentRoutes != null ?
+                id, IpPrefix.valueOf(key), currentRoutes != null ?
                 currentRoutes.stream().map(RawRoute::route).collect(Collectors.toSet())
                 : Collections.emptySet()));
         }
 
+        private void notifyPrefix(String key) {
+            InternalRouteEvent.Type type = pendingPrefixes.remove(key);
+            if (type != null) {
+                delegate.notify(createRouteEvent(type, key));
+            }
+        }
+
         @Override
         public void event(MultimapEvent<String, RawRoute> event) {
-            InternalRouteEvent ire = null;
+            InternalRouteEvent.Type type;
             switch (event.type()) {
             case INSERT:
-                ire = createRouteEvent(InternalRouteEvent.Type.ROUTE_ADDED, event);
+                type = InternalRouteEvent.Type.ROUTE_ADDED;
                 break;
             case REMOVE:
-                ire = createRouteEvent(InternalRouteEvent.Type.ROUTE_REMOVED, event);
+                type = InternalRouteEvent.Type.ROUTE_REMOVED;
                 break;
             default:
-                break;
+                return;
+            }
+            // events are delivered on the executor, so the notification is
+            // queued behind the events already received
+            if (pendingPrefixes.put(event.key(), type) == null) {
+                executor.execute(() -> notifyPrefix(event.key()));
             }
-            delegate.notify(ire);
         }
     }
 
@@ -37,11 +37,13 @@ import org.slf4j.LoggerFactory;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 
 import static org.onlab.util.Tools.groupedThreads;
 
@@ -120,6 +122,16 @@ public class DistributedRouteStore extends AbstractStore<InternalRouteEvent, Rou
         getDefaultRouteTable(route).remove(route);
     }
 
+    @Override
+    public void updateRoutes(Collection<Route> routes) {
+        groupByTable(routes).forEach((table, tableRoutes) -> table.update(tableRoutes));
+    }
+
+    @Override
+    public void removeRoutes(Collection<Route> routes) {
+        groupByTable(routes).forEach((table, tableRoutes) -> table.remove(tableRoutes));
+    }
+
     @Override
     public void replaceRoute(Route route) {
         getDefaultRouteTable(route).replace(route);
@@ -161,6 +173,10 @@ public class DistributedRouteStore extends AbstractStore<InternalRouteEvent, Rou
         }
     }
 
+    private Map<RouteTable, List<Route>> groupByTable(Collection<Route> routes) {
+        return routes.stream().collect(Collectors.groupingBy(this::getDefaultRouteTable));
+    }
+
     private RouteTable getDefaultRouteTable(Route route) {
         return getDefaultRouteTable(route.prefix().address());
     }
@@ -43,6 +43,24 @@ public interface RouteTable {
      */
     void remove(Route route);
 
+    /**
+     * Adds several routes to the route table.
+     *
+     * @param routes routes
+     */
+    default void update(Collection<Route> routes) {
+        routes.forEach(this::update);
+    }
+
+    /**
+     * Removes several routes from the route table.
+     *
+     * @param routes routes
+     */
+    default void remove(Collection<Route> routes) {
+        routes.forEach(this::remove);
+    }
+
     /**
      * Replaces a route in the route table.
      *
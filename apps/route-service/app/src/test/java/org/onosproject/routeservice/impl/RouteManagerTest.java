@@ -54,6 +54,7 @@ import org.onosproject.store.service.DistributedLockBuilder;
 import org.onosproject.store.service.StorageService;
 import org.onosproject.store.service.WorkQueue;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Sets;
 
 import static org.easymock.EasyMock.anyObject;
@@ -219,6 +220,30 @@ public class RouteManagerTest {
         verifyRouteAdd(route, resolvedRoute);
     }
 
+    /**
+     * Tests adding routes of several route tables at once.
+     */
+    @Test
+    public void testBulkRouteAdd() {
+        Route v4Route = new Route(Route.Source.STATIC, V4_PREFIX1, V4_NEXT_HOP1);
+        Route v6Route = new Route(Route.Source.STATIC, V6_PREFIX1, V6_NEXT_HOP1);
+        ResolvedRoute v4ResolvedRoute = new ResolvedRoute(v4Route, MAC1);
+        ResolvedRoute v6ResolvedRoute = new ResolvedRoute(v6Route, MAC3);
+
+        reset(routeListener);
+
+        routeListener.event(event(RouteEvent.Type.ROUTE_ADDED, v4ResolvedRoute, null,
+                Sets.newHashSet(v4ResolvedRoute), null));
+        routeListener.event(event(RouteEvent.Type.ROUTE_ADDED, v6ResolvedRoute, null,
+                Sets.newHashSet(v6ResolvedRoute), null));
+
+        replay(routeListener);
+
+        routeManager.update(ImmutableList.of(v4Route, v6Route));
+
+        verify(routeListener);
+    }
+
     /**
      * Tests adding a new route and verifies that the correct event was sent
      * to the route listener.
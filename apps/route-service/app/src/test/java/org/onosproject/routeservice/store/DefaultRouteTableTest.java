@@ -0,0 +1,328 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.routeservice.store;
+
+import com.google.common.collect.HashMultiset;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Multiset;
+import com.google.common.util.concurrent.MoreExecutors;
+import org.junit.Before;
+import org.junit.Test;
+import org.onlab.packet.Ip4Address;
+import org.onlab.packet.Ip4Prefix;
+import org.onlab.packet.IpAddress;
+import org.onlab.packet.IpPrefix;
+import org.onosproject.cluster.NodeId;
+import org.onosproject.routeservice.Route;
+import org.onosproject.routeservice.RouteTableId;
+import org.onosproject.store.service.AsyncConsistentMultimap;
+import org.onosproject.store.service.AsyncIterator;
+import org.onosproject.store.service.ConsistentMultimap;
+import org.onosproject.store.service.ConsistentMultimapBuilder;
+import org.onosproject.store.service.MultimapEventListener;
+import org.onosproject.store.service.Serializer;
+import org.onosproject.store.service.StorageServiceAdapter;
+import org.onosproject.store.service.Versioned;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+/**
+ * Unit tests for the default route table.
+ */
+public class DefaultRouteTableTest {
+
+    private static final RouteTableId TABLE_ID = new RouteTableId("ipv4");
+
+    private static final IpPrefix PREFIX1 = Ip4Prefix.valueOf("1.1.1.0/24");
+    private static final IpPrefix PREFIX2 = Ip4Prefix.valueOf("2.2.2.0/24");
+    private static final IpAddress NEXT_HOP1 = Ip4Address.valueOf("192.168.10.1");
+    private static final IpAddress NEXT_HOP2 = Ip4Address.valueOf("192.168.20.1");
+
+    private static final NodeId NODE1 = NodeId.nodeId("node1");
+    private static final NodeId NODE2 = NodeId.nodeId("node2");
+
+    private DefaultRouteTable routeTable;
+
+    @Before
+    public void setUp() {
+        routeTable = new DefaultRouteTable(TABLE_ID, event -> { }, new TestStorageService(),
+                                           MoreExecutors.newDirectExecutorService());
+    }
+
+    /**
+     * Tests that a withdrawn route is removed even if its source node is not
+     * the one of the stored route.
+     */
+    @Test
+    public void testRemoveFromOtherNode() {
+        routeTable.update(new Route(Route.Source.STATIC, PREFIX1, NEXT_HOP1, NODE1));
+        routeTable.update(new Route(Route.Source.STATIC, PREFIX1, NEXT_HOP2, NODE1));
+
+        routeTable.remove(new Route(Route.Source.STATIC, PREFIX1, NEXT_HOP1, NODE2));
+
+        assertThat(nextHops(PREFIX1), is(ImmutableList.of(NEXT_HOP2)));
+    }
+
+    /**
+     * Tests that the withdrawn routes of a batch are removed even if their
+     * source node is not the one of the stored routes.
+     */
+    @Test
+    public void testBulkRemoveFromOtherNode() {
+        routeTable.update(ImmutableList.of(
+                new Route(Route.Source.STATIC, PREFIX1, NEXT_HOP1, NODE1),
+                new Route(Route.Source.STATIC, PREFIX1, NEXT_HOP2, NODE1),
+                new Route(Route.Source.STATIC, PREFIX2, NEXT_HOP1, NODE1)));
+
+        routeTable.remove(ImmutableList.of(
+                new Route(Route.Source.STATIC, PREFIX1, NEXT_HOP1, NODE2),
+                new Route(Route.Source.STATIC, PREFIX2, NEXT_HOP1, NODE2),
+                new Route(Route.Source.STATIC, PREFIX2, NEXT_HOP2, NODE2)));
+
+        assertThat(nextHops(PREFIX1), is(ImmutableList.of(NEXT_HOP2)));
+        assertThat(routeTable.getRoutes(PREFIX2), nullValue());
+    }
+
+    private List<IpAddress> nextHops(IpPrefix prefix) {
+        return routeTable.getRoutes(prefix).routes().stream()
+                .map(Route::nextHop)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Storage service building multimaps which, like the distributed ones,
+     * match the values by their serialized form.
+     */
+    private static class TestStorageService extends StorageServiceAdapter {
+        @Override
+        public <K, V> ConsistentMultimapBuilder<K, V> consistentMultimapBuilder() {
+            return new ConsistentMultimapBuilder<K, V>() {
+                @Override
+                public AsyncConsistentMultimap<K, V> buildMultimap() {
+                    return new SerializingMultimap<>(serializer());
+                }
+
+                @Override
+                public ConsistentMultimap<K, V> build() {
+                    return buildMultimap().asMultimap();
+                }
+            };
+        }
+    }
+
+    /**
+     * Multimap storing the serialized values of each key. Only the
+     * operations used by the route table are implemented.
+     */
+    private static class SerializingMultimap<K, V> implements AsyncConsistentMultimap<K, V> {
+
+        private final Serializer serializer;
+        private final Map<K, List<ByteBuffer>> values = Maps.newLinkedHashMap();
+        private long version;
+
+        SerializingMultimap(Serializer serializer) {
+            this.serializer = serializer;
+        }
+
+        private ByteBuffer encode(V value) {
+            return ByteBuffer.wrap(serializer.encode(value));
+        }
+
+        private V decode(ByteBuffer value) {
+            return serializer.decode(value.array());
+        }
+
+        private synchronized Versioned<Collection<? extends V>> getNow(K key) {
+            List<ByteBuffer> current = values.get(key);
+            if (current == null) {
+                return null;
+            }
+            return new Versioned<>(current.stream().map(this::decode).collect(Collectors.toList()), version);
+        }
+
+        @Override
+        public String name() {
+            return "test";
+        }
+
+        @Override
+        public synchronized CompletableFuture<Boolean> put(K key, V value) {
+            return putAll(key, ImmutableList.of(value));
+        }
+
+        @Override
+        public synchronized CompletableFuture<Boolean> putAll(K key, Collection<? extends V> newValues) {
+            List<ByteBuffer> current = values.computeIfAbsent(key, k -> new ArrayList<>());
+            boolean changed = false;
+            for (V value : newValues) {
+                ByteBuffer encoded = encode(value);
+                if (!current.contains(encoded)) {
+                    current.add(encoded);
+                    changed = true;
+                }
+            }
+            version++;
+            return CompletableFuture.completedFuture(changed);
+        }
+
+        @Override
+        public synchronized CompletableFuture<Boolean> remove(K key, V value) {
+            return removeAll(key, ImmutableList.of(value));
+        }
+
+        @Override
+        public synchronized CompletableFuture<Boolean> removeAll(K key, Collection<? extends V> oldValues) {
+            List<ByteBuffer> current = values.get(key);
+            boolean changed = false;
+            if (current != null) {
+                for (V value : oldValues) {
+                    changed |= current.remove(encode(value));
+                }
+                if (current.isEmpty()) {
+                    values.remove(key);
+                }
+            }
+            version++;
+            return CompletableFuture.completedFuture(changed);
+        }
+
+        @Override
+        public CompletableFuture<Versioned<Collection<? extends V>>> get(K key) {
+            return CompletableFuture.completedFuture(getNow(key));
+        }
+
+        @Override
+        public synchronized CompletableFuture<Collection<Map.Entry<K, V>>> entries() {
+            List<Map.Entry<K, V>> entries = new ArrayList<>();
+            values.forEach((key, list) -> list.forEach(value -> entries.add(Maps.immutableEntry(key, decode(value)))));
+            return CompletableFuture.completedFuture(entries);
+        }
+
+        @Override
+        public CompletableFuture<AsyncIterator<Map.Entry<K, V>>> iterator() {
+            Iterator<Map.Entry<K, V>> entries = entries().join().iterator();
+            return CompletableFuture.completedFuture(new AsyncIterator<Map.Entry<K, V>>() {
+                @Override
+                public CompletableFuture<Boolean> hasNext() {
+                    return CompletableFuture.completedFuture(entries.hasNext());
+                }
+
+                @Override
+                public CompletableFuture<Map.Entry<K, V>> next() {
+                    return CompletableFuture.completedFuture(entries.next());
+                }
+            });
+        }
+
+        @Override
+        public CompletableFuture<Void> addListener(MultimapEventListener<K, V> listener, Executor executor) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public CompletableFuture<Void> removeListener(MultimapEventListener<K, V> listener) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public synchronized CompletableFuture<Integer> size() {
+            return CompletableFuture.completedFuture(values.values().stream().mapToInt(List::size).sum());
+        }
+
+        @Override
+        public synchronized CompletableFuture<Boolean> isEmpty() {
+            return CompletableFuture.completedFuture(values.isEmpty());
+        }
+
+        @Override
+        public synchronized CompletableFuture<Boolean> containsKey(K key) {
+            return CompletableFuture.completedFuture(values.containsKey(key));
+        }
+
+        @Override
+        public CompletableFuture<Boolean> containsValue(V value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletableFuture<Boolean> containsEntry(K key, V value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletableFuture<Versioned<Collection<? extends V>>> putAndGet(K key, V value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletableFuture<Versioned<Collection<? extends V>>> removeAndGet(K key, V value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletableFuture<Versioned<Collection<? extends V>>> removeAll(K key) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletableFuture<Versioned<Collection<? extends V>>> replaceValues(K key, Collection<V> newValues) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public synchronized CompletableFuture<Void> clear() {
+            values.clear();
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public synchronized CompletableFuture<Set<K>> keySet() {
+            return CompletableFuture.completedFuture(values.keySet());
+        }
+
+        @Override
+        public CompletableFuture<Multiset<K>> keys() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletableFuture<Multiset<V>> values() {
+            Multiset<V> multiset = HashMultiset.create();
+            entries().join().forEach(entry -> multiset.add(entry.getValue()));
+            return CompletableFuture.completedFuture(multiset);
+        }
+
+        @Override
+        public CompletableFuture<Map<K, Collection<V>>> asMap() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
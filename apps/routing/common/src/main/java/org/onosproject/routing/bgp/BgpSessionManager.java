@@ -26,6 +26,7 @@ import org.jboss.netty.channel.Channels;
 import org.jboss.netty.channel.group.ChannelGroup;
 import org.jboss.netty.channel.group.DefaultChannelGroup;
 import org.jboss.netty.channel.socket.nio.NioServerSocketChannelFactory;
+import org.onlab.metrics.MetricsService;
 import org.onlab.packet.Ip4Address;
 import org.onlab.packet.Ip4Prefix;
 import org.onlab.packet.Ip6Prefix;
@@ -33,6 +34,7 @@ import org.onlab.packet.IpPrefix;
 import org.onosproject.cluster.ClusterService;
 import org.onosproject.routeservice.Route;
 import org.onosproject.routeservice.RouteAdminService;
+import org.onosproject.routeservice.RouteUpdateAccumulator;
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -50,8 +52,10 @@ import java.util.Collection;
 import java.util.Dictionary;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
 
 import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
 import static org.onlab.util.Tools.groupedThreads;
 
 /**
@@ -68,6 +72,9 @@ public class BgpSessionManager implements BgpInfoService {
     @Reference(cardinality = ReferenceCardinality.MANDATORY)
     protected ClusterService clusterService;
 
+    @Reference(cardinality = ReferenceCardinality.MANDATORY)
+    protected MetricsService metricsService;
+
     boolean isShutdown = true;
     private Channel serverChannel;     // Listener for incoming BGP connections
     private ServerBootstrap serverBootstrap;
@@ -85,9 +92,21 @@ public class BgpSessionManager implements BgpInfoService {
     private static final int DEFAULT_BGP_PORT = 2000;
     private int bgpPort;
 
+    // Bounds of the batches of routes handed to the route service
+    private static final int MAX_ROUTE_BATCH = 10000;
+    private static final long MAX_ROUTE_BATCH_MILLIS = 50;
+    private static final String METRICS_COMPONENT = "BgpSessionManager";
+
+    private ScheduledExecutorService routeExecutor;
+    private RouteUpdateAccumulator routeAccumulator;
+
     @Activate
     protected void activate(ComponentContext context) {
         bgpRouteSelector = new BgpRouteSelector(this, clusterService);
+        routeExecutor = newSingleThreadScheduledExecutor(groupedThreads("onos/bgp", "route-updates", log));
+        routeAccumulator = new RouteUpdateAccumulator(routeService, routeExecutor,
+                                                      MAX_ROUTE_BATCH, MAX_ROUTE_BATCH_MILLIS);
+        routeAccumulator.registerMetrics(metricsService, METRICS_COMPONENT);
         readComponentConfiguration(context);
         start();
         log.info("BgpSessionManager started");
@@ -96,6 +115,9 @@ public class BgpSessionManager implements BgpInfoService {
     @Deactivate
     protected void deactivate() {
         stop();
+        routeAccumulator.flush();
+        routeAccumulator.removeMetrics(metricsService);
+        routeExecutor.shutdown();
         log.info("BgpSessionManager stopped");
     }
 
@@ -298,7 +320,7 @@ public class BgpSessionManager implements BgpInfoService {
      * @param updates routes to update
      */
     void update(Collection<Route> updates) {
-        routeService.update(updates);
+        routeAccumulator.update(updates);
     }
 
     /**
@@ -307,7 +329,7 @@ public class BgpSessionManager implements BgpInfoService {
      * @param withdraws routes to withdraw
      */
     void withdraw(Collection<Route> withdraws) {
-        routeService.withdraw(withdraws);
+        routeAccumulator.withdraw(withdraws);
     }
 
 
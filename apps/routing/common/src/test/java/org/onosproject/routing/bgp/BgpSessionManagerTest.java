@@ -32,6 +32,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.onlab.junit.TestUtils;
 import org.onlab.junit.TestUtils.TestUtilsException;
+import org.onlab.metrics.MetricsManager;
 import org.onlab.packet.Ip4Address;
 import org.onlab.packet.Ip4Prefix;
 import org.onlab.packet.IpAddress;
@@ -267,6 +268,7 @@ public class BgpSessionManagerTest {
                 .andReturn(new DefaultControllerNode(NODE_ID, LOCAL)).anyTimes();
         replay(clusterService);
         bgpSessionManager.clusterService = clusterService;
+        bgpSessionManager.metricsService = new MetricsManager();
 
         // NOTE: We use port 0 to bind on any available port
         ComponentContext componentContext = createMock(ComponentContext.class);
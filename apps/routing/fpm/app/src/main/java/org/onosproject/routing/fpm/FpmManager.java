@@ -30,6 +30,7 @@ import org.jboss.netty.channel.group.DefaultChannelGroup;
 import org.jboss.netty.channel.socket.nio.NioServerSocketChannelFactory;
 import org.jboss.netty.handler.timeout.IdleStateHandler;
 import org.jboss.netty.util.HashedWheelTimer;
+import org.onlab.metrics.MetricsService;
 import org.onlab.packet.Ip4Address;
 import org.onlab.packet.Ip6Address;
 import org.onlab.packet.IpAddress;
@@ -48,6 +49,7 @@ import org.onosproject.net.intf.Interface;
 import org.onosproject.net.intf.InterfaceService;
 import org.onosproject.routeservice.Route;
 import org.onosproject.routeservice.RouteAdminService;
+import org.onosproject.routeservice.RouteUpdateAccumulator;
 import org.onosproject.routing.fpm.api.FpmPrefixStore;
 import org.onosproject.routing.fpm.api.FpmPrefixStoreEvent;
 import org.onosproject.routing.fpm.api.FpmRecord;
@@ -92,6 +94,7 @@ import java.util.Iterator;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.stream.Collectors;
 
 import static java.util.concurrent.Executors.newCachedThreadPool;
@@ -126,6 +129,11 @@ public class FpmManager implements FpmInfoService {
     private static final int IDLE_TIMEOUT_SECS = 5;
     private static final String LOCK_NAME = "fpm-manager-lock";
 
+    // Bounds of the batches of routes handed to the route service
+    private static final int MAX_ROUTE_BATCH = 10000;
+    private static final long MAX_ROUTE_BATCH_MILLIS = 50;
+    private static final String METRICS_COMPONENT = "FpmManager";
+
     @Reference(cardinality = ReferenceCardinality.MANDATORY)
     protected CoreService coreService;
 
@@ -144,6 +152,9 @@ public class FpmManager implements FpmInfoService {
     @Reference(cardinality = ReferenceCardinality.MANDATORY)
     protected InterfaceService interfaceService;
 
+    @Reference(cardinality = ReferenceCardinality.MANDATORY)
+    protected MetricsService metricsService;
+
     @Reference(cardinality = ReferenceCardinality.OPTIONAL,
                bind = "bindRipStore",
                unbind = "unbindRipStore",
@@ -170,6 +181,9 @@ public class FpmManager implements FpmInfoService {
 
     private ExecutorService clusterEventExecutor;
 
+    private ScheduledExecutorService routeExecutor;
+    private RouteUpdateAccumulator routeAccumulator;
+
     private ConsistentMap<FpmPeer, Set<FpmConnectionInfo>> peers;
 
     private Map<FpmPeer, Map<IpPrefix, Route>> fpmRoutes = new ConcurrentHashMap<>();
@@ -241,6 +255,12 @@ public class FpmManager implements FpmInfoService {
                 .withSerializer(Serializer.using(serializer))
                 .build();
 
+        routeExecutor = Executors.newSingleThreadScheduledExecutor(
+                groupedThreads("onos/fpm", "route-updates", log));
+        routeAccumulator = new RouteUpdateAccumulator(routeService, routeExecutor,
+                                                      MAX_ROUTE_BATCH, MAX_ROUTE_BATCH_MILLIS);
+        routeAccumulator.registerMetrics(metricsService, METRICS_COMPONENT);
+
         modified(context);
         startServer();
 
@@ -262,6 +282,9 @@ public class FpmManager implements FpmInfoService {
 
         stopServer();
         fpmRoutes.clear();
+        routeAccumulator.flush();
+        routeAccumulator.removeMetrics(metricsService);
+        routeExecutor.shutdown();
         componentConfigService.unregisterProperties(getClass(), false);
 
         clusterService.removeListener(clusterListener);
@@ -528,9 +551,9 @@ public class FpmManager implements FpmInfoService {
         updateRouteStore(updates, withdraws);
     }
 
-    private synchronized void updateRouteStore(Collection<Route> routesToAdd, Collection<Route> routesToRemove) {
-        routeService.withdraw(routesToRemove);
-        routeService.update(routesToAdd);
+    private void updateRouteStore(Collection<Route> routesToAdd, Collection<Route> routesToRemove) {
+        routeAccumulator.withdraw(routesToRemove);
+        routeAccumulator.update(routesToAdd);
     }
 
     private void clearRoutes(FpmPeer peer) {
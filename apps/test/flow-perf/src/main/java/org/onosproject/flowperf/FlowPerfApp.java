@@ -15,22 +15,27 @@
  */
 package org.onosproject.flowperf;
 
-import com.google.common.collect.Iterables;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import org.onlab.packet.MacAddress;
+import org.onlab.util.LatencyHistogram;
 import org.onlab.util.Tools;
 import org.onosproject.cfg.ComponentConfigService;
 import org.onosproject.core.ApplicationId;
 import org.onosproject.core.CoreService;
 import org.onosproject.net.Device;
+import org.onosproject.net.DeviceId;
 import org.onosproject.net.PortNumber;
 import org.onosproject.net.device.DeviceService;
 import org.onosproject.net.flow.DefaultFlowRule;
 import org.onosproject.net.flow.DefaultTrafficSelector;
 import org.onosproject.net.flow.DefaultTrafficTreatment;
 import org.onosproject.net.flow.FlowRule;
-import org.onosproject.net.flow.FlowRuleEvent;
-import org.onosproject.net.flow.FlowRuleListener;
+import org.onosproject.net.flow.FlowRuleOperations;
+import org.onosproject.net.flow.FlowRuleOperationsContext;
 import org.onosproject.net.flow.FlowRuleService;
 import org.onosproject.net.flow.TrafficSelector;
 import org.onosproject.net.flow.TrafficTreatment;
@@ -43,19 +48,28 @@ import org.osgi.service.component.annotations.Modified;
 import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 
+import java.util.Comparator;
 import java.util.Dictionary;
-import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.CountDownLatch;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static org.onlab.util.Tools.get;
 import static org.onosproject.flowperf.OsgiPropertyConstants.BATCH_SIZE;
 import static org.onosproject.flowperf.OsgiPropertyConstants.BATCH_SIZE_DEFAULT;
+import static org.onosproject.flowperf.OsgiPropertyConstants.DEVICE_COUNT;
+import static org.onosproject.flowperf.OsgiPropertyConstants.DEVICE_COUNT_DEFAULT;
+import static org.onosproject.flowperf.OsgiPropertyConstants.OPERATION_MIX;
+import static org.onosproject.flowperf.OsgiPropertyConstants.OPERATION_MIX_DEFAULT;
 import static org.onosproject.flowperf.OsgiPropertyConstants.TOTAL_FLOWS;
 import static org.onosproject.flowperf.OsgiPropertyConstants.TOTAL_FLOWS_DEFAULT;
 import static org.onosproject.flowperf.OsgiPropertyConstants.TOTAL_THREADS;
@@ -64,10 +78,23 @@ import static org.osgi.service.component.annotations.ReferenceCardinality.MANDAT
 import static org.slf4j.LoggerFactory.getLogger;
 
 /**
- * Application for measuring flow installation performance.
+ * Application for measuring flow programming performance.
  * <p>
- * This application installs a bunch of flows, validates that all those flows have
- * been successfully added and immediately proceeds to remove all the added flows.
+ * A run applies a given number of flow rule operations, in batches, with a
+ * given number of batches in flight at any time: each worker submits its next
+ * batch as soon as the previous one has been acknowledged, so the throughput
+ * is measured at the latency it induces. The operations are a mix of
+ * additions of new flow rules, and modifications and removals of the flow
+ * rules previously added by the same worker, spread over the available
+ * devices. The latency of each operation, from the submission of its batch to
+ * the success callback of the batch, is recorded per type of operation. All
+ * the flow rules of the application are removed at the end of a run.
+ * </p>
+ * <p>
+ * Runs are started and stopped from the CLI or the REST API, which also
+ * export the results as JSON. Against the null providers, the results measure
+ * the core and the flow rule store alone.
+ * </p>
  */
 @Component(
     immediate = true,
@@ -75,12 +102,29 @@ import static org.slf4j.LoggerFactory.getLogger;
     property = {
         TOTAL_FLOWS + ":Integer=" + TOTAL_FLOWS_DEFAULT,
         BATCH_SIZE + ":Integer=" + BATCH_SIZE_DEFAULT,
-        TOTAL_THREADS + ":Integer=" + TOTAL_THREADS_DEFAULT
+        TOTAL_THREADS + ":Integer=" + TOTAL_THREADS_DEFAULT,
+        DEVICE_COUNT + ":Integer=" + DEVICE_COUNT_DEFAULT,
+        OPERATION_MIX + "=" + OPERATION_MIX_DEFAULT
     }
 )
 public class FlowPerfApp {
     private final Logger log = getLogger(getClass());
 
+    private static final long BATCH_TIMEOUT_SECONDS = 60;
+    // Interval at which a worker waiting for its batch checks for cancellation
+    private static final long CANCEL_CHECK_MILLIS = 100;
+    private static final long STOP_TIMEOUT_SECONDS = 30;
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+    private static final String[] PERCENTILE_NAMES = {"p50", "p90", "p99", "p999", "p9999"};
+
+    /**
+     * Types of flow rule operations.
+     */
+    enum Operation {
+        ADD, MODIFY, REMOVE
+    }
+
     @Reference(cardinality = MANDATORY)
     protected DeviceService deviceService;
 
@@ -95,135 +139,92 @@ public class FlowPerfApp {
 
     protected ApplicationId appId;
 
-    private AtomicInteger pendingBatchCount;
-    private CountDownLatch installationLatch;
-    private CountDownLatch uninstallationLatch;
-    private Iterator<Device> devices;
-    private AtomicLong macIndex;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final AtomicLong macIndex = new AtomicLong();
 
-    List<FlowRule> addedRules = Lists.newArrayList();
-
-    /** Total number of flows. */
+    /** Total number of flow rule operations per run. */
     private int totalFlows = TOTAL_FLOWS_DEFAULT;
 
-    /** Number of flows per batch. */
+    /** Number of flow rule operations per batch. */
     private int batchSize = BATCH_SIZE_DEFAULT;
 
-    /** Number of installer threads. */
+    /** Number of batches in flight. */
     private int totalThreads = TOTAL_THREADS_DEFAULT;
 
-    private ExecutorService installer;
+    /** Number of devices to program; 0 for all available devices. */
+    private int deviceCount = DEVICE_COUNT_DEFAULT;
+
+    /** Weights of the operations, as add=n,modify=n,remove=n. */
+    private String operationMix = OPERATION_MIX_DEFAULT;
+
+    private Map<Operation, Integer> mix = parseMix(OPERATION_MIX_DEFAULT);
+
     private ExecutorService testRunner =
             Executors.newSingleThreadExecutor(Tools.groupedThreads("app/flow-perf-test-runner", ""));
 
+    private volatile Run run;
+
     @Activate
     public void activate(ComponentContext context) {
         appId = coreService.registerApplication("org.onosproject.flowperf");
         configService.registerProperties(getClass());
-        installer = Executors.newFixedThreadPool(totalThreads, Tools.groupedThreads("app/flow-perf-worker", "%d"));
-        testRunner.submit(this::runTest);
+        modified(context);
         log.info("Started");
     }
 
     @Deactivate
     public void deactivate(ComponentContext context) {
-        installer.shutdown();
+        stop();
         testRunner.shutdown();
+        // Let the run remove its flow rules while the services are available
+        try {
+            if (!testRunner.awaitTermination(STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("Run did not stop within {} seconds", STOP_TIMEOUT_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
         configService.unregisterProperties(getClass(), false);
         log.info("Stopped.");
     }
 
-    private void runTest() {
-        pendingBatchCount = new AtomicInteger(totalFlows / batchSize);
-        installationLatch = new CountDownLatch(totalFlows);
-        List<Device> deviceList = Lists.newArrayList();
-        deviceService.getAvailableDevices().forEach(deviceList::add);
-        devices = Iterables.cycle(deviceList).iterator();
-        log.info("Starting installation. Total flows: {}, Total threads: {}, "
-                + "Batch Size: {}", totalFlows, totalThreads, batchSize);
-
-        macIndex = new AtomicLong(0);
-        FlowRuleListener addMonitor = event -> {
-            if (event.type() == FlowRuleEvent.Type.RULE_ADDED) {
-                installationLatch.countDown();
-            }
-        };
-
-        flowRuleService.addListener(addMonitor);
-        long addStartTime = System.currentTimeMillis();
-        for (int i = 0; i < totalThreads; ++i) {
-            installer.submit(() -> {
-                while (pendingBatchCount.getAndDecrement() > 0) {
-                    List<FlowRule> batch = nextBatch(batchSize);
-                    addedRules.addAll(batch);
-                    flowRuleService.applyFlowRules(batch.toArray(new FlowRule[]{}));
-                }
-            });
+    /**
+     * Starts a run with the current settings.
+     *
+     * @return false if a run is already in progress
+     */
+    public synchronized boolean start() {
+        if (run != null && run.running) {
+            return false;
         }
-
-        // Wait till all the flows are in ADDED state.
-        try {
-            installationLatch.await();
-        } catch (InterruptedException e) {
-            Thread.interrupted();
+        List<Device> devices = Lists.newArrayList(deviceService.getAvailableDevices());
+        devices.sort(Comparator.comparing(d -> d.id().toString()));
+        if (deviceCount > 0 && deviceCount < devices.size()) {
+            devices = devices.subList(0, deviceCount);
         }
-        log.info("Time to install {} flows: {} ms", totalFlows, System.currentTimeMillis() - addStartTime);
-        flowRuleService.removeListener(addMonitor);
-
+        run = new Run(devices.stream().map(Device::id).collect(Collectors.toList()));
+        testRunner.submit(run::execute);
+        return true;
+    }
 
-        uninstallationLatch = new CountDownLatch(totalFlows);
-        FlowRuleListener removeListener = event -> {
-            if (event.type() == FlowRuleEvent.Type.RULE_REMOVED) {
-                uninstallationLatch.countDown();
-            }
-        };
-        AtomicInteger currentIndex = new AtomicInteger(0);
-        long removeStartTime = System.currentTimeMillis();
-        flowRuleService.addListener(removeListener);
-        // Uninstallation runs on a single thread.
-        installer.submit(() -> {
-            while (currentIndex.get() < addedRules.size()) {
-                List<FlowRule> removeBatch = addedRules.subList(currentIndex.get(),
-                        Math.min(currentIndex.get() + batchSize, addedRules.size()));
-                currentIndex.addAndGet(removeBatch.size());
-                flowRuleService.removeFlowRules(removeBatch.toArray(new FlowRule[]{}));
-            }
-        });
-        try {
-            uninstallationLatch.await();
-        } catch (InterruptedException e) {
-            Thread.interrupted();
+    /**
+     * Stops the run in progress, if any.
+     */
+    public void stop() {
+        Run current = run;
+        if (current != null) {
+            current.cancelled = true;
         }
-        log.info("Time to uninstall {} flows: {} ms", totalFlows, System.currentTimeMillis() - removeStartTime);
-        flowRuleService.removeListener(removeListener);
     }
 
-    private List<FlowRule> nextBatch(int size) {
-        List<FlowRule> rules = Lists.newArrayList();
-        for (int i = 0; i < size; ++i) {
-            Device device = devices.next();
-            long srcMac = macIndex.incrementAndGet();
-            long dstMac = srcMac + 1;
-            TrafficSelector selector = DefaultTrafficSelector.builder()
-                    .matchEthSrc(MacAddress.valueOf(srcMac))
-                    .matchEthDst(MacAddress.valueOf(dstMac))
-                    .matchInPort(PortNumber.portNumber(2))
-                    .build();
-            TrafficTreatment treatment = DefaultTrafficTreatment.builder()
-                    .add(Instructions.createOutput(PortNumber.portNumber(3))).build();
-            FlowRule rule = DefaultFlowRule.builder()
-                .forDevice(device.id())
-                .withSelector(selector)
-                .withTreatment(treatment)
-                .withPriority(100)
-                .fromApp(appId)
-                .withHardTimeout(50000)
-                .makePermanent()
-                .build();
-
-            rules.add(rule);
-        }
-        return rules;
+    /**
+     * Returns the settings and results of the last run.
+     *
+     * @return JSON results; empty if there has been no run
+     */
+    public ObjectNode results() {
+        Run current = run;
+        return current != null ? current.json() : mapper.createObjectNode();
     }
 
     @Modified
@@ -232,14 +233,20 @@ public class FlowPerfApp {
             totalFlows = TOTAL_FLOWS_DEFAULT;
             batchSize = BATCH_SIZE_DEFAULT;
             totalThreads = TOTAL_THREADS_DEFAULT;
+            deviceCount = DEVICE_COUNT_DEFAULT;
+            operationMix = OPERATION_MIX_DEFAULT;
+            mix = parseMix(OPERATION_MIX_DEFAULT);
             return;
         }
 
         Dictionary properties = context.getProperties();
 
-        int newTotalFlows = totalFlows;
-        int newBatchSize = batchSize;
-        int newTotalThreads = totalThreads;
+        int newTotalFlows;
+        int newBatchSize;
+        int newTotalThreads;
+        int newDeviceCount;
+        String newOperationMix;
+        Map<Operation, Integer> newMix;
         try {
             String s = get(properties, TOTAL_FLOWS);
             newTotalFlows = isNullOrEmpty(s)
@@ -253,24 +260,287 @@ public class FlowPerfApp {
             newTotalThreads = isNullOrEmpty(s)
                     ? totalThreads : Integer.parseInt(s.trim());
 
-        } catch (NumberFormatException | ClassCastException e) {
+            s = get(properties, DEVICE_COUNT);
+            newDeviceCount = isNullOrEmpty(s)
+                    ? deviceCount : Integer.parseInt(s.trim());
+
+            s = get(properties, OPERATION_MIX);
+            newOperationMix = isNullOrEmpty(s) ? operationMix : s;
+            newMix = parseMix(newOperationMix);
+
+        } catch (IllegalArgumentException | ClassCastException e) {
+            log.warn("Invalid flow performance settings: {}", e.getMessage());
             return;
         }
 
-        boolean modified = newTotalFlows != totalFlows || newTotalThreads != totalThreads ||
-                newBatchSize != batchSize;
-
-        // If nothing has changed, simply return.
-        if (!modified) {
+        if (newTotalFlows <= 0 || newBatchSize <= 0 || newTotalThreads <= 0 || newDeviceCount < 0) {
+            log.warn("Invalid flow performance settings: totalFlows={}, batchSize={}, totalThreads={}, " +
+                             "deviceCount={}", newTotalFlows, newBatchSize, newTotalThreads, newDeviceCount);
             return;
         }
 
+        // The settings apply to the next run
         totalFlows = newTotalFlows;
         batchSize = newBatchSize;
-        if (totalThreads != newTotalThreads) {
-            totalThreads = newTotalThreads;
-            installer.shutdown();
-            installer = Executors.newFixedThreadPool(totalThreads, Tools.groupedThreads("flow-perf-worker", "%d"));
+        totalThreads = newTotalThreads;
+        deviceCount = newDeviceCount;
+        operationMix = newOperationMix;
+        mix = newMix;
+    }
+
+    // Parses weights given as add=n,modify=n,remove=n; omitted ones are 0.
+    private static Map<Operation, Integer> parseMix(String spec) {
+        Map<Operation, Integer> weights = Maps.newEnumMap(Operation.class);
+        for (Operation operation : Operation.values()) {
+            weights.put(operation, 0);
+        }
+        for (String term : spec.split(",")) {
+            String[] pair = term.split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Malformed operation weight " + term);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative operation weight " + term);
+            }
+            weights.put(Operation.valueOf(pair[0].trim().toUpperCase()), weight);
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("No operation in mix " + spec);
+        }
+        return ImmutableMap.copyOf(weights);
+    }
+
+    /**
+     * A benchmark run, with the settings it was started with.
+     */
+    private final class Run {
+        private final int totalFlows = FlowPerfApp.this.totalFlows;
+        private final int batchSize = FlowPerfApp.this.batchSize;
+        private final int concurrency = FlowPerfApp.this.totalThreads;
+        private final String operationMix = FlowPerfApp.this.operationMix;
+        private final Map<Operation, Integer> mix = FlowPerfApp.this.mix;
+        private final List<DeviceId> devices;
+
+        private final LatencyHistogram latencies = new LatencyHistogram();
+        private final Map<Operation, LatencyHistogram> operationLatencies = Maps.newEnumMap(Operation.class);
+        private final AtomicLong remaining = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+
+        private volatile boolean running = true;
+        private volatile boolean cancelled;
+        private volatile long startNanos;
+        private volatile long endNanos;
+
+        private Run(List<DeviceId> devices) {
+            this.devices = devices;
+            for (Operation operation : Operation.values()) {
+                operationLatencies.put(operation, new LatencyHistogram());
+            }
+            remaining.set(totalFlows);
+        }
+
+        private void execute() {
+            log.info("Starting run. Total flows: {}, Concurrency: {}, Batch size: {}, Devices: {}, Mix: {}",
+                     totalFlows, concurrency, batchSize, devices.size(), operationMix);
+            ExecutorService workers = Executors.newFixedThreadPool(
+                    concurrency, Tools.groupedThreads("app/flow-perf-worker", "%d", log));
+            startNanos = System.nanoTime();
+            try {
+                if (!devices.isEmpty()) {
+                    List<CompletableFuture<Void>> futures = Lists.newArrayList();
+                    for (int i = 0; i < concurrency; i++) {
+                        int offset = i;
+                        futures.add(CompletableFuture.runAsync(() -> work(offset), workers));
+                    }
+                    CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+                }
+            } catch (RuntimeException e) {
+                log.warn("Run failed", e);
+            } finally {
+                endNanos = System.nanoTime();
+                workers.shutdown();
+                flowRuleService.removeFlowRulesById(appId);
+                running = false;
+            }
+            log.info("Finished run: {}", json());
+        }
+
+        // Submits batches, one at a time, until the run is over.
+        private void work(int offset) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            List<FlowRule> installed = Lists.newArrayList();
+            int device = offset;
+            int cursor = 0;
+            int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+
+            while (!cancelled) {
+                long size = Math.min(batchSize, remaining.getAndAdd(-batchSize));
+                if (size <= 0) {
+                    break;
+                }
+
+                // Draws the operations; modifications and removals target
+                // distinct acknowledged rules, or else become additions.
+                int[] counts = new int[Operation.values().length];
+                for (int i = 0; i < size; i++) {
+                    int draw = random.nextInt(totalWeight);
+                    for (Operation operation : Operation.values()) {
+                        draw -= mix.get(operation);
+                        if (draw < 0) {
+                            counts[operation.ordinal()]++;
+                            break;
+                        }
+                    }
+                }
+                int removes = Math.min(counts[Operation.REMOVE.ordinal()], installed.size());
+                int modifies = Math.min(counts[Operation.MODIFY.ordinal()], installed.size() - removes);
+                int adds = (int) size - removes - modifies;
+
+                FlowRuleOperations.Builder builder = FlowRuleOperations.builder();
+                for (int i = 0; i < removes; i++) {
+                    builder.remove(installed.remove(random.nextInt(installed.size())));
+                }
+                for (int i = 0; i < modifies; i++) {
+                    cursor = cursor % installed.size();
+                    FlowRule modified = modify(installed.get(cursor));
+                    installed.set(cursor++, modified);
+                    builder.modify(modified);
+                }
+                List<FlowRule> added = Lists.newArrayList();
+                for (int i = 0; i < adds; i++) {
+                    FlowRule rule = newRule(devices.get(device++ % devices.size()));
+                    added.add(rule);
+                    builder.add(rule);
+                }
+
+                CompletableFuture<Boolean> done = new CompletableFuture<>();
+                long submitted = System.nanoTime();
+                flowRuleService.apply(builder.build(new FlowRuleOperationsContext() {
+                    @Override
+                    public void onSuccess(FlowRuleOperations ops) {
+                        done.complete(true);
+                    }
+
+                    @Override
+                    public void onError(FlowRuleOperations ops) {
+                        done.complete(false);
+                    }
+                }));
+
+                Boolean success;
+                try {
+                    success = await(done);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                if (success == null) {
+                    break;
+                }
+                long latency = System.nanoTime() - submitted;
+
+                if (success) {
+                    installed.addAll(added);
+                    latencies.record(latency, (int) size);
+                    record(Operation.ADD, latency, adds);
+                    record(Operation.MODIFY, latency, modifies);
+                    record(Operation.REMOVE, latency, removes);
+                } else {
+                    failures.addAndGet(size);
+                }
+            }
         }
+
+        // Waits for a batch to complete, up to its timeout; null if the run
+        // is cancelled meanwhile
+        private Boolean await(CompletableFuture<Boolean> done) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(BATCH_TIMEOUT_SECONDS);
+            while (!cancelled) {
+                try {
+                    return done.get(CANCEL_CHECK_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (ExecutionException e) {
+                    return false;
+                } catch (TimeoutException e) {
+                    if (System.nanoTime() - deadline >= 0) {
+                        return false;
+                    }
+                }
+            }
+            return null;
+        }
+
+        private void record(Operation operation, long latency, int count) {
+            if (count > 0) {
+                operationLatencies.get(operation).record(latency, count);
+            }
+        }
+
+        private ObjectNode json() {
+            long elapsed = (running ? System.nanoTime() : endNanos) - startNanos;
+            long operations = latencies.count();
+            ObjectNode latency = mapper.createObjectNode();
+            latency.set("all", json(latencies));
+            operationLatencies.forEach((operation, histogram) ->
+                    latency.set(operation.name().toLowerCase(), json(histogram)));
+
+            ObjectNode result = mapper.createObjectNode()
+                    .put("running", running)
+                    .put("totalFlows", totalFlows)
+                    .put("batchSize", batchSize)
+                    .put("concurrency", concurrency)
+                    .put("deviceCount", devices.size())
+                    .put("operationMix", operationMix)
+                    .put("operations", operations)
+                    .put("failures", failures.get())
+                    .put("elapsedMillis", TimeUnit.NANOSECONDS.toMillis(elapsed))
+                    .put("operationsPerSecond", elapsed > 0 ? operations * 1e9 / elapsed : 0);
+            result.set("latency", latency);
+            return result;
+        }
+    }
+
+    // Count, mean, percentiles and maximum of the latencies, in microseconds
+    private ObjectNode json(LatencyHistogram histogram) {
+        ObjectNode node = mapper.createObjectNode()
+                .put("count", histogram.count())
+                .put("meanMicros", histogram.meanNanos() / 1000.0);
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            node.put(PERCENTILE_NAMES[i] + "Micros", histogram.percentileNanos(PERCENTILES[i]) / 1000.0);
+        }
+        return node.put("maxMicros", histogram.maxNanos() / 1000.0);
+    }
+
+    private FlowRule newRule(DeviceId deviceId) {
+        long srcMac = macIndex.incrementAndGet();
+        long dstMac = srcMac + 1;
+        TrafficSelector selector = DefaultTrafficSelector.builder()
+                .matchEthSrc(MacAddress.valueOf(srcMac))
+                .matchEthDst(MacAddress.valueOf(dstMac))
+                .matchInPort(PortNumber.portNumber(2))
+                .build();
+        return rule(deviceId, selector, PortNumber.portNumber(3));
+    }
+
+    // Same rule, with the output port toggled.
+    private FlowRule modify(FlowRule rule) {
+        PortNumber port = rule.treatment().allInstructions().contains(
+                Instructions.createOutput(PortNumber.portNumber(3)))
+                ? PortNumber.portNumber(4) : PortNumber.portNumber(3);
+        return rule(rule.deviceId(), rule.selector(), port);
+    }
+
+    private FlowRule rule(DeviceId deviceId, TrafficSelector selector, PortNumber output) {
+        TrafficTreatment treatment = DefaultTrafficTreatment.builder()
+                .add(Instructions.createOutput(output)).build();
+        return DefaultFlowRule.builder()
+            .forDevice(deviceId)
+            .withSelector(selector)
+            .withTreatment(treatment)
+            .withPriority(100)
+            .fromApp(appId)
+            .withHardTimeout(50000)
+            .makePermanent()
+            .build();
     }
 }
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.flowperf;
+
+import org.apache.karaf.shell.api.action.Command;
+import org.apache.karaf.shell.api.action.lifecycle.Service;
+import org.onosproject.cli.AbstractShellCommand;
+
+/**
+ * Starts a flow performance test run.
+ */
+@Service
+@Command(scope = "onos", name = "flow-perf-start",
+        description = "Starts a flow performance test run")
+public class FlowPerfStartCommand extends AbstractShellCommand {
+
+    @Override
+    protected void doExecute() {
+        if (!get(FlowPerfApp.class).start()) {
+            error("A flow performance test run is already in progress");
+        }
+    }
+
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.flowperf;
+
+import org.onosproject.rest.AbstractWebResource;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+/**
+ * Flow performance test runs.
+ */
+@Path("runs")
+public class FlowPerfWebResource extends AbstractWebResource {
+
+    /**
+     * Returns the settings and results of the last run.
+     *
+     * @return 200 OK with the JSON results
+     */
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response results() {
+        return ok(get(FlowPerfApp.class).results()).build();
+    }
+
+    /**
+     * Starts a run with the current settings.
+     *
+     * @return 200 OK, or 409 CONFLICT if a run is already in progress
+     */
+    @POST
+    @Path("start")
+    public Response start() {
+        if (!get(FlowPerfApp.class).start()) {
+            return Response.status(Response.Status.CONFLICT).build();
+        }
+        return Response.ok().build();
+    }
+
+    /**
+     * Stops the run in progress.
+     *
+     * @return 200 OK
+     */
+    @POST
+    @Path("stop")
+    public Response stop() {
+        get(FlowPerfApp.class).stop();
+        return Response.ok().build();
+    }
+}
@@ -31,4 +31,10 @@ public final class OsgiPropertyConstants {
 
     public static final String TOTAL_THREADS = "totalThreads";
     public static final int TOTAL_THREADS_DEFAULT = 1;
+
+    public static final String DEVICE_COUNT = "deviceCount";
+    public static final int DEVICE_COUNT_DEFAULT = 0;
+
+    public static final String OPERATION_MIX = "operationMix";
+    public static final String OPERATION_MIX_DEFAULT = "add=100";
 }
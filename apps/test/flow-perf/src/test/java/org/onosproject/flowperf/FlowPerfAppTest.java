@@ -0,0 +1,172 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.flowperf;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.collect.ImmutableList;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.onlab.junit.TestUtils;
+import org.onosproject.cfg.ComponentConfigAdapter;
+import org.onosproject.core.ApplicationId;
+import org.onosproject.core.CoreServiceAdapter;
+import org.onosproject.core.DefaultApplicationId;
+import org.onosproject.net.Device;
+import org.onosproject.net.device.DeviceServiceAdapter;
+import org.onosproject.net.flow.FlowRuleOperations;
+import org.onosproject.net.flow.FlowRuleServiceAdapter;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.onlab.junit.TestTools.assertAfter;
+import static org.onosproject.net.NetTestTools.device;
+
+/**
+ * Tests of the flow programming benchmark.
+ */
+public class FlowPerfAppTest {
+
+    private static final ApplicationId APP_ID = new DefaultApplicationId(1, "org.onosproject.flowperf");
+    private static final int WAIT_MS = 5000;
+
+    private final TestFlowRuleService flowRuleService = new TestFlowRuleService();
+    private FlowPerfApp app;
+
+    @Before
+    public void setUp() {
+        app = new FlowPerfApp();
+        app.deviceService = new TestDeviceService();
+        app.flowRuleService = flowRuleService;
+        app.coreService = new TestCoreService();
+        app.configService = new ComponentConfigAdapter();
+        app.activate(null);
+        TestUtils.setField(app, "totalFlows", 100);
+        TestUtils.setField(app, "batchSize", 10);
+        TestUtils.setField(app, "totalThreads", 2);
+    }
+
+    @After
+    public void tearDown() {
+        app.deactivate(null);
+    }
+
+    /**
+     * Tests that a run applies all its operations and cleans up.
+     */
+    @Test
+    public void testRun() {
+        String operationMix = "add=50,modify=25,remove=25";
+        TestUtils.setField(app, "operationMix", operationMix);
+        TestUtils.setField(app, "mix", TestUtils.callMethod(app, "parseMix", String.class, operationMix));
+
+        assertTrue(app.start());
+        assertAfter(WAIT_MS, () -> assertFalse(app.results().get("running").asBoolean()));
+
+        JsonNode results = app.results();
+        assertEquals(100, results.get("operations").asLong());
+        assertEquals(0, results.get("failures").asLong());
+        JsonNode latency = results.get("latency");
+        assertEquals(100, latency.get("all").get("count").asLong());
+        assertEquals(100, latency.get("add").get("count").asLong()
+                + latency.get("modify").get("count").asLong()
+                + latency.get("remove").get("count").asLong());
+        assertTrue(latency.get("add").get("count").asLong() > 0);
+        assertEquals(10, flowRuleService.batches.get());
+        assertTrue(flowRuleService.removed.get());
+    }
+
+    /**
+     * Tests that the failed batches are counted apart.
+     */
+    @Test
+    public void testFailures() {
+        flowRuleService.fail = true;
+
+        assertTrue(app.start());
+        assertAfter(WAIT_MS, () -> assertFalse(app.results().get("running").asBoolean()));
+
+        JsonNode results = app.results();
+        assertEquals(0, results.get("operations").asLong());
+        assertEquals(100, results.get("failures").asLong());
+    }
+
+    /**
+     * Tests that deactivating the application stops the run in progress and
+     * waits for it to clean up.
+     */
+    @Test
+    public void testDeactivateDuringRun() {
+        flowRuleService.hold = true;
+
+        assertTrue(app.start());
+        assertFalse(app.start());
+        assertAfter(WAIT_MS, () -> assertEquals(2, flowRuleService.batches.get()));
+
+        app.deactivate(null);
+
+        assertFalse(app.results().get("running").asBoolean());
+        assertTrue(flowRuleService.removed.get());
+        assertEquals(0, app.results().get("operations").asLong());
+    }
+
+    private static class TestDeviceService extends DeviceServiceAdapter {
+        private final List<Device> devices = ImmutableList.of(device("a"), device("b"));
+
+        @Override
+        public Iterable<Device> getAvailableDevices() {
+            return devices;
+        }
+    }
+
+    private static class TestCoreService extends CoreServiceAdapter {
+        @Override
+        public ApplicationId registerApplication(String name) {
+            return APP_ID;
+        }
+    }
+
+    // Completes the batches right away, unless told to hold them
+    private static class TestFlowRuleService extends FlowRuleServiceAdapter {
+        private final AtomicInteger batches = new AtomicInteger();
+        private final AtomicBoolean removed = new AtomicBoolean();
+        private volatile boolean fail;
+        private volatile boolean hold;
+
+        @Override
+        public void apply(FlowRuleOperations ops) {
+            batches.incrementAndGet();
+            if (hold) {
+                return;
+            }
+            if (fail) {
+                ops.callback().onError(ops);
+            } else {
+                ops.callback().onSuccess(ops);
+            }
+        }
+
+        @Override
+        public void removeFlowRulesById(ApplicationId appId) {
+            removed.set(true);
+        }
+    }
+}
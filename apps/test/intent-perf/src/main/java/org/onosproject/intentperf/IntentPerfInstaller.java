@@ -275,6 +275,7 @@ public class IntentPerfInstaller {
 
     private void startTestRun() {
         sampleCollector.clearSamples();
+        listener.reset();
 
         // adjust numNeighbors and generate list of neighbors
         numNeighbors = Math.min(clusterService.getNodes().size() - 1, numNeighbors);
@@ -534,6 +535,10 @@ public class IntentPerfInstaller {
             return map;
         }
 
+        public void reset() {
+            runningTotal.reset();
+        }
+
         public double processedThroughput() {
             return processedThroughput;
         }
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.intentperf;
+
+import org.apache.karaf.shell.api.action.Command;
+import org.apache.karaf.shell.api.action.Option;
+import org.apache.karaf.shell.api.action.lifecycle.Service;
+import org.onosproject.cfg.ComponentConfigService;
+import org.onosproject.cfg.ConfigProperty;
+import org.onosproject.cli.AbstractShellCommand;
+import org.onosproject.intentperf.IntentPerfCollector.Sample;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures intent throughput for increasing numbers of intent batches
+ * processed concurrently.
+ */
+@Service
+@Command(scope = "onos", name = "intent-perf-scale",
+        description = "Measures intent throughput for increasing numbers of batches in flight")
+public class IntentPerfScaleCommand extends AbstractShellCommand {
+
+    private static final String INTENT_MANAGER = "org.onosproject.net.intent.impl.IntentManager";
+    private static final String MAX_BATCHES_IN_FLIGHT = "maxBatchesInFlight";
+
+    @Option(name = "-b", aliases = "--batches",
+            description = "Comma separated numbers of batches in flight to measure",
+            required = false, multiValued = false)
+    private String batches = "1,2,4,8";
+
+    @Option(name = "-d", aliases = "--duration", description = "Duration of each run, in seconds",
+            required = false, multiValued = false)
+    private int duration = 30;
+
+    @Override
+    protected void doExecute() {
+        ComponentConfigService configService = get(ComponentConfigService.class);
+        IntentPerfInstaller installer = get(IntentPerfInstaller.class);
+        IntentPerfCollector collector = get(IntentPerfCollector.class);
+
+        ConfigProperty original = configService.getProperty(INTENT_MANAGER, MAX_BATCHES_IN_FLIGHT);
+
+        print("Available processors: %d", Runtime.getRuntime().availableProcessors());
+        print("%10s  %14s", "Batches", "Intents/s");
+        try {
+            for (String value : batches.split(",")) {
+                int inFlight = Integer.parseInt(value.trim());
+                configService.setProperty(INTENT_MANAGER, MAX_BATCHES_IN_FLIGHT, String.valueOf(inFlight));
+
+                installer.start();
+                try {
+                    TimeUnit.SECONDS.sleep(duration);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } finally {
+                    // read the rate first; stopping the run resets the samples
+                    double rate = overallRate(collector.getOverall());
+                    installer.stop();
+                    print("%10d  %14.2f", inFlight, rate);
+                }
+            }
+        } finally {
+            if (original != null) {
+                configService.setProperty(INTENT_MANAGER, MAX_BATCHES_IN_FLIGHT, original.value());
+            }
+        }
+    }
+
+    // Sums the overall rate reported by each of the cluster nodes
+    private static double overallRate(Sample overall) {
+        double total = 0;
+        for (double rate : overall.data) {
+            if (rate >= 0) {
+                total += rate;
+            }
+        }
+        return total;
+    }
+}
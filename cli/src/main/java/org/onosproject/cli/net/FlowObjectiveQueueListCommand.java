@@ -47,6 +47,11 @@ public class FlowObjectiveQueueListCommand extends AbstractShellCommand {
             required = false, multiValued = false)
     private boolean cache = false;
 
+    @Option(name = "-m", aliases = "--metrics",
+            description = "Print queue depth and wait time per device",
+            required = false, multiValued = false)
+    private boolean metrics = false;
+
     @Override
     protected void doExecute() {
         try {
@@ -58,7 +63,12 @@ public class FlowObjectiveQueueListCommand extends AbstractShellCommand {
             Map<ForwardingObjQueueKey, Objective> fwdObjQueueHead = service.getForwardingObjQueueHead();
             Map<NextObjQueueKey, Objective> nextObjQueueHead = service.getNextObjQueueHead();
 
-            if (cache) {
+            if (metrics) {
+                service.getObjectiveQueueStatistics().forEach((deviceId, stats) -> print(
+                        "deviceId=%s, depth=%d, executed=%d, meanWaitMillis=%.3f, maxWaitMillis=%.3f, timeouts=%d",
+                        deviceId, stats.depth(), stats.executed(), stats.meanWaitNanos() / 1e6,
+                        stats.maxWaitNanos() / 1e6, stats.timeouts()));
+            } else if (cache) {
                 printMap("Filtering objective cache", filtObjQueueHead, sizeOnly);
                 printMap("Forwarding objective cache", fwdObjQueueHead, sizeOnly);
                 printMap("Next objective cache", nextObjQueueHead, sizeOnly);
@@ -15,6 +15,9 @@
  */
 package org.onosproject.net;
 
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
 import java.net.URI;
 import java.util.Objects;
 
@@ -25,6 +28,9 @@ import static com.google.common.base.Preconditions.checkArgument;
  */
 public final class DeviceId extends ElementId {
 
+    // Canonical instances of the device identifiers in use
+    private static final Interner<DeviceId> INTERNER = Interners.newWeakInterner();
+
     /**
      * Represents either no device, or an unspecified device.
      */
@@ -50,12 +56,19 @@ public final class DeviceId extends ElementId {
 
     /**
      * Creates a device id using the supplied URI.
+     * <p>
+     * The canonical instance of the device id is returned when it is backed
+     * by the same URI, so that equal device ids are usually the same object.
+     * </p>
      *
      * @param uri device URI
      * @return DeviceId
      */
     public static DeviceId deviceId(URI uri) {
-        return new DeviceId(uri);
+        DeviceId deviceId = new DeviceId(uri);
+        DeviceId canonical = INTERNER.intern(deviceId);
+        // ids differing only by case are equal but keep their own URI
+        return canonical.uri.equals(uri) ? canonical : deviceId;
     }
 
     /**
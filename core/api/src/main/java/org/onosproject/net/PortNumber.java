@@ -20,6 +20,8 @@ import com.google.common.base.Supplier;
 import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableMap.Builder;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import com.google.common.primitives.UnsignedLongs;
 
 import java.util.Map;
@@ -34,6 +36,9 @@ import static com.google.common.base.Preconditions.checkNotNull;
  */
 public final class PortNumber {
 
+    // Canonical instances of the unnamed port numbers in use
+    private static final Interner<PortNumber> INTERNER = Interners.newWeakInterner();
+
     public static final PortNumber P0 = portNumber(0);
 
     // TODO: revisit the max and the logical port value assignments
@@ -126,7 +131,8 @@ public final class PortNumber {
      * @return port number
      */
     public static PortNumber portNumber(long number) {
-        return new PortNumber(number);
+        // only unnamed port numbers are interned, as equality ignores the name
+        return INTERNER.intern(new PortNumber(number));
     }
 
     /**
@@ -136,7 +142,7 @@ public final class PortNumber {
      * @return port number
      */
     public static PortNumber portNumber(String string) {
-        return new PortNumber(UnsignedLongs.decode(string));
+        return portNumber(UnsignedLongs.decode(string));
     }
 
     /**
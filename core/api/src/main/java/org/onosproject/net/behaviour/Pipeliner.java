@@ -67,6 +67,29 @@ public interface Pipeliner extends HandlerBehaviour {
      */
     void next(NextObjective nextObjective);
 
+    /**
+     * Installs the forwarding rules of several objectives onto the device.
+     * Pipeliners able to do so should merge the resulting flow rules into
+     * as few operations as possible, while still reporting the outcome of
+     * each objective through its context. By default, the objectives are
+     * installed one by one.
+     *
+     * @param forwardObjectives forwarding objectives, in order
+     */
+    default void forward(List<ForwardingObjective> forwardObjectives) {
+        forwardObjectives.forEach(this::forward);
+    }
+
+    /**
+     * Installs the next hop elements of several objectives into the device.
+     * By default, the objectives are installed one by one.
+     *
+     * @param nextObjectives next objectives, in order
+     */
+    default void next(List<NextObjective> nextObjectives) {
+        nextObjectives.forEach(this::next);
+    }
+
     /**
      *  Retrieves a mapping of the nextObjective to the groups in the dataplane,
      *  and returns it in a form that can be displayed on the CLI. Typically
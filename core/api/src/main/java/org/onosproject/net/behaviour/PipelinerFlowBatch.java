@@ -0,0 +1,163 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.net.behaviour;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.onosproject.net.flow.FlowId;
+import org.onosproject.net.flow.FlowRule;
+import org.onosproject.net.flow.FlowRuleOperation;
+import org.onosproject.net.flow.FlowRuleOperations;
+import org.onosproject.net.flow.FlowRuleOperationsContext;
+import org.onosproject.net.flow.FlowRuleService;
+import org.onosproject.net.flowobjective.Objective;
+import org.onosproject.net.flowobjective.ObjectiveError;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Flow rule operations of several objectives of a device, applied together
+ * while reporting the outcome of each objective.
+ * <p>
+ * The operations are merged into as few flow rule batches as possible. An
+ * objective touching a flow rule already touched by an earlier objective
+ * starts a new batch, applied once the previous one has completed, so that
+ * the operations of the objectives take effect in order.
+ * </p>
+ * Not thread-safe.
+ */
+public final class PipelinerFlowBatch {
+
+    private final List<Stage> stages = Lists.newArrayList();
+    private int size;
+
+    /**
+     * Adds the given flow rule operations on behalf of an objective.
+     *
+     * @param objective  objective
+     * @param operations flow rule operations installing the objective
+     * @return this batch
+     */
+    public PipelinerFlowBatch add(Objective objective, Collection<FlowRuleOperation> operations) {
+        Stage stage = stages.isEmpty() ? null : stages.get(stages.size() - 1);
+        if (stage == null || operations.stream().anyMatch(op -> stage.flowIds.contains(op.rule().id()))) {
+            stages.add(new Stage());
+        }
+        stages.get(stages.size() - 1).add(objective, operations);
+        size++;
+        return this;
+    }
+
+    /**
+     * Adds flow rule operations of the same type on behalf of an objective.
+     *
+     * @param objective objective
+     * @param type      type of the operations
+     * @param rules     flow rules installing the objective
+     * @return this batch
+     */
+    public PipelinerFlowBatch add(Objective objective, FlowRuleOperation.Type type,
+                                  Collection<FlowRule> rules) {
+        List<FlowRuleOperation> operations = Lists.newArrayListWithCapacity(rules.size());
+        rules.forEach(rule -> operations.add(new FlowRuleOperation(rule, type)));
+        return add(objective, operations);
+    }
+
+    /**
+     * Returns the number of objectives in this batch.
+     *
+     * @return number of objectives
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether this batch has no objective.
+     *
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Applies the operations of the batch, and reports the outcome of each
+     * objective once its operations have completed. An objective fails if
+     * one of its flow rules fails to be installed; the other objectives of
+     * the same flow rule batch succeed, unless the failed rules are unknown.
+     *
+     * @param flowRuleService flow rule service
+     * @param onSuccess       called with each objective successfully installed
+     * @param onFailure       called with each objective which failed
+     */
+    public void apply(FlowRuleService flowRuleService, Consumer<Objective> onSuccess,
+                      BiConsumer<Objective, ObjectiveError> onFailure) {
+        apply(flowRuleService, ImmutableList.copyOf(stages), 0, onSuccess, onFailure);
+    }
+
+    private static void apply(FlowRuleService flowRuleService, List<Stage> stages, int index,
+                              Consumer<Objective> onSuccess,
+                              BiConsumer<Objective, ObjectiveError> onFailure) {
+        if (index >= stages.size()) {
+            return;
+        }
+        Stage stage = stages.get(index);
+        FlowRuleOperations.Builder builder = FlowRuleOperations.builder();
+        stage.operations.forEach(operations -> operations.forEach(builder::operation));
+        flowRuleService.apply(builder.build(new FlowRuleOperationsContext() {
+            @Override
+            public void onSuccess(FlowRuleOperations ops) {
+                stage.objectives.forEach(onSuccess);
+                apply(flowRuleService, stages, index + 1, onSuccess, onFailure);
+            }
+
+            @Override
+            public void onError(FlowRuleOperations ops) {
+                Set<FlowId> failed = Sets.newHashSet();
+                ops.stages().forEach(s -> s.forEach(op -> failed.add(op.rule().id())));
+                for (int i = 0; i < stage.objectives.size(); i++) {
+                    Objective objective = stage.objectives.get(i);
+                    if (failed.isEmpty() || stage.operations.get(i).stream()
+                            .anyMatch(op -> failed.contains(op.rule().id()))) {
+                        onFailure.accept(objective, ObjectiveError.FLOWINSTALLATIONFAILED);
+                    } else {
+                        onSuccess.accept(objective);
+                    }
+                }
+                apply(flowRuleService, stages, index + 1, onSuccess, onFailure);
+            }
+        }));
+    }
+
+    // Objectives applied together, in a single flow rule batch.
+    private static final class Stage {
+        private final List<Objective> objectives = Lists.newArrayList();
+        private final List<Collection<FlowRuleOperation>> operations = Lists.newArrayList();
+        private final Set<FlowId> flowIds = Sets.newHashSet();
+
+        private void add(Objective objective, Collection<FlowRuleOperation> ops) {
+            objectives.add(objective);
+            operations.add(ops);
+            ops.forEach(op -> flowIds.add(op.rule().id()));
+        }
+    }
+}
@@ -21,6 +21,8 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import org.slf4j.Logger;
 
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
@@ -52,6 +54,10 @@ public class DefaultDriver implements Driver {
     private final Map<Class<? extends Behaviour>, Class<? extends Behaviour>> behaviours;
     private final Map<String, String> properties;
 
+    // Constructors of the behaviour implementations, looked up once
+    private final Map<Class<? extends Behaviour>, Constructor<? extends Behaviour>> constructors =
+            Maps.newConcurrentMap();
+
     /**
      * Creates a driver with the specified name.
      *
@@ -223,8 +229,15 @@ public class DefaultDriver implements Driver {
     private <T extends Behaviour> T createBehaviour(Class<T> behaviourClass,
                                                     Class<? extends Behaviour> implementation) {
         try {
-            return (T) implementation.newInstance();
-        } catch (InstantiationException | IllegalAccessException e) {
+            Constructor<? extends Behaviour> constructor = constructors.get(implementation);
+            if (constructor == null) {
+                constructor = implementation.getDeclaredConstructor();
+                constructors.put(implementation, constructor);
+            }
+            return (T) constructor.newInstance();
+        } catch (InvocationTargetException e) {
+            throw new IllegalArgumentException("Unable to create behaviour", e.getCause());
+        } catch (InstantiationException | IllegalAccessException | NoSuchMethodException e) {
             // TODO: add a specific unchecked exception
             throw new IllegalArgumentException("Unable to create behaviour", e);
         }
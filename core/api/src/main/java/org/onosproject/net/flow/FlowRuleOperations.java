@@ -19,7 +19,9 @@ import com.google.common.base.MoreObjects;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
+import org.onosproject.net.DeviceId;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
@@ -28,22 +30,37 @@ import static org.onosproject.net.flow.FlowRuleOperation.Type.*;
 
 /**
  * A batch of flow rule operations that are broken into stages.
+ * <p>
+ * By default, a stage starts once all the operations of the previous stage
+ * have completed on all devices. Pipelined operations instead track the
+ * stages per device: the operations of a stage on a device start once the
+ * operations of the previous stages on that device have completed, and on
+ * the devices the stage explicitly depends on.
+ * </p>
  * TODO move this up to parent's package
  */
 public class FlowRuleOperations {
 
     private final List<Set<FlowRuleOperation>> stages;
+    private final List<Set<DeviceId>> dependencies;
+    private final boolean pipelined;
     private final FlowRuleOperationsContext callback;
 
     private FlowRuleOperations(List<Set<FlowRuleOperation>> stages,
+                               List<Set<DeviceId>> dependencies,
+                               boolean pipelined,
                                FlowRuleOperationsContext cb) {
         this.stages = stages;
+        this.dependencies = dependencies;
+        this.pipelined = pipelined;
         this.callback = cb;
     }
 
     // kryo-constructor
     protected FlowRuleOperations() {
         this.stages = Lists.newArrayList();
+        this.dependencies = Lists.newArrayList();
+        this.pipelined = false;
         this.callback = null;
     }
 
@@ -57,6 +74,29 @@ public class FlowRuleOperations {
         return stages;
     }
 
+    /**
+     * Returns whether the stages are tracked per device rather than executed
+     * sequentially.
+     *
+     * @return true if the stages are pipelined per device
+     */
+    public boolean isPipelined() {
+        return pipelined;
+    }
+
+    /**
+     * Returns the devices whose operations in the previous stages must have
+     * completed before any operation of the given stage starts, in addition
+     * to the device of the operation itself. Only relevant to pipelined
+     * operations.
+     *
+     * @param stage stage index
+     * @return devices the stage depends on
+     */
+    public Set<DeviceId> stageDependencies(int stage) {
+        return stage < dependencies.size() ? dependencies.get(stage) : ImmutableSet.of();
+    }
+
     /**
      * Returns the callback for this batch of operations.
      *
@@ -79,6 +119,8 @@ public class FlowRuleOperations {
     public String toString() {
         return MoreObjects.toStringHelper(this)
                 .add("stages", stages)
+                .add("pipelined", pipelined)
+                .add("dependencies", dependencies)
                 .toString();
     }
 
@@ -88,7 +130,10 @@ public class FlowRuleOperations {
     public static final class Builder {
 
         private final ImmutableList.Builder<Set<FlowRuleOperation>> listBuilder = ImmutableList.builder();
+        private final ImmutableList.Builder<Set<DeviceId>> dependenciesBuilder = ImmutableList.builder();
         private ImmutableSet.Builder<FlowRuleOperation> currentStage = ImmutableSet.builder();
+        private Set<DeviceId> currentDependencies = ImmutableSet.of();
+        private boolean pipelined = false;
 
         // prevent use of the default constructor outside of this file; use the above method
         private Builder() {}
@@ -145,6 +190,7 @@ public class FlowRuleOperations {
             ImmutableSet<FlowRuleOperation> stage = currentStage.build();
             if (!stage.isEmpty()) {
                 listBuilder.add(stage);
+                dependenciesBuilder.add(currentDependencies);
             }
         }
 
@@ -154,8 +200,34 @@ public class FlowRuleOperations {
          * @return this
          */
         public Builder newStage() {
+            return newStage(ImmutableSet.of());
+        }
+
+        /**
+         * Closes the current stage and starts a new one, which also depends
+         * on the previous stages on the given devices when the operations
+         * are pipelined.
+         *
+         * @param dependencies devices whose operations in the previous stages
+         *                     must complete before the new stage starts
+         * @return this
+         */
+        public Builder newStage(Collection<DeviceId> dependencies) {
             closeStage();
             currentStage = ImmutableSet.builder();
+            currentDependencies = ImmutableSet.copyOf(dependencies);
+            return this;
+        }
+
+        /**
+         * Tracks the stages per device instead of executing them
+         * sequentially; the dependencies between the stages on distinct
+         * devices are declared with {@link #newStage(Collection)}.
+         *
+         * @return this
+         */
+        public Builder pipelined() {
+            pipelined = true;
             return this;
         }
 
@@ -178,7 +250,7 @@ public class FlowRuleOperations {
             checkNotNull(cb);
 
             closeStage();
-            return new FlowRuleOperations(listBuilder.build(), cb);
+            return new FlowRuleOperations(listBuilder.build(), dependenciesBuilder.build(), pipelined, cb);
         }
     }
 }
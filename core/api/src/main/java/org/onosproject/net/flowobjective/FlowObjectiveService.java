@@ -173,4 +173,13 @@ public interface FlowObjectiveService {
     default void clearQueue() {
         throw new NotImplementedException("clearQueue is not implemented");
     }
+
+    /**
+     * Returns the statistics of the flow objective queues, per device.
+     *
+     * @return queue statistics keyed by device identifier
+     */
+    default Map<DeviceId, ObjectiveQueueStatistics> getObjectiveQueueStatistics() {
+        return Maps.newHashMap();
+    }
 }
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.net.flowobjective;
+
+import java.util.Objects;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+
+/**
+ * Statistics of the flow objective queues of a device.
+ */
+public final class ObjectiveQueueStatistics {
+
+    private final long depth;
+    private final long executed;
+    private final long meanWaitNanos;
+    private final long maxWaitNanos;
+    private final long timeouts;
+
+    /**
+     * Creates statistics of flow objective queues.
+     *
+     * @param depth         number of objectives in the queues
+     * @param executed      number of objectives executed so far
+     * @param meanWaitNanos mean time spent in the queues by the executed
+     *                      objectives before their execution, in nanoseconds
+     * @param maxWaitNanos  maximum time spent in the queues before execution,
+     *                      in nanoseconds
+     * @param timeouts      number of objectives which timed out
+     */
+    public ObjectiveQueueStatistics(long depth, long executed, long meanWaitNanos,
+                                    long maxWaitNanos, long timeouts) {
+        this.depth = depth;
+        this.executed = executed;
+        this.meanWaitNanos = meanWaitNanos;
+        this.maxWaitNanos = maxWaitNanos;
+        this.timeouts = timeouts;
+    }
+
+    /**
+     * Returns the number of objectives in the queues, whether waiting or
+     * being executed.
+     *
+     * @return queue depth
+     */
+    public long depth() {
+        return depth;
+    }
+
+    /**
+     * Returns the number of objectives executed so far.
+     *
+     * @return number of executed objectives
+     */
+    public long executed() {
+        return executed;
+    }
+
+    /**
+     * Returns the mean time spent in the queues by the executed objectives
+     * before their execution.
+     *
+     * @return mean wait time in nanoseconds
+     */
+    public long meanWaitNanos() {
+        return meanWaitNanos;
+    }
+
+    /**
+     * Returns the maximum time spent in the queues by an objective before its
+     * execution.
+     *
+     * @return maximum wait time in nanoseconds
+     */
+    public long maxWaitNanos() {
+        return maxWaitNanos;
+    }
+
+    /**
+     * Returns the number of objectives which did not complete in time.
+     *
+     * @return number of timeouts
+     */
+    public long timeouts() {
+        return timeouts;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(depth, executed, meanWaitNanos, maxWaitNanos, timeouts);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof ObjectiveQueueStatistics)) {
+            return false;
+        }
+        ObjectiveQueueStatistics that = (ObjectiveQueueStatistics) obj;
+        return depth == that.depth && executed == that.executed &&
+                meanWaitNanos == that.meanWaitNanos &&
+                maxWaitNanos == that.maxWaitNanos && timeouts == that.timeouts;
+    }
+
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add("depth", depth)
+                .add("executed", executed)
+                .add("meanWaitNanos", meanWaitNanos)
+                .add("maxWaitNanos", maxWaitNanos)
+                .add("timeouts", timeouts)
+                .toString();
+    }
+}
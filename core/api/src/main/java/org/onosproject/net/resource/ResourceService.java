@@ -20,7 +20,9 @@ import com.google.common.collect.ImmutableList;
 import org.onosproject.event.ListenerService;
 
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -66,6 +68,28 @@ public interface ResourceService extends ResourceQueryService, ListenerService<R
      */
     List<ResourceAllocation> allocate(ResourceConsumer consumer, List<? extends Resource> resources);
 
+    /**
+     * Allocates the resources requested by several users at once.
+     * The request of each user is handled transactionally: either all the resources
+     * requested by a user are allocated to it, or none is.
+     *
+     * @param requests resources to be allocated keyed by their user
+     * @return allocation information of the users whose requests succeeded
+     */
+    default Map<ResourceConsumer, List<ResourceAllocation>> allocate(
+            Map<ResourceConsumer, List<? extends Resource>> requests) {
+        checkNotNull(requests);
+
+        Map<ResourceConsumer, List<ResourceAllocation>> allocations = new LinkedHashMap<>();
+        requests.forEach((consumer, resources) -> {
+            List<ResourceAllocation> allocated = allocate(consumer, resources);
+            if (!allocated.isEmpty()) {
+                allocations.put(consumer, allocated);
+            }
+        });
+        return allocations;
+    }
+
     /**
      * Transactionally allocates the specified resources to the specified user.
      * All allocations are made when this method succeeds, or no allocation is made when this method fails.
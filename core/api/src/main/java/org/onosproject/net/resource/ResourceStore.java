@@ -19,7 +19,9 @@ import com.google.common.annotations.Beta;
 import org.onosproject.store.Store;
 
 import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -62,6 +64,26 @@ public interface ResourceStore extends Store<ResourceEvent, ResourceStoreDelegat
      */
     boolean allocate(List<? extends Resource> resources, ResourceConsumer consumer);
 
+    /**
+     * Allocates the resources requested by several consumers at once.
+     * The request of each consumer is handled in transactional way: either all
+     * the resources requested by a consumer are allocated to it, or none is.
+     * Implementations are expected to apply the whole batch in as few
+     * transactions as possible.
+     *
+     * @param requests resources to be allocated keyed by their consumer
+     * @return consumers whose requests were fully allocated
+     */
+    default Set<ResourceConsumer> allocate(Map<ResourceConsumer, List<? extends Resource>> requests) {
+        Set<ResourceConsumer> allocated = new LinkedHashSet<>();
+        requests.forEach((consumer, resources) -> {
+            if (allocate(resources, consumer)) {
+                allocated.add(consumer);
+            }
+        });
+        return allocated;
+    }
+
     /**
      * Releases the specified allocated resources in transactional way.
      * The state after completion of this method is all the resources
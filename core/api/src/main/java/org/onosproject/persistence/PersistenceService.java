@@ -37,4 +37,13 @@ public interface PersistenceService {
      * @return a persistent set builder
      */
     <E> PersistentSetBuilder<E> persistentSetBuilder();
+
+    /**
+     * A builder for the creation of local snapshots of in-memory state, backed by memory-mapped files.
+     *
+     * @param <K> the type of keys in the snapshot
+     * @param <V> the type of values in the snapshot
+     * @return a persistent snapshot builder
+     */
+    <K, V> PersistentSnapshotBuilder<K, V> persistentSnapshotBuilder();
 }
\ No newline at end of file
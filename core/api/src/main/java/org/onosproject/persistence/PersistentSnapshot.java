@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.persistence;
+
+import java.util.Map;
+
+/**
+ * Local snapshot of an in-memory keyed state, kept on disk so that the state
+ * can be restored when the instance restarts.
+ * <p>
+ * Updates are appended to the snapshot; the state is rebuilt by replaying
+ * them, the last update of a key winning.
+ * </p>
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ */
+public interface PersistentSnapshot<K, V> {
+
+    /**
+     * Records the value of a key.
+     *
+     * @param key   the key
+     * @param value the value of the key
+     */
+    void put(K key, V value);
+
+    /**
+     * Records the removal of a key.
+     *
+     * @param key the key
+     */
+    void remove(K key);
+
+    /**
+     * Returns the state recorded by the snapshot.
+     *
+     * @return the last recorded value of each key
+     */
+    Map<K, V> load();
+
+    /**
+     * Replaces the content of the snapshot by the given state.
+     *
+     * @param state the state to record
+     */
+    void checkpoint(Map<K, V> state);
+
+    /**
+     * Writes the recorded updates through to the disk.
+     */
+    void flush();
+
+    /**
+     * Flushes and closes the snapshot.
+     */
+    void close();
+
+    /**
+     * Closes the snapshot and deletes it from the disk.
+     */
+    void delete();
+}
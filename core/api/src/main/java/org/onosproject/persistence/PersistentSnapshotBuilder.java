@@ -0,0 +1,46 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.persistence;
+
+import org.onosproject.store.service.Serializer;
+
+/**
+ * The interface for a persistent snapshot builder.
+ */
+public interface PersistentSnapshotBuilder<K, V> {
+
+    /**
+     * Sets the name of this snapshot.
+     * @param name the string name of this snapshot
+     * @return a persistent snapshot builder with the name option now set
+     */
+    PersistentSnapshotBuilder<K, V> withName(String name);
+
+    /**
+     * Sets the serializer of the keys and values of this snapshot, this is a required parameter.
+     * @param serializer the serializer to be used
+     * @return a persistent snapshot builder with the serializer set
+     */
+    PersistentSnapshotBuilder<K, V> withSerializer(Serializer serializer);
+
+    /**
+     * Validates the snapshot settings and then opens the snapshot, creating it if it does not exist yet.
+     * Throws an exception if invalid settings are found.
+     * @return The snapshot that was opened
+     */
+    PersistentSnapshot<K, V> build();
+}
@@ -183,6 +183,13 @@ public interface EventuallyConsistentMapBuilder<K, V> {
     /**
      * Configure the map to persist data to disk.
      * <p>
+     * The entries are checkpointed to a local snapshot every second, and
+     * restored from it when the map is built again; so the updates made in
+     * the second before an instance fails may be lost, and are recovered
+     * from the peers by anti-entropy. A map with no snapshot yet imports the
+     * entries persisted by earlier versions, once.
+     * </p>
+     * <p>
      * The default behavior is no persistence
      * </p>
      *
@@ -21,6 +21,8 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.onosproject.net.DeviceId.deviceId;
 
 /**
@@ -47,4 +49,15 @@ public class DeviceIdTest {
         Assert.assertEquals("[2001:db8:85a3:8d3:1319:8a2e:370:7348]:830", ipp6.uri().getSchemeSpecificPart());
     }
 
+    @Test
+    public void interned() {
+        DeviceId id = deviceId("of:0000000000000001");
+        assertSame(id, deviceId("of:0000000000000001"));
+
+        DeviceId upper = deviceId("OF:0000000000000001");
+        assertEquals(id, upper);
+        assertNotSame(id, upper);
+        assertEquals("OF:0000000000000001", upper.uri().toString());
+    }
+
 }
@@ -39,6 +39,13 @@ public class PortNumberTest {
                 .testEquals();
     }
 
+    @Test
+    public void interned() {
+        assertSame(portNumber(123), portNumber("123"));
+        assertEquals("LIM-1-2-3", portNumber(123, "LIM-1-2-3").name());
+        assertFalse(portNumber(123).hasName());
+    }
+
     @Test
     public void number() {
         assertEquals("incorrect long value", 12345, portNumber(12345).toLong());
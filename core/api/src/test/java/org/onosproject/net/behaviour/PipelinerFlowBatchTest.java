@@ -0,0 +1,157 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.net.behaviour;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.junit.Before;
+import org.junit.Test;
+import org.onosproject.net.flow.DefaultTrafficSelector;
+import org.onosproject.net.flow.FlowRule;
+import org.onosproject.net.flow.FlowRuleOperation;
+import org.onosproject.net.flow.FlowRuleOperations;
+import org.onosproject.net.flow.FlowRuleServiceAdapter;
+import org.onosproject.net.flowobjective.DefaultForwardingObjective;
+import org.onosproject.net.flowobjective.ForwardingObjective;
+import org.onosproject.net.flowobjective.Objective;
+import org.onosproject.net.flowobjective.ObjectiveError;
+import org.onosproject.net.intent.IntentTestsMocks.MockFlowRule;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.onosproject.net.NetTestTools.APP_ID;
+import static org.onosproject.net.flowobjective.ObjectiveError.FLOWINSTALLATIONFAILED;
+
+/**
+ * Tests of the flow rule batches of pipeliners.
+ */
+public class PipelinerFlowBatchTest {
+
+    private final FlowRule rule1 = new MockFlowRule(1);
+    private final FlowRule rule2 = new MockFlowRule(2);
+    private final FlowRule rule3 = new MockFlowRule(3);
+
+    private final ForwardingObjective fwd1 = forwarding(1);
+    private final ForwardingObjective fwd2 = forwarding(2);
+
+    private final List<FlowRuleOperations> applied = Lists.newArrayList();
+    private final List<Objective> passed = Lists.newArrayList();
+    private final Map<Objective, ObjectiveError> failed = Maps.newHashMap();
+
+    private final FlowRuleServiceAdapter flowRuleService = new FlowRuleServiceAdapter() {
+        @Override
+        public void apply(FlowRuleOperations ops) {
+            applied.add(ops);
+        }
+    };
+
+    private PipelinerFlowBatch batch;
+
+    @Before
+    public void setUp() {
+        batch = new PipelinerFlowBatch();
+    }
+
+    private static ForwardingObjective forwarding(int priority) {
+        return DefaultForwardingObjective.builder()
+                .withSelector(DefaultTrafficSelector.emptySelector())
+                .withFlag(ForwardingObjective.Flag.SPECIFIC)
+                .fromApp(APP_ID)
+                .withPriority(priority)
+                .makePermanent()
+                .nextStep(1)
+                .add();
+    }
+
+    private void apply() {
+        batch.apply(flowRuleService, passed::add, failed::put);
+    }
+
+    /**
+     * Tests that the flow rules of several objectives are applied at once.
+     */
+    @Test
+    public void mergedObjectives() {
+        batch.add(fwd1, FlowRuleOperation.Type.ADD, ImmutableList.of(rule1, rule2))
+                .add(fwd2, FlowRuleOperation.Type.REMOVE, ImmutableList.of(rule3));
+        assertEquals(2, batch.size());
+        apply();
+
+        assertEquals(1, applied.size());
+        assertEquals(3, applied.get(0).stages().get(0).size());
+        assertTrue(passed.isEmpty());
+
+        applied.get(0).callback().onSuccess(applied.get(0));
+        assertEquals(ImmutableList.of(fwd1, fwd2), passed);
+        assertTrue(failed.isEmpty());
+    }
+
+    /**
+     * Tests that an objective touching the flow rule of an earlier objective
+     * is applied once the earlier one has completed.
+     */
+    @Test
+    public void orderedObjectives() {
+        batch.add(fwd1, FlowRuleOperation.Type.ADD, ImmutableList.of(rule1))
+                .add(fwd2, FlowRuleOperation.Type.REMOVE, ImmutableList.of(rule1));
+        apply();
+        assertEquals(1, applied.size());
+
+        applied.get(0).callback().onError(FlowRuleOperations.builder().add(rule1).build());
+        assertEquals(FLOWINSTALLATIONFAILED, failed.get(fwd1));
+        assertEquals(2, applied.size());
+        assertEquals(FlowRuleOperation.Type.REMOVE,
+                     applied.get(1).stages().get(0).iterator().next().type());
+
+        applied.get(1).callback().onSuccess(applied.get(1));
+        assertEquals(ImmutableList.of(fwd2), passed);
+    }
+
+    /**
+     * Tests that only the objectives with failed flow rules are reported
+     * failed.
+     */
+    @Test
+    public void failedObjective() {
+        batch.add(fwd1, FlowRuleOperation.Type.ADD, ImmutableList.of(rule1))
+                .add(fwd2, FlowRuleOperation.Type.ADD, ImmutableList.of(rule2, rule3));
+        apply();
+
+        applied.get(0).callback().onError(FlowRuleOperations.builder().add(rule3).build());
+        assertEquals(ImmutableList.of(fwd1), passed);
+        assertEquals(FLOWINSTALLATIONFAILED, failed.get(fwd2));
+    }
+
+    /**
+     * Tests that all the objectives are reported failed if the failed flow
+     * rules are unknown.
+     */
+    @Test
+    public void unknownFailure() {
+        batch.add(fwd1, FlowRuleOperation.Type.ADD, ImmutableList.of(rule1))
+                .add(fwd2, FlowRuleOperation.Type.ADD, ImmutableList.of(rule2));
+        apply();
+
+        applied.get(0).callback().onError(FlowRuleOperations.builder().build());
+        assertTrue(passed.isEmpty());
+        assertEquals(FLOWINSTALLATIONFAILED, failed.get(fwd1));
+        assertEquals(FLOWINSTALLATIONFAILED, failed.get(fwd2));
+    }
+}
@@ -23,6 +23,7 @@ import org.junit.Test;
 import java.util.ArrayList;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.onosproject.net.driver.DefaultDriverDataTest.DEVICE_ID;
@@ -74,6 +75,21 @@ public class DefaultDriverTest {
         assertTrue("incorrect toString", ddc.toString().contains("lux"));
     }
 
+    @Test
+    public void behaviourInstances() {
+        DefaultDriver ddp = new DefaultDriver("foo.base", new ArrayList<>(), "Circus", "lux", "1.2a",
+                                              ImmutableMap.of(TestBehaviour.class,
+                                                              TestBehaviourImpl.class),
+                                              ImmutableMap.of());
+        DefaultDriverData data = new DefaultDriverData(ddp, DEVICE_ID);
+
+        Behaviour b1 = ddp.createBehaviour(data, TestBehaviour.class);
+        Behaviour b2 = ddp.createBehaviour(data, TestBehaviour.class);
+        assertTrue("incorrect behaviour class", b2 instanceof TestBehaviourImpl);
+        assertNotSame("behaviour instance reused", b1, b2);
+        assertEquals("incorrect behaviour data", data, b2.data());
+    }
+
     @Test
     public void merge() {
         DefaultDriver one = new DefaultDriver("foo.bar", new ArrayList<>(), "Circus", "lux", "1.2a",
@@ -18,6 +18,7 @@ package org.onosproject.store.persistence;
 import org.onosproject.persistence.PersistenceService;
 import org.onosproject.persistence.PersistentMapBuilder;
 import org.onosproject.persistence.PersistentSetBuilder;
+import org.onosproject.persistence.PersistentSnapshotBuilder;
 
 /**
  * Adapter for PersistenceService.
@@ -33,4 +34,9 @@ public class PersistenceServiceAdapter implements PersistenceService {
     public <E> PersistentSetBuilder<E> persistentSetBuilder() {
         return null;
     }
+
+    @Override
+    public <K, V> PersistentSnapshotBuilder<K, V> persistentSnapshotBuilder() {
+        return null;
+    }
 }
@@ -19,17 +19,25 @@ import java.util.Map;
 
 import org.onosproject.persistence.PersistentMapBuilder;
 import org.onosproject.persistence.PersistentSetBuilder;
+import org.onosproject.persistence.PersistentSnapshot;
+import org.onosproject.persistence.PersistentSnapshotBuilder;
 import org.onosproject.store.service.Serializer;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
 
 /**
  * PersistenceService that produces in memory maps for use in unit testing.
  */
 public class TestPersistenceService extends PersistenceServiceAdapter {
+
+    // maps and snapshots are kept by name, so that they can be restored by later builders
+    private final Map<String, Map<?, ?>> maps = Maps.newConcurrentMap();
+    private final Map<String, TestPersistentSnapshot<?, ?>> snapshots = Maps.newConcurrentMap();
+
     @Override
     public <K, V> PersistentMapBuilder<K, V> persistentMapBuilder() {
-        return new TestPersistentMapBuilder<K, V>();
+        return new TestPersistentMapBuilder<K, V>(maps);
     }
 
     @Override
@@ -37,10 +45,23 @@ public class TestPersistenceService extends PersistenceServiceAdapter {
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public <K, V> PersistentSnapshotBuilder<K, V> persistentSnapshotBuilder() {
+        return new TestPersistentSnapshotBuilder<K, V>(snapshots);
+    }
+
     private static class TestPersistentMapBuilder<K, V> implements PersistentMapBuilder<K, V> {
 
+        private final Map<String, Map<?, ?>> maps;
+        private String name;
+
+        TestPersistentMapBuilder(Map<String, Map<?, ?>> maps) {
+            this.maps = maps;
+        }
+
         @Override
         public PersistentMapBuilder<K, V> withName(String name) {
+            this.name = name;
             return this;
         }
 
@@ -50,8 +71,81 @@ public class TestPersistenceService extends PersistenceServiceAdapter {
         }
 
         @Override
+        @SuppressWarnings("unchecked")
         public Map<K, V> build() {
-            return Maps.newConcurrentMap();
+            if (name == null) {
+                return Maps.newConcurrentMap();
+            }
+            return (Map<K, V>) maps.computeIfAbsent(name, n -> Maps.newConcurrentMap());
+        }
+    }
+
+    private static class TestPersistentSnapshotBuilder<K, V> implements PersistentSnapshotBuilder<K, V> {
+
+        private final Map<String, TestPersistentSnapshot<?, ?>> snapshots;
+        private String name;
+
+        TestPersistentSnapshotBuilder(Map<String, TestPersistentSnapshot<?, ?>> snapshots) {
+            this.snapshots = snapshots;
+        }
+
+        @Override
+        public PersistentSnapshotBuilder<K, V> withName(String name) {
+            this.name = name;
+            return this;
+        }
+
+        @Override
+        public PersistentSnapshotBuilder<K, V> withSerializer(Serializer serializer) {
+            return this;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public PersistentSnapshot<K, V> build() {
+            if (name == null) {
+                return new TestPersistentSnapshot<>();
+            }
+            return (PersistentSnapshot<K, V>) snapshots.computeIfAbsent(name, n -> new TestPersistentSnapshot<>());
+        }
+    }
+
+    private static class TestPersistentSnapshot<K, V> implements PersistentSnapshot<K, V> {
+
+        private final Map<K, V> state = Maps.newConcurrentMap();
+
+        @Override
+        public void put(K key, V value) {
+            state.put(key, value);
+        }
+
+        @Override
+        public void remove(K key) {
+            state.remove(key);
+        }
+
+        @Override
+        public Map<K, V> load() {
+            return ImmutableMap.copyOf(state);
+        }
+
+        @Override
+        public void checkpoint(Map<K, V> state) {
+            this.state.clear();
+            this.state.putAll(state);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public void delete() {
+            state.clear();
         }
     }
 }
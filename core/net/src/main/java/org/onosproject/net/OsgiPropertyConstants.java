@@ -113,6 +113,9 @@ public final class OsgiPropertyConstants {
     public static final String IM_NUM_THREADS = "numThreads";
     public static final int IM_NUM_THREADS_DEFAULT = 12;
 
+    public static final String IM_MAX_BATCHES_IN_FLIGHT = "maxBatchesInFlight";
+    public static final int IM_MAX_BATCHES_IN_FLIGHT_DEFAULT = 1;
+
     public static final String MM_NUM_THREADS = "numThreads";
     public static final int MM_NUM_THREADS_DEFAULT = 12;
 
@@ -158,4 +161,7 @@ public final class OsgiPropertyConstants {
     public static final String FOM_ACCUMULATOR_MAX_BATCH_MILLIS = "accumulatorMaxBatchMillis";
     public static final int FOM_ACCUMULATOR_MAX_BATCH_MILLIS_DEFAULT = 500;
 
+    public static final String FOM_OBJECTIVE_BATCHING = "objectiveBatching";
+    public static final boolean FOM_OBJECTIVE_BATCHING_DEFAULT = false;
+
 }
@@ -15,22 +15,31 @@
  */
 package org.onosproject.net.driver.impl;
 
+import com.google.common.collect.Maps;
 import org.onlab.util.ItemNotFoundException;
 import org.onosproject.net.AbstractProjectableModel;
 import org.onosproject.net.Device;
 import org.onosproject.net.DeviceId;
+import org.onosproject.net.behaviour.PiPipelineProgrammable;
+import org.onosproject.net.config.NetworkConfigEvent;
+import org.onosproject.net.config.NetworkConfigListener;
 import org.onosproject.net.config.NetworkConfigService;
 import org.onosproject.net.config.basics.BasicDeviceConfig;
+import org.onosproject.net.device.DeviceEvent;
+import org.onosproject.net.device.DeviceListener;
 import org.onosproject.net.device.DeviceService;
 import org.onosproject.net.driver.Behaviour;
 import org.onosproject.net.driver.DefaultDriverData;
 import org.onosproject.net.driver.DefaultDriverHandler;
 import org.onosproject.net.driver.Driver;
 import org.onosproject.net.driver.DriverHandler;
+import org.onosproject.net.driver.DriverEvent;
 import org.onosproject.net.driver.DriverListener;
 import org.onosproject.net.driver.DriverRegistry;
 import org.onosproject.net.driver.DriverService;
 import org.onosproject.net.pi.model.PiPipeconfId;
+import org.onosproject.net.pi.service.PiPipeconfEvent;
+import org.onosproject.net.pi.service.PiPipeconfListener;
 import org.onosproject.net.pi.service.PiPipeconfService;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -40,7 +49,9 @@ import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import static org.onlab.util.Tools.nullIsNotFound;
@@ -75,14 +86,33 @@ public class DriverManager implements DriverService {
     @Reference(cardinality = ReferenceCardinality.MANDATORY)
     protected PiPipeconfService pipeconfService;
 
+    // Drivers resolved for the devices, invalidated by the events which may
+    // change the resolution.
+    private final Map<DeviceId, Driver> driverByDevice = Maps.newConcurrentMap();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final DeviceListener deviceListener = new InternalDeviceListener();
+    private final NetworkConfigListener networkConfigListener = new InternalNetworkConfigListener();
+    private final PiPipeconfListener pipeconfListener = new InternalPipeconfListener();
+    private final DriverListener driverListener = new InternalDriverListener();
+
     @Activate
     protected void activate() {
         AbstractProjectableModel.setDriverService(null, this);
+        deviceService.addListener(deviceListener);
+        networkConfigService.addListener(networkConfigListener);
+        pipeconfService.addListener(pipeconfListener);
+        registry.addListener(driverListener);
         log.info("Started");
     }
 
     @Deactivate
     protected void deactivate() {
+        registry.removeListener(driverListener);
+        pipeconfService.removeListener(pipeconfListener);
+        networkConfigService.removeListener(networkConfigListener);
+        deviceService.removeListener(deviceListener);
+        driverByDevice.clear();
         AbstractProjectableModel.setDriverService(this, null);
         log.info("Stopped");
     }
@@ -117,6 +147,30 @@ public class DriverManager implements DriverService {
     public Driver getDriver(DeviceId deviceId) {
         checkPermission(DRIVER_READ);
 
+        Driver driver = driverByDevice.get(deviceId);
+        if (driver != null) {
+            return driver;
+        }
+
+        long count = invalidations.get();
+        boolean bound = pipeconfService.ofDevice(deviceId).isPresent();
+        driver = resolveDriver(deviceId);
+        // Binding a pipeconf to a device raises no event, so the driver of a
+        // pipeconf-capable device is not cached until it gets its pipeconf
+        // merged driver.
+        if (!bound && driver.hasBehaviour(PiPipelineProgrammable.class)) {
+            return driver;
+        }
+        driverByDevice.put(deviceId, driver);
+        // The driver may have been resolved from a stale state if the cache
+        // has been invalidated meanwhile.
+        if (invalidations.get() != count) {
+            driverByDevice.remove(deviceId, driver);
+        }
+        return driver;
+    }
+
+    private Driver resolveDriver(DeviceId deviceId) {
         Driver driver;
 
         // Special processing for devices with pipeconf.
@@ -199,4 +253,61 @@ public class DriverManager implements DriverService {
     public void removeListener(DriverListener listener) {
         registry.removeListener(listener);
     }
+
+    private void invalidate(DeviceId deviceId) {
+        invalidations.incrementAndGet();
+        driverByDevice.remove(deviceId);
+    }
+
+    private void invalidateAll() {
+        invalidations.incrementAndGet();
+        driverByDevice.clear();
+    }
+
+    private class InternalDeviceListener implements DeviceListener {
+        @Override
+        public boolean isRelevant(DeviceEvent event) {
+            switch (event.type()) {
+                case DEVICE_ADDED:
+                case DEVICE_UPDATED:
+                case DEVICE_REMOVED:
+                case DEVICE_AVAILABILITY_CHANGED:
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        @Override
+        public void event(DeviceEvent event) {
+            invalidate(event.subject().id());
+        }
+    }
+
+    private class InternalNetworkConfigListener implements NetworkConfigListener {
+        @Override
+        public boolean isRelevant(NetworkConfigEvent event) {
+            return event.configClass() == BasicDeviceConfig.class &&
+                    event.subject() instanceof DeviceId;
+        }
+
+        @Override
+        public void event(NetworkConfigEvent event) {
+            invalidate((DeviceId) event.subject());
+        }
+    }
+
+    private class InternalPipeconfListener implements PiPipeconfListener {
+        @Override
+        public void event(PiPipeconfEvent event) {
+            invalidateAll();
+        }
+    }
+
+    private class InternalDriverListener implements DriverListener {
+        @Override
+        public void event(DriverEvent event) {
+            invalidateAll();
+        }
+    }
 }
@@ -46,6 +46,8 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static org.onlab.util.Tools.get;
@@ -99,10 +101,13 @@ public class DriverRegistryManager extends DefaultDriverProvider implements Driv
     private Set<String> requiredDriverSet;
 
     private Set<DriverProvider> providers = Sets.newConcurrentHashSet();
-    private Map<String, Driver> driverByKey = Maps.newConcurrentMap();
+    private Map<String, DriverMatcher> driverByKey = Maps.newConcurrentMap();
+    // Drivers resolved by manufacturer, hardware and software versions; replaced
+    // whenever the registered drivers change.
+    private volatile Map<String, Driver> resolvedByKey = Maps.newConcurrentMap();
     private Map<String, Class<? extends Behaviour>> classes = Maps.newConcurrentMap();
 
-    private ListenerRegistry<DriverEvent, DriverListener> listenerRegistry;
+    private final ListenerRegistry<DriverEvent, DriverListener> listenerRegistry = new ListenerRegistry<>();
 
 
     private boolean isStarted = false;
@@ -110,7 +115,6 @@ public class DriverRegistryManager extends DefaultDriverProvider implements Driv
     @Activate
     protected void activate(ComponentContext context) {
         componentConfigService.registerProperties(getClass());
-        listenerRegistry = new ListenerRegistry<>();
         eventDispatcher.addSink(DriverEvent.class, listenerRegistry);
         modified(context);
         log.info("Started");
@@ -122,6 +126,7 @@ public class DriverRegistryManager extends DefaultDriverProvider implements Driv
         eventDispatcher.removeSink(DriverEvent.class);
         providers.clear();
         driverByKey.clear();
+        resolvedByKey = Maps.newConcurrentMap();
         classes.clear();
         log.info("Stopped");
     }
@@ -149,7 +154,7 @@ public class DriverRegistryManager extends DefaultDriverProvider implements Driv
             Driver d = addDriver(driver);
             driverByKey.put(key(driver.manufacturer(),
                                 driver.hwVersion(),
-                                driver.swVersion()), d);
+                                driver.swVersion()), new DriverMatcher(d));
             d.behaviours().forEach(b -> {
                 Class<? extends Behaviour> implementation = d.implementation(b);
                 classes.put(b.getName(), b);
@@ -157,6 +162,7 @@ public class DriverRegistryManager extends DefaultDriverProvider implements Driv
             });
             post(new DriverEvent(DRIVER_ENHANCED, driver));
         });
+        resolvedByKey = Maps.newConcurrentMap();
         providers.add(provider);
         checkRequiredDrivers();
     }
@@ -170,6 +176,7 @@ public class DriverRegistryManager extends DefaultDriverProvider implements Driv
                                    driver.swVersion()));
             post(new DriverEvent(DRIVER_REDUCED, driver));
         });
+        resolvedByKey = Maps.newConcurrentMap();
         providers.remove(provider);
         checkRequiredDrivers();
     }
@@ -211,20 +218,50 @@ public class DriverRegistryManager extends DefaultDriverProvider implements Driv
         return builder.build();
     }
 
+    @Override
+    public Driver addDriver(Driver driver) {
+        Driver d = super.addDriver(driver);
+        resolvedByKey = Maps.newConcurrentMap();
+        return d;
+    }
+
+    @Override
+    public void removeDriver(Driver driver) {
+        super.removeDriver(driver);
+        resolvedByKey = Maps.newConcurrentMap();
+    }
+
     @Override
     public Driver getDriver(String mfr, String hw, String sw) {
         checkPermission(DRIVER_READ);
 
+        // The resolved drivers are read first, so that a driver resolved
+        // before the registered drivers change is not kept.
+        Map<String, Driver> resolved = resolvedByKey;
+        String key = key(mfr, hw, sw);
+        Driver driver = resolved.get(key);
+        if (driver == null) {
+            driver = resolveDriver(key, mfr, hw, sw);
+            if (driver != null) {
+                resolved.put(key, driver);
+            }
+        }
+        return driver;
+    }
+
+    private Driver resolveDriver(String key, String mfr, String hw, String sw) {
         // First attempt a literal search.
-        Driver driver = driverByKey.get(key(mfr, hw, sw));
-        if (driver != null) {
-            return driver;
+        DriverMatcher matcher = driverByKey.get(key);
+        if (matcher != null) {
+            return matcher.driver;
         }
 
         // Otherwise, sweep through the key space and attempt to match using
         // regular expression matching.
         Optional<Driver> optional = driverByKey.values().stream()
-                .filter(d -> matches(d, mfr, hw, sw)).findFirst();
+                .filter(m -> m.matches(mfr, hw, sw))
+                .map(m -> m.driver)
+                .findFirst();
 
         // If no matching driver is found, return default.
         return optional.orElse(drivers.get(DEFAULT));
@@ -236,14 +273,6 @@ public class DriverRegistryManager extends DefaultDriverProvider implements Driv
         return nullIsNotFound(drivers.get(driverName), NO_DRIVER);
     }
 
-    // Matches the given driver using ERE matching against the given criteria.
-    private boolean matches(Driver d, String mfr, String hw, String sw) {
-        // TODO: consider pre-compiling the expressions in the future
-        return mfr.matches(d.manufacturer()) &&
-                hw.matches(d.hwVersion()) &&
-                sw.matches(d.swVersion());
-    }
-
     // Produces a composite driver key using the specified components.
     static String key(String mfr, String hw, String sw) {
         return String.format("%s-%s-%s", mfr, hw, sw);
@@ -266,4 +295,36 @@ public class DriverRegistryManager extends DefaultDriverProvider implements Driv
         }
     }
 
+    // Driver with its manufacturer, hardware and software versions compiled
+    // as regular expressions.
+    private static final class DriverMatcher {
+        private final Driver driver;
+        private final Pattern mfr;
+        private final Pattern hw;
+        private final Pattern sw;
+
+        private DriverMatcher(Driver driver) {
+            this.driver = driver;
+            this.mfr = compile(driver.manufacturer());
+            this.hw = compile(driver.hwVersion());
+            this.sw = compile(driver.swVersion());
+        }
+
+        // Matches the driver using ERE matching against the given criteria.
+        private boolean matches(String mfr, String hw, String sw) {
+            return this.mfr.matcher(mfr).matches() &&
+                    this.hw.matcher(hw).matches() &&
+                    this.sw.matcher(sw).matches();
+        }
+
+        // Values which are not valid expressions only match literally.
+        private static Pattern compile(String regex) {
+            try {
+                return Pattern.compile(regex);
+            } catch (PatternSyntaxException e) {
+                return Pattern.compile(regex, Pattern.LITERAL);
+            }
+        }
+    }
+
 }
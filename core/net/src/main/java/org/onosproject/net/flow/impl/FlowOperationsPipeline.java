@@ -0,0 +1,120 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.net.flow.impl;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.onosproject.net.DeviceId;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * Tracks the progress of pipelined flow rule operations through their stages,
+ * per device.
+ * <p>
+ * A device starts a stage once it has completed its previous stages, and
+ * once the devices the stage depends on have completed theirs as well. A
+ * device has at most one stage in progress. Since a stage only depends on
+ * earlier stages, the device with the earliest pending stage can always
+ * proceed, so all the stages eventually complete.
+ * </p>
+ * Not thread-safe.
+ */
+final class FlowOperationsPipeline {
+
+    private final List<Set<DeviceId>> stageDevices;
+    private final List<Set<DeviceId>> dependencies;
+
+    // first stage of each device not yet completed by it
+    private final Map<DeviceId, Integer> nextStages = Maps.newHashMap();
+    private final Set<DeviceId> inProgress = Sets.newHashSet();
+
+    /**
+     * Creates a pipeline for the given stages.
+     *
+     * @param stageDevices devices having operations in each stage
+     * @param dependencies devices each stage depends on
+     */
+    FlowOperationsPipeline(List<Set<DeviceId>> stageDevices, List<Set<DeviceId>> dependencies) {
+        checkArgument(stageDevices.size() == dependencies.size(), "Dependencies do not match the stages");
+        this.stageDevices = stageDevices;
+        this.dependencies = dependencies;
+        for (int stage = 0; stage < stageDevices.size(); stage++) {
+            for (DeviceId deviceId : stageDevices.get(stage)) {
+                nextStages.putIfAbsent(deviceId, stage);
+            }
+        }
+    }
+
+    /**
+     * Starts the stages which may proceed, and returns them.
+     *
+     * @return stage index keyed by the device to start it on
+     */
+    Map<DeviceId, Integer> start() {
+        Map<DeviceId, Integer> started = Maps.newHashMap();
+        nextStages.forEach((deviceId, stage) -> {
+            if (!inProgress.contains(deviceId) && isReady(stage)) {
+                started.put(deviceId, stage);
+            }
+        });
+        inProgress.addAll(started.keySet());
+        return started;
+    }
+
+    /**
+     * Records the completion of the stage in progress on the given device.
+     *
+     * @param deviceId device identifier
+     * @throws IllegalStateException if the device has no stage in progress
+     */
+    void complete(DeviceId deviceId) {
+        checkState(inProgress.remove(deviceId), "No stage in progress on %s", deviceId);
+        int stage = nextStages.get(deviceId) + 1;
+        while (stage < stageDevices.size() && !stageDevices.get(stage).contains(deviceId)) {
+            stage++;
+        }
+        if (stage < stageDevices.size()) {
+            nextStages.put(deviceId, stage);
+        } else {
+            nextStages.remove(deviceId);
+        }
+    }
+
+    /**
+     * Returns whether all the devices have completed all their stages.
+     *
+     * @return true if the pipeline is done
+     */
+    boolean isDone() {
+        return nextStages.isEmpty();
+    }
+
+    private boolean isReady(int stage) {
+        for (DeviceId deviceId : dependencies.get(stage)) {
+            Integer next = nextStages.get(deviceId);
+            if (next != null && next < stage) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -17,6 +17,7 @@ package org.onosproject.net.flow.impl;
 
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
@@ -65,6 +66,7 @@ import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.slf4j.Logger;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Dictionary;
 import java.util.HashSet;
@@ -349,7 +351,8 @@ public class FlowRuleManager
     @Override
     public void apply(FlowRuleOperations ops) {
         checkPermission(FLOWRULE_WRITE);
-        operationsService.execute(new FlowOperationsProcessor(ops));
+        operationsService.execute(ops.isPipelined() ? new PipelinedFlowOperationsProcessor(ops)
+                                            : new FlowOperationsProcessor(ops));
     }
 
     @Override
@@ -681,12 +684,12 @@ public class FlowRuleManager
 
     private class FlowOperationsProcessor implements Runnable {
         // Immutable
-        private final FlowRuleOperations fops;
+        final FlowRuleOperations fops;
 
         // Mutable
         private final List<Set<FlowRuleOperation>> stages;
         private final Set<DeviceId> pendingDevices = new HashSet<>();
-        private boolean hasFailed = false;
+        boolean hasFailed = false;
 
         FlowOperationsProcessor(FlowRuleOperations ops) {
             this.stages = Lists.newArrayList(ops.stages());
@@ -712,14 +715,17 @@ public class FlowRuleManager
             pendingDevices.addAll(perDeviceBatches.keySet());
 
             for (DeviceId deviceId : perDeviceBatches.keySet()) {
-                long id = idGenerator.getNewId();
-                final FlowRuleBatchOperation b = new FlowRuleBatchOperation(perDeviceBatches.get(deviceId),
-                                               deviceId, id);
-                pendingFlowOperations.put(id, this);
-                deviceInstallers.execute(() -> store.storeBatch(b));
+                submit(deviceId, perDeviceBatches.get(deviceId));
             }
         }
 
+        void submit(DeviceId deviceId, Collection<FlowRuleBatchEntry> entries) {
+            long id = idGenerator.getNewId();
+            final FlowRuleBatchOperation b = new FlowRuleBatchOperation(entries, deviceId, id);
+            pendingFlowOperations.put(id, this);
+            deviceInstallers.execute(() -> store.storeBatch(b));
+        }
+
         synchronized void satisfy(DeviceId devId) {
             pendingDevices.remove(devId);
             if (pendingDevices.isEmpty()) {
@@ -741,6 +747,60 @@ public class FlowRuleManager
         }
     }
 
+    // Processor of pipelined operations, tracking the stages per device.
+    private class PipelinedFlowOperationsProcessor extends FlowOperationsProcessor {
+        private final List<ListMultimap<DeviceId, FlowRuleBatchEntry>> perDeviceStages = Lists.newArrayList();
+        private final FlowOperationsPipeline pipeline;
+        private boolean done = false;
+
+        PipelinedFlowOperationsProcessor(FlowRuleOperations ops) {
+            super(ops);
+            List<Set<DeviceId>> stageDevices = Lists.newArrayList();
+            List<Set<DeviceId>> dependencies = Lists.newArrayList();
+            for (Set<FlowRuleOperation> stage : ops.stages()) {
+                ListMultimap<DeviceId, FlowRuleBatchEntry> perDeviceBatches = ArrayListMultimap.create();
+                for (FlowRuleOperation op : stage) {
+                    perDeviceBatches.put(op.rule().deviceId(),
+                            new FlowRuleBatchEntry(mapOperationType(op.type()), op.rule()));
+                }
+                dependencies.add(ops.stageDependencies(perDeviceStages.size()));
+                perDeviceStages.add(perDeviceBatches);
+                stageDevices.add(perDeviceBatches.keySet());
+            }
+            pipeline = new FlowOperationsPipeline(stageDevices, dependencies);
+        }
+
+        @Override
+        public synchronized void run() {
+            pipeline.start().forEach((deviceId, stage) ->
+                    submit(deviceId, perDeviceStages.get(stage).get(deviceId)));
+            if (pipeline.isDone() && !done) {
+                done = true;
+                if (!hasFailed) {
+                    fops.callback().onSuccess(fops);
+                }
+            }
+        }
+
+        @Override
+        synchronized void satisfy(DeviceId devId) {
+            pipeline.complete(devId);
+            operationsService.execute(this);
+        }
+
+        @Override
+        synchronized void fail(DeviceId devId, Set<? extends FlowRule> failures) {
+            hasFailed = true;
+            pipeline.complete(devId);
+            operationsService.execute(this);
+
+            FlowRuleOperations.Builder failedOpsBuilder = FlowRuleOperations.builder();
+            failures.forEach(failedOpsBuilder::add);
+
+            fops.callback().onError(failedOpsBuilder.build());
+        }
+    }
+
     @Override
     public Iterable<TableStatisticsEntry> getFlowTableStatistics(DeviceId deviceId) {
         checkPermission(FLOWRULE_READ);
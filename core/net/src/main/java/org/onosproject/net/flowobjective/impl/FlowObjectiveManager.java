@@ -23,6 +23,7 @@ import com.google.common.collect.Sets;
 import org.apache.commons.lang3.tuple.Pair;
 import org.onlab.osgi.DefaultServiceDirectory;
 import org.onlab.osgi.ServiceDirectory;
+import org.onlab.util.AbstractAccumulator;
 import org.onlab.util.ItemNotFoundException;
 import org.onlab.util.Tools;
 import org.onosproject.cfg.ComponentConfigService;
@@ -68,6 +69,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.HashMap;
+import java.util.Timer;
 import java.util.concurrent.ExecutorService;
 
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -84,6 +86,8 @@ import static org.onosproject.net.OsgiPropertyConstants.FOM_ACCUMULATOR_MAX_IDLE
 import static org.onosproject.net.OsgiPropertyConstants.FOM_ACCUMULATOR_MAX_IDLE_MILLIS_DEFAULT;
 import static org.onosproject.net.OsgiPropertyConstants.FOM_ACCUMULATOR_MAX_BATCH_MILLIS;
 import static org.onosproject.net.OsgiPropertyConstants.FOM_ACCUMULATOR_MAX_BATCH_MILLIS_DEFAULT;
+import static org.onosproject.net.OsgiPropertyConstants.FOM_OBJECTIVE_BATCHING;
+import static org.onosproject.net.OsgiPropertyConstants.FOM_OBJECTIVE_BATCHING_DEFAULT;
 import static org.onosproject.security.AppGuard.checkPermission;
 import static org.onosproject.security.AppPermission.Type.FLOWRULE_WRITE;
 
@@ -98,6 +102,7 @@ import static org.onosproject.security.AppPermission.Type.FLOWRULE_WRITE;
             FOM_ACCUMULATOR_MAX_OBJECTIVES + ":Integer=" + FOM_ACCUMULATOR_MAX_OBJECTIVES_DEFAULT,
             FOM_ACCUMULATOR_MAX_IDLE_MILLIS + ":Integer=" + FOM_ACCUMULATOR_MAX_IDLE_MILLIS_DEFAULT,
             FOM_ACCUMULATOR_MAX_BATCH_MILLIS + ":Integer=" + FOM_ACCUMULATOR_MAX_BATCH_MILLIS_DEFAULT,
+            FOM_OBJECTIVE_BATCHING + ":Boolean=" + FOM_OBJECTIVE_BATCHING_DEFAULT,
     }
 )
 public class FlowObjectiveManager implements FlowObjectiveService {
@@ -124,6 +129,11 @@ public class FlowObjectiveManager implements FlowObjectiveService {
     // Maximum number of millis allowed since the first objective before processing is triggered
     private int accumulatorMaxBatchMillis = FOM_ACCUMULATOR_MAX_BATCH_MILLIS_DEFAULT;
 
+    // A pipeliner merging the flow rules of batched objectives reports each of them successful once
+    // its flow rules are installed, while it may report an objective installed on its own successful
+    // once its flow rules are submitted, as FabricPipeliner does.
+    /** Accumulates forwarding and next objectives per device, and passes them in batches to the pipeliners. */
+    private boolean objectiveBatching = FOM_OBJECTIVE_BATCHING_DEFAULT;
 
     @Reference(cardinality = ReferenceCardinality.MANDATORY)
     protected DriverService driverService;
@@ -174,6 +184,10 @@ public class FlowObjectiveManager implements FlowObjectiveService {
     // for debugging purposes
     private Map<Integer, DeviceId> nextToDevice = Maps.newConcurrentMap();
 
+    // objectives accumulated per device, when batching is enabled
+    private final Map<DeviceId, ObjectiveAccumulator> accumulators = Maps.newConcurrentMap();
+    private Timer batchTimer;
+
     ExecutorService executorService;
     protected ExecutorService devEventExecutor;
 
@@ -182,6 +196,7 @@ public class FlowObjectiveManager implements FlowObjectiveService {
         cfgService.registerProperties(FlowObjectiveManager.class);
         executorService = newFixedThreadPool(numThreads,
                                              groupedThreads(GROUP_THREAD_NAME, WORKER_PATTERN, log));
+        batchTimer = new Timer("onos-flowobj-batching", true);
         modified(context);
         devEventExecutor = newSingleThreadScheduledExecutor(
                                        groupedThreads("onos/flowobj-dev-events", "events-%d", log));
@@ -197,6 +212,10 @@ public class FlowObjectiveManager implements FlowObjectiveService {
         flowObjectiveStore.unsetDelegate(delegate);
         deviceService.removeListener(deviceListener);
         driverService.removeListener(driverListener);
+        batchTimer.cancel();
+        // Fail the objectives still waiting for their batch
+        accumulators.values().forEach(accumulator -> accumulator.fail(ObjectiveError.UNKNOWN));
+        accumulators.clear();
         executorService.shutdown();
         devEventExecutor.shutdownNow();
         devEventExecutor = null;
@@ -235,11 +254,13 @@ public class FlowObjectiveManager implements FlowObjectiveService {
 
         // Reconfiguration of the accumulator parameters is allowed
         // Note: it will affect only pipelines going through init method
+        boolean accumulatorChanged = false;
         propertyValue = Tools.get(context.getProperties(), FOM_ACCUMULATOR_MAX_OBJECTIVES);
         int newMaxObjs = isNullOrEmpty(propertyValue) ?
                 accumulatorMaxObjectives : Integer.parseInt(propertyValue);
         if (newMaxObjs != accumulatorMaxObjectives && newMaxObjs > 0) {
             accumulatorMaxObjectives = newMaxObjs;
+            accumulatorChanged = true;
             log.info("Reconfigured maximum number of objectives to accumulate to {}",
                      accumulatorMaxObjectives);
         }
@@ -249,6 +270,7 @@ public class FlowObjectiveManager implements FlowObjectiveService {
                 accumulatorMaxIdleMillis : Integer.parseInt(propertyValue);
         if (newMaxIdleMS != accumulatorMaxIdleMillis && newMaxIdleMS > 0) {
             accumulatorMaxIdleMillis = newMaxIdleMS;
+            accumulatorChanged = true;
             log.info("Reconfigured maximum number of millis between objectives to {}",
                      accumulatorMaxIdleMillis);
         }
@@ -258,10 +280,29 @@ public class FlowObjectiveManager implements FlowObjectiveService {
                 accumulatorMaxBatchMillis : Integer.parseInt(propertyValue);
         if (newMaxBatchMS != accumulatorMaxBatchMillis && newMaxBatchMS > 0) {
             accumulatorMaxBatchMillis = newMaxBatchMS;
+            accumulatorChanged = true;
             log.info("Reconfigured maximum number of millis allowed since the first objective to {}",
                      accumulatorMaxBatchMillis);
         }
 
+        Boolean newObjectiveBatching = Tools.isPropertyEnabled(context.getProperties(), FOM_OBJECTIVE_BATCHING);
+        if (newObjectiveBatching != null && newObjectiveBatching != objectiveBatching) {
+            objectiveBatching = newObjectiveBatching;
+            accumulatorChanged = true;
+            log.info("Configured. Objective batching is {}", objectiveBatching ? "enabled" : "disabled");
+        }
+
+        // The accumulators keep the parameters they were created with;
+        // pass down what they hold and let new ones be created
+        if (accumulatorChanged) {
+            accumulators.keySet().forEach(deviceId -> {
+                ObjectiveAccumulator accumulator = accumulators.remove(deviceId);
+                if (accumulator != null) {
+                    accumulator.flush();
+                }
+            });
+        }
+
     }
 
     /**
@@ -316,6 +357,99 @@ public class FlowObjectiveManager implements FlowObjectiveService {
         }
     }
 
+    /**
+     * Task that passes a batch of objectives down to the driver, the
+     * consecutive objectives of the same kind together. If the driver cannot
+     * be found, the objectives are retried one by one.
+     */
+    class BatchInstaller implements Runnable {
+        final DeviceId deviceId;
+        final List<Objective> objectives;
+
+        BatchInstaller(DeviceId deviceId, List<Objective> objectives) {
+            this.deviceId = checkNotNull(deviceId);
+            this.objectives = checkNotNull(objectives);
+        }
+
+        @Override
+        public void run() {
+            try {
+                Pipeliner pipeliner = getDevicePipeliner(deviceId);
+                if (pipeliner == null) {
+                    objectives.forEach(o -> executorService.execute(new ObjectiveInstaller(deviceId, o)));
+                    return;
+                }
+                int start = 0;
+                for (int i = 1; i <= objectives.size(); i++) {
+                    if (i == objectives.size() || isNext(objectives.get(i)) != isNext(objectives.get(start))) {
+                        installBatch(pipeliner, objectives.subList(start, i));
+                        start = i;
+                    }
+                }
+            } catch (Exception e) {
+                log.warn("Exception while installing flow objectives", e);
+            }
+        }
+
+        private boolean isNext(Objective objective) {
+            return objective instanceof NextObjective;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void installBatch(Pipeliner pipeliner, List<? extends Objective> batch) {
+            if (isNext(batch.get(0))) {
+                batch.forEach(next -> nextToDevice.put(next.id(), deviceId));
+                pipeliner.next((List<NextObjective>) batch);
+            } else {
+                pipeliner.forward((List<ForwardingObjective>) batch);
+            }
+        }
+    }
+
+    // Accumulates the forwarding and next objectives of a device.
+    private final class ObjectiveAccumulator extends AbstractAccumulator<Objective> {
+        private final DeviceId deviceId;
+
+        private ObjectiveAccumulator(DeviceId deviceId) {
+            super(batchTimer, accumulatorMaxObjectives, accumulatorMaxBatchMillis, accumulatorMaxIdleMillis);
+            this.deviceId = deviceId;
+        }
+
+        @Override
+        public void processItems(List<Objective> items) {
+            executorService.execute(new BatchInstaller(deviceId, items));
+        }
+
+        // Passes down the objectives accumulated so far
+        private void flush() {
+            List<Objective> items = drainItems();
+            if (!items.isEmpty()) {
+                processItems(items);
+            }
+        }
+
+        // Fails the objectives accumulated so far
+        private void fail(ObjectiveError error) {
+            drainItems().forEach(objective -> objective.context().ifPresent(c -> c.onError(objective, error)));
+        }
+    }
+
+    /**
+     * Passes a forwarding or next objective down to the driver, either right
+     * away or along with the other objectives of the device if batching is
+     * enabled.
+     *
+     * @param deviceId  device identifier
+     * @param objective forwarding or next objective
+     */
+    private void install(DeviceId deviceId, Objective objective) {
+        if (objectiveBatching) {
+            accumulators.computeIfAbsent(deviceId, ObjectiveAccumulator::new).add(objective);
+        } else {
+            executorService.execute(new ObjectiveInstaller(deviceId, objective));
+        }
+    }
+
     @Override
     public void filter(DeviceId deviceId, FilteringObjective filteringObjective) {
         checkPermission(FLOWRULE_WRITE);
@@ -329,7 +463,7 @@ public class FlowObjectiveManager implements FlowObjectiveService {
                 flowObjectiveStore.getNextGroup(forwardingObjective.nextId()) != null ||
                 !queueFwdObjective(deviceId, forwardingObjective)) {
             // fast path
-            executorService.execute(new ObjectiveInstaller(deviceId, forwardingObjective));
+            install(deviceId, forwardingObjective);
         }
     }
 
@@ -341,7 +475,7 @@ public class FlowObjectiveManager implements FlowObjectiveService {
                 flowObjectiveStore.getNextGroup(nextObjective.id()) != null ||
                 !queueNextObjective(deviceId, nextObjective)) {
             // either group exists or we are trying to create it - let it through
-            executorService.execute(new ObjectiveInstaller(deviceId, nextObjective));
+            install(deviceId, nextObjective);
         }
     }
 
@@ -16,16 +16,14 @@
 
 package org.onosproject.net.flowobjective.impl;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.RemovalListener;
-import com.google.common.cache.RemovalListeners;
-import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ListMultimap;
-import com.google.common.collect.Multimaps;
+import com.google.common.collect.Maps;
 import org.onlab.util.Tools;
 import org.onlab.util.Tools.LogLevel;
 import org.onosproject.net.DeviceId;
+import org.onosproject.net.device.DeviceEvent;
+import org.onosproject.net.device.DeviceListener;
 import org.onosproject.net.flowobjective.FilteringObjQueueKey;
 import org.onosproject.net.flowobjective.FilteringObjective;
 import org.onosproject.net.flowobjective.FlowObjectiveService;
@@ -38,7 +36,8 @@ import org.onosproject.net.flowobjective.Objective;
 import org.onosproject.net.flowobjective.ObjectiveContext;
 import org.onosproject.net.flowobjective.ObjectiveError;
 import org.onosproject.net.flowobjective.ObjectiveEvent;
-import org.onosproject.net.flowobjective.ObjectiveQueueKey;
+import org.onosproject.net.flowobjective.ObjectiveQueueStatistics;
+import org.onosproject.net.flowobjective.impl.ObjectiveQueues.DeviceMetrics;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
@@ -51,13 +50,10 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.atomic.AtomicBoolean;
 
-import static java.util.concurrent.Executors.newSingleThreadExecutor;
-import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
 import static org.onlab.util.Tools.groupedThreads;
 
 @Component(immediate = true, service = FlowObjectiveService.class)
@@ -68,20 +64,15 @@ public class InOrderFlowObjectiveManager extends FlowObjectiveManager {
     static final int DEFAULT_OBJ_TIMEOUT = 15000;
     int objTimeoutMs = DEFAULT_OBJ_TIMEOUT;
 
-    private Cache<FilteringObjQueueKey, Objective> filtObjQueueHead;
-    private Cache<ForwardingObjQueueKey, Objective> fwdObjQueueHead;
-    private Cache<NextObjQueueKey, Objective> nextObjQueueHead;
-    private ScheduledExecutorService cacheCleaner;
-    private ExecutorService filtCacheEventExecutor;
-    private ExecutorService fwdCacheEventExecutor;
-    private ExecutorService nextCacheEventExecutor;
-
-    private ListMultimap<FilteringObjQueueKey, Objective> filtObjQueue =
-            Multimaps.synchronizedListMultimap(ArrayListMultimap.create());
-    private ListMultimap<ForwardingObjQueueKey, Objective> fwdObjQueue =
-            Multimaps.synchronizedListMultimap(ArrayListMultimap.create());
-    private ListMultimap<NextObjQueueKey, Objective> nextObjQueue =
-            Multimaps.synchronizedListMultimap(ArrayListMultimap.create());
+    // Reports the objectives which did not complete in time
+    private ScheduledExecutorService timeoutExecutor;
+
+    private ObjectiveQueues<FilteringObjQueueKey> filtObjQueue;
+    private ObjectiveQueues<ForwardingObjQueueKey> fwdObjQueue;
+    private ObjectiveQueues<NextObjQueueKey> nextObjQueue;
+    private final Map<DeviceId, DeviceMetrics> queueMetrics = Maps.newConcurrentMap();
+    // Drops the queue metrics of the removed devices
+    final DeviceListener metricsListener = new InternalDeviceListener();
 
     final FlowObjectiveStoreDelegate delegate = new InternalStoreDelegate();
 
@@ -89,43 +80,15 @@ public class InOrderFlowObjectiveManager extends FlowObjectiveManager {
     protected void activate(ComponentContext context) {
         super.activate(context);
 
-        filtCacheEventExecutor = newSingleThreadExecutor(groupedThreads("onos/flowobj", "cache-event-filt", log));
-        fwdCacheEventExecutor = newSingleThreadExecutor(groupedThreads("onos/flowobj", "cache-event-fwd", log));
-        nextCacheEventExecutor = newSingleThreadExecutor(groupedThreads("onos/flowobj", "cache-event-next", log));
-
-        RemovalListener<ObjectiveQueueKey, Objective> removalListener = notification -> {
-            Objective obj = notification.getValue();
-            switch (notification.getCause()) {
-                case EXPIRED:
-                case COLLECTED:
-                case SIZE:
-                    obj.context().ifPresent(c -> c.onError(obj, ObjectiveError.INSTALLATIONTIMEOUT));
-                    break;
-                case EXPLICIT: // No action when the objective completes correctly
-                case REPLACED: // No action when a pending forward or next objective gets executed
-                default:
-                    break;
-            }
-        };
-        filtObjQueueHead = CacheBuilder.newBuilder()
-                .expireAfterWrite(objTimeoutMs, TimeUnit.MILLISECONDS)
-                .removalListener(RemovalListeners.asynchronous(removalListener, filtCacheEventExecutor))
-                .build();
-        fwdObjQueueHead = CacheBuilder.newBuilder()
-                .expireAfterWrite(objTimeoutMs, TimeUnit.MILLISECONDS)
-                .removalListener(RemovalListeners.asynchronous(removalListener, fwdCacheEventExecutor))
-                .build();
-        nextObjQueueHead = CacheBuilder.newBuilder()
-                .expireAfterWrite(objTimeoutMs, TimeUnit.MILLISECONDS)
-                .removalListener(RemovalListeners.asynchronous(removalListener, nextCacheEventExecutor))
-                .build();
-
-        cacheCleaner = newSingleThreadScheduledExecutor(groupedThreads("onos/flowobj", "cache-cleaner", log));
-        cacheCleaner.scheduleAtFixedRate(() -> {
-            filtObjQueueHead.cleanUp();
-            fwdObjQueueHead.cleanUp();
-            nextObjQueueHead.cleanUp();
-        }, 0, objTimeoutMs, TimeUnit.MILLISECONDS);
+        // Completed objectives cancel their timeout, which should not linger until it expires
+        ScheduledThreadPoolExecutor executor =
+                new ScheduledThreadPoolExecutor(1, groupedThreads("onos/flowobj", "timeout", log));
+        executor.setRemoveOnCancelPolicy(true);
+        timeoutExecutor = executor;
+        filtObjQueue = new ObjectiveQueues<>(queueMetrics, timeoutExecutor, objTimeoutMs);
+        fwdObjQueue = new ObjectiveQueues<>(queueMetrics, timeoutExecutor, objTimeoutMs);
+        nextObjQueue = new ObjectiveQueues<>(queueMetrics, timeoutExecutor, objTimeoutMs);
+        deviceService.addListener(metricsListener);
 
         // Replace store delegate to make sure pendingForward and pendingNext are resubmitted to
         // execute()
@@ -135,12 +98,10 @@ public class InOrderFlowObjectiveManager extends FlowObjectiveManager {
 
     @Deactivate
     protected void deactivate() {
-        cacheCleaner.shutdown();
+        deviceService.removeListener(metricsListener);
         clearQueue();
-
-        filtCacheEventExecutor.shutdown();
-        fwdCacheEventExecutor.shutdown();
-        nextCacheEventExecutor.shutdown();
+        timeoutExecutor.shutdownNow();
+        queueMetrics.clear();
 
         super.deactivate();
     }
@@ -204,57 +165,54 @@ public class InOrderFlowObjectiveManager extends FlowObjectiveManager {
 
     @Override
     public ListMultimap<FilteringObjQueueKey, Objective> getFilteringObjQueue() {
-        return filtObjQueue;
+        return filtObjQueue.objectives();
     }
 
     @Override
     public ListMultimap<ForwardingObjQueueKey, Objective> getForwardingObjQueue() {
-        return fwdObjQueue;
+        return fwdObjQueue.objectives();
     }
 
     @Override
     public ListMultimap<NextObjQueueKey, Objective> getNextObjQueue() {
-        return nextObjQueue;
+        return nextObjQueue.objectives();
     }
 
     @Override
     public Map<FilteringObjQueueKey, Objective> getFilteringObjQueueHead() {
-        return filtObjQueueHead.asMap();
+        return filtObjQueue.heads();
     }
 
     @Override
     public Map<ForwardingObjQueueKey, Objective> getForwardingObjQueueHead() {
-        return fwdObjQueueHead.asMap();
+        return fwdObjQueue.heads();
     }
 
     @Override
     public Map<NextObjQueueKey, Objective> getNextObjQueueHead() {
-        return nextObjQueueHead.asMap();
+        return nextObjQueue.heads();
     }
 
     @Override
     public void clearQueue() {
-        filtObjQueueHead.invalidateAll();
-        fwdObjQueueHead.invalidateAll();
-        nextObjQueueHead.invalidateAll();
-
-        filtObjQueueHead.cleanUp();
-        fwdObjQueueHead.cleanUp();
-        nextObjQueueHead.cleanUp();
-
         filtObjQueue.clear();
         fwdObjQueue.clear();
         nextObjQueue.clear();
     }
 
+    @Override
+    public Map<DeviceId, ObjectiveQueueStatistics> getObjectiveQueueStatistics() {
+        return ImmutableMap.copyOf(Maps.transformValues(queueMetrics, DeviceMetrics::statistics));
+    }
+
     /**
      * Enqueue flow objective. Execute the flow objective if there is no pending objective ahead.
      *
      * @param deviceId Device ID
      * @param obj Flow objective
      */
-    private synchronized void enqueue(DeviceId deviceId, Objective obj) {
-        int queueSize;
+    private void enqueue(DeviceId deviceId, Objective obj) {
+        Objective head;
         int priority = obj.priority();
 
         LogLevel logLevel = (obj.op() == Objective.Operation.VERIFY) ? LogLevel.TRACE : LogLevel.DEBUG;
@@ -262,26 +220,22 @@ public class InOrderFlowObjectiveManager extends FlowObjectiveManager {
 
         if (obj instanceof FilteringObjective) {
             FilteringObjQueueKey k = new FilteringObjQueueKey(deviceId, priority, ((FilteringObjective) obj).key());
-            filtObjQueue.put(k, obj);
-            queueSize = filtObjQueue.get(k).size();
+            head = filtObjQueue.enqueue(k, deviceId, obj);
         } else if (obj instanceof ForwardingObjective) {
             ForwardingObjQueueKey k =
                     new ForwardingObjQueueKey(deviceId, priority, ((ForwardingObjective) obj).selector());
-            fwdObjQueue.put(k, obj);
-            queueSize = fwdObjQueue.get(k).size();
+            head = fwdObjQueue.enqueue(k, deviceId, obj);
         } else if (obj instanceof NextObjective) {
             NextObjQueueKey k = new NextObjQueueKey(deviceId, obj.id());
-            nextObjQueue.put(k, obj);
-            queueSize = nextObjQueue.get(k).size();
+            head = nextObjQueue.enqueue(k, deviceId, obj);
         } else {
             log.error("Unknown flow objective instance: {}", obj.getClass().getName());
             return;
         }
-        log.trace("{} queue size {}", obj.getClass().getSimpleName(), queueSize);
 
         // Execute immediately if there is no pending obj ahead
-        if (queueSize == 1) {
-            execute(deviceId, obj);
+        if (head != null) {
+            execute(deviceId, head);
         }
     }
 
@@ -292,28 +246,21 @@ public class InOrderFlowObjectiveManager extends FlowObjectiveManager {
      * @param obj Flow objective
      * @param error ObjectiveError that triggers this dequeue. Null if this is not triggered by an error.
      */
-    private synchronized void dequeue(DeviceId deviceId, Objective obj, ObjectiveError error) {
-        List<Objective> remaining;
+    private void dequeue(DeviceId deviceId, Objective obj, ObjectiveError error) {
+        Objective next;
         int priority = obj.priority();
+        boolean timedOut = Objects.equals(ObjectiveError.INSTALLATIONTIMEOUT, error);
 
         LogLevel logLevel = (obj.op() == Objective.Operation.VERIFY) ? LogLevel.TRACE : LogLevel.DEBUG;
         Tools.log(log, logLevel, "Dequeue {}", obj);
 
         if (obj instanceof FilteringObjective) {
             FilteringObjQueueKey k = new FilteringObjQueueKey(deviceId, priority, ((FilteringObjective) obj).key());
-            if (!Objects.equals(ObjectiveError.INSTALLATIONTIMEOUT, error)) {
-                filtObjQueueHead.invalidate(k);
-            }
-            filtObjQueue.remove(k, obj);
-            remaining = filtObjQueue.get(k);
+            next = filtObjQueue.dequeue(k, obj, timedOut);
         } else if (obj instanceof ForwardingObjective) {
             ForwardingObjQueueKey k =
                     new ForwardingObjQueueKey(deviceId, priority, ((ForwardingObjective) obj).selector());
-            if (!Objects.equals(ObjectiveError.INSTALLATIONTIMEOUT, error)) {
-                fwdObjQueueHead.invalidate(k);
-            }
-            fwdObjQueue.remove(k, obj);
-            remaining = fwdObjQueue.get(k);
+            next = fwdObjQueue.dequeue(k, obj, timedOut);
         } else if (obj instanceof NextObjective) {
             if (error != null) {
                 // Remove pendingForwards and pendingNexts if next objective failed
@@ -332,20 +279,14 @@ public class InOrderFlowObjectiveManager extends FlowObjectiveManager {
                 }
             }
             NextObjQueueKey k = new NextObjQueueKey(deviceId, obj.id());
-            if (!Objects.equals(ObjectiveError.INSTALLATIONTIMEOUT, error)) {
-                nextObjQueueHead.invalidate(k);
-            }
-            nextObjQueue.remove(k, obj);
-            remaining = nextObjQueue.get(k);
+            next = nextObjQueue.dequeue(k, obj, timedOut);
         } else {
             log.error("Unknown flow objective instance: {}", obj.getClass().getName());
             return;
         }
-        log.trace("{} queue size {}", obj.getClass().getSimpleName(), remaining.size());
-
         // Submit the next one in the queue, if any
-        if (remaining.size() > 0) {
-            execute(deviceId, remaining.get(0));
+        if (next != null) {
+            execute(deviceId, next);
         }
     }
 
@@ -360,19 +301,11 @@ public class InOrderFlowObjectiveManager extends FlowObjectiveManager {
         LogLevel logLevel = (obj.op() == Objective.Operation.VERIFY) ? LogLevel.TRACE : LogLevel.DEBUG;
         Tools.log(log, logLevel, "Submit objective installer, deviceId {}, obj {}", deviceId, obj);
 
-        int priority = obj.priority();
         if (obj instanceof FilteringObjective) {
-            FilteringObjQueueKey k = new FilteringObjQueueKey(deviceId, priority, ((FilteringObjective) obj).key());
-            filtObjQueueHead.put(k, obj);
             super.filter(deviceId, (FilteringObjective) obj);
         } else if (obj instanceof ForwardingObjective) {
-            ForwardingObjQueueKey k =
-                    new ForwardingObjQueueKey(deviceId, priority, ((ForwardingObjective) obj).selector());
-            fwdObjQueueHead.put(k, obj);
             super.forward(deviceId, (ForwardingObjective) obj);
         } else if (obj instanceof NextObjective) {
-            NextObjQueueKey k = new NextObjQueueKey(deviceId, obj.id());
-            nextObjQueueHead.put(k, obj);
             super.next(deviceId, (NextObjective) obj);
         } else {
             log.error("Unknown flow objective instance: {}", obj.getClass().getName());
@@ -421,24 +354,35 @@ public class InOrderFlowObjectiveManager extends FlowObjectiveManager {
         }
     }
 
+    private class InternalDeviceListener implements DeviceListener {
+        @Override
+        public void event(DeviceEvent event) {
+            if (event.type() == DeviceEvent.Type.DEVICE_REMOVED) {
+                // queues still holding objectives of the device keep their metrics
+                // until they retire, but these are no longer reported
+                queueMetrics.remove(event.subject().id());
+            }
+        }
+    }
+
     final class InOrderObjectiveContext implements ObjectiveContext {
         private final DeviceId deviceId;
         private final ObjectiveContext originalContext;
-        // Prevent onSuccess from being executed after onError is called
-        // i.e. when the context actually succeed after the cache timeout
-        private final AtomicBoolean failed;
+        // Completes the objective only once, e.g. not when it actually
+        // succeeds after having timed out
+        private final AtomicBoolean done;
 
         InOrderObjectiveContext(DeviceId deviceId, ObjectiveContext originalContext) {
             this.deviceId = deviceId;
             this.originalContext = originalContext;
-            this.failed = new AtomicBoolean(false);
+            this.done = new AtomicBoolean(false);
         }
 
         @Override
         public void onSuccess(Objective objective) {
             log.trace("Flow objective onSuccess {}", objective);
 
-            if (!failed.get()) {
+            if (!done.getAndSet(true)) {
                 dequeue(deviceId, objective, null);
                 if (originalContext != null) {
                     originalContext.onSuccess(objective);
@@ -450,7 +394,7 @@ public class InOrderFlowObjectiveManager extends FlowObjectiveManager {
         public void onError(Objective objective, ObjectiveError error) {
             log.warn("Flow objective onError {}. Reason = {}", objective, error);
 
-            if (!failed.getAndSet(true)) {
+            if (!done.getAndSet(true)) {
                 dequeue(deviceId, objective, error);
                 if (originalContext != null) {
                     originalContext.onError(objective, error);
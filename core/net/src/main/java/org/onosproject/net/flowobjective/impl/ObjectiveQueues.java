@@ -0,0 +1,240 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.net.flowobjective.impl;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Maps;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.flowobjective.Objective;
+import org.onosproject.net.flowobjective.ObjectiveError;
+import org.onosproject.net.flowobjective.ObjectiveQueueKey;
+import org.onosproject.net.flowobjective.ObjectiveQueueStatistics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free FIFO queues of flow objectives, one per queue key, of which only
+ * the head objective is executed at a time.
+ * <p>
+ * Each queue counts its objectives separately from the queue itself, and an
+ * objective is always added before being counted, and removed before being
+ * discounted. The submitter which counts the first objective of an empty
+ * queue executes its head, and so does the completion of the head for the
+ * next objective in the queue. A queue which becomes empty is retired by
+ * setting its count to -1, so that submitters racing with the retirement
+ * withdraw their objective and retry on a fresh queue.
+ * </p>
+ * An executed objective which does not complete within the timeout is
+ * reported failed with {@link ObjectiveError#INSTALLATIONTIMEOUT} through its
+ * context, by the given scheduler.
+ *
+ * @param <K> type of queue key
+ */
+final class ObjectiveQueues<K extends ObjectiveQueueKey> {
+
+    private final ConcurrentMap<K, KeyQueue> queues = Maps.newConcurrentMap();
+    private final Map<DeviceId, DeviceMetrics> metrics;
+    private final ScheduledExecutorService timeoutExecutor;
+    private final long timeoutMillis;
+
+    /**
+     * Creates queues of objectives.
+     *
+     * @param metrics         metrics of the devices, possibly shared with
+     *                        other queues
+     * @param timeoutExecutor scheduler of the objective timeouts
+     * @param timeoutMillis   time allowed to an objective to complete once
+     *                        executed, in milliseconds
+     */
+    ObjectiveQueues(Map<DeviceId, DeviceMetrics> metrics,
+                    ScheduledExecutorService timeoutExecutor, long timeoutMillis) {
+        this.metrics = metrics;
+        this.timeoutExecutor = timeoutExecutor;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Adds an objective at the tail of its queue.
+     *
+     * @param key       queue key
+     * @param deviceId  device the objective is meant for
+     * @param objective objective
+     * @return objective to execute now, or null if the queue was not empty
+     */
+    Objective enqueue(K key, DeviceId deviceId, Objective objective) {
+        Entry entry = new Entry(objective);
+        while (true) {
+            KeyQueue queue = queues.computeIfAbsent(key, k -> new KeyQueue(deviceId));
+            queue.entries.add(entry);
+            int count;
+            do {
+                count = queue.count.get();
+            } while (count >= 0 && !queue.count.compareAndSet(count, count + 1));
+            if (count >= 0) {
+                queue.metrics.depth.increment();
+                return count == 0 ? start(queue) : null;
+            }
+            // the queue was retired in the meantime
+            queue.entries.remove(entry);
+            queues.remove(key, queue);
+        }
+    }
+
+    /**
+     * Removes the completed objective from the head of its queue.
+     *
+     * @param key       queue key
+     * @param objective completed objective
+     * @param timedOut  whether the objective completes because it timed out
+     * @return next objective to execute, or null if the queue is now empty
+     * or if the objective was not the head of its queue
+     */
+    Objective dequeue(K key, Objective objective, boolean timedOut) {
+        KeyQueue queue = queues.get(key);
+        Entry head = queue == null ? null : queue.entries.peek();
+        if (head == null || !head.objective.equals(objective)) {
+            return null;
+        }
+        if (head.timeout != null && !timedOut) {
+            head.timeout.cancel(false);
+        }
+        queue.entries.poll();
+        queue.metrics.depth.decrement();
+        if (timedOut) {
+            queue.metrics.timeouts.increment();
+        }
+        if (queue.count.decrementAndGet() > 0) {
+            return start(queue);
+        }
+        if (queue.count.compareAndSet(0, -1)) {
+            queues.remove(key, queue);
+        }
+        return null;
+    }
+
+    /**
+     * Returns the objectives in the queues, the executed ones first.
+     *
+     * @return snapshot of the queued objectives
+     */
+    ListMultimap<K, Objective> objectives() {
+        ListMultimap<K, Objective> objectives = ArrayListMultimap.create();
+        queues.forEach((key, queue) -> queue.entries.forEach(e -> objectives.put(key, e.objective)));
+        return objectives;
+    }
+
+    /**
+     * Returns the objectives being executed.
+     *
+     * @return snapshot of the heads of the queues
+     */
+    Map<K, Objective> heads() {
+        Map<K, Objective> heads = Maps.newHashMap();
+        queues.forEach((key, queue) -> {
+            Entry head = queue.entries.peek();
+            if (head != null && head.timeout != null) {
+                heads.put(key, head.objective);
+            }
+        });
+        return heads;
+    }
+
+    /**
+     * Drops all the objectives, without reporting them.
+     */
+    void clear() {
+        queues.forEach((key, queue) -> {
+            if (queues.remove(key, queue)) {
+                queue.entries.forEach(e -> {
+                    if (e.timeout != null) {
+                        e.timeout.cancel(false);
+                    }
+                });
+                queue.metrics.depth.add(-queue.entries.size());
+            }
+        });
+    }
+
+    // Executes the head of the given queue, which has one at this point.
+    private Objective start(KeyQueue queue) {
+        Entry head = queue.entries.peek();
+        queue.metrics.recordWait(System.nanoTime() - head.enqueued);
+        head.timeout = timeoutExecutor.schedule(() -> head.objective.context().ifPresent(
+                c -> c.onError(head.objective, ObjectiveError.INSTALLATIONTIMEOUT)),
+                                                timeoutMillis, TimeUnit.MILLISECONDS);
+        return head.objective;
+    }
+
+    // Queued objective.
+    private static final class Entry {
+        private final Objective objective;
+        private final long enqueued = System.nanoTime();
+        private volatile ScheduledFuture<?> timeout;
+
+        private Entry(Objective objective) {
+            this.objective = objective;
+        }
+    }
+
+    // Objectives of a queue key, and their count; -1 once retired.
+    private final class KeyQueue {
+        private final ConcurrentLinkedQueue<Entry> entries = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger count = new AtomicInteger();
+        private final DeviceMetrics metrics;
+
+        private KeyQueue(DeviceId deviceId) {
+            this.metrics = ObjectiveQueues.this.metrics.computeIfAbsent(deviceId, d -> new DeviceMetrics());
+        }
+    }
+
+    /**
+     * Queue metrics of a device.
+     */
+    static final class DeviceMetrics {
+        private final LongAdder depth = new LongAdder();
+        private final LongAdder executed = new LongAdder();
+        private final LongAdder totalWait = new LongAdder();
+        private final LongAccumulator maxWait = new LongAccumulator(Math::max, 0);
+        private final LongAdder timeouts = new LongAdder();
+
+        private void recordWait(long nanos) {
+            executed.increment();
+            totalWait.add(nanos);
+            maxWait.accumulate(nanos);
+        }
+
+        /**
+         * Returns a snapshot of the metrics.
+         *
+         * @return queue statistics
+         */
+        ObjectiveQueueStatistics statistics() {
+            long count = executed.sum();
+            return new ObjectiveQueueStatistics(depth.sum(), count,
+                                                count > 0 ? totalWait.sum() / count : 0,
+                                                maxWait.get(), timeouts.sum());
+        }
+    }
+}
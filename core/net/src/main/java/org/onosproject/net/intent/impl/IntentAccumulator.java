@@ -15,7 +15,10 @@
  */
 package org.onosproject.net.intent.impl;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import org.onlab.util.AbstractAccumulator;
 import org.onosproject.net.intent.IntentBatchDelegate;
 import org.onosproject.net.intent.IntentData;
@@ -24,11 +27,16 @@ import org.onosproject.net.intent.Key;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.Timer;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 /**
- * An accumulator for building batches of intent operations. Only one batch should
- * be in process per instance at a time.
+ * An accumulator for building batches of intent operations. Several batches may
+ * be in process at a time, up to a configurable limit, as long as they don't
+ * share any intent key; operations on a key which is part of a batch in process
+ * are held back until that batch completes.
  */
 public class IntentAccumulator extends AbstractAccumulator<IntentData> {
 
@@ -42,7 +50,12 @@ public class IntentAccumulator extends AbstractAccumulator<IntentData> {
 
     private final IntentBatchDelegate delegate;
 
-    private volatile boolean ready;
+    // guarded by this
+    private final Set<Key> inFlightKeys = Sets.newHashSet();
+    private final List<IntentData> deferred = Lists.newArrayList();
+    private int inFlight;
+
+    private volatile int maxInFlight = 1;
 
     /**
      * Creates an intent operation accumulator.
@@ -52,31 +65,70 @@ public class IntentAccumulator extends AbstractAccumulator<IntentData> {
     protected IntentAccumulator(IntentBatchDelegate delegate) {
         super(TIMER, DEFAULT_MAX_EVENTS, DEFAULT_MAX_BATCH_MS, DEFAULT_MAX_IDLE_MS);
         this.delegate = delegate;
-        // Assume that the delegate is ready for work at the start
-        ready = true; //TODO validate the assumption that delegate is ready
+    }
+
+    /**
+     * Sets the number of batches that may be in process at a time.
+     *
+     * @param maxInFlight maximum number of batches in process
+     */
+    public void setMaxInFlight(int maxInFlight) {
+        checkArgument(maxInFlight > 0, "Maximum number of batches must be positive");
+        this.maxInFlight = maxInFlight;
     }
 
     @Override
     public void processItems(List<IntentData> items) {
-        ready = false;
-        delegate.execute(reduce(items));
+        List<IntentData> batch = Lists.newArrayList();
+        synchronized (this) {
+            for (IntentData data : reduce(items)) {
+                if (inFlightKeys.add(data.key())) {
+                    batch.add(data);
+                } else {
+                    deferred.add(data);
+                }
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            inFlight++;
+        }
+        delegate.execute(batch);
     }
 
     private Collection<IntentData> reduce(List<IntentData> ops) {
         Map<Key, IntentData> map = Maps.newHashMap();
         for (IntentData op : ops) {
-            map.put(op.key(), op);
+            // operations held back from a previous round may come after newer ones
+            map.merge(op.key(), op, (current, next) -> isNewer(current, next) ? current : next);
         }
-        //TODO check the version... or maybe store will handle this.
         return map.values();
     }
 
+    private static boolean isNewer(IntentData a, IntentData b) {
+        return a.version() != null && b.version() != null
+                && a.version().isNewerThan(b.version());
+    }
+
     @Override
-    public boolean isReady() {
-        return ready;
+    public synchronized boolean isReady() {
+        return inFlight < maxInFlight;
     }
 
-    public void ready() {
-        ready = true;
+    /**
+     * Notifies the accumulator that a batch has been processed.
+     *
+     * @param batch operations of the batch handed to the delegate
+     */
+    public void ready(Collection<IntentData> batch) {
+        List<IntentData> retry;
+        synchronized (this) {
+            batch.forEach(data -> inFlightKeys.remove(data.key()));
+            inFlight--;
+            retry = ImmutableList.copyOf(deferred);
+            deferred.clear();
+        }
+        // held back operations go into the next batch
+        retry.forEach(this::add);
     }
 }
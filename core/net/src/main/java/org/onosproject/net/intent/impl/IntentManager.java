@@ -21,6 +21,7 @@ import org.onosproject.core.CoreService;
 import org.onosproject.core.IdGenerator;
 import org.onosproject.event.AbstractListenerManager;
 import org.onosproject.net.DeviceId;
+import org.onosproject.net.Link;
 import org.onosproject.net.config.NetworkConfigService;
 import org.onosproject.net.domain.DomainIntentService;
 import org.onosproject.net.flow.FlowRuleService;
@@ -49,8 +50,11 @@ import org.onosproject.net.intent.impl.compiler.PointToPointIntentCompiler;
 import org.onosproject.net.intent.impl.phase.FinalIntentProcessPhase;
 import org.onosproject.net.intent.impl.phase.IntentProcessPhase;
 import org.onosproject.net.intent.impl.phase.Skipped;
+import org.onosproject.net.link.LinkService;
 import org.onosproject.net.resource.ResourceConsumer;
 import org.onosproject.net.resource.ResourceService;
+import org.onosproject.net.topology.Topology;
+import org.onosproject.net.topology.TopologyService;
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -73,13 +77,16 @@ import java.util.stream.Collectors;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static java.util.concurrent.Executors.newFixedThreadPool;
-import static java.util.concurrent.Executors.newSingleThreadExecutor;
 import static org.onlab.util.Tools.groupedThreads;
+import static org.onosproject.net.OsgiPropertyConstants.IM_MAX_BATCHES_IN_FLIGHT;
+import static org.onosproject.net.OsgiPropertyConstants.IM_MAX_BATCHES_IN_FLIGHT_DEFAULT;
 import static org.onosproject.net.OsgiPropertyConstants.IM_NUM_THREADS;
 import static org.onosproject.net.OsgiPropertyConstants.IM_NUM_THREADS_DEFAULT;
 import static org.onosproject.net.OsgiPropertyConstants.IM_SKIP_RELEASE_RESOURCES_ON_WITHDRAWAL;
 import static org.onosproject.net.OsgiPropertyConstants.IM_SKIP_RELEASE_RESOURCES_ON_WITHDRAWAL_DEFAULT;
 import static org.onosproject.net.intent.IntentState.FAILED;
+import static org.onosproject.net.intent.IntentState.INSTALLED;
+import static org.onosproject.net.intent.IntentState.INSTALLING;
 import static org.onosproject.net.intent.IntentState.INSTALL_REQ;
 import static org.onosproject.net.intent.IntentState.WITHDRAWING;
 import static org.onosproject.net.intent.IntentState.WITHDRAWN;
@@ -103,7 +110,8 @@ import static org.slf4j.LoggerFactory.getLogger;
     },
     property = {
         IM_SKIP_RELEASE_RESOURCES_ON_WITHDRAWAL + ":Boolean=" + IM_SKIP_RELEASE_RESOURCES_ON_WITHDRAWAL_DEFAULT,
-        IM_NUM_THREADS + ":Integer=" + IM_NUM_THREADS_DEFAULT
+        IM_NUM_THREADS + ":Integer=" + IM_NUM_THREADS_DEFAULT,
+        IM_MAX_BATCHES_IN_FLIGHT + ":Integer=" + IM_MAX_BATCHES_IN_FLIGHT_DEFAULT
     }
 )
 public class IntentManager
@@ -126,6 +134,9 @@ public class IntentManager
     /** Number of worker threads. */
     private int numThreads = IM_NUM_THREADS_DEFAULT;
 
+    /** Number of intent batches processed concurrently; batches in process never share an intent key. */
+    private int maxBatchesInFlight = IM_MAX_BATCHES_IN_FLIGHT_DEFAULT;
+
     @Reference(cardinality = ReferenceCardinality.MANDATORY)
     protected CoreService coreService;
 
@@ -156,6 +167,12 @@ public class IntentManager
     @Reference(cardinality = ReferenceCardinality.MANDATORY)
     private NetworkConfigService networkConfigService;
 
+    @Reference(cardinality = ReferenceCardinality.MANDATORY)
+    protected TopologyService topologyService;
+
+    @Reference(cardinality = ReferenceCardinality.MANDATORY)
+    protected LinkService linkService;
+
     private ExecutorService batchExecutor;
     private ExecutorService workerExecutor;
 
@@ -181,7 +198,8 @@ public class IntentManager
         }
         trackerService.setDelegate(topoDelegate);
         eventDispatcher.addSink(IntentEvent.class, listenerRegistry);
-        batchExecutor = newSingleThreadExecutor(groupedThreads("onos/intent", "batch", log));
+        batchExecutor = newFixedThreadPool(maxBatchesInFlight, groupedThreads("onos/intent", "batch-%d", log));
+        accumulator.setMaxInFlight(maxBatchesInFlight);
         workerExecutor = newFixedThreadPool(numThreads, groupedThreads("onos/intent", "worker-%d", log));
         idGenerator = coreService.getIdGenerator("intent-ids");
         Intent.unbindIdGenerator(idGenerator);
@@ -239,6 +257,20 @@ public class IntentManager
             }
             logConfig("Reconfigured number of worker threads");
         }
+
+        s = Tools.get(context.getProperties(), IM_MAX_BATCHES_IN_FLIGHT);
+        int newMaxBatchesInFlight = isNullOrEmpty(s) ? maxBatchesInFlight : Integer.parseInt(s.trim());
+        if (newMaxBatchesInFlight != maxBatchesInFlight && newMaxBatchesInFlight > 0) {
+            maxBatchesInFlight = newMaxBatchesInFlight;
+            ExecutorService oldBatchExecutor = batchExecutor;
+            batchExecutor = newFixedThreadPool(maxBatchesInFlight,
+                                               groupedThreads("onos/intent", "batch-%d", log));
+            accumulator.setMaxInFlight(maxBatchesInFlight);
+            if (oldBatchExecutor != null) {
+                oldBatchExecutor.shutdown();
+            }
+            log.info("Reconfigured maximum number of batches in flight to {}", maxBatchesInFlight);
+        }
     }
 
     private void logConfig(String prefix) {
@@ -523,8 +555,12 @@ public class IntentManager
             log.debug("Execute {} operation(s).", operations.size());
             log.trace("Execute operations: {}", operations);
 
-            // batchExecutor is single-threaded, so only one batch is in flight at a time
+            // the accumulator bounds the number of batches in flight and keeps
+            // their keys disjoint, so batches can be written independently
             CompletableFuture.runAsync(() -> {
+                // topology the intents of this batch are compiled against
+                Topology snapshot = topologyService.currentTopology();
+
                 // process intent until the phase reaches one of the final phases
                 List<CompletableFuture<IntentData>> futures = operations.stream()
                         .map(data -> {
@@ -557,9 +593,11 @@ public class IntentManager
                         .collect(Collectors.toList());
 
                 // write multiple data to store in order
-                store.batchWrite(Tools.allOf(futures).join().stream()
-                                         .filter(Objects::nonNull)
-                                         .collect(Collectors.toList()));
+                List<IntentData> results = Tools.allOf(futures).join().stream()
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toList());
+                store.batchWrite(results);
+                revalidate(snapshot, results);
             }, batchExecutor).exceptionally(e -> {
                 log.error("Error submitting batches:", e);
                 // FIXME incomplete Intents should be cleaned up
@@ -569,11 +607,35 @@ public class IntentManager
                 // TODO: maybe we should do more?
                 log.error("Walk the plank, matey...");
                 return null;
-            }).thenRun(accumulator::ready);
+            }).thenRun(() -> accumulator.ready(operations));
 
         }
     }
 
+    /*
+     * Intents compiled while the topology changed may use links which are gone
+     * by now. The objective tracker only reroutes intents once they are tracked,
+     * so recompile the intents of the batch whose links are no longer present.
+     */
+    private void revalidate(Topology snapshot, List<IntentData> results) {
+        if (snapshot == null || topologyService.isLatest(snapshot)) {
+            return;
+        }
+        List<Key> stale = results.stream()
+                .filter(data -> data.state() == INSTALLING || data.state() == INSTALLED)
+                .filter(data -> data.installables().stream()
+                        .flatMap(installable -> installable.resources().stream())
+                        .filter(Link.class::isInstance)
+                        .map(Link.class::cast)
+                        .anyMatch(link -> linkService.getLink(link.src(), link.dst()) == null))
+                .map(IntentData::key)
+                .collect(Collectors.toList());
+        if (!stale.isEmpty()) {
+            log.debug("Recompiling {} intent(s) compiled against a stale topology", stale.size());
+            buildAndSubmitBatches(stale, false);
+        }
+    }
+
     private IntentProcessPhase createInitialPhase(IntentData data) {
         IntentData pending = store.getPendingData(data.key());
         if (pending == null || pending.version().isNewerThan(data.version())) {
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.net.intent.impl;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import org.onosproject.net.intent.Key;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Concurrent reverse index of tracked network resources to the keys of the
+ * intents that use them.
+ * <p>
+ * Entries are spread over a fixed number of shards, each backed by its own
+ * concurrent map, so that writers touching different resources do not
+ * contend with each other. Reads never block; they observe a weakly
+ * consistent view of the index, which is sufficient for deciding which
+ * intents must be recompiled.
+ * </p>
+ *
+ * @param <R> type of the indexed resource
+ */
+final class IntentResourceIndex<R> {
+
+    static final int DEFAULT_SHARDS = 16;
+
+    private final ConcurrentHashMap<R, Set<Key>>[] shards;
+
+    /**
+     * Creates an index with the default number of shards.
+     */
+    IntentResourceIndex() {
+        this(DEFAULT_SHARDS);
+    }
+
+    /**
+     * Creates an index with the given number of shards.
+     *
+     * @param shardCount number of shards; must be a power of two
+     */
+    @SuppressWarnings("unchecked")
+    IntentResourceIndex(int shardCount) {
+        checkArgument(shardCount > 0 && Integer.bitCount(shardCount) == 1,
+                      "Shard count must be a positive power of two");
+        shards = new ConcurrentHashMap[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    private ConcurrentHashMap<R, Set<Key>> shard(R resource) {
+        int h = resource.hashCode();
+        return shards[(h ^ (h >>> 16)) & (shards.length - 1)];
+    }
+
+    /**
+     * Associates the intent key with the given resource.
+     *
+     * @param resource resource
+     * @param key      intent key
+     */
+    void put(R resource, Key key) {
+        // compute() runs atomically with the computeIfPresent() in remove(),
+        // so an empty set is never left behind or resurrected concurrently
+        shard(resource).compute(resource, (r, keys) -> {
+            Set<Key> result = keys == null ? ConcurrentHashMap.newKeySet() : keys;
+            result.add(key);
+            return result;
+        });
+    }
+
+    /**
+     * Associates the intent key with all of the given resources.
+     *
+     * @param key       intent key
+     * @param resources resources used by the intent
+     */
+    void putAll(Key key, Collection<R> resources) {
+        resources.forEach(resource -> put(resource, key));
+    }
+
+    /**
+     * Removes the association between the intent key and the given resource.
+     *
+     * @param resource resource
+     * @param key      intent key
+     */
+    void remove(R resource, Key key) {
+        shard(resource).computeIfPresent(resource, (r, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    /**
+     * Removes the association between the intent key and all of the given
+     * resources.
+     *
+     * @param key       intent key
+     * @param resources resources no longer used by the intent
+     */
+    void removeAll(Key key, Collection<R> resources) {
+        resources.forEach(resource -> remove(resource, key));
+    }
+
+    /**
+     * Returns a snapshot of the intent keys associated with the resource.
+     *
+     * @param resource resource
+     * @return set of intent keys; empty if none
+     */
+    Set<Key> get(R resource) {
+        Set<Key> keys = shard(resource).get(resource);
+        return keys == null ? ImmutableSet.of() : ImmutableSet.copyOf(keys);
+    }
+
+    /**
+     * Adds the intent keys associated with the resource to the given set.
+     *
+     * @param resource resource
+     * @param target   set to collect the keys into
+     * @return number of keys associated with the resource
+     */
+    int collect(R resource, Set<Key> target) {
+        Set<Key> keys = shard(resource).get(resource);
+        if (keys == null) {
+            return 0;
+        }
+        int count = 0;
+        for (Key key : keys) {
+            target.add(key);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Indicates whether the intent key is associated with any resource.
+     *
+     * @param key intent key
+     * @return true if the key is tracked
+     */
+    boolean containsKey(Key key) {
+        for (ConcurrentHashMap<R, Set<Key>> shard : shards) {
+            for (Set<Key> keys : shard.values()) {
+                if (keys.contains(key)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns a snapshot of all resource to intent key associations.
+     *
+     * @return set of resource and intent key pairs
+     */
+    public Set<Map.Entry<R, Key>> entries() {
+        ImmutableSet.Builder<Map.Entry<R, Key>> builder = ImmutableSet.builder();
+        for (ConcurrentHashMap<R, Set<Key>> shard : shards) {
+            shard.forEach((resource, keys) ->
+                    keys.forEach(key -> builder.add(Maps.immutableEntry(resource, key))));
+        }
+        return builder.build();
+    }
+}
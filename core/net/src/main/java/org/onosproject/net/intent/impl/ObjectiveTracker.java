@@ -15,9 +15,9 @@
  */
 package org.onosproject.net.intent.impl;
 
-import com.google.common.collect.HashMultimap;
-import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.SetMultimap;
+import com.codahale.metrics.Timer;
+import org.onlab.metrics.MetricsService;
+import org.onosproject.core.MetricsHelper;
 import org.onosproject.event.Event;
 import org.onosproject.net.DeviceId;
 import org.onosproject.net.ElementId;
@@ -56,6 +56,7 @@ import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.osgi.service.component.annotations.ReferencePolicy;
 import org.slf4j.Logger;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
@@ -68,9 +69,10 @@ import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
-import static com.google.common.collect.Multimaps.synchronizedSetMultimap;
 import static java.util.concurrent.Executors.newScheduledThreadPool;
 import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static org.onlab.metrics.MetricsUtil.startTimer;
+import static org.onlab.metrics.MetricsUtil.stopTimer;
 import static org.onlab.util.Tools.groupedThreads;
 import static org.onlab.util.Tools.isNullOrEmpty;
 import static org.onosproject.net.LinkKey.linkKey;
@@ -85,16 +87,13 @@ import static org.slf4j.LoggerFactory.getLogger;
  * events to determine what flows are affected by topology changes.
  */
 @Component(immediate = true, service = ObjectiveTrackerService.class)
-public class ObjectiveTracker implements ObjectiveTrackerService {
+public class ObjectiveTracker implements ObjectiveTrackerService, MetricsHelper {
 
     private final Logger log = getLogger(getClass());
 
-    private final SetMultimap<LinkKey, Key> intentsByLink =
-            //TODO this could be slow as a point of synchronization
-            synchronizedSetMultimap(HashMultimap.<LinkKey, Key>create());
+    private final IntentResourceIndex<LinkKey> intentsByLink = new IntentResourceIndex<>();
 
-    private final SetMultimap<ElementId, Key> intentsByDevice =
-            synchronizedSetMultimap(HashMultimap.<ElementId, Key>create());
+    private final IntentResourceIndex<ElementId> intentsByDevice = new IntentResourceIndex<>();
 
     @Reference(cardinality = ReferenceCardinality.MANDATORY)
     protected TopologyService topologyService;
@@ -117,6 +116,9 @@ public class ObjectiveTracker implements ObjectiveTrackerService {
     @Reference(cardinality = ReferenceCardinality.MANDATORY)
     protected WorkPartitionService partitionService;
 
+    @Reference(cardinality = ReferenceCardinality.MANDATORY)
+    protected MetricsService metricsService;
+
     private ExecutorService executorService =
             newSingleThreadExecutor(groupedThreads("onos/intent", "objectivetracker", log));
     private ScheduledExecutorService executor =
@@ -131,6 +133,8 @@ public class ObjectiveTracker implements ObjectiveTrackerService {
 
     protected final AtomicBoolean updateScheduled = new AtomicBoolean(false);
 
+    private Timer rerouteFanoutTimer;
+
     /**
      * Hook for wiring up optional reference to a service.
      *
@@ -156,6 +160,7 @@ public class ObjectiveTracker implements ObjectiveTrackerService {
 
     @Activate
     public void activate() {
+        rerouteFanoutTimer = createTimer("ObjectiveTracker", "topologyChange", "rerouteFanout");
         topologyService.addListener(listener);
         resourceService.addListener(resourceListener);
         deviceService.addListener(deviceListener);
@@ -187,6 +192,11 @@ public class ObjectiveTracker implements ObjectiveTrackerService {
         }
     }
 
+    @Override
+    public MetricsService metricsService() {
+        return metricsService;
+    }
+
     @Override
     public void setDelegate(TopologyChangeDelegate delegate) {
         checkNotNull(delegate, "Delegate cannot be null");
@@ -204,23 +214,31 @@ public class ObjectiveTracker implements ObjectiveTrackerService {
     @Override
     public void addTrackedResources(Key intentKey,
                                     Collection<NetworkResource> resources) {
-        for (NetworkResource resource : resources) {
-            if (resource instanceof Link) {
-                intentsByLink.put(linkKey((Link) resource), intentKey);
-            } else if (resource instanceof ElementId) {
-                intentsByDevice.put((ElementId) resource, intentKey);
-            }
-        }
+        List<LinkKey> links = new ArrayList<>();
+        List<ElementId> elements = new ArrayList<>();
+        splitResources(resources, links, elements);
+        intentsByLink.putAll(intentKey, links);
+        intentsByDevice.putAll(intentKey, elements);
     }
 
     @Override
     public void removeTrackedResources(Key intentKey,
                                        Collection<NetworkResource> resources) {
+        List<LinkKey> links = new ArrayList<>();
+        List<ElementId> elements = new ArrayList<>();
+        splitResources(resources, links, elements);
+        intentsByLink.removeAll(intentKey, links);
+        intentsByDevice.removeAll(intentKey, elements);
+    }
+
+    // Sorts the given resources into the link and element buckets
+    private static void splitResources(Collection<NetworkResource> resources,
+                                       List<LinkKey> links, List<ElementId> elements) {
         for (NetworkResource resource : resources) {
             if (resource instanceof Link) {
-                intentsByLink.remove(linkKey((Link) resource), intentKey);
+                links.add(linkKey((Link) resource));
             } else if (resource instanceof ElementId) {
-                intentsByDevice.remove(resource, intentKey);
+                elements.add((ElementId) resource);
             }
         }
     }
@@ -241,7 +259,7 @@ public class ObjectiveTracker implements ObjectiveTrackerService {
         if (log.isTraceEnabled()) {
             log.trace("intent {}, old: {}, new: {}, installableCount: {}, resourceCount: {}",
                       key,
-                      intentsByDevice.values().contains(key),
+                      intentsByDevice.containsKey(key),
                       isLocal && isInstalled,
                       installables.size(),
                       intent.resources().size() +
@@ -299,6 +317,7 @@ public class ObjectiveTracker implements ObjectiveTrackerService {
             } else {
                 Set<Key> intentsToRecompile = new HashSet<>();
                 boolean dontRecompileAllFailedIntents = true;
+                final Timer.Context fanoutTimer = startTimer(rerouteFanoutTimer);
 
                 // Scan through the list of reasons and keep accruing all
                 // intents that need to be recompiled.
@@ -306,12 +325,11 @@ public class ObjectiveTracker implements ObjectiveTrackerService {
                     if (reason instanceof LinkEvent) {
                         LinkEvent linkEvent = (LinkEvent) reason;
                         final LinkKey linkKey = linkKey(linkEvent.subject());
-                        synchronized (intentsByLink) {
-                            Set<Key> intentKeys = intentsByLink.get(linkKey);
+                        if (log.isDebugEnabled()) {
                             log.debug("recompile triggered by LinkEvent {} ({}) for {}",
-                                    linkKey, linkEvent.type(), intentKeys);
-                            intentsToRecompile.addAll(intentKeys);
+                                      linkKey, linkEvent.type(), intentsByLink.get(linkKey));
                         }
+                        intentsByLink.collect(linkKey, intentsToRecompile);
                         dontRecompileAllFailedIntents = dontRecompileAllFailedIntents &&
                                 (linkEvent.type() == LINK_REMOVED ||
                                 (linkEvent.type() == LINK_UPDATED &&
@@ -319,6 +337,7 @@ public class ObjectiveTracker implements ObjectiveTrackerService {
                     }
                 }
                 delegate.triggerCompile(intentsToRecompile, !dontRecompileAllFailedIntents);
+                stopTimer(fanoutTimer);
             }
         }
     }
@@ -362,10 +381,7 @@ public class ObjectiveTracker implements ObjectiveTrackerService {
 
             // TODO should we recompile on available==true?
 
-            final ImmutableSet<Key> snapshot;
-            synchronized (intentsByDevice) {
-                snapshot = ImmutableSet.copyOf(intentsByDevice.get(id));
-            }
+            final Set<Key> snapshot = intentsByDevice.get(id);
             delegate.triggerCompile(snapshot, available);
         }
     }
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.net.resource.impl;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.onosproject.net.resource.Resource;
+import org.onosproject.net.resource.ResourceConsumer;
+import org.onosproject.net.resource.ResourceStore;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Coalesces the allocations requested concurrently by several threads into
+ * batched allocations of the resource store.
+ * <p>
+ * A thread requesting an allocation while no batch is being allocated
+ * allocates its request right away, alone. The requests made meanwhile by
+ * other threads are queued, then allocated together by one of them once the
+ * batch in progress completes; so requests are batched only under load, and
+ * the store applies each batch in one transaction instead of one per request.
+ * The requests of a consumer are never batched together, and each request is
+ * still allocated entirely or not at all.
+ * </p>
+ */
+final class AllocationBatcher {
+
+    private final ResourceStore store;
+    private final int maxBatchSize;
+
+    // requests waiting for a batch, in order, guarded by this
+    private final List<Request> pending = Lists.newLinkedList();
+    // whether a batch is being allocated, guarded by this
+    private boolean allocating;
+
+    /**
+     * Creates a new batcher.
+     *
+     * @param store        resource store
+     * @param maxBatchSize maximum number of requests allocated at once
+     */
+    AllocationBatcher(ResourceStore store, int maxBatchSize) {
+        checkArgument(maxBatchSize > 0, "Batch size must be positive");
+        this.store = checkNotNull(store);
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Allocates the resources to the consumer, possibly together with the
+     * requests of other threads, and waits for the allocation to complete.
+     *
+     * @param consumer  resource consumer
+     * @param resources resources to allocate
+     * @return true if all the resources were allocated, false if none was
+     */
+    boolean allocate(ResourceConsumer consumer, List<? extends Resource> resources) {
+        Request request = new Request(consumer, resources);
+        synchronized (this) {
+            pending.add(request);
+        }
+        boolean interrupted = false;
+        try {
+            while (true) {
+                List<Request> batch;
+                synchronized (this) {
+                    while (allocating && !request.done) {
+                        try {
+                            wait();
+                        } catch (InterruptedException e) {
+                            // the request is shared with the other threads, so see it through
+                            interrupted = true;
+                        }
+                    }
+                    if (request.done) {
+                        return request.allocated;
+                    }
+                    allocating = true;
+                    batch = nextBatch();
+                }
+                allocate(batch);
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // Takes the next requests, one per consumer
+    private List<Request> nextBatch() {
+        List<Request> batch = Lists.newArrayList();
+        Set<ResourceConsumer> consumers = Sets.newHashSet();
+        Iterator<Request> it = pending.iterator();
+        while (it.hasNext() && batch.size() < maxBatchSize) {
+            Request request = it.next();
+            if (consumers.add(request.consumer)) {
+                batch.add(request);
+                it.remove();
+            }
+        }
+        return batch;
+    }
+
+    // Allocates a batch, then lets the waiting threads go on
+    private void allocate(List<Request> batch) {
+        Set<ResourceConsumer> allocated = Sets.newHashSet();
+        try {
+            if (batch.size() == 1) {
+                Request request = batch.get(0);
+                if (store.allocate(request.resources, request.consumer)) {
+                    allocated.add(request.consumer);
+                }
+            } else {
+                Map<ResourceConsumer, List<? extends Resource>> requests = Maps.newLinkedHashMap();
+                batch.forEach(request -> requests.put(request.consumer, request.resources));
+                allocated.addAll(store.allocate(requests));
+            }
+        } finally {
+            synchronized (this) {
+                for (Request request : batch) {
+                    request.allocated = allocated.contains(request.consumer);
+                    request.done = true;
+                }
+                allocating = false;
+                notifyAll();
+            }
+        }
+    }
+
+    // An allocation request, with its outcome once done
+    private static final class Request {
+        private final ResourceConsumer consumer;
+        private final List<? extends Resource> resources;
+        // guarded by the batcher
+        private boolean done;
+        private boolean allocated;
+
+        private Request(ResourceConsumer consumer, List<? extends Resource> resources) {
+            this.consumer = consumer;
+            this.resources = resources;
+        }
+    }
+}
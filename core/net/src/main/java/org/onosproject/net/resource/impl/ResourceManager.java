@@ -39,8 +39,11 @@ import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.slf4j.Logger;
 
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -70,8 +73,14 @@ public final class ResourceManager extends AbstractListenerManager<ResourceEvent
 
     private final ResourceStoreDelegate delegate = new InternalStoreDelegate();
 
+    // Maximum number of concurrent allocations handed to the store at once
+    private static final int MAX_ALLOCATION_BATCH = 128;
+
+    private AllocationBatcher batcher;
+
     @Activate
     public void activate() {
+        batcher = new AllocationBatcher(store, MAX_ALLOCATION_BATCH);
         store.setDelegate(delegate);
         eventDispatcher.addSink(ResourceEvent.class, listenerRegistry);
 
@@ -93,7 +102,9 @@ public final class ResourceManager extends AbstractListenerManager<ResourceEvent
         checkNotNull(consumer);
         checkNotNull(resources);
 
-        boolean success = store.allocate(resources, consumer);
+        // concurrent allocations, such as those of intents compiled in
+        // parallel, are allocated in batches
+        boolean success = batcher.allocate(consumer, resources);
         if (!success) {
             return ImmutableList.of();
         }
@@ -103,6 +114,22 @@ public final class ResourceManager extends AbstractListenerManager<ResourceEvent
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public Map<ResourceConsumer, List<ResourceAllocation>> allocate(
+            Map<ResourceConsumer, List<? extends Resource>> requests) {
+        checkPermission(RESOURCE_WRITE);
+        checkNotNull(requests);
+
+        Set<ResourceConsumer> allocated = store.allocate(requests);
+        return allocated.stream()
+                .collect(Collectors.toMap(Function.identity(),
+                        consumer -> requests.get(consumer).stream()
+                                .map(x -> new ResourceAllocation(x, consumer))
+                                .collect(Collectors.toList()),
+                        (x, y) -> x,
+                        LinkedHashMap::new));
+    }
+
     @Override
     public boolean release(List<ResourceAllocation> allocations) {
         checkPermission(RESOURCE_WRITE);
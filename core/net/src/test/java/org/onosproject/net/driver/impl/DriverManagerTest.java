@@ -0,0 +1,192 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.net.driver.impl;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.onlab.packet.ChassisId;
+import org.onosproject.cfg.ComponentConfigAdapter;
+import org.onosproject.common.event.impl.TestEventDispatcher;
+import org.onosproject.component.ComponentService;
+import org.onosproject.core.ApplicationId;
+import org.onosproject.net.DefaultAnnotations;
+import org.onosproject.net.DefaultDevice;
+import org.onosproject.net.Device;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.behaviour.PiPipelineProgrammable;
+import org.onosproject.net.config.NetworkConfigServiceAdapter;
+import org.onosproject.net.device.DeviceEvent;
+import org.onosproject.net.device.DeviceListener;
+import org.onosproject.net.device.DeviceServiceAdapter;
+import org.onosproject.net.driver.Behaviour;
+import org.onosproject.net.driver.DefaultDriver;
+import org.onosproject.net.driver.DefaultDriverProvider;
+import org.onosproject.net.driver.TestBehaviour;
+import org.onosproject.net.driver.TestBehaviourImpl;
+import org.onosproject.net.pi.PiPipeconfServiceAdapter;
+import org.onosproject.net.pi.model.PiPipeconfId;
+import org.onosproject.net.provider.ProviderId;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.Assert.assertSame;
+import static org.onosproject.net.AnnotationKeys.DRIVER;
+import static org.onosproject.net.driver.DefaultDriverTest.HW;
+import static org.onosproject.net.driver.DefaultDriverTest.MFR;
+import static org.onosproject.net.driver.DefaultDriverTest.SW;
+
+/**
+ * Suite of tests for the driver resolution of devices.
+ */
+public class DriverManagerTest {
+
+    private static final DeviceId DID = DeviceId.deviceId("foo:1");
+    private static final ProviderId PID = new ProviderId("foo", "foo");
+    private static final PiPipeconfId PIPECONF_ID = new PiPipeconfId("pipeconf");
+
+    private DriverRegistryManager registry;
+    private DriverManager mgr;
+    private TestDeviceService deviceService = new TestDeviceService();
+    private TestPipeconfService pipeconfService = new TestPipeconfService();
+
+    private DefaultDriver base;
+    private DefaultDriver other;
+    private DefaultDriver merged;
+
+    @Before
+    public void setUp() {
+        registry = new DriverRegistryManager();
+        registry.deviceService = new DeviceServiceAdapter();
+        registry.componentConfigService = new ComponentConfigAdapter();
+        registry.eventDispatcher = new TestEventDispatcher();
+        registry.componentService = new TestComponentService();
+        registry.activate(null);
+
+        base = driver("base", ImmutableMap.of(TestBehaviour.class, TestBehaviourImpl.class));
+        other = driver("other", ImmutableMap.of(TestBehaviour.class, TestBehaviourImpl.class));
+        merged = driver("merged", ImmutableMap.of(TestBehaviour.class, TestBehaviourImpl.class,
+                                                  PiPipelineProgrammable.class, TestBehaviourImpl.class));
+        DefaultDriverProvider provider = new DefaultDriverProvider();
+        provider.addDriver(base);
+        provider.addDriver(other);
+        provider.addDriver(merged);
+        registry.registerProvider(provider);
+
+        mgr = new DriverManager();
+        mgr.registry = registry;
+        mgr.deviceService = deviceService;
+        mgr.networkConfigService = new NetworkConfigServiceAdapter();
+        mgr.pipeconfService = pipeconfService;
+        mgr.activate();
+    }
+
+    @After
+    public void tearDown() {
+        mgr.deactivate();
+        registry.deactivate();
+    }
+
+    private DefaultDriver driver(String name,
+                                 Map<Class<? extends Behaviour>, Class<? extends Behaviour>> behaviours) {
+        return new DefaultDriver(name, Lists.newArrayList(), MFR, HW, SW, behaviours, ImmutableMap.of());
+    }
+
+    /**
+     * Tests that the driver of a device is cached until an event may change
+     * its resolution.
+     */
+    @Test
+    public void cacheInvalidation() {
+        deviceService.device = device("base");
+        assertSame("wrong driver", base, mgr.getDriver(DID));
+
+        deviceService.device = device("other");
+        assertSame("driver should be cached", base, mgr.getDriver(DID));
+
+        deviceService.listener.event(new DeviceEvent(DeviceEvent.Type.DEVICE_UPDATED, deviceService.device));
+        assertSame("driver should be resolved again", other, mgr.getDriver(DID));
+    }
+
+    /**
+     * Tests that the driver of a pipeconf-capable device is not cached
+     * before the device gets bound to a pipeconf, which raises no event.
+     */
+    @Test
+    public void pipeconfBinding() {
+        DefaultDriver programmable = driver("programmable", ImmutableMap.of(PiPipelineProgrammable.class,
+                                                                           TestBehaviourImpl.class));
+        DefaultDriverProvider provider = new DefaultDriverProvider();
+        provider.addDriver(programmable);
+        registry.registerProvider(provider);
+
+        deviceService.device = device("programmable");
+        assertSame("wrong driver", programmable, mgr.getDriver(DID));
+
+        pipeconfService.binding = PIPECONF_ID;
+        assertSame("driver should be merged", merged, mgr.getDriver(DID));
+
+        pipeconfService.binding = null;
+        assertSame("merged driver should be cached", merged, mgr.getDriver(DID));
+    }
+
+    private Device device(String driver) {
+        return new DefaultDevice(PID, DID, Device.Type.SWITCH, MFR, HW, SW, "", new ChassisId(),
+                                 DefaultAnnotations.builder().set(DRIVER, driver).build());
+    }
+
+    private class TestDeviceService extends DeviceServiceAdapter {
+        private Device device;
+        private DeviceListener listener;
+
+        @Override
+        public Device getDevice(DeviceId deviceId) {
+            return device;
+        }
+
+        @Override
+        public void addListener(DeviceListener listener) {
+            this.listener = listener;
+        }
+    }
+
+    private class TestPipeconfService extends PiPipeconfServiceAdapter {
+        private PiPipeconfId binding;
+
+        @Override
+        public Optional<PiPipeconfId> ofDevice(DeviceId deviceId) {
+            return Optional.ofNullable(binding);
+        }
+
+        @Override
+        public String getMergedDriver(DeviceId deviceId, PiPipeconfId pipeconfId) {
+            return merged.name();
+        }
+    }
+
+    private class TestComponentService implements ComponentService {
+        @Override
+        public void activate(ApplicationId appId, String name) {
+        }
+
+        @Override
+        public void deactivate(ApplicationId appId, String name) {
+        }
+    }
+}
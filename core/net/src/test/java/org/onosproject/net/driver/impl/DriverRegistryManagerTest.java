@@ -122,7 +122,31 @@ public class DriverRegistryManagerTest {
                      mgr.getBehaviourClass("org.onosproject.net.driver.TestBehaviourImpl"));
     }
 
-    // TODO: add tests for REGEX matching and for driver inheritance
+    @Test
+    public void regexQueries() {
+        DefaultDriverProvider mockProvider = new DefaultDriverProvider();
+        DefaultDriver fallback = new DefaultDriver("default", Lists.newArrayList(),
+                                                   MFR, HW, SW,
+                                                   ImmutableMap.of(TestBehaviour.class,
+                                                                   TestBehaviourImpl.class),
+                                                   ImmutableMap.of());
+        DefaultDriver driver = new DefaultDriver("foo", Lists.newArrayList(),
+                                                 "Circus.*", "lux[0-9]+", ".*",
+                                                 ImmutableMap.of(TestBehaviour.class,
+                                                                 TestBehaviourImpl.class),
+                                                 ImmutableMap.of());
+        mockProvider.addDriver(fallback);
+        mockProvider.addDriver(driver);
+        mgr.registerProvider(mockProvider);
+        assertSame("driver is missing", driver, mgr.getDriver("Circus Inc", "lux2", "1.2a"));
+        assertSame("driver is missing", driver, mgr.getDriver("Circus Inc", "lux2", "1.2a"));
+        assertSame("default driver is missing", fallback, mgr.getDriver("Circus Inc", "lux", "1.2a"));
+
+        mgr.unregisterProvider(mockProvider);
+        assertNull("driver should be removed", mgr.getDriver("Circus Inc", "lux2", "1.2a"));
+    }
+
+    // TODO: add tests for driver inheritance
 
     private class TestEventListener implements DriverListener {
         private DriverEvent event;
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.net.flow.impl;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+import org.onosproject.net.DeviceId;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of the per-device tracking of pipelined flow rule operations.
+ */
+public class FlowOperationsPipelineTest {
+
+    private static final DeviceId DID1 = DeviceId.deviceId("of:001");
+    private static final DeviceId DID2 = DeviceId.deviceId("of:002");
+    private static final DeviceId DID3 = DeviceId.deviceId("of:003");
+
+    /**
+     * Tests that a device proceeds through its stages regardless of the
+     * progress of the other devices.
+     */
+    @Test
+    public void independentDevices() {
+        FlowOperationsPipeline pipeline = new FlowOperationsPipeline(
+                ImmutableList.of(ImmutableSet.of(DID1, DID2), ImmutableSet.of(DID1), ImmutableSet.of(DID1, DID2)),
+                ImmutableList.of(ImmutableSet.of(), ImmutableSet.of(), ImmutableSet.of()));
+
+        assertEquals(ImmutableMap.of(DID1, 0, DID2, 0), pipeline.start());
+        assertTrue(pipeline.start().isEmpty());
+
+        pipeline.complete(DID1);
+        assertEquals(ImmutableMap.of(DID1, 1), pipeline.start());
+        pipeline.complete(DID1);
+        assertEquals(ImmutableMap.of(DID1, 2), pipeline.start());
+        pipeline.complete(DID1);
+        assertTrue(pipeline.start().isEmpty());
+        assertFalse(pipeline.isDone());
+
+        pipeline.complete(DID2);
+        assertEquals(ImmutableMap.of(DID2, 2), pipeline.start());
+        pipeline.complete(DID2);
+        assertTrue(pipeline.isDone());
+    }
+
+    /**
+     * Tests that a stage waits for the previous stages of the devices it
+     * depends on.
+     */
+    @Test
+    public void crossDeviceDependencies() {
+        FlowOperationsPipeline pipeline = new FlowOperationsPipeline(
+                ImmutableList.of(ImmutableSet.of(DID1, DID2), ImmutableSet.of(DID1), ImmutableSet.of(DID3)),
+                ImmutableList.of(ImmutableSet.of(), ImmutableSet.of(DID2), ImmutableSet.of(DID1)));
+
+        assertEquals(ImmutableMap.of(DID1, 0, DID2, 0), pipeline.start());
+        pipeline.complete(DID1);
+        assertTrue(pipeline.start().isEmpty());
+
+        pipeline.complete(DID2);
+        assertEquals(ImmutableMap.of(DID1, 1), pipeline.start());
+        pipeline.complete(DID1);
+        assertEquals(ImmutableMap.of(DID3, 2), pipeline.start());
+        pipeline.complete(DID3);
+        assertTrue(pipeline.isDone());
+    }
+
+    /**
+     * Tests that an empty pipeline is done right away.
+     */
+    @Test
+    public void noStages() {
+        FlowOperationsPipeline pipeline = new FlowOperationsPipeline(ImmutableList.of(), ImmutableList.of());
+        assertTrue(pipeline.start().isEmpty());
+        assertTrue(pipeline.isDone());
+    }
+
+    /**
+     * Tests that completing a device without a stage in progress is rejected.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void unexpectedCompletion() {
+        FlowOperationsPipeline pipeline = new FlowOperationsPipeline(
+                ImmutableList.of(ImmutableSet.of(DID1)), ImmutableList.of(ImmutableSet.of()));
+        pipeline.complete(DID1);
+    }
+}
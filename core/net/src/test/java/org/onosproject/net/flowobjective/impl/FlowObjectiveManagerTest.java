@@ -19,6 +19,7 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.onlab.junit.TestUtils;
+import org.onlab.osgi.ComponentContextAdapter;
 import org.onlab.packet.ChassisId;
 import org.onosproject.cfg.ComponentConfigAdapter;
 import org.onosproject.net.DefaultAnnotations;
@@ -53,10 +54,15 @@ import org.onosproject.net.flowobjective.FilteringObjective;
 import org.onosproject.net.flowobjective.FlowObjectiveStoreDelegate;
 import org.onosproject.net.flowobjective.ForwardingObjective;
 import org.onosproject.net.flowobjective.NextObjective;
+import org.onosproject.net.flowobjective.Objective;
+import org.onosproject.net.flowobjective.ObjectiveContext;
+import org.onosproject.net.flowobjective.ObjectiveError;
 import org.onosproject.net.flowobjective.ObjectiveEvent;
 import org.onosproject.net.intent.TestTools;
 
 import java.util.ArrayList;
+import java.util.Dictionary;
+import java.util.Hashtable;
 import java.util.List;
 
 import static org.hamcrest.CoreMatchers.hasItem;
@@ -64,6 +70,9 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.onlab.junit.TestUtils.TestUtilsException;
+import static org.onosproject.net.OsgiPropertyConstants.FOM_ACCUMULATOR_MAX_BATCH_MILLIS;
+import static org.onosproject.net.OsgiPropertyConstants.FOM_ACCUMULATOR_MAX_IDLE_MILLIS;
+import static org.onosproject.net.OsgiPropertyConstants.FOM_OBJECTIVE_BATCHING;
 
 /**
  * Tests for the flow objective manager.
@@ -71,6 +80,9 @@ import static org.onlab.junit.TestUtils.TestUtilsException;
 public class FlowObjectiveManagerTest {
 
     private static final int RETRY_MS = 250;
+    // Batching which holds the objectives longer than the tests last
+    private static final ComponentContextAdapter SLOW_BATCHING = batching("60000");
+    private static final ComponentContextAdapter FAST_BATCHING = batching("10");
     private FlowObjectiveManager manager;
     DeviceId id1 = NetTestTools.did("d1");
     DefaultDevice d1 = new DefaultDevice(NetTestTools.PID, id1, Device.Type.SWITCH,
@@ -179,6 +191,29 @@ public class FlowObjectiveManagerTest {
     private class TestComponentConfigService extends ComponentConfigAdapter {
     }
 
+    private static ComponentContextAdapter batching(String maxMillis) {
+        return new ComponentContextAdapter() {
+            @Override
+            public Dictionary getProperties() {
+                Hashtable<String, String> props = new Hashtable<>();
+                props.put(FOM_OBJECTIVE_BATCHING, "true");
+                props.put(FOM_ACCUMULATOR_MAX_BATCH_MILLIS, maxMillis);
+                props.put(FOM_ACCUMULATOR_MAX_IDLE_MILLIS, maxMillis);
+                return props;
+            }
+        };
+    }
+
+    private ForwardingObjective forwardingObjective(ObjectiveContext context) {
+        return DefaultForwardingObjective.builder()
+                .fromApp(NetTestTools.APP_ID)
+                .withFlag(ForwardingObjective.Flag.SPECIFIC)
+                .withSelector(DefaultTrafficSelector.emptySelector())
+                .withTreatment(DefaultTrafficTreatment.emptyTreatment())
+                .makePermanent()
+                .add(context);
+    }
+
     @Before
     public void initializeTest() {
         manager = new FlowObjectiveManager();
@@ -369,4 +404,48 @@ public class FlowObjectiveManagerTest {
         assertThat(filteringObjectives, hasSize(0));
         assertThat(nextObjectives, hasSize(0));
     }
+
+    /**
+     * Tests that the objectives waiting for their batch are failed when the
+     * manager is deactivated.
+     */
+    @Test
+    public void batchedObjectivesOnDeactivate() {
+        manager.modified(SLOW_BATCHING);
+        List<ObjectiveError> errors = new ArrayList<>();
+        manager.forward(id1, forwardingObjective(new ObjectiveContext() {
+            @Override
+            public void onError(Objective objective, ObjectiveError error) {
+                errors.add(error);
+            }
+        }));
+
+        manager.deactivate();
+
+        assertThat(errors, hasSize(1));
+        assertThat(forwardingObjectives, hasSize(0));
+        // let the test tear down the manager again
+        manager.activate(null);
+    }
+
+    /**
+     * Tests that the objectives waiting for their batch are passed down when
+     * the batching is reconfigured.
+     */
+    @Test
+    public void batchingReconfigured() {
+        manager.modified(SLOW_BATCHING);
+        manager.forward(id1, forwardingObjective(null));
+        manager.forward(id1, forwardingObjective(null));
+
+        manager.modified(FAST_BATCHING);
+
+        TestTools.assertAfter(RETRY_MS, () ->
+                assertThat(forwardingObjectives, hasSize(2)));
+
+        manager.forward(id1, forwardingObjective(null));
+
+        TestTools.assertAfter(RETRY_MS, () ->
+                assertThat(forwardingObjectives, hasSize(3)));
+    }
 }
@@ -34,6 +34,7 @@ import org.onosproject.net.PortNumber;
 import org.onosproject.net.behaviour.NextGroup;
 import org.onosproject.net.behaviour.Pipeliner;
 import org.onosproject.net.behaviour.PipelinerAdapter;
+import org.onosproject.net.device.DeviceEvent;
 import org.onosproject.net.device.DeviceService;
 import org.onosproject.net.driver.DriverService;
 import org.onosproject.net.flow.DefaultTrafficSelector;
@@ -52,6 +53,7 @@ import org.onosproject.net.flowobjective.Objective;
 import org.onosproject.net.flowobjective.ObjectiveContext;
 import org.onosproject.net.flowobjective.ObjectiveError;
 import org.onosproject.net.flowobjective.ObjectiveEvent;
+import org.onosproject.net.flowobjective.ObjectiveQueueStatistics;
 
 import static java.util.concurrent.Executors.newFixedThreadPool;
 import static org.easymock.EasyMock.createMock;
@@ -61,8 +63,10 @@ import static org.easymock.EasyMock.reset;
 import static org.easymock.EasyMock.verify;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.onlab.junit.TestTools.assertAfter;
 import static org.onlab.util.Tools.groupedThreads;
+import static org.onosproject.net.NetTestTools.device;
 
 import java.util.Collection;
 import java.util.List;
@@ -221,6 +225,38 @@ public class InOrderFlowObjectiveManagerTest {
         assertTrue(actualObjs.indexOf(FILT4) < actualObjs.indexOf(FILT6));
     }
 
+    @Test
+    public void queueStatistics() {
+        expectFiltObjs.forEach(filtObj -> mgr.filter(DEV1, filtObj));
+
+        // Wait for the pipeline operation to complete
+        int expectedTime = (bound + offset) * 7;
+        assertAfter(expectedTime, expectedTime * 5, () -> {
+            ObjectiveQueueStatistics stats = mgr.getObjectiveQueueStatistics().get(DEV1);
+            assertEquals(expectFiltObjs.size(), stats.executed());
+            assertEquals(0, stats.depth());
+        });
+
+        ObjectiveQueueStatistics stats = mgr.getObjectiveQueueStatistics().get(DEV1);
+        assertEquals(0, stats.timeouts());
+        // FILT3 waits for both FILT1 and FILT2 to complete
+        assertTrue(stats.maxWaitNanos() >= 2 * offset * 1_000_000L);
+        assertTrue(mgr.getFilteringObjQueue().isEmpty());
+    }
+
+    @Test
+    public void queueStatisticsOfRemovedDevice() {
+        expectFiltObjs.forEach(filtObj -> mgr.filter(DEV1, filtObj));
+
+        int expectedTime = (bound + offset) * 7;
+        assertAfter(expectedTime, expectedTime * 5, () -> assertEquals(expectFiltObjs.size(), actualObjs.size()));
+        assertEquals(expectFiltObjs.size(), mgr.getObjectiveQueueStatistics().get(DEV1).executed());
+
+        // the metrics of a removed device are dropped
+        mgr.metricsListener.event(new DeviceEvent(DeviceEvent.Type.DEVICE_REMOVED, device("1")));
+        assertNull(mgr.getObjectiveQueueStatistics().get(DEV1));
+    }
+
     @Test
     public void forward() {
         expect(mgr.flowObjectiveStore.getNextGroup(NID1)).andReturn(NGRP1).times(3);
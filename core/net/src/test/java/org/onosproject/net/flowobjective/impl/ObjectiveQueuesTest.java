@@ -0,0 +1,177 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.net.flowobjective.impl;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.onosproject.core.ApplicationId;
+import org.onosproject.core.DefaultApplicationId;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.flowobjective.DefaultNextObjective;
+import org.onosproject.net.flowobjective.NextObjQueueKey;
+import org.onosproject.net.flowobjective.NextObjective;
+import org.onosproject.net.flowobjective.Objective;
+import org.onosproject.net.flowobjective.impl.ObjectiveQueues.DeviceMetrics;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.onlab.junit.TestTools.assertAfter;
+
+/**
+ * Tests of the lock-free objective queues.
+ */
+public class ObjectiveQueuesTest {
+
+    private static final ApplicationId APP_ID = new DefaultApplicationId(1, "org.onosproject.test");
+    private static final DeviceId DEV1 = DeviceId.deviceId("of:1");
+    private static final long TIMEOUT_MILLIS = 60000;
+
+    private static final int KEYS = 4;
+    private static final int SUBMITTERS = 8;
+    private static final int OBJECTIVES = 2000;
+
+    private final Map<DeviceId, DeviceMetrics> metrics = Maps.newConcurrentMap();
+    private ScheduledExecutorService timeoutExecutor;
+    private ExecutorService executor;
+    private ObjectiveQueues<NextObjQueueKey> queues;
+
+    // objectives in the order they were executed
+    private final List<Integer> executed = Lists.newArrayList();
+
+    @Before
+    public void setUp() {
+        timeoutExecutor = Executors.newSingleThreadScheduledExecutor();
+        executor = Executors.newFixedThreadPool(SUBMITTERS * 2);
+        queues = new ObjectiveQueues<>(metrics, timeoutExecutor, TIMEOUT_MILLIS);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+        timeoutExecutor.shutdownNow();
+    }
+
+    /**
+     * Tests that the objectives are executed one at a time per queue, in order.
+     */
+    @Test
+    public void testInOrder() {
+        NextObjQueueKey key = key(0);
+        assertEquals(objective(1), queues.enqueue(key, DEV1, objective(1)));
+        assertNull(queues.enqueue(key, DEV1, objective(2)));
+        assertEquals(objective(3), queues.enqueue(key(1), DEV1, objective(3)));
+
+        // only the head completes
+        assertNull(queues.dequeue(key, objective(2), false));
+        assertEquals(objective(2), queues.dequeue(key, objective(1), false));
+        assertNull(queues.dequeue(key, objective(2), false));
+
+        // the retired queue is replaced by a fresh one
+        assertEquals(objective(4), queues.enqueue(key, DEV1, objective(4)));
+        assertEquals(2, queues.objectives().size());
+        assertEquals(2, metrics.get(DEV1).statistics().depth());
+    }
+
+    /**
+     * Tests that no objective is lost or stuck while the queues are retired
+     * by completions racing with the submitters, and that the objectives of
+     * a submitter are executed in order.
+     */
+    @Test
+    public void testConcurrentRetirement() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> submitters = Lists.newArrayList();
+        for (int s = 0; s < SUBMITTERS; s++) {
+            int submitter = s;
+            submitters.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < OBJECTIVES; i++) {
+                    int id = submitter * OBJECTIVES + i;
+                    NextObjQueueKey key = key(id % KEYS);
+                    Objective head = queues.enqueue(key, DEV1, objective(id));
+                    if (head != null) {
+                        // completed on another thread, so that the queue retires concurrently
+                        executor.execute(() -> complete(key, head));
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> submitter : submitters) {
+            submitter.get(30, TimeUnit.SECONDS);
+        }
+
+        int total = SUBMITTERS * OBJECTIVES;
+        assertAfter(30000, () -> {
+            synchronized (executed) {
+                assertEquals(total, executed.size());
+            }
+            assertTrue(queues.objectives().isEmpty());
+            assertEquals(0, metrics.get(DEV1).statistics().depth());
+        });
+        assertEquals(total, metrics.get(DEV1).statistics().executed());
+
+        // each objective once, and those of a submitter for a key in order
+        int[] last = new int[SUBMITTERS * KEYS];
+        Arrays.fill(last, -1);
+        synchronized (executed) {
+            assertEquals(total, executed.stream().distinct().count());
+            for (int id : executed) {
+                int slot = (id / OBJECTIVES) * KEYS + id % KEYS;
+                assertTrue(id > last[slot]);
+                last[slot] = id;
+            }
+        }
+    }
+
+    // Executes the objectives of a queue until it is empty
+    private void complete(NextObjQueueKey key, Objective head) {
+        Objective objective = head;
+        while (objective != null) {
+            synchronized (executed) {
+                executed.add(objective.id());
+            }
+            objective = queues.dequeue(key, objective, false);
+        }
+    }
+
+    private static NextObjQueueKey key(int index) {
+        return new NextObjQueueKey(DEV1, index);
+    }
+
+    private static NextObjective objective(int id) {
+        return DefaultNextObjective.builder()
+                .withId(id)
+                .withType(NextObjective.Type.SIMPLE)
+                .fromApp(APP_ID)
+                .remove();
+    }
+}
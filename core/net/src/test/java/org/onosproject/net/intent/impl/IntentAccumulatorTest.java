@@ -16,6 +16,7 @@
 package org.onosproject.net.intent.impl;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
 import org.hamcrest.Description;
 import org.hamcrest.TypeSafeDiagnosingMatcher;
 import org.junit.Before;
@@ -33,6 +34,7 @@ import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
 
 /**
  * Unit tests for the intent accumulator.
@@ -143,5 +145,29 @@ public class IntentAccumulatorTest extends AbstractIntentTest {
         accumulator.processItems(intentDataItems);
     }
 
-
+    /**
+     * Tests that batches sharing a key are held back while a batch with that
+     * key is in process.
+     */
+    @Test
+    public void checkPipelinedBatches() {
+        List<Collection<IntentData>> batches = Lists.newArrayList();
+        IntentAccumulator accumulator = new IntentAccumulator(batches::add);
+        accumulator.setMaxInFlight(2);
+
+        IntentData first = new IntentData(intent1, IntentState.INSTALLING, new MockTimestamp(1));
+        accumulator.processItems(ImmutableList.of(first));
+        assertThat(accumulator.isReady(), is(true));
+
+        accumulator.processItems(ImmutableList.of(
+                new IntentData(intent1, IntentState.INSTALLED, new MockTimestamp(2)),
+                new IntentData(intent2, IntentState.INSTALLED, new MockTimestamp(1))));
+        assertThat(batches, hasSize(2));
+        assertThat(batches.get(1), hasSize(1));
+        assertThat(batches.get(1), containsIntent(intent2));
+        assertThat(accumulator.isReady(), is(false));
+
+        accumulator.ready(batches.get(0));
+        assertThat(accumulator.isReady(), is(true));
+    }
 }
@@ -55,6 +55,8 @@ import org.onosproject.net.intent.Key;
 import org.onosproject.net.intent.ObjectiveTrackerService;
 import org.onosproject.net.intent.PathIntent;
 import org.onosproject.net.intent.TopologyChangeDelegate;
+import org.onosproject.net.link.LinkServiceAdapter;
+import org.onosproject.net.topology.TopologyServiceAdapter;
 import org.onosproject.store.trivial.SimpleIntentStore;
 
 import java.util.Collection;
@@ -294,6 +296,8 @@ public class IntentManagerTest {
         manager.flowRuleService = flowRuleService;
         manager.coreService = new TestCoreManager();
         manager.configService = mock(ComponentConfigService.class);
+        manager.topologyService = new TopologyServiceAdapter();
+        manager.linkService = new LinkServiceAdapter();
         service = manager;
         extensionService = manager;
         intentInstallCoordinator = manager;
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.net.intent.impl;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+import org.onosproject.core.ApplicationId;
+import org.onosproject.core.DefaultApplicationId;
+import org.onosproject.net.intent.Key;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Unit tests for the intent resource index.
+ */
+public class IntentResourceIndexTest {
+
+    private static final ApplicationId APP_ID = new DefaultApplicationId(1, "test");
+    private static final Key K1 = Key.of(1L, APP_ID);
+    private static final Key K2 = Key.of(2L, APP_ID);
+
+    /**
+     * Tests that keys are indexed under every resource they use.
+     */
+    @Test
+    public void testPutAndGet() {
+        IntentResourceIndex<String> index = new IntentResourceIndex<>(4);
+        index.putAll(K1, ImmutableList.of("a", "b"));
+        index.put("a", K2);
+
+        assertThat(index.get("a"), containsInAnyOrder(K1, K2));
+        assertThat(index.get("b"), containsInAnyOrder(K1));
+        assertThat(index.get("c"), hasSize(0));
+        assertThat(index.entries(), hasSize(3));
+        assertThat(index.containsKey(K2), is(true));
+    }
+
+    /**
+     * Tests that removing the last key of a resource drops the resource.
+     */
+    @Test
+    public void testRemove() {
+        IntentResourceIndex<String> index = new IntentResourceIndex<>();
+        index.putAll(K1, ImmutableList.of("a", "b"));
+        index.put("a", K2);
+
+        index.removeAll(K1, ImmutableList.of("a", "b"));
+        assertThat(index.get("a"), containsInAnyOrder(K2));
+        assertThat(index.get("b"), hasSize(0));
+        assertThat(index.containsKey(K1), is(false));
+
+        index.remove("a", K2);
+        assertThat(index.entries(), hasSize(0));
+    }
+
+    /**
+     * Tests collecting keys of several resources into one set.
+     */
+    @Test
+    public void testCollect() {
+        IntentResourceIndex<String> index = new IntentResourceIndex<>();
+        index.put("a", K1);
+        index.put("b", K1);
+        index.put("b", K2);
+
+        Set<Key> keys = new HashSet<>();
+        assertThat(index.collect("a", keys), is(1));
+        assertThat(index.collect("b", keys), is(2));
+        assertThat(index.collect("c", keys), is(0));
+        assertThat(keys, containsInAnyOrder(K1, K2));
+    }
+
+    /**
+     * Tests that a shard count which is not a power of two is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadShardCount() {
+        new IntentResourceIndex<String>(3);
+    }
+}
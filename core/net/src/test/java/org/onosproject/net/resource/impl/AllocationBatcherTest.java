@@ -0,0 +1,212 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.net.resource.impl;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.onlab.junit.TestUtils;
+import org.onlab.packet.VlanId;
+import org.onosproject.net.PortNumber;
+import org.onosproject.net.intent.IntentId;
+import org.onosproject.net.resource.DiscreteResourceId;
+import org.onosproject.net.resource.Resource;
+import org.onosproject.net.resource.ResourceAllocation;
+import org.onosproject.net.resource.ResourceConsumer;
+import org.onosproject.net.resource.ResourceEvent;
+import org.onosproject.net.resource.ResourceId;
+import org.onosproject.net.resource.ResourceStore;
+import org.onosproject.net.resource.ResourceStoreDelegate;
+import org.onosproject.net.resource.Resources;
+import org.onosproject.store.AbstractStore;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.onlab.junit.TestTools.assertAfter;
+import static org.onosproject.net.NetTestTools.did;
+
+/**
+ * Tests of the batching of concurrent resource allocations.
+ */
+public class AllocationBatcherTest {
+
+    private static final ResourceConsumer C0 = IntentId.valueOf(0);
+    private static final ResourceConsumer C1 = IntentId.valueOf(1);
+    private static final ResourceConsumer C2 = IntentId.valueOf(2);
+    private static final ResourceConsumer C3 = IntentId.valueOf(3);
+
+    private final TestResourceStore store = new TestResourceStore();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private AllocationBatcher batcher;
+
+    @Before
+    public void setUp() {
+        batcher = new AllocationBatcher(store, 16);
+    }
+
+    @After
+    public void tearDown() {
+        store.unblocked.countDown();
+        executor.shutdownNow();
+    }
+
+    /**
+     * Tests that a request made while no batch is in progress is allocated
+     * on its own.
+     */
+    @Test
+    public void testSingleRequest() {
+        store.unblocked.countDown();
+        assertTrue(batcher.allocate(C0, resources(1)));
+        store.rejected.add(C1);
+        assertFalse(batcher.allocate(C1, resources(2)));
+
+        assertEquals(ImmutableList.of(ImmutableList.of(C0), ImmutableList.of(C1)), store.batches);
+    }
+
+    /**
+     * Tests that the requests made while a batch is in progress are allocated
+     * together, once per consumer, and get their own outcome.
+     */
+    @Test
+    public void testConcurrentRequests() throws Exception {
+        store.rejected.add(C2);
+        Future<Boolean> first = executor.submit(() -> batcher.allocate(C0, resources(1)));
+        assertTrue(store.entered.await(5, TimeUnit.SECONDS));
+
+        List<Future<Boolean>> c1 = Lists.newArrayList();
+        c1.add(executor.submit(() -> batcher.allocate(C1, resources(2))));
+        c1.add(executor.submit(() -> batcher.allocate(C1, resources(3))));
+        Future<Boolean> c2 = executor.submit(() -> batcher.allocate(C2, resources(4)));
+        Future<Boolean> c3 = executor.submit(() -> batcher.allocate(C3, resources(5)));
+        assertAfter(5000, () -> assertEquals(4, pending()));
+
+        store.unblocked.countDown();
+        assertTrue(first.get(5, TimeUnit.SECONDS));
+        assertTrue(c1.get(0).get(5, TimeUnit.SECONDS));
+        assertTrue(c1.get(1).get(5, TimeUnit.SECONDS));
+        assertFalse(c2.get(5, TimeUnit.SECONDS));
+        assertTrue(c3.get(5, TimeUnit.SECONDS));
+
+        assertEquals(3, store.batches.size());
+        assertEquals(ImmutableList.of(C0), store.batches.get(0));
+        assertEquals(ImmutableSet.of(C1, C2, C3), ImmutableSet.copyOf(store.batches.get(1)));
+        assertEquals(ImmutableList.of(C1), store.batches.get(2));
+    }
+
+    private int pending() {
+        synchronized (batcher) {
+            List<?> pending = TestUtils.getField(batcher, "pending");
+            return pending.size();
+        }
+    }
+
+    private static List<Resource> resources(int vlan) {
+        return ImmutableList.of(Resources.discrete(did("d1"), PortNumber.portNumber(1), VlanId.vlanId((short) vlan))
+                                        .resource());
+    }
+
+    // Store recording the batches, which holds the first one until released
+    private static class TestResourceStore extends AbstractStore<ResourceEvent, ResourceStoreDelegate>
+            implements ResourceStore {
+        private final List<List<ResourceConsumer>> batches = Lists.newCopyOnWriteArrayList();
+        private final Set<ResourceConsumer> rejected = Sets.newConcurrentHashSet();
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch unblocked = new CountDownLatch(1);
+
+        @Override
+        public boolean allocate(List<? extends Resource> resources, ResourceConsumer consumer) {
+            return !allocate(ImmutableList.of(consumer)).isEmpty();
+        }
+
+        @Override
+        public Set<ResourceConsumer> allocate(Map<ResourceConsumer, List<? extends Resource>> requests) {
+            return allocate(ImmutableList.copyOf(requests.keySet()));
+        }
+
+        private Set<ResourceConsumer> allocate(List<ResourceConsumer> consumers) {
+            batches.add(consumers);
+            entered.countDown();
+            try {
+                unblocked.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return consumers.stream().filter(c -> !rejected.contains(c)).collect(Collectors.toSet());
+        }
+
+        @Override
+        public boolean register(List<? extends Resource> resources) {
+            return false;
+        }
+
+        @Override
+        public boolean unregister(List<? extends ResourceId> ids) {
+            return false;
+        }
+
+        @Override
+        public boolean release(List<ResourceAllocation> allocations) {
+            return false;
+        }
+
+        @Override
+        public List<ResourceAllocation> getResourceAllocations(ResourceId id) {
+            return ImmutableList.of();
+        }
+
+        @Override
+        public boolean isAvailable(Resource resource) {
+            return false;
+        }
+
+        @Override
+        public Collection<Resource> getResources(ResourceConsumer consumer) {
+            return ImmutableList.of();
+        }
+
+        @Override
+        public Set<Resource> getChildResources(DiscreteResourceId parent) {
+            return ImmutableSet.of();
+        }
+
+        @Override
+        public <T> Set<Resource> getChildResources(DiscreteResourceId parent, Class<T> cls) {
+            return ImmutableSet.of();
+        }
+
+        @Override
+        public <T> Collection<Resource> getAllocatedResources(DiscreteResourceId parent, Class<T> cls) {
+            return ImmutableList.of();
+        }
+    }
+}
@@ -41,6 +41,7 @@ import org.onosproject.net.flow.FlowEntry;
 import org.onosproject.net.flow.FlowId;
 import org.onosproject.net.flow.FlowRule;
 import org.onosproject.net.flow.StoredFlowEntry;
+import org.onosproject.persistence.PersistentSnapshot;
 import org.onosproject.store.LogicalTimestamp;
 import org.onosproject.store.cluster.messaging.ClusterCommunicationService;
 import org.onosproject.store.cluster.messaging.MessageSubject;
@@ -60,10 +61,14 @@ import org.slf4j.LoggerFactory;
  * anti-entropy protocol is used to detect missing flows on backups (e.g. due to a node restart). Finally, when a
  * device mastership change occurs, the new master synchronizes flows with the prior master and/or backups for the
  * device, allowing mastership to be reassigned to non-backup nodes.
+ * <p>
+ * When given a local snapshot, the table periodically checkpoints the buckets updated since the last checkpoint,
+ * and starts from the buckets restored from it, so that only the buckets which changed meanwhile are synchronized.
  */
 public class DeviceFlowTable {
     private static final int NUM_BUCKETS = 128;
-    private static final Serializer SERIALIZER = Serializer.using(KryoNamespace.newBuilder()
+    private static final long CHECKPOINT_PERIOD_MILLIS = 1000;
+    static final Serializer SERIALIZER = Serializer.using(KryoNamespace.newBuilder()
         .register(KryoNamespaces.API)
         .register(BucketId.class)
         .register(FlowBucket.class)
@@ -101,6 +106,10 @@ public class DeviceFlowTable {
 
     private ScheduledFuture<?> antiEntropyFuture;
 
+    private volatile PersistentSnapshot<BucketId, FlowBucket> snapshot;
+    private final Map<Integer, LogicalTimestamp> checkpointTimes = Maps.newConcurrentMap();
+    private ScheduledFuture<?> checkpointFuture;
+
     private final Map<Integer, Queue<Runnable>> flowTasks = Maps.newConcurrentMap();
     private final Map<Integer, FlowBucket> flowBuckets = Maps.newConcurrentMap();
 
@@ -115,7 +124,9 @@ public class DeviceFlowTable {
         ScheduledExecutorService scheduler,
         Executor executor,
         long backupPeriod,
-        long antiEntropyPeriod) {
+        long antiEntropyPeriod,
+        PersistentSnapshot<BucketId, FlowBucket> snapshot,
+        Collection<FlowBucket> restoredBuckets) {
         this.deviceId = deviceId;
         this.clusterCommunicator = clusterCommunicator;
         this.lifecycleManager = lifecycleManager;
@@ -124,9 +135,22 @@ public class DeviceFlowTable {
         this.localNodeId = clusterService.getLocalNode().id();
         this.replicaInfo = lifecycleManager.getReplicaInfo();
 
+        this.snapshot = snapshot;
+
         for (int i = 0; i < NUM_BUCKETS; i++) {
             flowBuckets.put(i, new FlowBucket(new BucketId(deviceId, i)));
         }
+        for (FlowBucket bucket : restoredBuckets) {
+            int i = bucket.bucketId().bucket();
+            if (bucket.bucketId().deviceId().equals(deviceId) && i >= 0 && i < NUM_BUCKETS) {
+                flowBuckets.put(i, bucket);
+                checkpointTimes.put(i, bucket.timestamp());
+                clock.tick(bucket.timestamp());
+            }
+        }
+        if (!restoredBuckets.isEmpty()) {
+            log.info("Restored {} flows of device {}", count(), deviceId);
+        }
 
         getDigestsSubject = new MessageSubject(String.format("flow-store-%s-digests", deviceId));
         getBucketSubject = new MessageSubject(String.format("flow-store-%s-bucket", deviceId));
@@ -139,6 +163,7 @@ public class DeviceFlowTable {
         registerSubscribers();
 
         scheduleBackups();
+        scheduleCheckpoints();
 
         activateMaster(replicaInfo);
     }
@@ -370,6 +395,57 @@ public class DeviceFlowTable {
                 TimeUnit.MILLISECONDS);
     }
 
+    /**
+     * Schedules the periodic checkpoints of the buckets, if the table has a snapshot.
+     */
+    private synchronized void scheduleCheckpoints() {
+        if (snapshot != null) {
+            checkpointFuture = scheduler.scheduleWithFixedDelay(
+                () -> executor.execute(this::checkpoint),
+                CHECKPOINT_PERIOD_MILLIS,
+                CHECKPOINT_PERIOD_MILLIS,
+                TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Records the buckets updated since the last checkpoint in the snapshot.
+     */
+    synchronized void checkpoint() {
+        PersistentSnapshot<BucketId, FlowBucket> snapshot = this.snapshot;
+        if (snapshot == null) {
+            return;
+        }
+        try {
+            for (FlowBucket bucket : flowBuckets.values()) {
+                int i = bucket.bucketId().bucket();
+                FlowBucket copy;
+                synchronized (bucket) {
+                    if (bucket.timestamp().equals(checkpointTimes.get(i))) {
+                        continue;
+                    }
+                    copy = bucket.copy();
+                }
+                snapshot.put(copy.bucketId(), copy);
+                checkpointTimes.put(i, copy.timestamp());
+            }
+        } catch (Exception e) {
+            log.warn("Failed to checkpoint the flows of device {}", deviceId, e);
+        }
+    }
+
+    /**
+     * Checkpoints the buckets a last time and stops using the snapshot, which may then be closed.
+     */
+    synchronized void detachSnapshot() {
+        checkpoint();
+        ScheduledFuture<?> checkpointFuture = this.checkpointFuture;
+        if (checkpointFuture != null) {
+            checkpointFuture.cancel(false);
+        }
+        snapshot = null;
+    }
+
     /**
      * Backs up all buckets in the given device to the given node.
      */
@@ -873,6 +949,10 @@ public class DeviceFlowTable {
         if (antiEntropyFuture != null) {
             antiEntropyFuture.cancel(false);
         }
+        ScheduledFuture<?> checkpointFuture = this.checkpointFuture;
+        if (checkpointFuture != null) {
+            checkpointFuture.cancel(false);
+        }
     }
 
     /**
@@ -883,6 +963,8 @@ public class DeviceFlowTable {
         flowBuckets.values().forEach(bucket -> bucket.purge());
         lastBackupTimes.clear();
         inFlightUpdates.clear();
+        // the purged buckets keep their timestamp, so are checkpointed again
+        checkpointTimes.clear();
     }
 
     /**
@@ -892,6 +974,13 @@ public class DeviceFlowTable {
         removeListeners();
         unregisterSubscribers();
         cancelFutures();
+        synchronized (this) {
+            PersistentSnapshot<BucketId, FlowBucket> snapshot = this.snapshot;
+            if (snapshot != null) {
+                // the flow table is closed once the flows of the device are purged
+                flowBuckets.values().forEach(bucket -> snapshot.remove(bucket.bucketId()));
+            }
+        }
         lifecycleManager.close();
     }
 }
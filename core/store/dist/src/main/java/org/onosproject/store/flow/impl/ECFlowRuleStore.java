@@ -16,6 +16,7 @@
 package org.onosproject.store.flow.impl;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Streams;
 import org.apache.commons.lang3.tuple.ImmutablePair;
@@ -52,6 +53,7 @@ import org.onosproject.net.flow.oldbatch.FlowRuleBatchEvent;
 import org.onosproject.net.flow.oldbatch.FlowRuleBatchOperation;
 import org.onosproject.net.flow.oldbatch.FlowRuleBatchRequest;
 import org.onosproject.persistence.PersistenceService;
+import org.onosproject.persistence.PersistentSnapshot;
 import org.onosproject.store.AbstractStore;
 import org.onosproject.store.cluster.messaging.ClusterCommunicationService;
 import org.onosproject.store.cluster.messaging.ClusterMessage;
@@ -241,6 +243,18 @@ public class ECFlowRuleStore
             .build();
         deviceTableStats.addListener(tableStatsListener);
 
+        if (context != null) {
+            persistenceEnabled = Tools.isPropertyEnabled(context.getProperties(),
+                                                         EC_FLOW_RULE_STORE_PERSISTENCE_ENABLED,
+                                                         persistenceEnabled);
+        }
+        if (persistenceEnabled) {
+            flowTable.restore(persistenceService.<BucketId, FlowBucket>persistentSnapshotBuilder()
+                .withName("onos-flow-table")
+                .withSerializer(DeviceFlowTable.SERIALIZER)
+                .build());
+        }
+
         deviceService.addListener(flowTable);
         deviceService.getDevices().forEach(device -> flowTable.addDevice(device.id()));
 
@@ -258,6 +272,7 @@ public class ECFlowRuleStore
         messageHandlingExecutor.shutdownNow();
         backupScheduler.shutdownNow();
         backupExecutor.shutdownNow();
+        flowTable.closeSnapshot();
         backupScheduler = null;
         backupExecutor = null;
         log.info("Stopped");
@@ -698,6 +713,8 @@ public class ECFlowRuleStore
 
     private class InternalFlowTable implements DeviceListener {
         private final Map<DeviceId, DeviceFlowTable> flowTables = Maps.newConcurrentMap();
+        private final Map<DeviceId, List<FlowBucket>> restoredBuckets = Maps.newConcurrentMap();
+        private volatile PersistentSnapshot<BucketId, FlowBucket> snapshot;
 
         @Override
         public void event(DeviceEvent event) {
@@ -712,15 +729,48 @@ public class ECFlowRuleStore
          * @param deviceId the device to add to the table
          */
         public void addDevice(DeviceId deviceId) {
-            flowTables.computeIfAbsent(deviceId, id -> new DeviceFlowTable(
-                id,
+            flowTables.computeIfAbsent(deviceId, this::newFlowTable);
+        }
+
+        /**
+         * Restores the flow buckets checkpointed to the given snapshot, to which the flow tables created
+         * afterwards checkpoint their buckets.
+         *
+         * @param snapshot the flow table snapshot
+         */
+        void restore(PersistentSnapshot<BucketId, FlowBucket> snapshot) {
+            snapshot.load().values().forEach(bucket -> restoredBuckets
+                .computeIfAbsent(bucket.bucketId().deviceId(), id -> Lists.newArrayList())
+                .add(bucket));
+            this.snapshot = snapshot;
+        }
+
+        /**
+         * Checkpoints the flow tables, detaches them from the snapshot and closes it, if any.
+         */
+        void closeSnapshot() {
+            PersistentSnapshot<BucketId, FlowBucket> snapshot = this.snapshot;
+            if (snapshot != null) {
+                this.snapshot = null;
+                flowTables.values().forEach(DeviceFlowTable::detachSnapshot);
+                snapshot.close();
+                restoredBuckets.clear();
+            }
+        }
+
+        private DeviceFlowTable newFlowTable(DeviceId deviceId) {
+            List<FlowBucket> buckets = restoredBuckets.remove(deviceId);
+            return new DeviceFlowTable(
+                deviceId,
                 clusterService,
                 clusterCommunicator,
-                new InternalLifecycleManager(id),
+                new InternalLifecycleManager(deviceId),
                 backupScheduler,
                 new OrderedExecutor(backupExecutor),
                 backupPeriod,
-                antiEntropyPeriod));
+                antiEntropyPeriod,
+                snapshot,
+                buckets != null ? buckets : Collections.emptyList());
         }
 
         /**
@@ -749,15 +799,7 @@ public class ECFlowRuleStore
          */
         private DeviceFlowTable getFlowTable(DeviceId deviceId) {
             DeviceFlowTable flowTable = flowTables.get(deviceId);
-            return flowTable != null ? flowTable : flowTables.computeIfAbsent(deviceId, id -> new DeviceFlowTable(
-                deviceId,
-                clusterService,
-                clusterCommunicator,
-                new InternalLifecycleManager(deviceId),
-                backupScheduler,
-                new OrderedExecutor(backupExecutor),
-                backupPeriod,
-                antiEntropyPeriod));
+            return flowTable != null ? flowTable : flowTables.computeIfAbsent(deviceId, this::newFlowTable);
         }
 
         /**
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.group.impl;
+
+import com.google.common.collect.Maps;
+import org.onosproject.core.GroupId;
+import org.onosproject.net.group.GroupKey;
+import org.onosproject.net.group.StoredGroupEntry;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.IntPredicate;
+
+/**
+ * Local index of the groups of a device.
+ * <p>
+ * The groups are indexed by identifier and by application cookie. The
+ * identifiers in use are also recorded in a sparse bitmap, from which free
+ * identifiers are allocated a word at a time rather than by probing the
+ * identifiers one by one. Free identifiers are allocated in increasing order,
+ * wrapping around once the largest identifier has been allocated, so that the
+ * identifier of a removed group is not reused right away.
+ */
+final class DeviceGroupTable {
+
+    static final int MIN_GROUP_ID = 1;
+
+    // 4096 identifiers per page of the bitmap
+    private static final int PAGE_SHIFT = 12;
+    private static final int PAGE_MASK = (1 << PAGE_SHIFT) - 1;
+    private static final int PAGE_WORDS = 1 << (PAGE_SHIFT - 6);
+    private static final int MAX_PAGE = Integer.MAX_VALUE >>> PAGE_SHIFT;
+
+    private final ConcurrentMap<GroupId, StoredGroupEntry> groupsById = Maps.newConcurrentMap();
+    private final ConcurrentMap<GroupKey, StoredGroupEntry> groupsByKey = Maps.newConcurrentMap();
+
+    // pages of the bitmap of the identifiers in use, guarded by this
+    private final Map<Integer, long[]> pages = Maps.newHashMap();
+    private int nextId = MIN_GROUP_ID;
+
+    /**
+     * Returns the group with the given identifier.
+     *
+     * @param groupId group identifier
+     * @return the group, or null if there is none
+     */
+    StoredGroupEntry get(GroupId groupId) {
+        return groupsById.get(groupId);
+    }
+
+    /**
+     * Returns the group with the given application cookie.
+     *
+     * @param appCookie application cookie
+     * @return the group, or null if there is none
+     */
+    StoredGroupEntry get(GroupKey appCookie) {
+        return groupsByKey.get(appCookie);
+    }
+
+    /**
+     * Returns the groups of the device.
+     *
+     * @return unmodifiable view of the groups
+     */
+    Collection<StoredGroupEntry> groups() {
+        return Collections.unmodifiableCollection(groupsById.values());
+    }
+
+    /**
+     * Returns the number of groups of the device.
+     *
+     * @return number of groups
+     */
+    int size() {
+        return groupsById.size();
+    }
+
+    /**
+     * Adds or replaces the group with the identifier of the given group.
+     *
+     * @param group group entry
+     */
+    synchronized void put(StoredGroupEntry group) {
+        StoredGroupEntry previous = groupsById.put(group.id(), group);
+        if (previous != null && !previous.appCookie().equals(group.appCookie())) {
+            groupsByKey.remove(previous.appCookie(), previous);
+        }
+        groupsByKey.put(group.appCookie(), group);
+        setUsed(group.id().id(), true);
+    }
+
+    /**
+     * Removes the given group, if it is still the group with its identifier.
+     *
+     * @param group group entry
+     * @return true if the group has been removed
+     */
+    synchronized boolean remove(StoredGroupEntry group) {
+        StoredGroupEntry existing = groupsById.get(group.id());
+        if (existing == null || !existing.equals(group)) {
+            return false;
+        }
+        groupsById.remove(group.id());
+        groupsByKey.remove(existing.appCookie(), existing);
+        setUsed(group.id().id(), false);
+        return true;
+    }
+
+    /**
+     * Allocates an identifier which is not used by any group of the table.
+     *
+     * @param reserved tests whether an identifier is reserved otherwise
+     * @return free group identifier
+     * @throws IllegalStateException if all identifiers are in use
+     */
+    synchronized int allocateId(IntPredicate reserved) {
+        int id = nextId;
+        boolean wrapped = false;
+        while (true) {
+            id = nextFreeId(id);
+            if (id < 0) {
+                if (wrapped) {
+                    throw new IllegalStateException("No free group identifier");
+                }
+                wrapped = true;
+                id = MIN_GROUP_ID;
+            } else if (reserved.test(id)) {
+                // overflows past the largest identifier, which is then wrapped
+                id++;
+            } else {
+                nextId = id == Integer.MAX_VALUE ? MIN_GROUP_ID : id + 1;
+                return id;
+            }
+        }
+    }
+
+    /**
+     * Returns the first identifier not in use from the given one.
+     *
+     * @param from first identifier to consider
+     * @return free identifier, or -1 if all identifiers from the given one
+     * are in use
+     */
+    private int nextFreeId(int from) {
+        if (from < MIN_GROUP_ID) {
+            return -1;
+        }
+        int first = from >>> PAGE_SHIFT;
+        for (int page = first; page <= MAX_PAGE; page++) {
+            int start = page == first ? from & PAGE_MASK : 0;
+            long[] words = pages.get(page);
+            if (words == null) {
+                return (page << PAGE_SHIFT) + start;
+            }
+            for (int w = start >>> 6; w < PAGE_WORDS; w++) {
+                long free = ~words[w];
+                if (w == start >>> 6) {
+                    free &= -1L << (start & 63);
+                }
+                if (free != 0) {
+                    return (page << PAGE_SHIFT) + (w << 6) + Long.numberOfTrailingZeros(free);
+                }
+            }
+        }
+        return -1;
+    }
+
+    private void setUsed(int id, boolean used) {
+        int page = id >>> PAGE_SHIFT;
+        int offset = id & PAGE_MASK;
+        long[] words = pages.get(page);
+        if (used) {
+            if (words == null) {
+                words = new long[PAGE_WORDS];
+                pages.put(page, words);
+            }
+            words[offset >>> 6] |= 1L << (offset & 63);
+        } else if (words != null) {
+            words[offset >>> 6] &= ~(1L << (offset & 63));
+            for (long word : words) {
+                if (word != 0) {
+                    return;
+                }
+            }
+            pages.remove(page);
+        }
+    }
+}
@@ -17,7 +17,6 @@ package org.onosproject.store.group.impl;
 
 import com.google.common.collect.FluentIterable;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.Iterables;
 import com.google.common.collect.Sets;
 import org.onlab.util.KryoNamespace;
 import org.onosproject.cfg.ComponentConfigService;
@@ -71,7 +70,6 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Dictionary;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -85,7 +83,6 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -150,9 +147,9 @@ public class DistributedGroupStore
     // Per device group table with (device id + app cookie) as key
     private ConsistentMap<GroupStoreKeyMapKey,
             StoredGroupEntry> groupStoreEntriesByKey = null;
-    // Per device group table with (device id + group id) as key
-    private final ConcurrentMap<DeviceId, ConcurrentMap<GroupId, StoredGroupEntry>>
-            groupEntriesById = new ConcurrentHashMap<>();
+    // Per device local index of the groups, by group id and by app cookie
+    private final ConcurrentMap<DeviceId, DeviceGroupTable>
+            groupTables = new ConcurrentHashMap<>();
     private ConsistentMap<GroupStoreKeyMapKey,
             StoredGroupEntry> auditPendingReqQueue = null;
     private MapEventListener<GroupStoreKeyMapKey, StoredGroupEntry>
@@ -164,8 +161,6 @@ public class DistributedGroupStore
 
     private final HashMap<DeviceId, Boolean> deviceAuditStatus = new HashMap<>();
 
-    private final AtomicInteger groupIdGen = new AtomicInteger();
-
     private KryoNamespace clusterMsgSerializer;
 
     private static Topic<GroupStoreMessage> groupTopic;
@@ -290,12 +285,12 @@ public class DistributedGroupStore
     }
 
     /**
-     * Updating values of groupEntriesById.
+     * Updating values of groupTables.
      */
     private void matchGroupEntries() {
         for (Entry<GroupStoreKeyMapKey, StoredGroupEntry> entry : groupStoreEntriesByKey.asJavaMap().entrySet()) {
             StoredGroupEntry group = entry.getValue();
-            getGroupIdTable(entry.getKey().deviceId()).put(group.id(), group);
+            getGroupTable(entry.getKey().deviceId()).put(group);
         }
     }
 
@@ -304,8 +299,7 @@ public class DistributedGroupStore
         Map<GroupStoreKeyMapKey, StoredGroupEntry> groupEntryMap = groupStoreEntriesByKey.asJavaMap();
         for (Entry<GroupStoreKeyMapKey, StoredGroupEntry> entry : groupEntryMap.entrySet()) {
             StoredGroupEntry value = entry.getValue();
-            ConcurrentMap<GroupId, StoredGroupEntry> groupIdTable = getGroupIdTable(value.deviceId());
-            groupIdTable.put(value.id(), value);
+            getGroupTable(value.deviceId()).put(value);
         }
     }
 
@@ -320,13 +314,14 @@ public class DistributedGroupStore
     }
 
     /**
-     * Returns the group id table for specified device.
+     * Returns the local group table for specified device.
      *
      * @param deviceId identifier of the device
-     * @return Map representing group key table of given device.
+     * @return group table of given device, indexed by group id and app cookie.
      */
-    private ConcurrentMap<GroupId, StoredGroupEntry> getGroupIdTable(DeviceId deviceId) {
-        return groupEntriesById.computeIfAbsent(deviceId, k -> new ConcurrentHashMap<>());
+    private DeviceGroupTable getGroupTable(DeviceId deviceId) {
+        DeviceGroupTable groupTable = groupTables.get(deviceId);
+        return groupTable != null ? groupTable : groupTables.computeIfAbsent(deviceId, k -> new DeviceGroupTable());
     }
 
     /**
@@ -357,8 +352,11 @@ public class DistributedGroupStore
      */
     @Override
     public int getGroupCount(DeviceId deviceId) {
-        return (getGroups(deviceId) != null) ?
-                Iterables.size(getGroups(deviceId)) : 0;
+        if (mastershipService.getMasterFor(deviceId) == null) {
+            log.debug("Failed to getGroupCount: No master for {}", deviceId);
+            return 0;
+        }
+        return getGroupTable(deviceId).size();
     }
 
     /**
@@ -380,11 +378,7 @@ public class DistributedGroupStore
             return Collections.emptySet();
         }
 
-        Set<StoredGroupEntry> storedGroups = getGroupStoreKeyMap().values()
-                .stream()
-                .filter(input -> input.deviceId().equals(deviceId))
-                .collect(Collectors.toSet());
-        return ImmutableSet.copyOf(storedGroups);
+        return ImmutableSet.copyOf(getGroupTable(deviceId).groups());
     }
 
     /**
@@ -412,27 +406,15 @@ public class DistributedGroupStore
 
     private StoredGroupEntry getStoredGroupEntry(DeviceId deviceId,
                                                  GroupId groupId) {
-        return getGroupIdTable(deviceId).get(groupId);
+        return getGroupTable(deviceId).get(groupId);
     }
 
     private int getFreeGroupIdValue(DeviceId deviceId) {
-        int freeId = groupIdGen.incrementAndGet();
-
-        while (true) {
-            Group existing = getGroup(deviceId, new GroupId(freeId));
-            if (existing == null) {
-                existing = (
-                        extraneousGroupEntriesById.get(deviceId) != null) ?
-                        extraneousGroupEntriesById.get(deviceId).
-                                get(new GroupId(freeId)) :
-                        null;
-            }
-            if (existing != null) {
-                freeId = groupIdGen.incrementAndGet();
-            } else {
-                break;
-            }
-        }
+        // Ids of the groups of the device are free in its bitmap; those of
+        // extraneous groups are checked separately
+        ConcurrentMap<GroupId, Group> extraneousGroups = extraneousGroupEntriesById.get(deviceId);
+        int freeId = getGroupTable(deviceId).allocateId(
+                id -> extraneousGroups != null && extraneousGroups.containsKey(new GroupId(id)));
         log.debug("getFreeGroupIdValue: Next Free ID is {}", freeId);
         return freeId;
     }
@@ -582,8 +564,7 @@ public class DistributedGroupStore
                                                         groupDesc.appCookie()), group);
                     // Ensure it also inserted into group id based table to
                     // avoid any chances of duplication in group id generation
-                    getGroupIdTable(groupDesc.deviceId()).
-                            put(matchingExtraneousGroup.id(), group);
+                    getGroupTable(groupDesc.deviceId()).put(group);
                     addOrUpdateGroupEntry(matchingExtraneousGroup);
                     removeExtraneousGroupEntry(matchingExtraneousGroup);
                     return;
@@ -602,8 +583,7 @@ public class DistributedGroupStore
                                                         groupDesc.appCookie()), modifiedGroup);
                     // Ensure it also inserted into group id based table to
                     // avoid any chances of duplication in group id generation
-                    getGroupIdTable(groupDesc.deviceId()).
-                            put(matchingExtraneousGroup.id(), modifiedGroup);
+                    getGroupTable(groupDesc.deviceId()).put(modifiedGroup);
                     removeExtraneousGroupEntry(matchingExtraneousGroup);
                     log.debug("storeGroupDescriptionInternal: Triggering Group "
                                       + "UPDATE request for {} in device {}",
@@ -631,8 +611,7 @@ public class DistributedGroupStore
                                                     groupDesc.appCookie()), group);
                 // Ensure it also inserted into group id based table to
                 // avoid any chances of duplication in group id generation
-                getGroupIdTable(groupDesc.deviceId()).
-                        put(matchingExtraneousGroup.id(), group);
+                getGroupTable(groupDesc.deviceId()).put(group);
                 addOrUpdateGroupEntry(matchingExtraneousGroup);
                 removeExtraneousGroupEntry(matchingExtraneousGroup);
                 return;
@@ -671,8 +650,7 @@ public class DistributedGroupStore
                                             groupDesc.appCookie()), group);
         // Ensure it also inserted into group id based table to
         // avoid any chances of duplication in group id generation
-        getGroupIdTable(groupDesc.deviceId()).
-                put(id, group);
+        getGroupTable(groupDesc.deviceId()).put(group);
         log.debug("storeGroupDescriptionInternal: Processing Group ADD request for Id {} in device {}",
                   id,
                   groupDesc.deviceId());
@@ -1018,14 +996,10 @@ public class DistributedGroupStore
 
     @Override
     public void purgeGroupEntry(DeviceId deviceId) {
-        Set<Entry<GroupStoreKeyMapKey, StoredGroupEntry>> entriesPendingRemove =
-                new HashSet<>();
-
-        getGroupStoreKeyMap().entrySet().stream()
-                .filter(entry -> entry.getKey().deviceId().equals(deviceId))
-                .forEach(entriesPendingRemove::add);
-
-        purgeGroupEntries(entriesPendingRemove);
+        // Removal from the group table will happen in the map update listener
+        ImmutableSet.copyOf(getGroupTable(deviceId).groups())
+                .forEach(group -> groupStoreEntriesByKey.remove(
+                        new GroupStoreKeyMapKey(deviceId, group.appCookie())));
     }
 
     @Override
@@ -1204,10 +1178,10 @@ public class DistributedGroupStore
                                   + "event {} with null entry", mapEvent.type());
                 return;
             } else if (group == null) {
-                group = getGroupIdTable(key.deviceId()).values()
-                        .stream()
-                        .filter((storedGroup) -> (storedGroup.appCookie().equals(key.appCookie)))
-                        .findFirst().orElse(null);
+                group = Versioned.valueOrNull(mapEvent.oldValue());
+                if (group == null) {
+                    group = getGroupTable(key.deviceId()).get(key.appCookie);
+                }
                 if (group == null) {
                     log.error("GroupStoreKeyMapListener: Received "
                                       + "event {} with null entry... can not process", mapEvent.type());
@@ -1220,7 +1194,7 @@ public class DistributedGroupStore
                       (key != null ? key.deviceId() : null));
             if (mapEvent.type() == MapEvent.Type.INSERT || mapEvent.type() == MapEvent.Type.UPDATE) {
                 // Update the group ID table
-                getGroupIdTable(group.deviceId()).put(group.id(), group);
+                getGroupTable(group.deviceId()).put(group);
                 StoredGroupEntry value = Versioned.valueOrNull(mapEvent.newValue());
                 if (value.state() == Group.GroupState.ADDED) {
                     if (value.isGroupStateAddedFirstTime()) {
@@ -1238,7 +1212,7 @@ public class DistributedGroupStore
             } else if (mapEvent.type() == MapEvent.Type.REMOVE) {
                 groupEvent = new GroupEvent(Type.GROUP_REMOVED, group);
                 // Remove the entry from the group ID table
-                getGroupIdTable(group.deviceId()).remove(group.id(), group);
+                getGroupTable(group.deviceId()).remove(group);
             }
 
             if (groupEvent != null) {
@@ -1250,10 +1224,10 @@ public class DistributedGroupStore
     private void processGroupMessage(GroupStoreMessage message) {
         if (message.type() == GroupStoreMessage.Type.FAILOVER) {
             // FIXME: groupStoreEntriesByKey inaccessible here
-            getGroupIdTable(message.deviceId()).values()
-                    .stream()
-                    .filter((storedGroup) -> (storedGroup.appCookie().equals(message.appCookie())))
-                    .findFirst().ifPresent(group -> notifyDelegate(new GroupEvent(Type.GROUP_BUCKET_FAILOVER, group)));
+            StoredGroupEntry group = getGroupTable(message.deviceId()).get(message.appCookie());
+            if (group != null) {
+                notifyDelegate(new GroupEvent(Type.GROUP_BUCKET_FAILOVER, group));
+            }
         }
     }
 
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.meter.impl;
+
+import com.google.common.collect.Maps;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Local allocator of the meter identifiers of a device.
+ * <p>
+ * The identifiers freed in the cluster are mirrored in a sparse bitmap, from
+ * which a reusable identifier is found a word at a time rather than by
+ * filtering the freed identifiers of all the devices. New identifiers are
+ * reserved from the cluster-wide counter of the device a block at a time,
+ * and handed out locally until the block is exhausted.
+ */
+final class DeviceMeterIds {
+
+    // 4096 identifiers per page of the bitmap
+    private static final int PAGE_SHIFT = 12;
+    private static final long PAGE_MASK = (1L << PAGE_SHIFT) - 1;
+    private static final int PAGE_WORDS = 1 << (PAGE_SHIFT - 6);
+
+    // pages of the bitmap of the free identifiers, guarded by this
+    private final NavigableMap<Long, long[]> freePages = Maps.newTreeMap();
+    // identifiers reserved by this node and not allocated yet, guarded by this
+    private long nextReserved = 1;
+    private long lastReserved = 0;
+
+    /**
+     * Records whether the given identifier is free, that is allocated once
+     * and released since.
+     *
+     * @param id   meter identifier
+     * @param free true if the identifier is free
+     */
+    synchronized void setFree(long id, boolean free) {
+        long page = id >>> PAGE_SHIFT;
+        int offset = (int) (id & PAGE_MASK);
+        long[] words = freePages.get(page);
+        if (free) {
+            if (words == null) {
+                words = new long[PAGE_WORDS];
+                freePages.put(page, words);
+            }
+            words[offset >>> 6] |= 1L << (offset & 63);
+        } else if (words != null) {
+            words[offset >>> 6] &= ~(1L << (offset & 63));
+            for (long word : words) {
+                if (word != 0) {
+                    return;
+                }
+            }
+            freePages.remove(page);
+        }
+    }
+
+    /**
+     * Returns a free identifier.
+     *
+     * @param random whether to pick a random free identifier rather than
+     *               the smallest one
+     * @return free identifier, or -1 if there is none
+     */
+    synchronized long freeId(boolean random) {
+        if (freePages.isEmpty()) {
+            return -1;
+        }
+        long from = 0;
+        if (random) {
+            long low = freePages.firstKey() << PAGE_SHIFT;
+            long high = (freePages.lastKey() + 1) << PAGE_SHIFT;
+            from = ThreadLocalRandom.current().nextLong(low, high);
+        }
+        long id = nextFreeId(from);
+        return id >= 0 ? id : nextFreeId(0);
+    }
+
+    /**
+     * Allocates the next identifier reserved by this node, reserving a new
+     * block of identifiers once the current one is exhausted.
+     *
+     * @param reserve reserves a block of identifiers, returned as its first
+     *                and last identifiers, or null if none is left
+     * @return allocated identifier, or -1 if none is left
+     */
+    synchronized long allocateReserved(Supplier<long[]> reserve) {
+        if (nextReserved > lastReserved) {
+            long[] block = reserve.get();
+            if (block == null) {
+                return -1;
+            }
+            nextReserved = block[0];
+            lastReserved = block[1];
+        }
+        return nextReserved++;
+    }
+
+    /**
+     * Returns whether the given identifier is reserved by this node and not
+     * allocated yet.
+     *
+     * @param id meter identifier
+     * @return true if the identifier is reserved
+     */
+    synchronized boolean isReserved(long id) {
+        return id >= nextReserved && id <= lastReserved;
+    }
+
+    /**
+     * Gives up the identifiers reserved by this node and not allocated yet.
+     *
+     * @return first and last identifiers given up, or null if there is none
+     */
+    synchronized long[] releaseReserved() {
+        if (nextReserved > lastReserved) {
+            return null;
+        }
+        long[] block = {nextReserved, lastReserved};
+        nextReserved = lastReserved + 1;
+        return block;
+    }
+
+    /**
+     * Returns the first free identifier from the given one.
+     *
+     * @param from first identifier to consider
+     * @return free identifier, or -1 if there is none from the given one
+     */
+    private long nextFreeId(long from) {
+        long first = from >>> PAGE_SHIFT;
+        for (Map.Entry<Long, long[]> entry : freePages.tailMap(first, true).entrySet()) {
+            long page = entry.getKey();
+            int start = page == first ? (int) (from & PAGE_MASK) : 0;
+            long[] words = entry.getValue();
+            for (int w = start >>> 6; w < PAGE_WORDS; w++) {
+                long free = words[w];
+                if (w == start >>> 6) {
+                    free &= -1L << (start & 63);
+                }
+                if (free != 0) {
+                    return (page << PAGE_SHIFT) + (w << 6) + Long.numberOfTrailingZeros(free);
+                }
+            }
+        }
+        return -1;
+    }
+}
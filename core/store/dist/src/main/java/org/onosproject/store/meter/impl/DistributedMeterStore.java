@@ -16,11 +16,12 @@
 package org.onosproject.store.meter.impl;
 
 import com.google.common.collect.Collections2;
-import com.google.common.collect.Iterables;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
-import org.apache.commons.lang.math.RandomUtils;
 import org.onlab.util.KryoNamespace;
+import org.onosproject.cluster.ClusterEvent;
+import org.onosproject.cluster.ClusterEventListener;
 import org.onosproject.cluster.ClusterService;
 import org.onosproject.cluster.NodeId;
 import org.onosproject.mastership.MastershipService;
@@ -55,6 +56,8 @@ import org.onosproject.store.service.DistributedSet;
 import org.onosproject.store.service.MapEvent;
 import org.onosproject.store.service.MapEventListener;
 import org.onosproject.store.service.Serializer;
+import org.onosproject.store.service.SetEvent;
+import org.onosproject.store.service.SetEventListener;
 import org.onosproject.store.service.StorageException;
 import org.onosproject.store.service.StorageService;
 import org.onosproject.store.service.Versioned;
@@ -66,14 +69,18 @@ import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.slf4j.Logger;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.onosproject.store.meter.impl.DistributedMeterStore.ReuseStrategy.FIRST_FIT;
+import static org.onosproject.store.meter.impl.DistributedMeterStore.ReuseStrategy.RANDOM;
+import static org.onlab.util.Tools.groupedThreads;
 import static org.onosproject.net.meter.MeterFailReason.TIMEOUT;
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -91,6 +98,9 @@ public class DistributedMeterStore extends AbstractStore<MeterEvent, MeterStoreD
     private static final String METERFEATURESSTORE = "onos-meter-features-store";
     private static final String AVAILABLEMETERIDSTORE = "onos-meters-available-store";
     private static final String METERIDSTORE = "onos-meters-id-store";
+    private static final String METERIDRESERVATIONSTORE = "onos-meters-id-reservation-store";
+    // Maximum number of new identifiers reserved at once by a node
+    private static final long METER_ID_BLOCK_SIZE = 32;
 
     private static final KryoNamespace.Builder APP_KRYO_BUILDER = KryoNamespace.newBuilder()
             .register(KryoNamespaces.API)
@@ -133,6 +143,26 @@ public class DistributedMeterStore extends AbstractStore<MeterEvent, MeterStoreD
     // Atomic counter map for generation of new identifiers;
     private AtomicCounterMap<DeviceId> meterIdGenerators;
 
+    // Per device local allocator of the meter identifiers
+    private final Map<DeviceId, DeviceMeterIds> meterIds = Maps.newConcurrentMap();
+
+    private final SetEventListener<MeterKey> availableMeterIdsListener = new InternalSetEventListener();
+
+    // Blocks of identifiers reserved by each node, as their first and last identifiers per device
+    private ConsistentMap<NodeId, Map<DeviceId, long[]>> meterIdReservations;
+
+    private final MapEventListener<NodeId, Map<DeviceId, long[]>> reservationListener =
+            new InternalReservationListener();
+
+    private final ClusterEventListener clusterListener = new InternalClusterListener();
+
+    private ExecutorService reclaimExecutor;
+
+    // Per device local index of the meters, with the version they have in the store.
+    // Removed meters are kept as versions without value while the index is seeded.
+    private final Map<DeviceId, Map<MeterKey, Versioned<MeterData>>> metersByDevice = Maps.newConcurrentMap();
+    private volatile boolean seeding;
+
     /**
      * Defines possible selection strategies to reuse meter ids.
      */
@@ -157,7 +187,15 @@ public class DistributedMeterStore extends AbstractStore<MeterEvent, MeterStoreD
                     .withName(METERSTORE)
                     .withSerializer(serializer).build();
 
+        // Seed the index once listening, keeping the later of the stored and
+        // notified versions of each meter
+        seeding = true;
         meters.addListener(mapListener);
+        meters.entrySet().forEach(entry -> getDeviceMeters(entry.getKey().deviceId())
+                .merge(entry.getKey(), entry.getValue(),
+                       (current, stored) -> current.version() >= stored.version() ? current : stored));
+        seeding = false;
+        metersByDevice.values().forEach(deviceMeters -> deviceMeters.values().removeIf(v -> v.value() == null));
 
         meterFeatures = storageService.<MeterFeaturesKey, MeterFeatures>consistentMapBuilder()
                 .withName(METERFEATURESSTORE)
@@ -176,18 +214,55 @@ public class DistributedMeterStore extends AbstractStore<MeterEvent, MeterStoreD
                 .withSerializer(Serializer.using(KryoNamespaces.API,
                                                  MeterKey.class)).build(),
                 DistributedPrimitive.DEFAULT_OPERATION_TIMEOUT_MILLIS);
+        availableMeterIds.addListener(availableMeterIdsListener);
+        availableMeterIds.forEach(key -> getMeterIds(key.deviceId()).setFree(key.meterId().id(), true));
 
         // Init atomic map counters
         meterIdGenerators = storageService.<DeviceId>atomicCounterMapBuilder()
                 .withName(METERIDSTORE)
                 .withSerializer(Serializer.using(KryoNamespaces.API)).build();
 
+        // Reclaim the identifiers reserved by this node before a restart, or by
+        // nodes removed from the cluster meanwhile
+        meterIdReservations = storageService.<NodeId, Map<DeviceId, long[]>>consistentMapBuilder()
+                .withName(METERIDRESERVATIONSTORE)
+                .withSerializer(Serializer.using(KryoNamespaces.API)).build();
+        reclaimExecutor = Executors.newSingleThreadExecutor(groupedThreads("onos/store/meter", "reclaim", log));
+        meterIdReservations.keySet().stream()
+                .filter(nodeId -> nodeId.equals(local) || clusterService.getNode(nodeId) == null)
+                .forEach(this::reclaimMeterIds);
+        meterIdReservations.addListener(reservationListener);
+        clusterService.addListener(clusterListener);
+
         log.info("Started");
     }
 
     @Deactivate
     public void deactivate() {
+        clusterService.removeListener(clusterListener);
+        reclaimExecutor.shutdown();
+        meterIdReservations.removeListener(reservationListener);
         meters.removeListener(mapListener);
+        availableMeterIds.removeListener(availableMeterIdsListener);
+        // Make the identifiers reserved by this node available to the others
+        meterIds.forEach((deviceId, ids) -> {
+            long[] block = ids.releaseReserved();
+            if (block == null) {
+                return;
+            }
+            try {
+                for (long id = block[0]; id <= block[1]; id++) {
+                    updateMeterIdAvailability(deviceId, MeterId.meterId(id), true);
+                }
+            } catch (StorageException e) {
+                log.warn("Unable to release meter ids {}-{} of {}", block[0], block[1], deviceId);
+            }
+        });
+        try {
+            meterIdReservations.remove(local);
+        } catch (StorageException e) {
+            log.warn("Unable to remove the meter id reservations of {}", local);
+        }
         log.info("Stopped");
     }
 
@@ -309,10 +384,8 @@ public class DistributedMeterStore extends AbstractStore<MeterEvent, MeterStoreD
 
     @Override
     public Collection<Meter> getAllMeters(DeviceId deviceId) {
-        return Collections2.transform(
-                Collections2.filter(meters.asJavaMap().values(),
-                        (MeterData m) -> m.meter().deviceId().equals(deviceId)),
-                MeterData::meter);
+        return Collections2.transform(Collections.unmodifiableCollection(indexedMeters(deviceId)),
+                                      MeterData::meter);
     }
 
     @Override
@@ -339,13 +412,9 @@ public class DistributedMeterStore extends AbstractStore<MeterEvent, MeterStoreD
     @Override
     public void purgeMeter(DeviceId deviceId) {
 
-        List<Versioned<MeterData>> metersPendingRemove = meters.stream()
-                .filter(e -> Objects.equals(e.getKey().deviceId(), deviceId))
-                .map(Map.Entry::getValue)
-                .collect(Collectors.toList());
+        List<MeterData> metersPendingRemove = ImmutableList.copyOf(indexedMeters(deviceId));
 
-        metersPendingRemove.forEach(versionedMeterKey
-                -> deleteMeterNow(versionedMeterKey.value().meter()));
+        metersPendingRemove.forEach(data -> deleteMeterNow(data.meter()));
 
     }
 
@@ -377,74 +446,136 @@ public class DistributedMeterStore extends AbstractStore<MeterEvent, MeterStoreD
                 availableMeterIds.remove(MeterKey.key(deviceId, id));
     }
 
-    private MeterId getNextAvailableId(Set<MeterId> availableIds) {
-        // If there are no available ids
-        if (availableIds.isEmpty()) {
-            // Just end the cycle
-            return null;
-        }
-        // If it is the first fit
-        if (reuseStrategy == FIRST_FIT || availableIds.size() == 1) {
-            return availableIds.iterator().next();
+    /**
+     * Returns the local meter id allocator for specified device.
+     *
+     * @param deviceId identifier of the device
+     * @return meter id allocator of given device
+     */
+    private DeviceMeterIds getMeterIds(DeviceId deviceId) {
+        return meterIds.computeIfAbsent(deviceId, k -> new DeviceMeterIds());
+    }
+
+    /**
+     * Returns the local index of the meters of specified device.
+     *
+     * @param deviceId identifier of the device
+     * @return meters of given device, by meter key
+     */
+    private Map<MeterKey, Versioned<MeterData>> getDeviceMeters(DeviceId deviceId) {
+        return metersByDevice.computeIfAbsent(deviceId, k -> Maps.newConcurrentMap());
+    }
+
+    /**
+     * Returns a view of the indexed meters of specified device.
+     *
+     * @param deviceId identifier of the device
+     * @return data of the meters of given device
+     */
+    private Collection<MeterData> indexedMeters(DeviceId deviceId) {
+        Map<MeterKey, Versioned<MeterData>> deviceMeters = metersByDevice.get(deviceId);
+        if (deviceMeters == null) {
+            return Collections.emptyList();
         }
-        // If it is random, get the size
-        int size = availableIds.size();
-        // Return a random element
-        return Iterables.get(availableIds, RandomUtils.nextInt(size));
+        return Collections2.filter(Collections2.transform(deviceMeters.values(), Versioned::value),
+                                   Objects::nonNull);
     }
 
     // Implements reuse strategy
     private MeterId firstReusableMeterId(DeviceId deviceId) {
-        // Filter key related to device id, and reduce to meter ids
-        Set<MeterId> localAvailableMeterIds = availableMeterIds.stream()
-                .filter(meterKey -> meterKey.deviceId().equals(deviceId))
-                .map(MeterKey::meterId)
-                .collect(Collectors.toSet());
-        // Get next available id
-        MeterId meterId = getNextAvailableId(localAvailableMeterIds);
+        DeviceMeterIds ids = getMeterIds(deviceId);
+        // Get next available id from the local bitmap
+        long id = ids.freeId(reuseStrategy == RANDOM);
         // Iterate until there are items
-        while (meterId != null) {
-            // If we are able to reserve the id
-            if (updateMeterIdAvailability(deviceId, meterId, false)) {
+        while (id >= 0) {
+            MeterId meterId = MeterId.meterId(id);
+            // Whether we reserved the id or another node did
+            boolean reserved = updateMeterIdAvailability(deviceId, meterId, false);
+            ids.setFree(id, false);
+            if (reserved) {
                 // Just end
                 return meterId;
             }
-            // Update the set
-            localAvailableMeterIds.remove(meterId);
             // Try another time
-            meterId = getNextAvailableId(localAvailableMeterIds);
+            id = ids.freeId(reuseStrategy == RANDOM);
         }
         // No reusable ids
         return null;
     }
 
+    // Reserves the next block of new ids, below maxMeters, for the local node
+    private long[] reserveMeterIds(DeviceId deviceId, long maxMeters) {
+        // Leave a share of the remaining ids to the other nodes
+        int nodes = Math.max(1, clusterService.getNodes().size());
+        while (true) {
+            long current = meterIdGenerators.get(deviceId);
+            long remaining = maxMeters - 1 - current;
+            if (remaining <= 0) {
+                return null;
+            }
+            long last = current + Math.max(1, Math.min(METER_ID_BLOCK_SIZE, remaining / nodes));
+            if (meterIdGenerators.replace(deviceId, current, last)) {
+                long[] block = {current + 1, last};
+                // Record the block, to be reclaimed if this node leaves without releasing it
+                meterIdReservations.compute(local, (nodeId, blocks) -> {
+                    Map<DeviceId, long[]> updated = blocks == null ? new HashMap<>() : new HashMap<>(blocks);
+                    updated.put(deviceId, block);
+                    return updated;
+                });
+                return block;
+            }
+        }
+    }
+
+    // Makes available the unused identifiers reserved by the given node
+    private void reclaimMeterIds(NodeId nodeId) {
+        Versioned<Map<DeviceId, long[]>> blocks;
+        try {
+            // Only the node removing the reservations reclaims them
+            blocks = meterIdReservations.remove(nodeId);
+        } catch (StorageException e) {
+            log.warn("Unable to reclaim the meter ids reserved by {}", nodeId);
+            return;
+        }
+        if (blocks == null) {
+            return;
+        }
+        blocks.value().forEach((deviceId, block) -> {
+            for (long id = block[0]; id <= block[1]; id++) {
+                MeterId meterId = MeterId.meterId(id);
+                if (!meters.containsKey(MeterKey.key(deviceId, meterId))) {
+                    updateMeterIdAvailability(deviceId, meterId, true);
+                }
+            }
+            log.info("Reclaimed meter ids {}-{} of {} reserved by {}", block[0], block[1], deviceId, nodeId);
+        });
+    }
+
     @Override
     public MeterId allocateMeterId(DeviceId deviceId) {
-        // Init steps
-        MeterId meterId;
-        long id;
         // Try to reuse meter id
-        meterId = firstReusableMeterId(deviceId);
+        MeterId meterId = firstReusableMeterId(deviceId);
         // We found a reusable id, return
         if (meterId != null) {
             return meterId;
         }
         // If there was no reusable MeterId we have to generate a new value
         // using maxMeters as upper limit.
-        long maxMeters = getMaxMeters(MeterFeaturesKey.key(deviceId));
+        long deviceMaxMeters = getMaxMeters(MeterFeaturesKey.key(deviceId));
         // If the device does not give us MeterFeatures
-        if (maxMeters == 0L) {
+        if (deviceMaxMeters == 0L) {
             // MeterFeatures couldn't be retrieved, fallback to queryMeters.
-            maxMeters = queryMaxMeters(deviceId);
+            deviceMaxMeters = queryMaxMeters(deviceId);
         }
         // If we don't know the max, cannot proceed
-        if (maxMeters == 0L) {
+        if (deviceMaxMeters == 0L) {
             return null;
         }
-        // Get a new value
-        id = meterIdGenerators.incrementAndGet(deviceId);
-        // Check with the max, and if the value is bigger, cannot proceed
-        if (id >= maxMeters) {
+        long maxMeters = deviceMaxMeters;
+        // Get a new value, from the block reserved by this node
+        long id = getMeterIds(deviceId).allocateReserved(() -> reserveMeterIds(deviceId, maxMeters));
+        // No value below the max, cannot proceed
+        if (id < 0) {
             return null;
         }
         // Done, return the value
@@ -457,8 +588,45 @@ public class DistributedMeterStore extends AbstractStore<MeterEvent, MeterStoreD
         if (meterIdGenerators.get(deviceId) < meterId.id()) {
             return;
         }
+        DeviceMeterIds ids = getMeterIds(deviceId);
+        // Not allocated yet out of the block reserved by this node
+        if (ids.isReserved(meterId.id())) {
+            return;
+        }
         // Update the availability
-        updateMeterIdAvailability(deviceId, meterId, true);
+        if (updateMeterIdAvailability(deviceId, meterId, true)) {
+            ids.setFree(meterId.id(), true);
+        }
+    }
+
+    private class InternalSetEventListener implements SetEventListener<MeterKey> {
+        @Override
+        public void event(SetEvent<MeterKey> event) {
+            MeterKey key = event.entry();
+            getMeterIds(key.deviceId()).setFree(key.meterId().id(), event.type() == SetEvent.Type.ADD);
+        }
+    }
+
+    private class InternalReservationListener implements MapEventListener<NodeId, Map<DeviceId, long[]>> {
+        @Override
+        public void event(MapEvent<NodeId, Map<DeviceId, long[]>> event) {
+            // Another node reclaimed the identifiers reserved by this one
+            if (event.type() == MapEvent.Type.REMOVE && local.equals(event.key())) {
+                meterIds.values().forEach(DeviceMeterIds::releaseReserved);
+            }
+        }
+    }
+
+    private class InternalClusterListener implements ClusterEventListener {
+        @Override
+        public void event(ClusterEvent event) {
+            NodeId nodeId = event.subject().id();
+            // A deactivated node may only be partitioned away, and still
+            // allocate the identifiers it reserved: wait for its removal
+            if (!local.equals(nodeId) && event.type() == ClusterEvent.Type.INSTANCE_REMOVED) {
+                reclaimExecutor.execute(() -> reclaimMeterIds(nodeId));
+            }
+        }
     }
 
     private class InternalMapEventListener implements MapEventListener<MeterKey, MeterData> {
@@ -467,6 +635,19 @@ public class DistributedMeterStore extends AbstractStore<MeterEvent, MeterStoreD
             MeterKey key = event.key();
             Versioned<MeterData> value = event.type() == MapEvent.Type.REMOVE ? event.oldValue() : event.newValue();
             MeterData data = value.value();
+            if (event.type() == MapEvent.Type.REMOVE) {
+                // Keep a version without value while seeding, so that the
+                // removed meter is not indexed again from a stale snapshot
+                getDeviceMeters(key.deviceId()).compute(key, (k, current) -> {
+                    if (current != null && current.version() > value.version()) {
+                        return current;
+                    }
+                    return seeding ? new Versioned<>(null, value.version()) : null;
+                });
+            } else {
+                getDeviceMeters(key.deviceId()).merge(key, value, (current, update) ->
+                        current.version() > update.version() ? current : update);
+            }
             NodeId master = mastershipService.getMasterFor(data.meter().deviceId());
             switch (event.type()) {
                 case INSERT:
@@ -47,6 +47,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -234,16 +235,8 @@ public class ConsistentResourceStore extends AbstractStore<ResourceEvent, Resour
 
             TransactionalDiscreteResourceSubStore discreteTxStore = discreteStore.transactional(tx);
             TransactionalContinuousResourceSubStore continuousTxStore = continuousStore.transactional(tx);
-            for (Resource resource : resources) {
-                if (resource instanceof DiscreteResource) {
-                    if (!discreteTxStore.allocate(consumer.consumerId(), (DiscreteResource) resource)) {
-                        return abortTransaction(tx);
-                    }
-                } else if (resource instanceof ContinuousResource) {
-                    if (!continuousTxStore.allocate(consumer.consumerId(), (ContinuousResource) resource)) {
-                        return abortTransaction(tx);
-                    }
-                }
+            if (!allocate(discreteTxStore, continuousTxStore, consumer.consumerId(), resources)) {
+                return abortTransaction(tx);
             }
 
             try {
@@ -257,6 +250,51 @@ public class ConsistentResourceStore extends AbstractStore<ResourceEvent, Resour
         }
     }
 
+    // Allocates the requests of all consumers in a single transaction. A request which can't be
+    // satisfied is left out of the transaction instead of failing the requests of the others.
+    @Override
+    public Set<ResourceConsumer> allocate(Map<ResourceConsumer, List<? extends Resource>> requests) {
+        checkNotNull(requests);
+
+        while (true) {
+            TransactionContext tx = service.transactionContextBuilder().build();
+            tx.begin();
+
+            TransactionalDiscreteResourceSubStore discreteTxStore = discreteStore.transactional(tx);
+            TransactionalContinuousResourceSubStore continuousTxStore = continuousStore.transactional(tx);
+            Set<ResourceConsumer> allocated = new LinkedHashSet<>();
+            for (Map.Entry<ResourceConsumer, List<? extends Resource>> entry : requests.entrySet()) {
+                ResourceConsumer consumer = entry.getKey();
+                if (!canAllocate(discreteTxStore, continuousTxStore, entry.getValue())) {
+                    log.trace("Skipping allocation of {} to {}", entry.getValue(), consumer);
+                    continue;
+                }
+
+                if (!allocate(discreteTxStore, continuousTxStore, consumer.consumerId(), entry.getValue())) {
+                    // the request has been partially written to the transaction,
+                    // so fall back to allocating each request on its own
+                    tx.abort();
+                    return ResourceStore.super.allocate(requests);
+                }
+                allocated.add(consumer);
+            }
+
+            if (allocated.isEmpty()) {
+                tx.abort();
+                return allocated;
+            }
+
+            try {
+                if (commitTransaction(tx) == CommitStatus.SUCCESS) {
+                    return allocated;
+                }
+            } catch (InterruptedException | ExecutionException | TimeoutException e) {
+                log.warn("Failed to allocate resources for {} consumers: {}", requests.size(), e);
+                return ImmutableSet.of();
+            }
+        }
+    }
+
     @Override
     public boolean release(List<ResourceAllocation> allocations) {
         checkNotNull(allocations);
@@ -379,6 +417,59 @@ public class ConsistentResourceStore extends AbstractStore<ResourceEvent, Resour
         return false;
     }
 
+    /**
+     * Allocates the resources to the consumer within the transaction.
+     *
+     * @param discreteTxStore   transactional discrete substore
+     * @param continuousTxStore transactional continuous substore
+     * @param consumerId        ID of the consumer the resources are allocated to
+     * @param resources         resources to be allocated
+     * @return true if all the resources were allocated, false otherwise
+     */
+    private boolean allocate(TransactionalDiscreteResourceSubStore discreteTxStore,
+                             TransactionalContinuousResourceSubStore continuousTxStore,
+                             ResourceConsumerId consumerId, List<? extends Resource> resources) {
+        for (Resource resource : resources) {
+            if (resource instanceof DiscreteResource) {
+                if (!discreteTxStore.allocate(consumerId, (DiscreteResource) resource)) {
+                    return false;
+                }
+            } else if (resource instanceof ContinuousResource) {
+                if (!continuousTxStore.allocate(consumerId, (ContinuousResource) resource)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks, without writing to the transaction, whether all the resources can be allocated.
+     *
+     * @param discreteTxStore   transactional discrete substore
+     * @param continuousTxStore transactional continuous substore
+     * @param resources         resources to be allocated
+     * @return true if every resource is available, false otherwise
+     */
+    private boolean canAllocate(TransactionalDiscreteResourceSubStore discreteTxStore,
+                                TransactionalContinuousResourceSubStore continuousTxStore,
+                                List<? extends Resource> resources) {
+        Set<ResourceId> requested = new HashSet<>();
+        for (Resource resource : resources) {
+            // the same discrete resource can't be allocated twice
+            if (resource instanceof DiscreteResource) {
+                if (!requested.add(resource.id()) || !discreteTxStore.canAllocate((DiscreteResource) resource)) {
+                    return false;
+                }
+            } else if (resource instanceof ContinuousResource) {
+                if (!continuousTxStore.canAllocate((ContinuousResource) resource)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
     /**
      * Appends the values to the existing values associated with the specified key.
      * If the map already has all the given values, appending will not happen.
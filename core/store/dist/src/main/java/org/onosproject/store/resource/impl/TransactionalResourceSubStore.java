@@ -62,6 +62,15 @@ interface TransactionalResourceSubStore<T extends ResourceId, U extends Resource
      */
     boolean isAllocated(T resourceId);
 
+    /**
+     * Returns a boolean indicating whether the given resource can be allocated
+     * without modifying the substore.
+     *
+     * @param resource the resource
+     * @return indicates whether an allocation of the resource would succeed
+     */
+    boolean canAllocate(U resource);
+
     /**
      * Allocates the given resource for the given consumer.
      *
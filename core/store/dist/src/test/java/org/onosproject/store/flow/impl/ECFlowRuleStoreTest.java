@@ -41,8 +41,10 @@ import org.onosproject.net.flow.FlowEntry;
 import org.onosproject.net.flow.DefaultFlowRule;
 import org.onosproject.net.flow.oldbatch.FlowRuleBatchOperation;
 import org.onosproject.net.intent.IntentTestsMocks;
+import org.onosproject.persistence.PersistenceService;
 import org.onosproject.store.cluster.messaging.ClusterCommunicationServiceAdapter;
 import org.onosproject.store.persistence.PersistenceServiceAdapter;
+import org.onosproject.store.persistence.TestPersistenceService;
 import org.onosproject.store.service.AsyncConsistentMap;
 import org.onosproject.store.service.AsyncConsistentMapAdapter;
 import org.onosproject.store.service.ConsistentMap;
@@ -50,6 +52,8 @@ import org.onosproject.store.service.ConsistentMapBuilder;
 import org.onosproject.store.service.TestStorageService;
 
 import org.onlab.packet.Ip4Address;
+import java.util.Dictionary;
+import java.util.Hashtable;
 import java.util.Iterator;
 import java.util.Optional;
 
@@ -65,6 +69,7 @@ import static org.hamcrest.Matchers.notNullValue;
 import static org.junit.Assert.assertEquals;
 import static org.onosproject.net.NetTestTools.APP_ID;
 import static org.onosproject.net.NetTestTools.did;
+import static org.onosproject.store.OsgiPropertyConstants.EC_FLOW_RULE_STORE_PERSISTENCE_ENABLED;
 
 /**
  * Test class for ECFlowRuleStore.
@@ -160,7 +165,12 @@ public class ECFlowRuleStoreTest {
 
     @Before
     public void setUp() throws Exception {
-        flowStoreImpl = new ECFlowRuleStore();
+        flowStoreImpl = createStore(new PersistenceServiceAdapter());
+        flowStoreImpl.activate(context);
+    }
+
+    private ECFlowRuleStore createStore(PersistenceService persistenceService) {
+        ECFlowRuleStore flowStoreImpl = new ECFlowRuleStore();
         flowStoreImpl.storageService = new TestStorageService() {
             @Override
             public <K, V> ConsistentMapBuilder<K, V> consistentMapBuilder() {
@@ -196,8 +206,8 @@ public class ECFlowRuleStoreTest {
         flowStoreImpl.deviceService = new DeviceServiceAdapter();
         flowStoreImpl.coreService = new CoreServiceAdapter();
         flowStoreImpl.configService = new ComponentConfigAdapter();
-        flowStoreImpl.persistenceService = new PersistenceServiceAdapter();
-        flowStoreImpl.activate(context);
+        flowStoreImpl.persistenceService = persistenceService;
+        return flowStoreImpl;
     }
 
     @After
@@ -310,4 +320,31 @@ public class ECFlowRuleStoreTest {
         }
         assertThat(sum3, is(0));
     }
+
+    /**
+     * Tests that the flows of a store are restored from its snapshot.
+     */
+    @Test
+    public void testRestoreFromSnapshot() {
+        ComponentContext persistentContext = createMock(ComponentContext.class);
+        Dictionary<String, Object> properties = new Hashtable<>();
+        properties.put(EC_FLOW_RULE_STORE_PERSISTENCE_ENABLED, "true");
+        expect(persistentContext.getProperties()).andReturn(properties).anyTimes();
+        replay(persistentContext);
+        PersistenceService persistenceService = new TestPersistenceService();
+
+        ECFlowRuleStore store = createStore(persistenceService);
+        store.activate(persistentContext);
+        store.addOrUpdateFlowRule(new DefaultFlowEntry(flowRule));
+        store.deactivate(persistentContext);
+
+        ECFlowRuleStore restored = createStore(persistenceService);
+        restored.activate(persistentContext);
+        try {
+            assertThat(restored.getFlowEntry(flowRule), notNullValue());
+            assertThat(restored.getFlowRuleCount(deviceId), is(1));
+        } finally {
+            restored.deactivate(persistentContext);
+        }
+    }
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.group.impl;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Before;
+import org.junit.Test;
+import org.onosproject.core.DefaultApplicationId;
+import org.onosproject.core.GroupId;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.flow.DefaultTrafficTreatment;
+import org.onosproject.net.group.DefaultGroup;
+import org.onosproject.net.group.DefaultGroupBucket;
+import org.onosproject.net.group.DefaultGroupDescription;
+import org.onosproject.net.group.DefaultGroupKey;
+import org.onosproject.net.group.GroupBuckets;
+import org.onosproject.net.group.GroupKey;
+import org.onosproject.net.group.StoredGroupEntry;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.onosproject.net.group.GroupDescription.Type.INDIRECT;
+
+/**
+ * Distributed group store local table tests.
+ */
+public class DeviceGroupTableTest {
+
+    private static final DeviceId DEVICE_ID = DeviceId.deviceId("of:1");
+    private static final GroupBuckets BUCKETS = new GroupBuckets(ImmutableList.of(
+            DefaultGroupBucket.createIndirectGroupBucket(DefaultTrafficTreatment.emptyTreatment())));
+
+    private DeviceGroupTable table;
+
+    @Before
+    public void setUp() {
+        table = new DeviceGroupTable();
+    }
+
+    private static StoredGroupEntry group(int id, String key) {
+        GroupKey appCookie = new DefaultGroupKey(key.getBytes());
+        return new DefaultGroup(new GroupId(id), new DefaultGroupDescription(
+                DEVICE_ID, INDIRECT, BUCKETS, appCookie, id, new DefaultApplicationId(1, "test")));
+    }
+
+    /**
+     * Tests that the groups are indexed by id and app cookie.
+     */
+    @Test
+    public void testIndexes() {
+        StoredGroupEntry group1 = group(1, "one");
+        StoredGroupEntry group2 = group(2, "two");
+        table.put(group1);
+        table.put(group2);
+
+        assertThat(table.size(), is(2));
+        assertThat(table.get(new GroupId(1)), is(group1));
+        assertThat(table.get(new DefaultGroupKey("two".getBytes())), is(group2));
+
+        // the same id with another cookie replaces the group
+        StoredGroupEntry group3 = group(1, "three");
+        table.put(group3);
+        assertThat(table.size(), is(2));
+        assertThat(table.get(new DefaultGroupKey("one".getBytes())), nullValue());
+        assertThat(table.get(new DefaultGroupKey("three".getBytes())), is(group3));
+
+        assertThat(table.remove(group3), is(true));
+        assertThat(table.remove(group3), is(false));
+        assertThat(table.get(new GroupId(1)), nullValue());
+        assertThat(table.get(new DefaultGroupKey("three".getBytes())), nullValue());
+    }
+
+    /**
+     * Tests that the allocated ids skip the ids in use and the reserved ones.
+     */
+    @Test
+    public void testAllocateId() {
+        for (int id = 1; id <= 100; id++) {
+            table.put(group(id, "group" + id));
+        }
+        table.put(group(0x40000001, "flood"));
+
+        assertThat(table.allocateId(id -> false), is(101));
+        assertThat(table.allocateId(id -> id == 102), is(103));
+
+        // removed ids are not reused before wrapping around
+        table.remove(table.get(new GroupId(50)));
+        assertThat(table.allocateId(id -> false), is(104));
+    }
+}
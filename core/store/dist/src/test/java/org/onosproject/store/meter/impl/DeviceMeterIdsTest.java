@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.meter.impl;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+/**
+ * Distributed meter store local id allocator tests.
+ */
+public class DeviceMeterIdsTest {
+
+    private DeviceMeterIds ids;
+
+    @Before
+    public void setUp() {
+        ids = new DeviceMeterIds();
+    }
+
+    /**
+     * Tests that the smallest free id is reused first, across pages.
+     */
+    @Test
+    public void testFreeId() {
+        assertThat(ids.freeId(false), is(-1L));
+
+        ids.setFree(10000, true);
+        ids.setFree(70, true);
+        ids.setFree(5, true);
+        assertThat(ids.freeId(false), is(5L));
+
+        ids.setFree(5, false);
+        assertThat(ids.freeId(false), is(70L));
+        ids.setFree(70, false);
+        assertThat(ids.freeId(false), is(10000L));
+
+        assertThat(ids.freeId(true), is(10000L));
+        ids.setFree(10000, false);
+        assertThat(ids.freeId(true), is(-1L));
+    }
+
+    /**
+     * Tests that new ids are handed out of the reserved blocks, reserving a
+     * new block only once the current one is exhausted.
+     */
+    @Test
+    public void testAllocateReserved() {
+        AtomicInteger reservations = new AtomicInteger();
+        long[][] blocks = {{1, 2}, {5, 5}};
+
+        assertThat(ids.allocateReserved(() -> blocks[reservations.getAndIncrement()]), is(1L));
+        assertThat(ids.isReserved(2), is(true));
+        assertThat(ids.isReserved(1), is(false));
+        assertThat(ids.allocateReserved(() -> blocks[reservations.getAndIncrement()]), is(2L));
+        assertThat(reservations.get(), is(1));
+
+        assertThat(ids.allocateReserved(() -> blocks[reservations.getAndIncrement()]), is(5L));
+        assertThat(ids.allocateReserved(() -> null), is(-1L));
+        assertThat(ids.releaseReserved(), nullValue());
+    }
+
+    /**
+     * Tests that the reserved ids not allocated yet can be given up.
+     */
+    @Test
+    public void testReleaseReserved() {
+        ids.allocateReserved(() -> new long[]{1, 32});
+
+        long[] released = ids.releaseReserved();
+        assertThat(released[0], is(2L));
+        assertThat(released[1], is(32L));
+        assertThat(ids.isReserved(2), is(false));
+        assertThat(ids.releaseReserved(), nullValue());
+    }
+}
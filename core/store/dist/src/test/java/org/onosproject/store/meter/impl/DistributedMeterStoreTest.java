@@ -18,6 +18,7 @@ package org.onosproject.store.meter.impl;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.Futures;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -25,6 +26,8 @@ import org.onlab.junit.TestUtils;
 import org.onlab.packet.IpAddress;
 import org.onlab.util.KryoNamespace;
 import org.onosproject.TestApplicationId;
+import org.onosproject.cluster.ClusterEvent;
+import org.onosproject.cluster.ClusterEventListener;
 import org.onosproject.cluster.ClusterServiceAdapter;
 import org.onosproject.cluster.ControllerNode;
 import org.onosproject.cluster.DefaultControllerNode;
@@ -47,17 +50,22 @@ import org.onosproject.net.meter.MeterFeaturesKey;
 import org.onosproject.net.meter.MeterId;
 import org.onosproject.net.meter.MeterKey;
 import org.onosproject.net.meter.MeterState;
+import org.onosproject.store.service.ConsistentMap;
+import org.onosproject.store.service.DistributedSet;
 import org.onosproject.store.service.Serializer;
 import org.onosproject.store.service.TestStorageService;
 
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.*;
+import static org.onlab.junit.TestTools.assertAfter;
 import static org.onosproject.net.NetTestTools.APP_ID;
 import static org.onosproject.net.NetTestTools.did;
 
@@ -68,12 +76,14 @@ public class DistributedMeterStoreTest {
 
     // Test node id
     private static final NodeId NID_LOCAL = new NodeId("local");
+    private static final NodeId NID_REMOTE = new NodeId("remote");
 
     // Test ip address
     private static final IpAddress LOCALHOST = IpAddress.valueOf("127.0.0.1");
 
     // Store under testing
     private DistributedMeterStore meterStore;
+    private TestClusterService clusterService = new TestClusterService();
 
     // Device ids used during the tests
     private DeviceId did1 = did("1");
@@ -127,7 +137,7 @@ public class DistributedMeterStoreTest {
         meterStore = new DistributedMeterStore();
         // Let's initialize some internal services
         TestUtils.setField(meterStore, "storageService", new TestStorageService());
-        TestUtils.setField(meterStore, "clusterService", new TestClusterService());
+        TestUtils.setField(meterStore, "clusterService", clusterService);
         TestUtils.setField(meterStore, "mastershipService", new TestMastershipService());
         TestUtils.setField(meterStore, "driverService", new TestDriverService());
 
@@ -408,10 +418,88 @@ public class DistributedMeterStoreTest {
         assertNull(meterStore.getMeter(keyOne));
     }
 
+    /**
+     * Test purge of the meters of a device.
+     */
+    @Test
+    public void testPurgeMeter() {
+        // Init the store
+        initMeterStore();
+        // Simulate the allocation of an id
+        MeterId idOne = meterStore.allocateMeterId(did1);
+        // Verify the allocation
+        assertThat(mid1, is(idOne));
+        // Let's create a meter
+        Meter meterOne = DefaultMeter.builder()
+                .forDevice(did1)
+                .fromApp(APP_ID)
+                .withId(mid1)
+                .withUnit(Meter.Unit.KB_PER_SEC)
+                .withBands(Collections.singletonList(b1))
+                .build();
+        // Set the state
+        ((DefaultMeter) meterOne).setState(MeterState.PENDING_ADD);
+        // Store the meter
+        meterStore.storeMeter(meterOne);
+        // Verify the store
+        assertThat(1, is(meterStore.getAllMeters(did1).size()));
+        assertThat(0, is(meterStore.getAllMeters(did2).size()));
+        // Purge the meters of the device
+        meterStore.purgeMeter(did1);
+        // Verify purge
+        assertThat(0, is(meterStore.getAllMeters().size()));
+        assertThat(0, is(meterStore.getAllMeters(did1).size()));
+        assertThat(mid1, is(meterStore.allocateMeterId(did1)));
+    }
+
+    /**
+     * Test reclaim of the meter ids reserved by a node removed from the cluster.
+     */
+    @Test
+    public void testReclaimReservedIds() {
+        // Init the store
+        initMeterStore();
+        // Reserve the ids of device 1 and store a meter with the first one
+        assertThat(mid1, is(meterStore.allocateMeterId(did1)));
+        Meter meterOne = DefaultMeter.builder()
+                .forDevice(did1)
+                .fromApp(APP_ID)
+                .withId(mid1)
+                .withUnit(Meter.Unit.KB_PER_SEC)
+                .withBands(Collections.singletonList(b1))
+                .build();
+        ((DefaultMeter) meterOne).setState(MeterState.PENDING_ADD);
+        meterStore.storeMeter(meterOne);
+        // Hand the reservation over to a remote node, as if it made it
+        ConsistentMap<NodeId, Map<DeviceId, long[]>> reservations =
+                TestUtils.getField(meterStore, "meterIdReservations");
+        reservations.put(NID_REMOTE, reservations.get(NID_LOCAL).value());
+        reservations.remove(NID_LOCAL);
+        // The remaining ids are reserved by the remote node
+        assertNull(meterStore.allocateMeterId(did1));
+        // A deactivated node may still allocate its ids
+        clusterService.listener.event(new ClusterEvent(ClusterEvent.Type.INSTANCE_DEACTIVATED,
+                                                       new DefaultControllerNode(NID_REMOTE, LOCALHOST)));
+        ExecutorService reclaimExecutor = TestUtils.getField(meterStore, "reclaimExecutor");
+        Futures.getUnchecked(reclaimExecutor.submit(() -> { }));
+        assertTrue(reservations.containsKey(NID_REMOTE));
+        assertNull(meterStore.allocateMeterId(did1));
+        // Let the remote node leave
+        clusterService.listener.event(new ClusterEvent(ClusterEvent.Type.INSTANCE_REMOVED,
+                                                       new DefaultControllerNode(NID_REMOTE, LOCALHOST)));
+        DistributedSet<MeterKey> availableMeterIds = TestUtils.getField(meterStore, "availableMeterIds");
+        assertAfter(1000, () -> assertTrue(availableMeterIds.contains(MeterKey.key(did1, mid2))));
+        // Only the unused id is reclaimed
+        assertFalse(reservations.containsKey(NID_REMOTE));
+        assertThat(mid2, is(meterStore.allocateMeterId(did1)));
+        assertNull(meterStore.allocateMeterId(did1));
+    }
+
     // Test cluster service
     private final class TestClusterService extends ClusterServiceAdapter {
 
         private ControllerNode local = new DefaultControllerNode(NID_LOCAL, LOCALHOST);
+        private ClusterEventListener listener;
 
         @Override
         public ControllerNode getLocalNode() {
@@ -423,6 +511,11 @@ public class DistributedMeterStoreTest {
             return Sets.newHashSet();
         }
 
+        @Override
+        public void addListener(ClusterEventListener listener) {
+            this.listener = listener;
+        }
+
     }
 
     // Test mastership service
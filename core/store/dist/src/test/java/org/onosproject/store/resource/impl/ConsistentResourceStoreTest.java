@@ -0,0 +1,148 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.resource.impl;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Before;
+import org.junit.Test;
+import org.onlab.packet.VlanId;
+import org.onlab.util.Bandwidth;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.PortNumber;
+import org.onosproject.net.intent.IntentId;
+import org.onosproject.net.resource.ContinuousResource;
+import org.onosproject.net.resource.DiscreteResource;
+import org.onosproject.net.resource.Resource;
+import org.onosproject.net.resource.ResourceAllocation;
+import org.onosproject.net.resource.ResourceConsumer;
+import org.onosproject.net.resource.Resources;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of the batched allocation of the consistent resource store.
+ */
+public class ConsistentResourceStoreTest {
+
+    private static final DeviceId DID = DeviceId.deviceId("test:1");
+    private static final PortNumber PORT = PortNumber.portNumber(1);
+
+    private static final ResourceConsumer C0 = IntentId.valueOf(0);
+    private static final ResourceConsumer C1 = IntentId.valueOf(1);
+    private static final ResourceConsumer C2 = IntentId.valueOf(2);
+    private static final ResourceConsumer C3 = IntentId.valueOf(3);
+    private static final ResourceConsumer C4 = IntentId.valueOf(4);
+
+    private TestTransactionalStorageService service;
+    private ConsistentResourceStore store;
+
+    @Before
+    public void setUp() {
+        service = new TestTransactionalStorageService();
+        store = new ConsistentResourceStore();
+        store.service = service;
+        store.activate();
+
+        assertTrue(store.register(ImmutableList.of(Resources.discrete(DID).resource())));
+        assertTrue(store.register(ImmutableList.of(Resources.discrete(DID, PORT).resource())));
+        assertTrue(store.register(ImmutableList.of(vlan(1), vlan(2), vlan(3), vlan(4), bandwidth(100))));
+    }
+
+    /**
+     * Tests that the requests which can't be satisfied are left out while
+     * the others are allocated together.
+     */
+    @Test
+    public void testPartialAllocation() {
+        assertTrue(store.allocate(ImmutableList.of(vlan(1)), C0));
+
+        Map<ResourceConsumer, List<? extends Resource>> requests = new LinkedHashMap<>();
+        requests.put(C1, ImmutableList.of(vlan(1)));
+        requests.put(C2, ImmutableList.of(vlan(2), vlan(2)));
+        requests.put(C3, ImmutableList.of(vlan(3)));
+        requests.put(C4, ImmutableList.of(vlan(4), bandwidth(10)));
+        int commits = service.commits();
+
+        assertEquals(ImmutableSet.of(C3, C4), store.allocate(requests));
+        assertEquals(1, service.commits() - commits);
+
+        assertEquals(ImmutableList.of(new ResourceAllocation(vlan(1), C0)),
+                     store.getResourceAllocations(vlan(1).id()));
+        assertTrue(store.isAvailable(vlan(2)));
+        assertTrue(store.getResources(C1).isEmpty());
+        assertTrue(store.getResources(C2).isEmpty());
+        assertEquals(ImmutableSet.of(vlan(3)), ImmutableSet.copyOf(store.getResources(C3)));
+        assertEquals(ImmutableSet.of(vlan(4), bandwidth(10)), ImmutableSet.copyOf(store.getResources(C4)));
+    }
+
+    /**
+     * Tests that a request found satisfiable but failing once written to the
+     * transaction makes the batch fall back to one allocation per consumer.
+     */
+    @Test
+    public void testFallbackAllocation() {
+        // each half fits, but not both
+        Map<ResourceConsumer, List<? extends Resource>> requests = new LinkedHashMap<>();
+        requests.put(C1, ImmutableList.of(vlan(1)));
+        requests.put(C2, ImmutableList.of(bandwidth(60), bandwidth(60)));
+        requests.put(C3, ImmutableList.of(vlan(2), bandwidth(30)));
+
+        assertEquals(ImmutableSet.of(C1, C3), store.allocate(requests));
+
+        assertEquals(ImmutableSet.of(vlan(1)), ImmutableSet.copyOf(store.getResources(C1)));
+        assertTrue(store.getResources(C2).isEmpty());
+        assertEquals(ImmutableSet.of(vlan(2), bandwidth(30)), ImmutableSet.copyOf(store.getResources(C3)));
+        assertTrue(store.isAvailable(bandwidth(70)));
+        assertFalse(store.isAvailable(bandwidth(71)));
+    }
+
+    /**
+     * Tests that a batch whose commit conflicts with a concurrent allocation
+     * is retried against the updated allocations.
+     */
+    @Test
+    public void testConflictRetry() {
+        Map<ResourceConsumer, List<? extends Resource>> requests = new LinkedHashMap<>();
+        requests.put(C1, ImmutableList.of(vlan(1)));
+        requests.put(C2, ImmutableList.of(vlan(2)));
+        service.beforeNextCommit(() -> assertTrue(store.allocate(ImmutableList.of(vlan(1)), C0)));
+        int commits = service.commits();
+
+        assertEquals(ImmutableSet.of(C2), store.allocate(requests));
+        // the conflicting commit, the concurrent one and the retry
+        assertEquals(3, service.commits() - commits);
+
+        assertEquals(ImmutableList.of(new ResourceAllocation(vlan(1), C0)),
+                     store.getResourceAllocations(vlan(1).id()));
+        assertTrue(store.getResources(C1).isEmpty());
+        assertEquals(ImmutableSet.of(vlan(2)), ImmutableSet.copyOf(store.getResources(C2)));
+    }
+
+    private static DiscreteResource vlan(int vlan) {
+        return Resources.discrete(DID, PORT, VlanId.vlanId((short) vlan)).resource();
+    }
+
+    private static ContinuousResource bandwidth(double bps) {
+        return Resources.continuous(DID, PORT, Bandwidth.class).resource(bps);
+    }
+}
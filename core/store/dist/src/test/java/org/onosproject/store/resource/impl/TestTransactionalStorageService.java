@@ -0,0 +1,240 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.resource.impl;
+
+import com.google.common.collect.Maps;
+import org.onosproject.store.primitives.TransactionId;
+import org.onosproject.store.service.CommitStatus;
+import org.onosproject.store.service.ConsistentMap;
+import org.onosproject.store.service.ConsistentMapBuilder;
+import org.onosproject.store.service.Serializer;
+import org.onosproject.store.service.TestConsistentMap;
+import org.onosproject.store.service.TestStorageService;
+import org.onosproject.store.service.TransactionContext;
+import org.onosproject.store.service.TransactionContextBuilder;
+import org.onosproject.store.service.TransactionalMap;
+import org.onosproject.store.service.Versioned;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Storage service whose consistent maps are shared by name and whose
+ * transactions are optimistic: a transaction fails to commit if any entry it
+ * read has been updated since.
+ */
+class TestTransactionalStorageService extends TestStorageService {
+
+    private final Map<String, ConsistentMap<?, ?>> maps = Maps.newConcurrentMap();
+    private final AtomicInteger transactions = new AtomicInteger();
+    private final AtomicInteger commits = new AtomicInteger();
+    private final AtomicReference<Runnable> beforeCommit = new AtomicReference<>();
+
+    /**
+     * Returns the number of commits attempted so far.
+     *
+     * @return number of commits
+     */
+    int commits() {
+        return commits.get();
+    }
+
+    /**
+     * Runs the given task, once, right before the next commit is validated,
+     * as a concurrent update would.
+     *
+     * @param task task to run
+     */
+    void beforeNextCommit(Runnable task) {
+        beforeCommit.set(task);
+    }
+
+    @Override
+    public <K, V> ConsistentMapBuilder<K, V> consistentMapBuilder() {
+        return new TestConsistentMap.Builder<K, V>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public ConsistentMap<K, V> build() {
+                return (ConsistentMap<K, V>) maps.computeIfAbsent(name(), name -> super.build());
+            }
+        };
+    }
+
+    @Override
+    public TransactionContextBuilder transactionContextBuilder() {
+        return new TransactionContextBuilder() {
+            @Override
+            public TransactionContext build() {
+                return new TestTransactionContext(TransactionId.from("tx-" + transactions.incrementAndGet()));
+            }
+        };
+    }
+
+    // Applies the writes of a transaction if none of its reads is stale
+    private synchronized CommitStatus commit(Iterable<TestTransactionalMap<?, ?>> txMaps) {
+        for (TestTransactionalMap<?, ?> txMap : txMaps) {
+            if (!txMap.isCurrent()) {
+                return CommitStatus.FAILURE;
+            }
+        }
+        txMaps.forEach(TestTransactionalMap::apply);
+        return CommitStatus.SUCCESS;
+    }
+
+    private final class TestTransactionContext implements TransactionContext {
+        private final TransactionId transactionId;
+        private final Map<String, TestTransactionalMap<?, ?>> txMaps = Maps.newLinkedHashMap();
+        private boolean open;
+
+        private TestTransactionContext(TransactionId transactionId) {
+            this.transactionId = transactionId;
+        }
+
+        @Override
+        public String name() {
+            return transactionId.id();
+        }
+
+        @Override
+        public TransactionId transactionId() {
+            return transactionId;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public void begin() {
+            open = true;
+        }
+
+        @Override
+        public CompletableFuture<CommitStatus> commit() {
+            open = false;
+            commits.incrementAndGet();
+            Runnable task = beforeCommit.getAndSet(null);
+            if (task != null) {
+                task.run();
+            }
+            return CompletableFuture.completedFuture(TestTransactionalStorageService.this.commit(txMaps.values()));
+        }
+
+        @Override
+        public void abort() {
+            open = false;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <K, V> TransactionalMap<K, V> getTransactionalMap(String mapName, Serializer serializer) {
+            return (TransactionalMap<K, V>) txMaps.computeIfAbsent(mapName, name -> new TestTransactionalMap<>(
+                    (ConsistentMap<K, V>) maps.get(name)));
+        }
+    }
+
+    // Records the version of each entry read, and buffers the writes until commit
+    private static final class TestTransactionalMap<K, V> implements TransactionalMap<K, V> {
+        private static final long ABSENT = -1;
+
+        private final ConsistentMap<K, V> map;
+        private final Map<K, Long> reads = Maps.newHashMap();
+        private final Map<K, Optional<V>> writes = Maps.newLinkedHashMap();
+
+        private TestTransactionalMap(ConsistentMap<K, V> map) {
+            this.map = map;
+        }
+
+        private boolean isCurrent() {
+            return reads.entrySet().stream().allMatch(e -> version(map.get(e.getKey())) == e.getValue());
+        }
+
+        private void apply() {
+            writes.forEach((key, value) -> {
+                if (value.isPresent()) {
+                    map.put(key, value.get());
+                } else {
+                    map.remove(key);
+                }
+            });
+        }
+
+        private static long version(Versioned<?> versioned) {
+            return versioned == null ? ABSENT : versioned.version();
+        }
+
+        @Override
+        public V get(K key) {
+            if (writes.containsKey(key)) {
+                return writes.get(key).orElse(null);
+            }
+            Versioned<V> versioned = map.get(key);
+            reads.putIfAbsent(key, version(versioned));
+            return Versioned.valueOrNull(versioned);
+        }
+
+        @Override
+        public boolean containsKey(K key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public V put(K key, V value) {
+            V oldValue = get(key);
+            writes.put(key, Optional.of(value));
+            return oldValue;
+        }
+
+        @Override
+        public V remove(K key) {
+            V oldValue = get(key);
+            writes.put(key, Optional.empty());
+            return oldValue;
+        }
+
+        @Override
+        public V putIfAbsent(K key, V value) {
+            V oldValue = get(key);
+            if (oldValue == null) {
+                writes.put(key, Optional.of(value));
+            }
+            return oldValue;
+        }
+
+        @Override
+        public boolean remove(K key, V value) {
+            if (!Objects.equals(get(key), value)) {
+                return false;
+            }
+            writes.put(key, Optional.empty());
+            return true;
+        }
+
+        @Override
+        public boolean replace(K key, V oldValue, V newValue) {
+            if (!Objects.equals(get(key), oldValue)) {
+                return false;
+            }
+            writes.put(key, Optional.of(newValue));
+            return true;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.persistence.impl;
+
+import org.onosproject.persistence.PersistentSnapshot;
+import org.onosproject.persistence.PersistentSnapshotBuilder;
+import org.onosproject.store.service.Serializer;
+
+import java.nio.file.Path;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Default builder for persistent snapshots stored in memory-mapped files via the persistence service.
+ */
+public class DefaultPersistentSnapshotBuilder<K, V> implements PersistentSnapshotBuilder<K, V> {
+
+    private static final String SNAPSHOT_SUFFIX = ".snapshot";
+
+    private final Path directory;
+
+    private String name = null;
+
+    private Serializer serializer = null;
+
+    public DefaultPersistentSnapshotBuilder(Path directory) {
+        checkNotNull(directory, "The snapshot directory cannot be null.");
+        this.directory = directory;
+    }
+
+    @Override
+    public PersistentSnapshotBuilder<K, V> withName(String name) {
+        // keeps the file name within the snapshot directory
+        this.name = checkNotNull(name).replaceAll("[^A-Za-z0-9._-]", "_");
+        return this;
+    }
+
+    @Override
+    public PersistentSnapshotBuilder<K, V> withSerializer(Serializer serializer) {
+        checkArgument(this.serializer == null);
+        checkNotNull(serializer);
+        this.serializer = serializer;
+        return this;
+    }
+
+    @Override
+    public PersistentSnapshot<K, V> build() {
+        checkNotNull(name, "The name must be assigned.");
+        checkNotNull(serializer, "The serializer must be assigned.");
+
+        return new MappedPersistentSnapshot<>(directory.resolve(name + SNAPSHOT_SUFFIX), serializer);
+    }
+}
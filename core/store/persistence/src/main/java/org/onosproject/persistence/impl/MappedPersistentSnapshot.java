@@ -0,0 +1,358 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.persistence.impl;
+
+import com.google.common.collect.Maps;
+import org.onosproject.persistence.PersistentSnapshot;
+import org.onosproject.store.service.Serializer;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * A snapshot appending its updates to a memory-mapped file.
+ * <p>
+ * The file starts with a header, followed by the records of the updates. A
+ * record holds the length and the CRC32 of its content, then its type, the
+ * serialized key and, for a put, the serialized value. The mapped region past
+ * the last record is zeroed, so a zero length ends the log; so does a record
+ * whose length or checksum is not valid, as left by an instance stopped while
+ * writing it.
+ * </p>
+ * <p>
+ * When the file is full, the log is compacted to the last update of each
+ * key, into a file twice as large if it would still be more than half full.
+ * </p>
+ */
+public class MappedPersistentSnapshot<K, V> implements PersistentSnapshot<K, V> {
+
+    static final int INITIAL_CAPACITY = 1 << 20;
+
+    private static final int MAGIC = 0x6f6e6f73;
+    private static final int VERSION = 1;
+    private static final int HEADER_LENGTH = 8;
+    // length and checksum of the record content
+    private static final int RECORD_HEADER_LENGTH = 8;
+    // type and key length
+    private static final int CONTENT_HEADER_LENGTH = 5;
+
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+
+    private final Logger log = getLogger(getClass());
+
+    private final Path path;
+    private final Serializer serializer;
+
+    private MappedByteBuffer buffer;
+    private int position;
+    private boolean closed;
+
+    /**
+     * Opens the snapshot stored in the given file, creating it if it does not
+     * exist.
+     *
+     * @param path       the snapshot file
+     * @param serializer the serializer of the keys and values
+     */
+    public MappedPersistentSnapshot(Path path, Serializer serializer) {
+        this.path = checkNotNull(path);
+        this.serializer = checkNotNull(serializer);
+        open();
+    }
+
+    @Override
+    public synchronized void put(K key, V value) {
+        checkNotNull(value);
+        append(PUT, serializer.encode(key), serializer.encode(value));
+    }
+
+    @Override
+    public synchronized void remove(K key) {
+        append(REMOVE, serializer.encode(key), null);
+    }
+
+    @Override
+    public synchronized Map<K, V> load() {
+        checkState(!closed, "Snapshot is closed");
+        Map<K, V> state = Maps.newLinkedHashMap();
+        records().forEach((key, value) -> state.put(serializer.decode(bytes(key)), serializer.decode(bytes(value))));
+        return state;
+    }
+
+    @Override
+    public synchronized void checkpoint(Map<K, V> state) {
+        checkState(!closed, "Snapshot is closed");
+        Map<ByteBuffer, ByteBuffer> records = Maps.newLinkedHashMap();
+        state.forEach((key, value) -> records.put(ByteBuffer.wrap(serializer.encode(key)),
+                                                  ByteBuffer.wrap(serializer.encode(value))));
+        rewrite(records, capacity(length(records), INITIAL_CAPACITY));
+    }
+
+    @Override
+    public synchronized void flush() {
+        if (!closed) {
+            buffer.force();
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!closed) {
+            buffer.force();
+            buffer = null;
+            closed = true;
+        }
+    }
+
+    @Override
+    public synchronized void delete() {
+        close();
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            throw new PersistenceException("Snapshot " + path + " could not be deleted.", e);
+        }
+    }
+
+    /**
+     * Maps the snapshot file, and finds the end of its log.
+     */
+    private void open() {
+        try {
+            long size = Files.exists(path) ? Files.size(path) : 0;
+            if (size < HEADER_LENGTH || size > Integer.MAX_VALUE) {
+                buffer = map(path, INITIAL_CAPACITY);
+                writeHeader(buffer);
+                position = HEADER_LENGTH;
+                return;
+            }
+            buffer = map(path, (int) size);
+        } catch (IOException e) {
+            throw new PersistenceException("Snapshot " + path + " could not be opened.", e);
+        }
+
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            log.warn("Discarding snapshot {} of unknown format", path);
+            rewrite(Maps.newLinkedHashMap(), INITIAL_CAPACITY);
+            return;
+        }
+
+        position = HEADER_LENGTH;
+        for (int next = next(position); next > 0; next = next(position)) {
+            position = next;
+        }
+        boolean torn = false;
+        for (int i = position; i < buffer.capacity(); i++) {
+            if (buffer.get(i) != 0) {
+                buffer.put(i, (byte) 0);
+                torn = true;
+            }
+        }
+        if (torn) {
+            log.warn("Discarded the partially written end of snapshot {}", path);
+        }
+    }
+
+    /**
+     * Returns the end of the record starting at the given offset.
+     *
+     * @param offset offset of the record
+     * @return offset following the record, or -1 if there is no valid record
+     * at the given offset
+     */
+    private int next(int offset) {
+        if (offset + RECORD_HEADER_LENGTH > buffer.capacity()) {
+            return -1;
+        }
+        int length = buffer.getInt(offset);
+        if (length < CONTENT_HEADER_LENGTH || length > buffer.capacity() - offset - RECORD_HEADER_LENGTH) {
+            return -1;
+        }
+        if (buffer.getInt(offset + Integer.BYTES) != checksum(slice(buffer, offset + RECORD_HEADER_LENGTH, length))) {
+            return -1;
+        }
+        return offset + RECORD_HEADER_LENGTH + length;
+    }
+
+    /**
+     * Replays the log.
+     *
+     * @return the last serialized value of each serialized key
+     */
+    private Map<ByteBuffer, ByteBuffer> records() {
+        Map<ByteBuffer, ByteBuffer> records = Maps.newLinkedHashMap();
+        int offset = HEADER_LENGTH;
+        while (offset < position) {
+            int length = buffer.getInt(offset);
+            int content = offset + RECORD_HEADER_LENGTH;
+            byte type = buffer.get(content);
+            int keyLength = buffer.getInt(content + 1);
+            ByteBuffer key = slice(buffer, content + CONTENT_HEADER_LENGTH, keyLength);
+            if (type == PUT) {
+                records.put(key, slice(buffer, content + CONTENT_HEADER_LENGTH + keyLength,
+                                       length - CONTENT_HEADER_LENGTH - keyLength));
+            } else {
+                records.remove(key);
+            }
+            offset = content + length;
+        }
+        return records;
+    }
+
+    private void append(byte type, byte[] key, byte[] value) {
+        checkState(!closed, "Snapshot is closed");
+        int length = RECORD_HEADER_LENGTH + CONTENT_HEADER_LENGTH + key.length + (value != null ? value.length : 0);
+        if (position + length > buffer.capacity()) {
+            compact(length);
+        }
+        position = write(buffer, position, type, ByteBuffer.wrap(key), value != null ? ByteBuffer.wrap(value) : null);
+    }
+
+    /**
+     * Compacts the log, growing the file so that it remains at most half
+     * full after the next record.
+     *
+     * @param length length of the next record
+     */
+    private void compact(int length) {
+        Map<ByteBuffer, ByteBuffer> records = records();
+        // the records are copied before the file they are read from is replaced
+        Map<ByteBuffer, ByteBuffer> copies = Maps.newLinkedHashMap();
+        records.forEach((key, value) -> copies.put(copy(key), copy(value)));
+        rewrite(copies, capacity(length(copies) + length, buffer.capacity()));
+    }
+
+    /**
+     * Writes the given records to a new snapshot file, which then replaces
+     * the current one.
+     *
+     * @param records  serialized keys and values
+     * @param capacity size of the new file
+     */
+    private void rewrite(Map<ByteBuffer, ByteBuffer> records, int capacity) {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            Files.deleteIfExists(temporary);
+            MappedByteBuffer next = map(temporary, capacity);
+            writeHeader(next);
+            int offset = HEADER_LENGTH;
+            for (Map.Entry<ByteBuffer, ByteBuffer> record : records.entrySet()) {
+                offset = write(next, offset, PUT, record.getKey(), record.getValue());
+            }
+            next.force();
+            Files.move(temporary, path, REPLACE_EXISTING, ATOMIC_MOVE);
+            buffer = next;
+            position = offset;
+        } catch (IOException e) {
+            throw new PersistenceException("Snapshot " + path + " could not be written.", e);
+        }
+    }
+
+    /**
+     * Writes a record, its length last so that the record is only valid once
+     * fully written.
+     */
+    private static int write(ByteBuffer buffer, int offset, byte type, ByteBuffer key, ByteBuffer value) {
+        int keyLength = key.remaining();
+        int length = CONTENT_HEADER_LENGTH + keyLength + (value != null ? value.remaining() : 0);
+        int content = offset + RECORD_HEADER_LENGTH;
+
+        ByteBuffer out = buffer.duplicate();
+        out.position(content);
+        out.put(type);
+        out.putInt(keyLength);
+        out.put(key.duplicate());
+        if (value != null) {
+            out.put(value.duplicate());
+        }
+        buffer.putInt(offset + Integer.BYTES, checksum(slice(buffer, content, length)));
+        buffer.putInt(offset, length);
+        return content + length;
+    }
+
+    private static void writeHeader(ByteBuffer buffer) {
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+    }
+
+    private static MappedByteBuffer map(Path path, int capacity) throws IOException {
+        // the mapping remains valid once the channel is closed
+        try (FileChannel channel = FileChannel.open(path, CREATE, READ, WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        }
+    }
+
+    private static long length(Map<ByteBuffer, ByteBuffer> records) {
+        long length = HEADER_LENGTH;
+        for (Map.Entry<ByteBuffer, ByteBuffer> record : records.entrySet()) {
+            length += RECORD_HEADER_LENGTH + CONTENT_HEADER_LENGTH +
+                    record.getKey().remaining() + record.getValue().remaining();
+        }
+        return length;
+    }
+
+    private int capacity(long length, int minimum) {
+        long capacity = minimum;
+        while (length > capacity / 2) {
+            capacity *= 2;
+        }
+        if (capacity > Integer.MAX_VALUE) {
+            throw new PersistenceException("Snapshot " + path + " exceeds the maximum size.");
+        }
+        return (int) capacity;
+    }
+
+    private static int checksum(ByteBuffer content) {
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        return (int) crc.getValue();
+    }
+
+    private static ByteBuffer slice(ByteBuffer buffer, int offset, int length) {
+        ByteBuffer slice = buffer.duplicate();
+        slice.limit(offset + length);
+        slice.position(offset);
+        return slice.slice();
+    }
+
+    private static ByteBuffer copy(ByteBuffer buffer) {
+        return ByteBuffer.wrap(bytes(buffer));
+    }
+
+    private static byte[] bytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+}
@@ -28,4 +28,14 @@ public class PersistenceException extends RuntimeException {
     public PersistenceException(String s) {
         super(s);
     }
+
+    /**
+     * Throws an exception with the specified message and cause.
+     *
+     * @param s     message for exception
+     * @param cause cause of the exception
+     */
+    public PersistenceException(String s, Throwable cause) {
+        super(s, cause);
+    }
 }
@@ -21,6 +21,7 @@ import org.mapdb.DBMaker;
 import org.onosproject.persistence.PersistenceService;
 import org.onosproject.persistence.PersistentMapBuilder;
 import org.onosproject.persistence.PersistentSetBuilder;
+import org.onosproject.persistence.PersistentSnapshotBuilder;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
@@ -40,8 +41,8 @@ import static org.onosproject.security.AppPermission.Type.PERSISTENCE_WRITE;
 import static org.slf4j.LoggerFactory.getLogger;
 
 /**
- * Service that maintains local disk backed maps and sets.
- * This implementation automatically deletes empty structures on shutdown.
+ * Service that maintains local disk backed maps, sets and snapshots.
+ * This implementation automatically deletes empty maps and sets on shutdown.
  */
 @Component(immediate = true, service = PersistenceService.class)
 public class PersistenceManager implements PersistenceService {
@@ -51,6 +52,8 @@ public class PersistenceManager implements PersistenceService {
 
     private static final String DATABASE_PATH = "cache";
 
+    private static final String SNAPSHOT_PATH = "snapshots";
+
     static final String MAP_PREFIX = "map:";
     static final String SET_PREFIX = "set:";
 
@@ -58,6 +61,8 @@ public class PersistenceManager implements PersistenceService {
 
     private DB localDB = null;
 
+    private Path snapshotPath;
+
     private static final int FLUSH_FREQUENCY_MILLIS = 3000;
 
     private Timer timer;
@@ -90,6 +95,14 @@ public class PersistenceManager implements PersistenceService {
         } else {
             log.info("A previous database file has been found.");
         }
+        snapshotPath = dbFolderPath.toPath().resolve(SNAPSHOT_PATH);
+        try {
+            Files.createDirectories(snapshotPath);
+        } catch (IOException e) {
+            log.error("Could not create the required folder for the snapshots.");
+            throw new PersistenceException("Snapshot folder could not be created.");
+        }
+
         localDB = DBMaker.newFileDB(dbPath.toFile())
                 .asyncWriteEnable()
                 .closeOnJvmShutdown()
@@ -137,6 +150,12 @@ public class PersistenceManager implements PersistenceService {
         return new DefaultPersistentSetBuilder<>(localDB);
     }
 
+    @Override
+    public <K, V> PersistentSnapshotBuilder<K, V> persistentSnapshotBuilder() {
+        checkPermission(PERSISTENCE_WRITE);
+        return new DefaultPersistentSnapshotBuilder<>(snapshotPath);
+    }
+
     private class CommitTask extends TimerTask {
 
         @Override
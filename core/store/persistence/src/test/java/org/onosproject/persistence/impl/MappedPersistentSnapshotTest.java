@@ -0,0 +1,169 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.persistence.impl;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.onosproject.store.serializers.KryoNamespaces;
+import org.onosproject.store.service.Serializer;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test suite for the memory-mapped persistent snapshot.
+ */
+public class MappedPersistentSnapshotTest {
+
+    private static final Serializer SERIALIZER = Serializer.using(KryoNamespaces.BASIC);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path path;
+
+    @Before
+    public void setUp() throws Exception {
+        path = folder.getRoot().toPath().resolve("test.snapshot");
+    }
+
+    private MappedPersistentSnapshot<String, Integer> open() {
+        return new MappedPersistentSnapshot<>(path, SERIALIZER);
+    }
+
+    /**
+     * Tests that the recorded updates are restored when reopening the snapshot.
+     */
+    @Test
+    public void testReopen() {
+        MappedPersistentSnapshot<String, Integer> snapshot = open();
+        snapshot.put("a", 1);
+        snapshot.put("b", 2);
+        snapshot.put("a", 3);
+        snapshot.remove("b");
+        snapshot.put("c", 4);
+        assertEquals(ImmutableMap.of("a", 3, "c", 4), snapshot.load());
+        snapshot.close();
+
+        snapshot = open();
+        assertEquals(ImmutableMap.of("a", 3, "c", 4), snapshot.load());
+        snapshot.put("b", 5);
+        snapshot.close();
+
+        assertEquals(ImmutableMap.of("a", 3, "c", 4, "b", 5), open().load());
+    }
+
+    /**
+     * Tests that updates of the same keys are compacted instead of growing the file.
+     */
+    @Test
+    public void testCompaction() throws Exception {
+        MappedPersistentSnapshot<String, Integer> snapshot = open();
+        int count = MappedPersistentSnapshot.INITIAL_CAPACITY / 4;
+        for (int i = 0; i < count; i++) {
+            snapshot.put("key" + (i % 10), i);
+        }
+        snapshot.close();
+
+        assertEquals(MappedPersistentSnapshot.INITIAL_CAPACITY, Files.size(path));
+        Map<String, Integer> state = open().load();
+        assertEquals(10, state.size());
+        assertEquals(Integer.valueOf(count - 1), state.get("key" + ((count - 1) % 10)));
+    }
+
+    /**
+     * Tests that the file grows when the distinct keys do not fit in it.
+     */
+    @Test
+    public void testGrowth() throws Exception {
+        MappedPersistentSnapshot<String, Integer> snapshot = open();
+        int count = MappedPersistentSnapshot.INITIAL_CAPACITY / 16;
+        for (int i = 0; i < count; i++) {
+            snapshot.put("key" + i, i);
+        }
+        snapshot.close();
+
+        assertTrue(Files.size(path) > MappedPersistentSnapshot.INITIAL_CAPACITY);
+        Map<String, Integer> state = open().load();
+        assertEquals(count, state.size());
+        assertEquals(Integer.valueOf(count - 1), state.get("key" + (count - 1)));
+    }
+
+    /**
+     * Tests that a partially written record is discarded.
+     */
+    @Test
+    public void testPartiallyWrittenRecord() throws Exception {
+        MappedPersistentSnapshot<String, Integer> snapshot = open();
+        snapshot.put("a", 1);
+        snapshot.put("b", 2);
+        snapshot.close();
+
+        // corrupts the value of the last record
+        byte[] bytes = Files.readAllBytes(path);
+        int last = bytes.length - 1;
+        while (bytes[last] == 0) {
+            last--;
+        }
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(last);
+            file.write(bytes[last] + 1);
+        }
+
+        snapshot = open();
+        assertEquals(ImmutableMap.of("a", 1), snapshot.load());
+        snapshot.put("c", 3);
+        snapshot.close();
+        assertEquals(ImmutableMap.of("a", 1, "c", 3), open().load());
+    }
+
+    /**
+     * Tests that a checkpoint replaces the recorded updates.
+     */
+    @Test
+    public void testCheckpoint() {
+        MappedPersistentSnapshot<String, Integer> snapshot = open();
+        snapshot.put("a", 1);
+        snapshot.checkpoint(ImmutableMap.of("b", 2, "c", 3));
+        snapshot.remove("c");
+        snapshot.close();
+
+        assertEquals(ImmutableMap.of("b", 2), open().load());
+    }
+
+    /**
+     * Tests that a deleted snapshot is removed from the disk.
+     */
+    @Test
+    public void testDelete() {
+        MappedPersistentSnapshot<String, Integer> snapshot = open();
+        snapshot.put("a", 1);
+        snapshot.delete();
+
+        assertFalse(Files.exists(path));
+        assertTrue(open().load().isEmpty());
+    }
+}
@@ -53,6 +53,7 @@ import org.onlab.util.KryoNamespace;
 import org.onlab.util.SlidingWindowCounter;
 import org.onosproject.cluster.NodeId;
 import org.onosproject.persistence.PersistenceService;
+import org.onosproject.persistence.PersistentSnapshot;
 import org.onosproject.store.LogicalTimestamp;
 import org.onosproject.store.Timestamp;
 import org.onosproject.store.cluster.messaging.ClusterCommunicationService;
@@ -89,11 +90,14 @@ public class EventuallyConsistentMapImpl<K, V>
     private static final int WINDOW_SIZE = 5;
     private static final int HIGH_LOAD_THRESHOLD = 2;
     private static final int LOAD_WINDOW = 2;
+    private static final long CHECKPOINT_PERIOD_MILLIS = 1000;
 
     private final Map<K, MapValue<V>> items;
     private final ClusterCommunicationService clusterCommunicator;
     private final Serializer serializer;
     private final PersistenceService persistenceService;
+    private final PersistentSnapshot<K, MapValue<V>> snapshot;
+    private final Set<K> dirtyKeys = Sets.newConcurrentHashSet();
     private final BiFunction<K, V, Timestamp> timestampProvider;
     private final MessageSubject bootstrapMessageSubject;
     private final MessageSubject initializeMessageSubject;
@@ -174,13 +178,18 @@ public class EventuallyConsistentMapImpl<K, V>
         this.persistenceService = persistenceService;
         this.persistent =
                 persistent;
+        items = Maps.newConcurrentMap();
         if (persistent) {
-            items = this.persistenceService.<K, MapValue<V>>persistentMapBuilder()
+            snapshot = this.persistenceService.<K, MapValue<V>>persistentSnapshotBuilder()
                     .withName(mapName)
                     .withSerializer(this.serializer)
                     .build();
+            items.putAll(snapshot.load());
+            if (items.isEmpty()) {
+                importPersistentMap();
+            }
         } else {
-            items = Maps.newConcurrentMap();
+            snapshot = null;
         }
         senderPending = Maps.newConcurrentMap();
         destroyedMessage = mapName + ERROR_DESTROYED;
@@ -281,6 +290,15 @@ public class EventuallyConsistentMapImpl<K, V>
                 this.backgroundExecutor
         );
 
+        if (persistent) {
+            this.backgroundExecutor.scheduleWithFixedDelay(
+                    this::checkpoint,
+                    CHECKPOINT_PERIOD_MILLIS,
+                    CHECKPOINT_PERIOD_MILLIS,
+                    TimeUnit.MILLISECONDS
+            );
+        }
+
         if (!tombstonesDisabled) {
             previousTombstonePurgeTime = 0;
             this.backgroundExecutor.scheduleWithFixedDelay(
@@ -434,6 +452,9 @@ public class EventuallyConsistentMapImpl<K, V>
                 return existing;
             }
         });
+        if (updated.get()) {
+            markDirty(key);
+        }
         return previousValue.get();
     }
 
@@ -463,6 +484,7 @@ public class EventuallyConsistentMapImpl<K, V>
             }
         });
         if (updated.get()) {
+            markDirty(key);
             notifyPeers(new UpdateEntry<>(key, computedValue), peerUpdateFunction.apply(key, computedValue.get()));
             EventuallyConsistentMapEvent.Type updateType = computedValue.isTombstone() ? REMOVE : PUT;
             V value = computedValue.isTombstone()
@@ -532,6 +554,9 @@ public class EventuallyConsistentMapImpl<K, V>
             }
             return existing;
         });
+        if (updated.get()) {
+            markDirty(key);
+        }
         return updated.get();
     }
 
@@ -562,6 +587,11 @@ public class EventuallyConsistentMapImpl<K, V>
         backgroundExecutor.shutdown();
         communicationExecutor.shutdown();
 
+        if (persistent) {
+            checkpoint();
+            snapshot.close();
+        }
+
         listeners.clear();
 
         clusterCommunicator.removeSubscriber(bootstrapMessageSubject);
@@ -572,6 +602,56 @@ public class EventuallyConsistentMapImpl<K, V>
         return CompletableFuture.completedFuture(null);
     }
 
+    /**
+     * Imports the entries of the disk-backed map which persistent maps were
+     * kept in before snapshots, then clears it so that it is imported once.
+     */
+    private void importPersistentMap() {
+        Map<K, MapValue<V>> persistentMap = persistenceService.<K, MapValue<V>>persistentMapBuilder()
+                .withName(mapName)
+                .withSerializer(serializer)
+                .build();
+        if (persistentMap.isEmpty()) {
+            return;
+        }
+        Map<K, MapValue<V>> entries = ImmutableMap.copyOf(persistentMap);
+        snapshot.checkpoint(entries);
+        snapshot.flush();
+        items.putAll(entries);
+        persistentMap.clear();
+        log.info("Imported {} entries of {} from its persistent map", entries.size(), mapName);
+    }
+
+    private void markDirty(K key) {
+        if (persistent) {
+            dirtyKeys.add(key);
+        }
+    }
+
+    /**
+     * Records the entries updated since the last checkpoint in the snapshot.
+     */
+    private synchronized void checkpoint() {
+        try {
+            for (K key : ImmutableList.copyOf(dirtyKeys)) {
+                MapValue<V> value = items.get(key);
+                if (value != null) {
+                    snapshot.put(key, value);
+                } else {
+                    snapshot.remove(key);
+                }
+                // the key is removed once written, and marked again if the entry was updated meanwhile
+                // (updates mark their key after changing the entry)
+                dirtyKeys.remove(key);
+                if (items.get(key) != value) {
+                    dirtyKeys.add(key);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Failed to checkpoint {}", mapName, e);
+        }
+    }
+
     private void notifyListeners(EventuallyConsistentMapEvent<K, V> event) {
         listeners.forEach(listener -> listener.event(event));
     }
@@ -738,7 +818,11 @@ public class EventuallyConsistentMapImpl<K, V>
                 .filter(e -> e.getValue().creationTime() <= currentSafeTombstonePurgeTime)
                 .collect(Collectors.toList());
         previousTombstonePurgeTime = currentSafeTombstonePurgeTime;
-        tombStonesToDelete.forEach(entry -> items.remove(entry.getKey(), entry.getValue()));
+        tombStonesToDelete.forEach(entry -> {
+            if (items.remove(entry.getKey(), entry.getValue())) {
+                markDirty(entry.getKey());
+            }
+        });
     }
 
     private void processUpdates(Collection<UpdateEntry<K, V>> updates) {
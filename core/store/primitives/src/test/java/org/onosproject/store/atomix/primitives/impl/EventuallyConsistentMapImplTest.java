@@ -19,6 +19,7 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static junit.framework.TestCase.assertFalse;
 import static org.easymock.EasyMock.anyObject;
 import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.createNiceMock;
 import static org.easymock.EasyMock.eq;
 import static org.easymock.EasyMock.expect;
 import static org.easymock.EasyMock.expectLastCall;
@@ -143,11 +144,18 @@ public class EventuallyConsistentMapImplTest {
 
         clockService = new SequentialClockService<>();
 
+        ecMap = buildMap(clusterCommunicator);
+
+        // Reset ready for tests to add their own expectations
+        reset(clusterCommunicator);
+    }
+
+    private EventuallyConsistentMap<String, String> buildMap(ClusterCommunicationService clusterCommunicator) {
         KryoNamespace.Builder serializer = KryoNamespace.newBuilder()
                 .register(KryoNamespaces.API)
                 .register(TestTimestamp.class);
 
-        ecMap = new EventuallyConsistentMapBuilderImpl<String, String>(
+        return new EventuallyConsistentMapBuilderImpl<String, String>(
                 NodeId.nodeId("0"),
                 clusterCommunicator,
                 persistenceService,
@@ -160,9 +168,6 @@ public class EventuallyConsistentMapImplTest {
                 .withCommunicationExecutor(MoreExecutors.newDirectExecutorService())
                 .withPersistence()
                 .build();
-
-        // Reset ready for tests to add their own expectations
-        reset(clusterCommunicator);
     }
 
     @After
@@ -677,6 +682,65 @@ public class EventuallyConsistentMapImplTest {
         }
     }
 
+    @Test
+    public void testRestoreFromSnapshot() throws Exception {
+        expectPeerMessage(clusterCommunicator);
+
+        ecMap.put(KEY1, VALUE1);
+        ecMap.put(KEY2, VALUE2);
+        ecMap.remove(KEY2);
+
+        reset(clusterCommunicator);
+        ecMap.destroy();
+
+        // the map built again under the same name starts from the last checkpoint
+        ClusterCommunicationService restoredCommunicator = createNiceMock(ClusterCommunicationService.class);
+        replay(restoredCommunicator);
+        EventuallyConsistentMap<String, String> restored = buildMap(restoredCommunicator);
+        try {
+            assertEquals(VALUE1, restored.get(KEY1));
+            assertNull(restored.get(KEY2));
+            assertEquals(1, restored.size());
+        } finally {
+            restored.destroy();
+        }
+    }
+
+    @Test
+    public void testImportPersistentMap() throws Exception {
+        reset(clusterCommunicator);
+        ecMap.destroy();
+
+        // entries persisted before snapshots are imported by a map with no snapshot
+        Map<String, MapValue<String>> persistentMap =
+                persistenceService.<String, MapValue<String>>persistentMapBuilder()
+                .withName(MAP_NAME)
+                .build();
+        persistentMap.put(KEY1, new MapValue<>(VALUE1, clockService.getTimestamp(KEY1, VALUE1)));
+        persistentMap.put(KEY2, MapValue.tombstone(clockService.getTimestamp(KEY2, null)));
+
+        ClusterCommunicationService restoredCommunicator = createNiceMock(ClusterCommunicationService.class);
+        replay(restoredCommunicator);
+        EventuallyConsistentMap<String, String> restored = buildMap(restoredCommunicator);
+        try {
+            assertEquals(VALUE1, restored.get(KEY1));
+            assertNull(restored.get(KEY2));
+            assertEquals(1, restored.size());
+            assertTrue(persistentMap.isEmpty());
+        } finally {
+            restored.destroy();
+        }
+
+        // and are restored from the snapshot afterwards
+        restored = buildMap(restoredCommunicator);
+        try {
+            assertEquals(VALUE1, restored.get(KEY1));
+            assertEquals(1, restored.size());
+        } finally {
+            restored.destroy();
+        }
+    }
+
     private UpdateEntry<String, String> generatePutMessage(String key, String value, Timestamp timestamp) {
         return new UpdateEntry<>(key, new MapValue<>(value, timestamp));
     }
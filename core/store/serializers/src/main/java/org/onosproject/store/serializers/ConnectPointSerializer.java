@@ -15,6 +15,8 @@
  */
 package org.onosproject.store.serializers;
 
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import org.onosproject.net.ConnectPoint;
 import org.onosproject.net.ElementId;
 import org.onosproject.net.PortNumber;
@@ -28,6 +30,9 @@ import com.esotericsoftware.kryo.io.Output;
  */
 public class ConnectPointSerializer extends Serializer<ConnectPoint> {
 
+    // Canonical instances of the deserialized connect points
+    private static final Interner<ConnectPoint> INTERNER = Interners.newWeakInterner();
+
     /**
      * Creates {@link ConnectPointSerializer} serializer instance.
      */
@@ -46,6 +51,11 @@ public class ConnectPointSerializer extends Serializer<ConnectPoint> {
     public ConnectPoint read(Kryo kryo, Input input, Class<ConnectPoint> type) {
         ElementId elementId = (ElementId) kryo.readClassAndObject(input);
         PortNumber portNumber = (PortNumber) kryo.readClassAndObject(input);
-        return new ConnectPoint(elementId, portNumber);
+        ConnectPoint connectPoint = new ConnectPoint(elementId, portNumber);
+        ConnectPoint canonical = INTERNER.intern(connectPoint);
+        // element id and port number are interned themselves, unless they
+        // differ from the canonical ones by case or by name
+        return canonical.elementId() == elementId && canonical.port() == portNumber ?
+                canonical : connectPoint;
     }
 }
@@ -236,6 +236,14 @@ public class KryoSerializerTest {
         testSerializedEquals(new ConnectPoint(DID1, P1));
     }
 
+    @Test
+    public void testInternedConnectPoint() {
+        ConnectPoint copy = serializer.decode(serializer.encode(CP1));
+        assertSame(DID1, copy.deviceId());
+        assertSame(P1, copy.port());
+        assertSame(copy, serializer.decode(serializer.encode(CP1)));
+    }
+
     @Test
     public void testDefaultLink() {
         testSerializedEquals(DefaultLink.builder()
@@ -37,11 +37,13 @@ import org.onosproject.net.PortNumber;
 import org.onosproject.net.behaviour.NextGroup;
 import org.onosproject.net.behaviour.Pipeliner;
 import org.onosproject.net.behaviour.PipelinerContext;
+import org.onosproject.net.behaviour.PipelinerFlowBatch;
 import org.onosproject.net.driver.AbstractHandlerBehaviour;
 import org.onosproject.net.flow.DefaultFlowRule;
 import org.onosproject.net.flow.DefaultTrafficSelector;
 import org.onosproject.net.flow.DefaultTrafficTreatment;
 import org.onosproject.net.flow.FlowRule;
+import org.onosproject.net.flow.FlowRuleOperation;
 import org.onosproject.net.flow.FlowRuleOperations;
 import org.onosproject.net.flow.FlowRuleOperationsContext;
 import org.onosproject.net.flow.FlowRuleService;
@@ -238,6 +240,39 @@ public class SpringOpenTTP extends AbstractHandlerBehaviour
 
     }
 
+    @Override
+    public void forward(List<ForwardingObjective> fwds) {
+        PipelinerFlowBatch batch = new PipelinerFlowBatch();
+        for (ForwardingObjective fwd : fwds) {
+            Collection<FlowRule> rules = processForward(fwd);
+            if (rules.isEmpty()) {
+                // failure has already been reported to the objective context
+                continue;
+            }
+            List<FlowRule> flows = rules.stream().filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+            switch (fwd.op()) {
+            case ADD:
+                batch.add(fwd, FlowRuleOperation.Type.ADD, flows);
+                break;
+            case REMOVE:
+                batch.add(fwd, FlowRuleOperation.Type.REMOVE, flows);
+                break;
+            default:
+                fail(fwd, ObjectiveError.UNKNOWN);
+                log.warn("Unknown forwarding type {}", fwd.op());
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            batch.apply(flowRuleService, this::pass, (fwd, error) -> {
+                fail(fwd, error);
+                log.warn("Failed to provision tables in {} with "
+                        + "forwarding rules of {}", deviceId, fwd.id());
+            });
+        }
+    }
+
     @Override
     public void next(NextObjective nextObjective) {
         NextGroup nextGroup = flowObjectiveStore.getNextGroup(nextObjective.id());
@@ -15,10 +15,6 @@
  */
 package org.onosproject.driver.pipeline.ofdpa;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.RemovalCause;
-import com.google.common.cache.RemovalNotification;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
@@ -78,7 +74,6 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -86,6 +81,7 @@ import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 import static org.onlab.util.Tools.groupedThreads;
@@ -114,16 +110,22 @@ public class Ofdpa2GroupHandler {
     // index number for group creation
     private AtomicCounter nextIndex;
     protected DeviceId deviceId;
-    Cache<GroupKey, List<OfdpaGroupHandlerUtility.OfdpaNextGroup>> pendingAddNextObjectives;
-    Cache<NextObjective, List<GroupKey>> pendingRemoveNextObjectives;
-    Cache<GroupKey, Set<OfdpaGroupHandlerUtility.GroupChainElem>> pendingGroups;
+    // pending operations indexed by the group they wait on, and processed
+    // as soon as the group event for that group is received
+    ConcurrentHashMap<GroupKey, List<OfdpaGroupHandlerUtility.OfdpaNextGroup>> pendingAddNextObjectives;
+    ConcurrentHashMap<NextObjective, Set<GroupKey>> pendingRemoveNextObjectives;
+    ConcurrentHashMap<GroupKey, Set<NextObjective>> pendingRemoveGroups;
+    ConcurrentHashMap<GroupKey, Set<OfdpaGroupHandlerUtility.GroupChainElem>> pendingGroups;
     ConcurrentHashMap<GroupKey, Set<NextObjective>> pendingUpdateNextObjectives;
     // local store for pending bucketAdds - by design there can be multiple
     // pending bucket for a group
     protected ConcurrentHashMap<Integer, Set<NextObjective>> pendingBuckets =
             new ConcurrentHashMap<>();
-    private ScheduledExecutorService groupCheckerExecutor =
-            Executors.newScheduledThreadPool(2, groupedThreads("onos/pipeliner", "ofdpa-%d", log));
+    // time allowed to the groups of a pending operation to be processed
+    private static final long PENDING_TIMEOUT_SECONDS = 20;
+    private long pendingTimeoutMillis = TimeUnit.SECONDS.toMillis(PENDING_TIMEOUT_SECONDS);
+    private ScheduledExecutorService pendingTimeoutExecutor =
+            Executors.newSingleThreadScheduledExecutor(groupedThreads("onos/pipeliner", "ofdpa-%d", log));
     /**
      * Determines whether this pipeline support copy ttl instructions or not.
      *
@@ -163,6 +165,10 @@ public class Ofdpa2GroupHandler {
         return true;
     }
 
+    void setupPendingTimeoutForTests(long timeoutMillis) {
+        pendingTimeoutMillis = timeoutMillis;
+    }
+
     public void init(DeviceId deviceId, PipelinerContext context) {
         ServiceDirectory serviceDirectory = context.directory();
         this.deviceId = deviceId;
@@ -171,37 +177,11 @@ public class Ofdpa2GroupHandler {
         this.storageService = serviceDirectory.get(StorageService.class);
         this.nextIndex = storageService.getAtomicCounter("group-id-index-counter");
 
-        pendingAddNextObjectives = CacheBuilder.newBuilder()
-                .expireAfterWrite(20, TimeUnit.SECONDS)
-                .removalListener((RemovalNotification<GroupKey, List<OfdpaNextGroup>> notification) -> {
-                    if (notification.getCause() == RemovalCause.EXPIRED &&
-                            Objects.nonNull(notification.getValue())) {
-                        notification.getValue()
-                                .forEach(ofdpaNextGrp ->
-                                                 fail(ofdpaNextGrp.nextObjective(),
-                                                      ObjectiveError.GROUPINSTALLATIONFAILED));
-                    }
-                }).build();
-
-        pendingRemoveNextObjectives = CacheBuilder.newBuilder()
-                .expireAfterWrite(20, TimeUnit.SECONDS)
-                .removalListener((RemovalNotification<NextObjective, List<GroupKey>> notification) -> {
-                    if (notification.getCause() == RemovalCause.EXPIRED) {
-                        fail(notification.getKey(),
-                                            ObjectiveError.GROUPREMOVALFAILED);
-                    }
-                }).build();
-        pendingGroups = CacheBuilder.newBuilder()
-                .expireAfterWrite(20, TimeUnit.SECONDS)
-                .removalListener((RemovalNotification<GroupKey, Set<GroupChainElem>> notification) -> {
-                    if (notification.getCause() == RemovalCause.EXPIRED) {
-                        log.error("Unable to install group with key {} and pending GCEs: {}",
-                                  notification.getKey(), notification.getValue());
-                    }
-                }).build();
+        pendingAddNextObjectives = new ConcurrentHashMap<>();
+        pendingRemoveNextObjectives = new ConcurrentHashMap<>();
+        pendingRemoveGroups = new ConcurrentHashMap<>();
+        pendingGroups = new ConcurrentHashMap<>();
         pendingUpdateNextObjectives = new ConcurrentHashMap<>();
-        GroupChecker groupChecker = new GroupChecker(this);
-        groupCheckerExecutor.scheduleAtFixedRate(groupChecker, 0, 500, TimeUnit.MILLISECONDS);
         groupService.addListener(new InnerGroupListener());
     }
 
@@ -1819,7 +1799,7 @@ public class Ofdpa2GroupHandler {
                 + "for next id {} in device {}",
                 Integer.toHexString(modGroup.id().id()),
                 pointedGroupIds, nextObjective.id(), deviceId);
-        addPendingUpdateNextObjective(modGroupKey, nextObjective);
+        addPendingUpdateNextObjective(modGroupKey, nextObjective, removeBuckets);
         groupService.removeBucketsFromGroup(deviceId, modGroupKey,
                                             removeBuckets, modGroupKey,
                                             nextObjective.appId());
@@ -2234,27 +2214,46 @@ public class Ofdpa2GroupHandler {
     //////////////////////////////////////
 
     protected void updatePendingNextObjective(GroupKey groupKey, OfdpaNextGroup nextGrp) {
-        pendingAddNextObjectives.asMap().compute(groupKey, (k, val) -> {
+        pendingAddNextObjectives.compute(groupKey, (k, val) -> {
             if (val == null) {
                 val = new CopyOnWriteArrayList<>();
             }
             val.add(nextGrp);
             return val;
         });
+        pendingTimeoutExecutor.schedule(() -> {
+            if (removePending(pendingAddNextObjectives, groupKey, nextGrp)) {
+                fail(nextGrp.nextObjective(), ObjectiveError.GROUPINSTALLATIONFAILED);
+            }
+        }, pendingTimeoutMillis, TimeUnit.MILLISECONDS);
+        // the group may have been installed before the registration
+        if (isGroupInstalled(groupKey)) {
+            processPendingAddGroupsOrNextObjs(groupKey, false);
+        }
     }
 
     protected void updatePendingGroups(GroupKey groupKey, GroupChainElem gce) {
-        pendingGroups.asMap().compute(groupKey, (k, val) -> {
+        pendingGroups.compute(groupKey, (k, val) -> {
             if (val == null) {
                 val = Sets.newConcurrentHashSet();
             }
             val.add(gce);
             return val;
         });
+        pendingTimeoutExecutor.schedule(() -> {
+            if (removePending(pendingGroups, groupKey, gce)) {
+                log.error("Unable to install group with key {} and pending GCE: {}",
+                          groupKey, gce);
+            }
+        }, pendingTimeoutMillis, TimeUnit.MILLISECONDS);
+        if (isGroupInstalled(groupKey)) {
+            processPendingAddGroupsOrNextObjs(groupKey, false);
+        }
     }
 
     protected void addPendingUpdateNextObjective(GroupKey groupKey,
-                                                 NextObjective nextObjective) {
+                                                 NextObjective nextObjective,
+                                                 GroupBuckets removedBuckets) {
         pendingUpdateNextObjectives.compute(groupKey, (gKey, nextObjs) -> {
             if (nextObjs != null) {
                 nextObjs.add(nextObjective);
@@ -2263,11 +2262,44 @@ public class Ofdpa2GroupHandler {
             }
             return nextObjs;
         });
+        pendingTimeoutExecutor.schedule(() -> {
+            if (removePending(pendingUpdateNextObjectives, groupKey, nextObjective)) {
+                fail(nextObjective, ObjectiveError.GROUPINSTALLATIONFAILED);
+            }
+        }, pendingTimeoutMillis, TimeUnit.MILLISECONDS);
+        // the group store raises no event for an update which changes no
+        // bucket, as when the buckets have already been removed
+        Group group = groupService.getGroup(deviceId, groupKey);
+        if (group != null && group.state() == Group.GroupState.ADDED &&
+                removedBuckets.buckets().stream().noneMatch(group.buckets().buckets()::contains)) {
+            processPendingUpdateNextObjs(groupKey);
+        }
     }
 
     protected void addPendingRemoveNextObjective(NextObjective nextObjective,
                                                  List<GroupKey> groupKeys) {
-        pendingRemoveNextObjectives.put(nextObjective, groupKeys);
+        if (groupKeys.isEmpty()) {
+            pass(nextObjective);
+            return;
+        }
+        pendingRemoveNextObjectives.put(nextObjective, Sets.newConcurrentHashSet(groupKeys));
+        groupKeys.forEach(groupKey -> pendingRemoveGroups.compute(groupKey, (k, val) -> {
+            if (val == null) {
+                val = Sets.newHashSet();
+            }
+            val.add(nextObjective);
+            return val;
+        }));
+        pendingTimeoutExecutor.schedule(() -> {
+            if (pendingRemoveNextObjectives.remove(nextObjective) != null) {
+                groupKeys.forEach(groupKey -> removePending(pendingRemoveGroups, groupKey, nextObjective));
+                fail(nextObjective, ObjectiveError.GROUPREMOVALFAILED);
+            }
+        }, pendingTimeoutMillis, TimeUnit.MILLISECONDS);
+        // the groups may have been removed before the registration
+        groupKeys.stream()
+                .filter(groupKey -> groupService.getGroup(deviceId, groupKey) == null)
+                .forEach(this::processPendingRemoveNextObjs);
     }
 
     protected int getNextAvailableIndex() {
@@ -2286,18 +2318,27 @@ public class Ofdpa2GroupHandler {
     }
 
     protected void processPendingRemoveNextObjs(GroupKey key) {
-        pendingRemoveNextObjectives.asMap().forEach((nextObjective, groupKeys) -> {
+        Set<NextObjective> nextObjs = pendingRemoveGroups.remove(key);
+        if (nextObjs == null) {
+            return;
+        }
+        nextObjs.forEach(nextObjective -> {
+            Set<GroupKey> groupKeys = pendingRemoveNextObjectives.get(nextObjective);
+            if (groupKeys == null) {
+                return;
+            }
             groupKeys.remove(key);
-            if (groupKeys.isEmpty()) {
-                pendingRemoveNextObjectives.invalidate(nextObjective);
+            // only one of the removals racing for the last groups passes
+            if (groupKeys.isEmpty() && pendingRemoveNextObjectives.remove(nextObjective, groupKeys)) {
                 pass(nextObjective);
             }
         });
     }
 
     protected void processPendingAddGroupsOrNextObjs(GroupKey key, boolean added) {
-        //first check for group chain
-        Set<OfdpaGroupHandlerUtility.GroupChainElem> gceSet = pendingGroups.asMap().remove(key);
+        // first check for group chains waiting on this group; taking them
+        // out of the index ensures each of them is processed only once
+        Set<OfdpaGroupHandlerUtility.GroupChainElem> gceSet = pendingGroups.remove(key);
         if (gceSet != null) {
             for (GroupChainElem gce : gceSet) {
                 log.debug("Group service {} group key {} in device {}. "
@@ -2307,34 +2348,66 @@ public class Ofdpa2GroupHandler {
                           Integer.toHexString(gce.groupDescription().givenGroupId()));
                 processGroupChain(gce);
             }
-        } else {
-            // otherwise chain complete - check for waiting nextObjectives
-            List<OfdpaGroupHandlerUtility.OfdpaNextGroup> nextGrpList =
-                    pendingAddNextObjectives.getIfPresent(key);
-            if (nextGrpList != null) {
-                pendingAddNextObjectives.invalidate(key);
-                nextGrpList.forEach(nextGrp -> {
-                    log.debug("Group service {} group key {} in device:{}. "
-                                      + "Done implementing next objective: {} <<-->> gid:0x{}",
-                              (added) ? "ADDED" : "processed",
-                              key, deviceId, nextGrp.nextObjective().id(),
-                              Integer.toHexString(groupService.getGroup(deviceId, key)
-                                                          .givenGroupId()));
-                    pass(nextGrp.nextObjective());
-                    updateFlowObjectiveStore(nextGrp.nextObjective().id(), nextGrp);
-
-                    // check if addBuckets waiting for this completion
-                    pendingBuckets.compute(nextGrp.nextObjective().id(), (nextId, pendBkts) -> {
-                        if (pendBkts != null) {
-                            pendBkts.forEach(pendBkt -> addBucketToGroup(pendBkt, nextGrp));
-                        }
-                        return null;
-                    });
+        }
+        // then check for nextObjectives whose chain is complete with this group
+        List<OfdpaGroupHandlerUtility.OfdpaNextGroup> nextGrpList =
+                pendingAddNextObjectives.remove(key);
+        if (nextGrpList != null) {
+            Group group = groupService.getGroup(deviceId, key);
+            nextGrpList.forEach(nextGrp -> {
+                log.debug("Group service {} group key {} in device:{}. "
+                                  + "Done implementing next objective: {} <<-->> gid:0x{}",
+                          (added) ? "ADDED" : "processed",
+                          key, deviceId, nextGrp.nextObjective().id(),
+                          group == null ? null : Integer.toHexString(group.givenGroupId()));
+                pass(nextGrp.nextObjective());
+                updateFlowObjectiveStore(nextGrp.nextObjective().id(), nextGrp);
+
+                // check if addBuckets waiting for this completion
+                pendingBuckets.compute(nextGrp.nextObjective().id(), (nextId, pendBkts) -> {
+                    if (pendBkts != null) {
+                        pendBkts.forEach(pendBkt -> addBucketToGroup(pendBkt, nextGrp));
+                    }
+                    return null;
                 });
-            }
+            });
         }
     }
 
+    /**
+     * Returns whether the group with the given key is installed in the device,
+     * including while its buckets are being updated.
+     *
+     * @param key group key
+     * @return true if the group is installed
+     */
+    private boolean isGroupInstalled(GroupKey key) {
+        Group group = groupService.getGroup(deviceId, key);
+        return group != null && (group.state() == Group.GroupState.ADDED ||
+                group.state() == Group.GroupState.PENDING_UPDATE);
+    }
+
+    /**
+     * Removes a pending operation waiting on a group, unless it has already
+     * been processed.
+     *
+     * @param pending index of the pending operations by group key
+     * @param key     key of the group the operation waits on
+     * @param value   pending operation
+     * @param <T>     type of pending operation
+     * @param <C>     type of collection of pending operations
+     * @return true if the operation was still pending
+     */
+    private static <T, C extends Collection<T>> boolean removePending(ConcurrentHashMap<GroupKey, C> pending,
+                                                                      GroupKey key, T value) {
+        AtomicBoolean removed = new AtomicBoolean();
+        pending.computeIfPresent(key, (k, values) -> {
+            removed.set(values.remove(value));
+            return values.isEmpty() ? null : values;
+        });
+        return removed.get();
+    }
+
     /**
      * Processes next element of a group chain. Assumption is that if this
      * group points to another group, the latter has already been created
@@ -2391,6 +2464,11 @@ public class Ofdpa2GroupHandler {
     }
 
     private class InnerGroupListener implements GroupListener {
+        @Override
+        public boolean isRelevant(GroupEvent event) {
+            return deviceId.equals(event.subject().deviceId());
+        }
+
         @Override
         public void event(GroupEvent event) {
             switch (event.type()) {
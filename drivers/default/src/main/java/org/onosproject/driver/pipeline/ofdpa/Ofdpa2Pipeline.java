@@ -45,12 +45,14 @@ import org.onosproject.net.PortNumber;
 import org.onosproject.net.behaviour.NextGroup;
 import org.onosproject.net.behaviour.Pipeliner;
 import org.onosproject.net.behaviour.PipelinerContext;
+import org.onosproject.net.behaviour.PipelinerFlowBatch;
 import org.onosproject.net.device.DeviceService;
 import org.onosproject.net.driver.AbstractHandlerBehaviour;
 import org.onosproject.net.flow.DefaultFlowRule;
 import org.onosproject.net.flow.DefaultTrafficSelector;
 import org.onosproject.net.flow.DefaultTrafficTreatment;
 import org.onosproject.net.flow.FlowRule;
+import org.onosproject.net.flow.FlowRuleOperation;
 import org.onosproject.net.flow.FlowRuleOperations;
 import org.onosproject.net.flow.FlowRuleOperationsContext;
 import org.onosproject.net.flow.FlowRuleService;
@@ -102,6 +104,7 @@ import java.util.Timer;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 
 import static java.util.concurrent.Executors.newScheduledThreadPool;
 import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
@@ -335,51 +338,50 @@ public class Ofdpa2Pipeline extends AbstractHandlerBehaviour implements Pipeline
         }
     }
 
+    @Override
+    public void forward(List<ForwardingObjective> fwds) {
+        List<Pair<ForwardingObjective, Collection<FlowRule>>> pairs = Lists.newArrayList();
+        for (ForwardingObjective fwd : fwds) {
+            Collection<FlowRule> rules = processForward(fwd);
+            // As above, fail message has already been generated for empty rules
+            if (rules != null && !rules.isEmpty()) {
+                pairs.add(Pair.of(fwd, rules));
+            }
+        }
+        if (!pairs.isEmpty()) {
+            sendForwards(pairs);
+        }
+    }
+
     // Builds the batch using the accumulated flow rules
     private void sendForwards(List<Pair<ForwardingObjective, Collection<FlowRule>>> pairs) {
-        FlowRuleOperations.Builder flowOpsBuilder = FlowRuleOperations.builder();
+        PipelinerFlowBatch batch = new PipelinerFlowBatch();
         log.debug("Sending {} fwd-objs", pairs.size());
-        List<Objective> fwdObjs = Lists.newArrayList();
-        // Iterates over all accumulated flow rules and then build an unique batch
+        // Iterates over all accumulated flow rules and then build as few batches as possible
         pairs.forEach(pair -> {
             ForwardingObjective fwd = pair.getLeft();
-            Collection<FlowRule> rules = pair.getRight();
+            List<FlowRule> rules = pair.getRight().stream()
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
             switch (fwd.op()) {
                 case ADD:
-                    rules.stream()
-                            .filter(Objects::nonNull)
-                            .forEach(flowOpsBuilder::add);
+                    batch.add(fwd, FlowRuleOperation.Type.ADD, rules);
                     log.debug("Applying a add fwd-obj {} to sw:{}", fwd.id(), deviceId);
-                    fwdObjs.add(fwd);
                     break;
                 case REMOVE:
-                    rules.stream()
-                            .filter(Objects::nonNull)
-                            .forEach(flowOpsBuilder::remove);
+                    batch.add(fwd, FlowRuleOperation.Type.REMOVE, rules);
                     log.debug("Deleting a flow rule to sw:{}", deviceId);
-                    fwdObjs.add(fwd);
                     break;
                 default:
                     fail(fwd, ObjectiveError.UNKNOWN);
                     log.warn("Unknown forwarding type {}", fwd.op());
             }
         });
-        // Finally applies the operations
-        flowRuleService.apply(flowOpsBuilder.build(new FlowRuleOperationsContext() {
-
-            @Override
-            public void onSuccess(FlowRuleOperations ops) {
-                log.trace("Flow rule operations onSuccess {}", ops);
-                fwdObjs.forEach(OfdpaPipelineUtility::pass);
-            }
-
-            @Override
-            public void onError(FlowRuleOperations ops) {
-                ObjectiveError error = ObjectiveError.FLOWINSTALLATIONFAILED;
-                log.warn("Flow rule operations onError {}. Reason = {}", ops, error);
-                fwdObjs.forEach(fwdObj -> fail(fwdObj, error));
-            }
-        }));
+        // Finally applies the operations, reporting the outcome of each objective
+        batch.apply(flowRuleService, OfdpaPipelineUtility::pass, (fwdObj, error) -> {
+            log.warn("Flow rule operations of fwd-obj {} failed in sw:{}", fwdObj.id(), deviceId);
+            fail(fwdObj, error);
+        });
     }
 
     @Override
@@ -49,7 +49,6 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
 
 import static org.onosproject.driver.pipeline.ofdpa.OfdpaPipelineUtility.isNotMplsBos;
 import static org.onosproject.driver.pipeline.ofdpa.OfdpaGroupHandlerUtility.OfdpaMplsGroupSubType.OFDPA_GROUP_TYPE_SHIFT;
@@ -683,70 +682,6 @@ public final class OfdpaGroupHandlerUtility {
         }
     }
 
-    public static class GroupChecker implements Runnable {
-        final Logger log = getLogger(getClass());
-        private Ofdpa2GroupHandler groupHandler;
-
-        public GroupChecker(Ofdpa2GroupHandler groupHandler) {
-            this.groupHandler = groupHandler;
-        }
-
-        @Override
-        public void run() {
-            // GroupChecker execution needs to be protected
-            // from unhandled exceptions
-            try {
-                if (groupHandler.pendingGroups.size() != 0) {
-                    log.debug("pending groups being checked: {}",
-                              groupHandler.pendingGroups.asMap().keySet());
-                }
-                if (groupHandler.pendingAddNextObjectives.size() != 0) {
-                    log.debug("pending add-next-obj being checked: {}",
-                              groupHandler.pendingAddNextObjectives.asMap().keySet());
-                }
-                if (groupHandler.pendingRemoveNextObjectives.size() != 0) {
-                    log.debug("pending remove-next-obj being checked: {}",
-                              groupHandler.pendingRemoveNextObjectives.asMap().values());
-                }
-                if (groupHandler.pendingUpdateNextObjectives.size() != 0) {
-                    log.debug("pending update-next-obj being checked: {}",
-                              groupHandler.pendingUpdateNextObjectives.keySet());
-                }
-
-                Set<GroupKey> keys = groupHandler.pendingGroups.asMap().keySet()
-                        .stream()
-                        .filter(key -> groupHandler.groupService
-                                .getGroup(groupHandler.deviceId, key) != null)
-                        .collect(Collectors.toSet());
-                Set<GroupKey> otherkeys = groupHandler.pendingAddNextObjectives
-                        .asMap().keySet().stream()
-                        .filter(otherkey -> groupHandler.groupService
-                                .getGroup(groupHandler.deviceId, otherkey) != null)
-                        .collect(Collectors.toSet());
-                keys.addAll(otherkeys);
-                keys.forEach(key -> groupHandler.processPendingAddGroupsOrNextObjs(key, false));
-
-                keys = groupHandler.pendingUpdateNextObjectives.keySet()
-                        .stream()
-                        .filter(key -> groupHandler.groupService
-                                .getGroup(groupHandler.deviceId, key) != null)
-                        .collect(Collectors.toSet());
-                keys.forEach(key -> groupHandler.processPendingUpdateNextObjs(key));
-
-                Set<GroupKey> k = Sets.newHashSet();
-                groupHandler.pendingRemoveNextObjectives.asMap().values().forEach(keylist -> keylist.stream()
-                        .filter(key -> groupHandler.groupService.getGroup(groupHandler.deviceId, key) == null)
-                        .forEach(k::add));
-                k.forEach(key -> groupHandler.processPendingRemoveNextObjs(key));
-
-            } catch (Exception exception) {
-                // Just log. It is safe for now.
-                log.warn("Uncaught exception is detected: {}", exception.getMessage());
-                log.debug("Uncaught exception is detected (full stack trace): ", exception);
-            }
-        }
-    }
-
     /**
      * Helper method to decide whether L2 Interface group or L2 Unfiltered group needs to be created.
      * L2 Unfiltered group will be created if meta has VlanIdCriterion with VlanId.ANY, and
@@ -0,0 +1,321 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.driver.pipeline.ofdpa;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.junit.Before;
+import org.junit.Test;
+import org.onlab.osgi.ServiceDirectory;
+import org.onosproject.core.ApplicationId;
+import org.onosproject.core.DefaultApplicationId;
+import org.onosproject.core.GroupId;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.PortNumber;
+import org.onosproject.net.behaviour.PipelinerContext;
+import org.onosproject.net.flow.DefaultTrafficTreatment;
+import org.onosproject.net.flowobjective.DefaultNextObjective;
+import org.onosproject.net.flowobjective.FlowObjectiveStore;
+import org.onosproject.net.flowobjective.NextObjective;
+import org.onosproject.net.flowobjective.Objective;
+import org.onosproject.net.flowobjective.ObjectiveContext;
+import org.onosproject.net.flowobjective.ObjectiveError;
+import org.onosproject.net.group.DefaultGroup;
+import org.onosproject.net.group.DefaultGroupBucket;
+import org.onosproject.net.group.DefaultGroupDescription;
+import org.onosproject.net.group.DefaultGroupKey;
+import org.onosproject.net.group.Group;
+import org.onosproject.net.group.GroupBuckets;
+import org.onosproject.net.group.GroupDescription;
+import org.onosproject.net.group.GroupEvent;
+import org.onosproject.net.group.GroupKey;
+import org.onosproject.net.group.GroupListener;
+import org.onosproject.net.group.GroupService;
+import org.onosproject.net.group.GroupServiceAdapter;
+import org.onosproject.store.service.AtomicCounter;
+import org.onosproject.store.service.StorageService;
+import org.onosproject.store.service.StorageServiceAdapter;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.replay;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.onlab.junit.TestTools.assertAfter;
+
+/**
+ * Tests for the tracking of the group operations of the OF-DPA group handler.
+ */
+public class Ofdpa2GroupHandlerTest {
+
+    private static final ApplicationId APP_ID = new DefaultApplicationId(1, "org.onosproject.test");
+    private static final DeviceId DEV1 = DeviceId.deviceId("of:1");
+    private static final DeviceId DEV2 = DeviceId.deviceId("of:2");
+    private static final GroupKey KEY1 = new DefaultGroupKey(new byte[]{1});
+    private static final GroupKey KEY2 = new DefaultGroupKey(new byte[]{2});
+    private static final int PENDING_TIMEOUT = 100;
+    private static final int WAIT_TIME = 50;
+
+    private Ofdpa2GroupHandler groupHandler;
+    private TestGroupService groupService;
+
+    @Before
+    public void setUp() {
+        groupService = new TestGroupService();
+        FlowObjectiveStore flowObjectiveStore = createNiceMock(FlowObjectiveStore.class);
+        replay(flowObjectiveStore);
+        groupHandler = new Ofdpa2GroupHandler();
+        groupHandler.setupPendingTimeoutForTests(PENDING_TIMEOUT);
+        groupHandler.init(DEV1, new TestPipelinerContext(flowObjectiveStore));
+    }
+
+    /**
+     * Tests that a group chain proceeds on the GROUP_ADDED event of the
+     * groups it waits on, and that the next objective passes once its
+     * last group is added.
+     */
+    @Test
+    public void chainedGroupAdded() {
+        TestObjectiveContext context = new TestObjectiveContext();
+        NextObjective nextObjective = nextObjective(context);
+        GroupDescription group2 = groupDescription(KEY2, 2);
+        groupHandler.updatePendingGroups(KEY1, new OfdpaGroupHandlerUtility.GroupChainElem(group2, 1, false, DEV1));
+        groupHandler.updatePendingNextObjective(KEY2, nextGroup(nextObjective));
+        assertEquals(0, groupService.added.size());
+
+        // other devices are ignored
+        groupService.post(GroupEvent.Type.GROUP_ADDED, group(groupDescription(DEV2, KEY1, 3)));
+        assertEquals(0, groupService.added.size());
+
+        groupService.post(GroupEvent.Type.GROUP_ADDED, groupService.install(groupDescription(KEY1, 1)));
+        assertEquals(ImmutableList.of(group2), groupService.added);
+        assertNull(context.result);
+
+        groupService.post(GroupEvent.Type.GROUP_ADDED, groupService.install(group2));
+        assertEquals(Boolean.TRUE, context.result);
+    }
+
+    /**
+     * Tests that the operations waiting on groups which are already
+     * installed proceed at once.
+     */
+    @Test
+    public void alreadyInstalled() {
+        groupService.install(groupDescription(KEY1, 1));
+        GroupDescription group2 = groupDescription(KEY2, 2);
+        groupHandler.updatePendingGroups(KEY1, new OfdpaGroupHandlerUtility.GroupChainElem(group2, 1, false, DEV1));
+        assertEquals(ImmutableList.of(group2), groupService.added);
+
+        TestObjectiveContext context = new TestObjectiveContext();
+        groupHandler.updatePendingNextObjective(KEY1, nextGroup(nextObjective(context)));
+        assertEquals(Boolean.TRUE, context.result);
+    }
+
+    /**
+     * Tests that the removal of a next objective passes once all its groups
+     * are removed.
+     */
+    @Test
+    public void removal() {
+        groupService.install(groupDescription(KEY1, 1));
+        groupService.install(groupDescription(KEY2, 2));
+        TestObjectiveContext context = new TestObjectiveContext();
+        groupHandler.addPendingRemoveNextObjective(nextObjective(context), ImmutableList.of(KEY1, KEY2));
+
+        groupService.post(GroupEvent.Type.GROUP_REMOVED, groupService.uninstall(KEY1));
+        assertNull(context.result);
+        groupService.post(GroupEvent.Type.GROUP_REMOVED, groupService.uninstall(KEY2));
+        assertEquals(Boolean.TRUE, context.result);
+
+        // groups removed before the registration
+        context = new TestObjectiveContext();
+        groupHandler.addPendingRemoveNextObjective(nextObjective(context), ImmutableList.of(KEY1));
+        assertEquals(Boolean.TRUE, context.result);
+    }
+
+    /**
+     * Tests that a bucket removal passes on the GROUP_UPDATED event, or at
+     * once if the buckets are already removed, which raises no event.
+     */
+    @Test
+    public void bucketRemoval() {
+        GroupBuckets buckets = buckets(1);
+        groupService.install(new DefaultGroupDescription(DEV1, GroupDescription.Type.ALL, buckets,
+                                                         KEY1, 1, APP_ID));
+        TestObjectiveContext context = new TestObjectiveContext();
+        groupHandler.addPendingUpdateNextObjective(KEY1, nextObjective(context), buckets);
+        assertNull(context.result);
+        groupService.post(GroupEvent.Type.GROUP_UPDATED, groupService.getGroup(DEV1, KEY1));
+        assertEquals(Boolean.TRUE, context.result);
+
+        context = new TestObjectiveContext();
+        groupHandler.addPendingUpdateNextObjective(KEY1, nextObjective(context), buckets(2));
+        assertEquals(Boolean.TRUE, context.result);
+    }
+
+    /**
+     * Tests that the operations fail once the groups they wait on are not
+     * processed in time.
+     */
+    @Test
+    public void timeout() {
+        TestObjectiveContext addContext = new TestObjectiveContext();
+        groupHandler.updatePendingNextObjective(KEY1, nextGroup(nextObjective(addContext)));
+        TestObjectiveContext removeContext = new TestObjectiveContext();
+        groupService.install(groupDescription(KEY2, 2));
+        groupHandler.addPendingRemoveNextObjective(nextObjective(removeContext), ImmutableList.of(KEY2));
+
+        assertAfter(PENDING_TIMEOUT, PENDING_TIMEOUT + WAIT_TIME * 4, () -> {
+            assertEquals(ObjectiveError.GROUPINSTALLATIONFAILED, addContext.error);
+            assertEquals(ObjectiveError.GROUPREMOVALFAILED, removeContext.error);
+        });
+
+        // late events are ignored
+        groupService.post(GroupEvent.Type.GROUP_ADDED, groupService.install(groupDescription(KEY1, 1)));
+        assertEquals(Boolean.FALSE, addContext.result);
+        assertNull(groupHandler.pendingAddNextObjectives.get(KEY1));
+        assertNull(groupHandler.pendingRemoveGroups.get(KEY2));
+    }
+
+    private NextObjective nextObjective(ObjectiveContext context) {
+        return DefaultNextObjective.builder()
+                .withId(1)
+                .withType(NextObjective.Type.BROADCAST)
+                .fromApp(APP_ID)
+                .addTreatment(DefaultTrafficTreatment.builder().setOutput(PortNumber.portNumber(1)).build())
+                .add(context);
+    }
+
+    private OfdpaGroupHandlerUtility.OfdpaNextGroup nextGroup(NextObjective nextObjective) {
+        Deque<GroupKey> chain = new ArrayDeque<>();
+        chain.add(KEY1);
+        return new OfdpaGroupHandlerUtility.OfdpaNextGroup(ImmutableList.of(chain), nextObjective);
+    }
+
+    private GroupDescription groupDescription(GroupKey key, int groupId) {
+        return groupDescription(DEV1, key, groupId);
+    }
+
+    private GroupDescription groupDescription(DeviceId deviceId, GroupKey key, int groupId) {
+        return new DefaultGroupDescription(deviceId, GroupDescription.Type.ALL, buckets(groupId),
+                                           key, groupId, APP_ID);
+    }
+
+    private GroupBuckets buckets(int port) {
+        return new GroupBuckets(ImmutableList.of(DefaultGroupBucket.createAllGroupBucket(
+                DefaultTrafficTreatment.builder().setOutput(PortNumber.portNumber(port)).build())));
+    }
+
+    private static Group group(GroupDescription description) {
+        DefaultGroup group = new DefaultGroup(new GroupId(description.givenGroupId()), description);
+        group.setState(Group.GroupState.ADDED);
+        return group;
+    }
+
+    private class TestPipelinerContext implements PipelinerContext {
+        private final FlowObjectiveStore store;
+
+        TestPipelinerContext(FlowObjectiveStore store) {
+            this.store = store;
+        }
+
+        @Override
+        public ServiceDirectory directory() {
+            return new ServiceDirectory() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <T> T get(Class<T> serviceClass) {
+                    if (serviceClass == GroupService.class) {
+                        return (T) groupService;
+                    } else if (serviceClass == StorageService.class) {
+                        return (T) new StorageServiceAdapter() {
+                            @Override
+                            public AtomicCounter getAtomicCounter(String name) {
+                                return null;
+                            }
+                        };
+                    }
+                    return null;
+                }
+            };
+        }
+
+        @Override
+        public FlowObjectiveStore store() {
+            return store;
+        }
+    }
+
+    // Simplified version of the GroupService
+    private class TestGroupService extends GroupServiceAdapter {
+        private final Map<GroupKey, Group> groups = Maps.newConcurrentMap();
+        private final List<GroupDescription> added = Lists.newCopyOnWriteArrayList();
+        private GroupListener listener;
+
+        Group install(GroupDescription description) {
+            Group group = group(description);
+            groups.put(description.appCookie(), group);
+            return group;
+        }
+
+        Group uninstall(GroupKey key) {
+            return groups.remove(key);
+        }
+
+        void post(GroupEvent.Type type, Group group) {
+            GroupEvent event = new GroupEvent(type, group);
+            if (listener.isRelevant(event)) {
+                listener.event(event);
+            }
+        }
+
+        @Override
+        public void addGroup(GroupDescription groupDesc) {
+            added.add(groupDesc);
+        }
+
+        @Override
+        public Group getGroup(DeviceId deviceId, GroupKey appCookie) {
+            return DEV1.equals(deviceId) ? groups.get(appCookie) : null;
+        }
+
+        @Override
+        public void addListener(GroupListener listener) {
+            this.listener = listener;
+        }
+    }
+
+    private static class TestObjectiveContext implements ObjectiveContext {
+        private volatile Boolean result;
+        private volatile ObjectiveError error;
+
+        @Override
+        public void onSuccess(Objective objective) {
+            result = true;
+        }
+
+        @Override
+        public void onError(Objective objective, ObjectiveError error) {
+            this.error = error;
+            result = false;
+        }
+    }
+}
@@ -24,7 +24,9 @@ import org.onosproject.net.PortNumber;
 import org.onosproject.net.behaviour.NextGroup;
 import org.onosproject.net.behaviour.Pipeliner;
 import org.onosproject.net.behaviour.PipelinerContext;
+import org.onosproject.net.behaviour.PipelinerFlowBatch;
 import org.onosproject.net.flow.FlowRule;
+import org.onosproject.net.flow.FlowRuleOperation;
 import org.onosproject.net.flow.FlowRuleOperations;
 import org.onosproject.net.flow.FlowRuleService;
 import org.onosproject.net.flowobjective.FilteringObjective;
@@ -119,6 +121,13 @@ public class FabricPipeliner extends AbstractFabricHandlerBehavior
         handleResult(obj, result);
     }
 
+    @Override
+    public void forward(List<ForwardingObjective> objs) {
+        final PipelinerFlowBatch batch = new PipelinerFlowBatch();
+        objs.forEach(obj -> handleResult(obj, forwardingTranslator.translate(obj), batch));
+        applyBatch(batch);
+    }
+
     @Override
     public void next(NextObjective obj) {
         if (obj.op() == Objective.Operation.VERIFY) {
@@ -139,6 +148,22 @@ public class FabricPipeliner extends AbstractFabricHandlerBehavior
         handleResult(obj, result);
     }
 
+    @Override
+    public void next(List<NextObjective> objs) {
+        PipelinerFlowBatch batch = new PipelinerFlowBatch();
+        for (NextObjective obj : objs) {
+            if (obj.op() == Objective.Operation.VERIFY || obj.op() == Objective.Operation.MODIFY) {
+                // handled on their own, so the earlier objectives go first
+                applyBatch(batch);
+                batch = new PipelinerFlowBatch();
+                next(obj);
+            } else {
+                handleResult(obj, nextTranslator.translate(obj), batch);
+            }
+        }
+        applyBatch(batch);
+    }
+
     @Override
     public List<String> getNextMappings(NextGroup nextGroup) {
         final FabricNextGroup fabricNextGroup = KRYO.deserialize(nextGroup.data());
@@ -160,6 +185,39 @@ public class FabricPipeliner extends AbstractFabricHandlerBehavior
         success(obj);
     }
 
+    // Same as above, except that the flow rules are added to the given batch,
+    // and the objective reported successful once they have been installed,
+    // whereas above it is reported successful once they have been submitted.
+    private void handleResult(Objective obj, ObjectiveTranslation result, PipelinerFlowBatch batch) {
+        if (result.error().isPresent()) {
+            fail(obj, result.error().get());
+            return;
+        }
+        processGroups(obj, result.groups());
+        switch (obj.op()) {
+            case ADD:
+            case ADD_TO_EXISTING:
+                batch.add(obj, FlowRuleOperation.Type.ADD, result.flowRules());
+                break;
+            case REMOVE:
+            case REMOVE_FROM_EXISTING:
+                batch.add(obj, FlowRuleOperation.Type.REMOVE, result.flowRules());
+                break;
+            default:
+                log.warn("Unsupported Objective operation '{}'", obj.op());
+                batch.add(obj, FlowRuleOperation.Type.ADD, ImmutableList.of());
+        }
+        if (obj instanceof NextObjective) {
+            handleNextGroup((NextObjective) obj);
+        }
+    }
+
+    private void applyBatch(PipelinerFlowBatch batch) {
+        if (!batch.isEmpty()) {
+            batch.apply(flowRuleService, this::success, this::fail);
+        }
+    }
+
     private void handleNextGroup(NextObjective obj) {
         switch (obj.op()) {
             case REMOVE:
@@ -17,7 +17,7 @@
 package org.onosproject.bgp.controller.impl;
 
 import java.util.Map;
-import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 import org.onosproject.bgpio.protocol.BgpLSNlri;
 import org.onosproject.bgpio.protocol.linkstate.BgpLinkLSIdentifier;
@@ -34,9 +34,9 @@ import com.google.common.base.MoreObjects;
  * Implementation of Adj-RIB-In for each peer.
  */
 public class AdjRibIn {
-    private Map<BgpNodeLSIdentifier, PathAttrNlriDetails> nodeTree = new TreeMap<>();
-    private Map<BgpLinkLSIdentifier, PathAttrNlriDetails> linkTree = new TreeMap<>();
-    private Map<BgpPrefixLSIdentifier, PathAttrNlriDetails> prefixTree = new TreeMap<>();
+    private Map<BgpNodeLSIdentifier, PathAttrNlriDetails> nodeTree = new ConcurrentSkipListMap<>();
+    private Map<BgpLinkLSIdentifier, PathAttrNlriDetails> linkTree = new ConcurrentSkipListMap<>();
+    private Map<BgpPrefixLSIdentifier, PathAttrNlriDetails> prefixTree = new ConcurrentSkipListMap<>();
 
     /**
      * Returns the adjacency node.
@@ -14,6 +14,7 @@
 package org.onosproject.bgp.controller.impl;
 
 import com.google.common.base.MoreObjects;
+import com.google.common.util.concurrent.Striped;
 
 import org.onosproject.bgp.controller.BgpController;
 import org.onosproject.bgp.controller.BgpId;
@@ -37,28 +38,40 @@ import org.slf4j.LoggerFactory;
 
 import java.util.Map;
 import java.util.Set;
-import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Function;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
  * Implementation of local RIB.
+ * <p>
+ * The RIB may be updated concurrently by the channel handlers of several
+ * peers. Updates of the same NLRI are serialized by a lock striped on the
+ * NLRI identifier, so that the best path of independent NLRIs is selected in
+ * parallel. When the best path of an NLRI is selected again, the listeners
+ * are notified once with the outcome, and not at all if it is unchanged.
+ * </p>
  */
 public class BgpLocalRibImpl implements BgpLocalRib {
 
     private static final Logger log = LoggerFactory.getLogger(BgpLocalRibImpl.class);
+    private static final int LOCK_STRIPES = 64;
+
     private BgpController bgpController;
+    private final Striped<Lock> locks = Striped.lock(LOCK_STRIPES);
 
-    private Map<BgpNodeLSIdentifier, PathAttrNlriDetailsLocalRib> nodeTree = new TreeMap<>();
-    private Map<BgpLinkLSIdentifier, PathAttrNlriDetailsLocalRib> linkTree = new TreeMap<>();
-    private Map<BgpPrefixLSIdentifier, PathAttrNlriDetailsLocalRib> prefixTree = new TreeMap<>();
+    private Map<BgpNodeLSIdentifier, PathAttrNlriDetailsLocalRib> nodeTree = new ConcurrentSkipListMap<>();
+    private Map<BgpLinkLSIdentifier, PathAttrNlriDetailsLocalRib> linkTree = new ConcurrentSkipListMap<>();
+    private Map<BgpPrefixLSIdentifier, PathAttrNlriDetailsLocalRib> prefixTree = new ConcurrentSkipListMap<>();
 
     private Map<RouteDistinguisher, Map<BgpNodeLSIdentifier, PathAttrNlriDetailsLocalRib>> vpnNodeTree
-                                                                                                   = new TreeMap<>();
+                                                                                   = new ConcurrentSkipListMap<>();
     private Map<RouteDistinguisher, Map<BgpLinkLSIdentifier, PathAttrNlriDetailsLocalRib>> vpnLinkTree
-                                                                                                   = new TreeMap<>();
+                                                                                   = new ConcurrentSkipListMap<>();
     private Map<RouteDistinguisher, Map<BgpPrefixLSIdentifier, PathAttrNlriDetailsLocalRib>> vpnPrefixTree
-                                                                                                   = new TreeMap<>();
+                                                                                   = new ConcurrentSkipListMap<>();
 
     public BgpLocalRibImpl(BgpController bgpController) {
         this.bgpController = bgpController;
@@ -126,8 +139,6 @@ public class BgpLocalRibImpl implements BgpLocalRib {
 
     @Override
     public void add(BgpSessionInfo sessionInfo, BgpLSNlri nlri, PathAttrNlriDetails details) throws BgpParseException {
-        int decisionResult;
-
         log.debug("Add to local RIB {}", details.toString());
 
         PathAttrNlriDetailsLocalRib detailsLocRib = new PathAttrNlriDetailsLocalRib(
@@ -137,61 +148,112 @@ public class BgpLocalRibImpl implements BgpLocalRib {
                                                                sessionInfo.isIbgpSession(), details);
         if (nlri instanceof BgpNodeLSNlriVer4) {
             BgpNodeLSIdentifier nodeLsIdentifier = ((BgpNodeLSNlriVer4) nlri).getLocalNodeDescriptors();
-            if (nodeTree.containsKey(nodeLsIdentifier)) {
-                BgpSelectionAlgo selectionAlgo = new BgpSelectionAlgo();
-                // Compare local RIB entry with the current attribute
-                decisionResult = selectionAlgo.compare(nodeTree.get(nodeLsIdentifier), detailsLocRib);
-                if (decisionResult <= 0) {
+            Lock lock = locks.get(nodeLsIdentifier);
+            lock.lock();
+            try {
+                if (addIfPreferred(nodeTree, nodeLsIdentifier, detailsLocRib)) {
                     for (BgpNodeListener l : bgpController.listener()) {
                         l.addNode((BgpNodeLSNlriVer4) nlri, details);
                     }
-                    nodeTree.replace(nodeLsIdentifier, detailsLocRib);
-                    log.debug("Local RIB update node: {}", detailsLocRib.toString());
+                    log.debug("Local RIB add node: {}", detailsLocRib.toString());
                 }
-            } else {
-                nodeTree.put(nodeLsIdentifier, detailsLocRib);
-                for (BgpNodeListener l : bgpController.listener()) {
-                    l.addNode((BgpNodeLSNlriVer4) nlri, details);
-                }
-                log.debug("Local RIB ad node: {}", detailsLocRib.toString());
+            } finally {
+                lock.unlock();
             }
         } else if (nlri instanceof BgpLinkLsNlriVer4) {
             BgpLinkLSIdentifier linkLsIdentifier = ((BgpLinkLsNlriVer4) nlri).getLinkIdentifier();
-            if (linkTree.containsKey(linkLsIdentifier)) {
-                BgpSelectionAlgo selectionAlgo = new BgpSelectionAlgo();
-                // Compare local RIB entry with the current attribute
-                decisionResult = selectionAlgo.compare(linkTree.get(linkLsIdentifier), detailsLocRib);
-                if (decisionResult <= 0) {
-                    linkTree.replace(linkLsIdentifier, detailsLocRib);
+            Lock lock = locks.get(linkLsIdentifier);
+            lock.lock();
+            try {
+                if (addIfPreferred(linkTree, linkLsIdentifier, detailsLocRib)) {
                     for (BgpLinkListener l : bgpController.linkListener()) {
                         l.addLink((BgpLinkLsNlriVer4) nlri, details);
                     }
-                    log.debug("Local RIB update link: {}", detailsLocRib.toString());
-                }
-            } else {
-                linkTree.put(linkLsIdentifier, detailsLocRib);
-                for (BgpLinkListener l : bgpController.linkListener()) {
-                    l.addLink((BgpLinkLsNlriVer4) nlri, details);
+                    log.debug("Local RIB add link: {}", detailsLocRib.toString());
                 }
-                log.debug("Local RIB add link: {}", detailsLocRib.toString());
+            } finally {
+                lock.unlock();
             }
         } else if (nlri instanceof BgpPrefixIPv4LSNlriVer4) {
             BgpPrefixLSIdentifier prefixIdentifier = ((BgpPrefixIPv4LSNlriVer4) nlri).getPrefixIdentifier();
-            if (prefixTree.containsKey(prefixIdentifier)) {
-                BgpSelectionAlgo selectionAlgo = new BgpSelectionAlgo();
-                // Compare local RIB entry with the current attribute
-                decisionResult = selectionAlgo.compare(prefixTree.get(prefixIdentifier), detailsLocRib);
-                if (decisionResult <= 0) {
-                    prefixTree.replace(prefixIdentifier, detailsLocRib);
-                    log.debug("Local RIB update prefix: {}", detailsLocRib.toString());
+            Lock lock = locks.get(prefixIdentifier);
+            lock.lock();
+            try {
+                if (addIfPreferred(prefixTree, prefixIdentifier, detailsLocRib)) {
+                    log.debug("Local RIB add prefix: {}", detailsLocRib.toString());
                 }
-            } else {
-                prefixTree.put(prefixIdentifier, detailsLocRib);
-                log.debug("Local RIB add prefix: {}", detailsLocRib.toString());
+            } finally {
+                lock.unlock();
             }
         }
     }
 
+    /**
+     * Stores the path unless the local RIB holds a preferred one. Must be
+     * called with the lock of the identifier held.
+     *
+     * @param tree local RIB tree
+     * @param identifier NLRI identifier
+     * @param detailsLocRib path to store
+     * @param <K> type of the NLRI identifier
+     * @return true if the path was stored
+     */
+    private <K> boolean addIfPreferred(Map<K, PathAttrNlriDetailsLocalRib> tree, K identifier,
+                                       PathAttrNlriDetailsLocalRib detailsLocRib) {
+        PathAttrNlriDetailsLocalRib current = tree.get(identifier);
+        if (current != null) {
+            BgpSelectionAlgo selectionAlgo = new BgpSelectionAlgo();
+            // Compare local RIB entry with the current attribute
+            if (selectionAlgo.compare(current, detailsLocRib) > 0) {
+                return false;
+            }
+        }
+        tree.put(identifier, detailsLocRib);
+        return true;
+    }
+
+    /**
+     * Selects the best path of an NLRI among the adjacency RIBs of the
+     * connected peers.
+     *
+     * @param identifier NLRI identifier
+     * @param isVpnRib true if VPN local RIB, otherwise false
+     * @param adjRibTree tree of the adjacency RIB holding the NLRI
+     * @param vpnAdjRibTree tree of the VPN adjacency RIB holding the NLRI
+     * @param <K> type of the NLRI identifier
+     * @return best path, or null if no peer advertises the NLRI
+     */
+    private <K> PathAttrNlriDetailsLocalRib selectBestPath(K identifier, boolean isVpnRib,
+                                  Function<AdjRibIn, Map<K, PathAttrNlriDetails>> adjRibTree,
+                                  Function<VpnAdjRibIn, Map<K, PathAttrNlriDetails>> vpnAdjRibTree) {
+        BgpSelectionAlgo selectionAlgo = new BgpSelectionAlgo();
+        PathAttrNlriDetailsLocalRib best = null;
+
+        for (BgpId bgpId : bgpController.connectedPeers().keySet()) {
+            BgpPeerImpl peer = (BgpPeerImpl) (bgpController.getPeer(bgpId));
+            if (peer == null) {
+                continue;
+            }
+
+            PathAttrNlriDetails details = (!isVpnRib) ? adjRibTree.apply(peer.adjacencyRib()).get(identifier) :
+                                                        vpnAdjRibTree.apply(peer.vpnAdjacencyRib()).get(identifier);
+            if (details == null) {
+                continue;
+            }
+
+            BgpSessionInfo sessionInfo = peer.sessionInfo();
+            PathAttrNlriDetailsLocalRib detailsLocRib = new PathAttrNlriDetailsLocalRib(
+                                                            sessionInfo.remoteBgpId().ipAddress(),
+                                                            sessionInfo.remoteBgpIdentifier(),
+                                                            sessionInfo.remoteBgpASNum(),
+                                                            sessionInfo.isIbgpSession(), details);
+            if (best == null || selectionAlgo.compare(best, detailsLocRib) < 0) {
+                best = detailsLocRib;
+            }
+        }
+        return best;
+    }
+
     @Override
     public void delete(BgpLSNlri nlri) throws BgpParseException {
         log.debug("Delete from local RIB.");
@@ -229,21 +291,21 @@ public class BgpLocalRibImpl implements BgpLocalRib {
         if (nlri instanceof BgpNodeLSNlriVer4) {
             if (vpnNodeTree.containsKey(routeDistinguisher)) {
                 selectionProcessNode(nlri, true);
-                if (nodeTree.size() == 0) {
+                if (nodeTree.isEmpty()) {
                     vpnNodeTree.remove(routeDistinguisher);
                 }
             }
         } else if (nlri instanceof BgpLinkLsNlriVer4) {
             if (vpnLinkTree.containsKey(routeDistinguisher)) {
                 selectionProcessLink(nlri, true);
-                if (linkTree.size() == 0) {
+                if (linkTree.isEmpty()) {
                     vpnLinkTree.remove(routeDistinguisher);
                 }
             }
         } else if (nlri instanceof BgpPrefixIPv4LSNlriVer4) {
             if (vpnPrefixTree.containsKey(routeDistinguisher)) {
                 selectionProcessPrefix(nlri, true);
-                if (prefixTree.size() == 0) {
+                if (prefixTree.isEmpty()) {
                     vpnPrefixTree.remove(routeDistinguisher);
                 }
             }
@@ -258,59 +320,29 @@ public class BgpLocalRibImpl implements BgpLocalRib {
      * @throws BgpParseException throws BGP parse exception
      */
     public void selectionProcessNode(BgpLSNlri nlri, boolean isVpnRib) throws BgpParseException {
-        BgpPeerImpl peer;
-        BgpSessionInfo sessionInfo;
-        int decisionResult;
-        boolean containsKey;
-
         BgpNodeLSIdentifier nodeLsIdentifier = ((BgpNodeLSNlriVer4) nlri).getLocalNodeDescriptors();
 
-        if (nodeTree.containsKey(nodeLsIdentifier)) {
-            for (BgpNodeListener l : bgpController.listener()) {
-                l.deleteNode((BgpNodeLSNlriVer4) nlri);
-            }
-            log.debug("Local RIB delete node: {}", nodeLsIdentifier.toString());
-            nodeTree.remove(nodeLsIdentifier);
-        }
-
-        for (BgpId bgpId : bgpController.connectedPeers().keySet()) {
-            peer = (BgpPeerImpl) (bgpController.getPeer(bgpId));
-
-            if (nodeTree.containsKey(nodeLsIdentifier)) {
-                containsKey = (!isVpnRib) ? (peer.adjacencyRib().nodeTree().containsKey(nodeLsIdentifier)) :
-                                            (peer.vpnAdjacencyRib().nodeTree().containsKey(nodeLsIdentifier));
-
-                if (!containsKey) {
-                    continue;
-                }
-                sessionInfo = peer.sessionInfo();
-                PathAttrNlriDetailsLocalRib detailsLocRib = new PathAttrNlriDetailsLocalRib(
-                                                                sessionInfo.remoteBgpId().ipAddress(),
-                                                                sessionInfo.remoteBgpIdentifier(),
-                                                                sessionInfo.remoteBgpASNum(),
-                                                                sessionInfo.isIbgpSession(),
-                                                                (!isVpnRib) ?
-                                                                (peer.adjacencyRib().nodeTree()
-                                                                                    .get(nodeLsIdentifier)) :
-                                                                (peer.vpnAdjacencyRib().nodeTree()
-                                                                                        .get(nodeLsIdentifier)));
-                BgpSelectionAlgo selectionAlgo = new BgpSelectionAlgo();
-                decisionResult = selectionAlgo.compare(nodeTree.get(nodeLsIdentifier), detailsLocRib);
-                if (decisionResult < 0) {
-                    nodeTree.replace(nodeLsIdentifier, detailsLocRib);
-                    log.debug("Local RIB node updated: {}", detailsLocRib.toString());
-                }
-            } else {
-                if (!isVpnRib) {
-                    if (peer.adjacencyRib().nodeTree().containsKey(nodeLsIdentifier)) {
-                        add(peer.sessionInfo(), nlri, peer.adjacencyRib().nodeTree().get(nodeLsIdentifier));
-                    }
-                } else {
-                    if (peer.vpnAdjacencyRib().nodeTree().containsKey(nodeLsIdentifier)) {
-                        add(peer.sessionInfo(), nlri, peer.vpnAdjacencyRib().nodeTree().get(nodeLsIdentifier));
+        Lock lock = locks.get(nodeLsIdentifier);
+        lock.lock();
+        try {
+            PathAttrNlriDetailsLocalRib best = selectBestPath(nodeLsIdentifier, isVpnRib,
+                                                              AdjRibIn::nodeTree, VpnAdjRibIn::nodeTree);
+            if (best != null) {
+                PathAttrNlriDetailsLocalRib current = nodeTree.put(nodeLsIdentifier, best);
+                if (!best.equals(current)) {
+                    for (BgpNodeListener l : bgpController.listener()) {
+                        l.addNode((BgpNodeLSNlriVer4) nlri, best.localRibNlridetails());
                     }
+                    log.debug("Local RIB node updated: {}", best.toString());
+                }
+            } else if (nodeTree.remove(nodeLsIdentifier) != null) {
+                for (BgpNodeListener l : bgpController.listener()) {
+                    l.deleteNode((BgpNodeLSNlriVer4) nlri);
                 }
+                log.debug("Local RIB delete node: {}", nodeLsIdentifier.toString());
             }
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -322,62 +354,29 @@ public class BgpLocalRibImpl implements BgpLocalRib {
      * @throws BgpParseException BGP parse exception
      */
     public void selectionProcessLink(BgpLSNlri nlri, boolean isVpnRib) throws BgpParseException {
-        BgpPeerImpl peer;
-        BgpSessionInfo sessionInfo;
-        int decisionResult;
-        boolean containsKey;
-
         BgpLinkLSIdentifier linkLsIdentifier = ((BgpLinkLsNlriVer4) nlri).getLinkIdentifier();
 
-        if (linkTree.containsKey(linkLsIdentifier)) {
-            log.debug("Local RIB remove link: {}", linkLsIdentifier.toString());
-            for (BgpLinkListener l : bgpController.linkListener()) {
-                l.deleteLink((BgpLinkLsNlriVer4) nlri);
-            }
-            linkTree.remove(linkLsIdentifier);
-        }
-
-        for (BgpId bgpId : bgpController.connectedPeers().keySet()) {
-            peer = (BgpPeerImpl) (bgpController.getPeer(bgpId));
-
-            if (linkTree.containsKey(linkLsIdentifier)) {
-
-                containsKey = (!isVpnRib) ? (peer.adjacencyRib().linkTree().containsKey(linkLsIdentifier)) :
-                                            (peer.vpnAdjacencyRib().linkTree().containsKey(linkLsIdentifier));
-
-                if (!containsKey) {
-                    continue;
-                }
-
-                sessionInfo = peer.sessionInfo();
-
-                PathAttrNlriDetailsLocalRib detailsLocRib = new PathAttrNlriDetailsLocalRib(
-                                                            sessionInfo.remoteBgpId().ipAddress(),
-                                                            sessionInfo.remoteBgpIdentifier(),
-                                                            sessionInfo.remoteBgpASNum(),
-                                                            sessionInfo.isIbgpSession(),
-                                                            ((!isVpnRib) ?
-                                                            (peer.adjacencyRib().linkTree().get(linkLsIdentifier)) :
-                                                            (peer.vpnAdjacencyRib().linkTree()
-                                                                                   .get(linkLsIdentifier))));
-
-                BgpSelectionAlgo selectionAlgo = new BgpSelectionAlgo();
-                decisionResult = selectionAlgo.compare(linkTree.get(linkLsIdentifier), detailsLocRib);
-                if (decisionResult < 0) {
-                    linkTree.replace(linkLsIdentifier, detailsLocRib);
-                    log.debug("Local RIB link updated: {}", detailsLocRib.toString());
-                }
-            } else {
-                if (!isVpnRib) {
-                    if (peer.adjacencyRib().linkTree().containsKey(linkLsIdentifier)) {
-                        add(peer.sessionInfo(), nlri, peer.adjacencyRib().linkTree().get(linkLsIdentifier));
-                    }
-                } else {
-                    if (peer.vpnAdjacencyRib().linkTree().containsKey(linkLsIdentifier)) {
-                        add(peer.sessionInfo(), nlri, peer.vpnAdjacencyRib().linkTree().get(linkLsIdentifier));
+        Lock lock = locks.get(linkLsIdentifier);
+        lock.lock();
+        try {
+            PathAttrNlriDetailsLocalRib best = selectBestPath(linkLsIdentifier, isVpnRib,
+                                                              AdjRibIn::linkTree, VpnAdjRibIn::linkTree);
+            if (best != null) {
+                PathAttrNlriDetailsLocalRib current = linkTree.put(linkLsIdentifier, best);
+                if (!best.equals(current)) {
+                    for (BgpLinkListener l : bgpController.linkListener()) {
+                        l.addLink((BgpLinkLsNlriVer4) nlri, best.localRibNlridetails());
                     }
+                    log.debug("Local RIB link updated: {}", best.toString());
                 }
+            } else if (linkTree.remove(linkLsIdentifier) != null) {
+                for (BgpLinkListener l : bgpController.linkListener()) {
+                    l.deleteLink((BgpLinkLsNlriVer4) nlri);
+                }
+                log.debug("Local RIB remove link: {}", linkLsIdentifier.toString());
             }
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -389,57 +388,21 @@ public class BgpLocalRibImpl implements BgpLocalRib {
      * @throws BgpParseException BGP parse exception
      */
     public void selectionProcessPrefix(BgpLSNlri nlri, boolean isVpnRib) throws BgpParseException {
-        BgpPeerImpl peer;
-        BgpSessionInfo sessionInfo;
-        int decisionResult;
-        boolean containsKey;
-
         BgpPrefixLSIdentifier prefixIdentifier = ((BgpPrefixIPv4LSNlriVer4) nlri).getPrefixIdentifier();
-        if (prefixTree.containsKey(prefixIdentifier)) {
-            log.debug("Local RIB remove prefix: {}", prefixIdentifier.toString());
-            prefixTree.remove(prefixIdentifier);
-        }
-
-        for (BgpId bgpId : bgpController.connectedPeers().keySet()) {
-            peer = (BgpPeerImpl) (bgpController.getPeer(bgpId));
-
-            if (prefixTree.containsKey(prefixIdentifier)) {
 
-                containsKey = (!isVpnRib) ? (peer.adjacencyRib().prefixTree().containsKey(prefixIdentifier)) :
-                                            (peer.vpnAdjacencyRib().prefixTree().containsKey(prefixIdentifier));
-                if (!containsKey) {
-                    continue;
-                }
-                sessionInfo = peer.sessionInfo();
-
-                PathAttrNlriDetailsLocalRib detailsLocRib = new PathAttrNlriDetailsLocalRib(
-                                                                sessionInfo.remoteBgpId().ipAddress(),
-                                                                sessionInfo.remoteBgpIdentifier(),
-                                                                sessionInfo.remoteBgpASNum(),
-                                                                sessionInfo.isIbgpSession(),
-                                                                ((!isVpnRib) ?
-                                                                (peer.adjacencyRib().prefixTree()
-                                                                                    .get(prefixIdentifier)) :
-                                                                (peer.vpnAdjacencyRib().prefixTree()
-                                                                                       .get(prefixIdentifier))));
-
-                BgpSelectionAlgo selectionAlgo = new BgpSelectionAlgo();
-                decisionResult = selectionAlgo.compare(prefixTree.get(prefixIdentifier), detailsLocRib);
-                if (decisionResult < 0) {
-                    prefixTree.replace(prefixIdentifier, detailsLocRib);
-                    log.debug("Local RIB prefix updated: {}", detailsLocRib.toString());
-                }
-            } else {
-                    if (!isVpnRib) {
-                        if (peer.adjacencyRib().prefixTree().containsKey(prefixIdentifier)) {
-                            add(peer.sessionInfo(), nlri, peer.adjacencyRib().prefixTree().get(prefixIdentifier));
-                    } else {
-                        if (peer.vpnAdjacencyRib().prefixTree().containsKey(prefixIdentifier)) {
-                            add(peer.sessionInfo(), nlri, peer.vpnAdjacencyRib().prefixTree().get(prefixIdentifier));
-                        }
-                    }
-                }
+        Lock lock = locks.get(prefixIdentifier);
+        lock.lock();
+        try {
+            PathAttrNlriDetailsLocalRib best = selectBestPath(prefixIdentifier, isVpnRib,
+                                                              AdjRibIn::prefixTree, VpnAdjRibIn::prefixTree);
+            if (best != null) {
+                prefixTree.put(prefixIdentifier, best);
+                log.debug("Local RIB prefix updated: {}", best.toString());
+            } else if (prefixTree.remove(prefixIdentifier) != null) {
+                log.debug("Local RIB remove prefix: {}", prefixIdentifier.toString());
             }
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -448,17 +411,11 @@ public class BgpLocalRibImpl implements BgpLocalRib {
                     RouteDistinguisher routeDistinguisher) throws BgpParseException {
         add(sessionInfo, nlri, details);
         if (nlri instanceof BgpNodeLSNlriVer4) {
-            if (!vpnNodeTree.containsKey(routeDistinguisher)) {
-                vpnNodeTree.put(routeDistinguisher, nodeTree);
-            }
+            vpnNodeTree.putIfAbsent(routeDistinguisher, nodeTree);
         } else if (nlri instanceof BgpLinkLsNlriVer4) {
-            if (!vpnLinkTree.containsKey(routeDistinguisher)) {
-                vpnLinkTree.put(routeDistinguisher, linkTree);
-            }
+            vpnLinkTree.putIfAbsent(routeDistinguisher, linkTree);
         } else if (nlri instanceof BgpPrefixIPv4LSNlriVer4) {
-            if (!vpnPrefixTree.containsKey(routeDistinguisher)) {
-                vpnPrefixTree.put(routeDistinguisher, prefixTree);
-            }
+            vpnPrefixTree.putIfAbsent(routeDistinguisher, prefixTree);
         }
     }
 
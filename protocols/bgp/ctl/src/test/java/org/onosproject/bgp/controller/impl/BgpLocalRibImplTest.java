@@ -0,0 +1,136 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.bgp.controller.impl;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.onlab.packet.IpAddress;
+import org.onosproject.bgp.controller.BgpId;
+import org.onosproject.bgp.controller.BgpNodeListener;
+import org.onosproject.bgp.controller.BgpSessionInfo;
+import org.onosproject.bgpio.exceptions.BgpParseException;
+import org.onosproject.bgpio.protocol.BgpVersion;
+import org.onosproject.bgpio.protocol.linkstate.BgpNodeLSIdentifier;
+import org.onosproject.bgpio.protocol.linkstate.BgpNodeLSNlriVer4;
+import org.onosproject.bgpio.protocol.linkstate.NodeDescriptors;
+import org.onosproject.bgpio.protocol.linkstate.PathAttrNlriDetails;
+import org.onosproject.bgpio.types.AutonomousSystemTlv;
+import org.onosproject.bgpio.types.BgpLSIdentifierTlv;
+import org.onosproject.bgpio.types.BgpValueType;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Tests for the concurrent local RIB.
+ */
+public class BgpLocalRibImplTest {
+
+    private static final int THREADS = 4;
+    private static final int NODES_PER_THREAD = 250;
+
+    private BgpLocalRibImpl localRib;
+    private final AtomicInteger added = new AtomicInteger();
+    private final AtomicInteger deleted = new AtomicInteger();
+
+    @Before
+    public void setUp() {
+        BgpControllerImpl controller = new BgpControllerImpl();
+        controller.addListener(new BgpNodeListener() {
+            @Override
+            public void addNode(BgpNodeLSNlriVer4 nodeNlri, PathAttrNlriDetails details) {
+                added.incrementAndGet();
+            }
+
+            @Override
+            public void deleteNode(BgpNodeLSNlriVer4 nodeNlri) {
+                deleted.incrementAndGet();
+            }
+        });
+        localRib = new BgpLocalRibImpl(controller);
+    }
+
+    private static BgpSessionInfo sessionInfo(String ip) {
+        return new BgpSessionInfoImpl(new BgpId(IpAddress.valueOf(ip)), BgpVersion.BGP_4, 100,
+                                      (short) 180, 1, (short) 180, true, new LinkedList<>());
+    }
+
+    private static BgpNodeLSNlriVer4 nodeNlri(int id) {
+        List<BgpValueType> subTlvs = new LinkedList<>();
+        subTlvs.add(AutonomousSystemTlv.of(100));
+        subTlvs.add(BgpLSIdentifierTlv.of(id));
+        BgpNodeLSIdentifier identifier = new BgpNodeLSIdentifier(
+                new NodeDescriptors(subTlvs, (short) 0x10, (short) 256));
+        return new BgpNodeLSNlriVer4(0, (byte) 2, identifier, false, null);
+    }
+
+    private static PathAttrNlriDetails details() {
+        PathAttrNlriDetails details = new PathAttrNlriDetails();
+        details.setPathAttribute(new LinkedList<>());
+        return details;
+    }
+
+    /**
+     * Tests that NLRIs added concurrently by several peers are all stored
+     * and notified.
+     */
+    @Test
+    public void testConcurrentAdd() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            int base = t * NODES_PER_THREAD;
+            BgpSessionInfo sessionInfo = sessionInfo("10.0.0." + (t + 1));
+            executor.execute(() -> {
+                for (int i = 0; i < NODES_PER_THREAD; i++) {
+                    try {
+                        localRib.add(sessionInfo, nodeNlri(base + i), details());
+                    } catch (BgpParseException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS), is(true));
+
+        assertThat(localRib.nodeTree().size(), is(THREADS * NODES_PER_THREAD));
+        assertThat(added.get(), is(THREADS * NODES_PER_THREAD));
+    }
+
+    /**
+     * Tests that withdrawing an NLRI no peer advertises anymore is notified
+     * once.
+     */
+    @Test
+    public void testDeleteNotifiedOnce() throws BgpParseException {
+        BgpNodeLSNlriVer4 nlri = nodeNlri(1);
+        localRib.add(sessionInfo("10.0.0.1"), nlri, details());
+
+        localRib.delete(nlri);
+        localRib.delete(nlri);
+
+        assertThat(localRib.nodeTree().isEmpty(), is(true));
+        assertThat(added.get(), is(1));
+        assertThat(deleted.get(), is(1));
+    }
+}
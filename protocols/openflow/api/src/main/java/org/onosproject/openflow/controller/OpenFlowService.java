@@ -15,6 +15,8 @@
  */
 package org.onosproject.openflow.controller;
 
+import java.util.Collections;
+import java.util.Map;
 import java.util.Set;
 import org.onosproject.event.ListenerService;
 import org.onosproject.net.DeviceId;
@@ -61,4 +63,35 @@ public interface OpenFlowService extends ListenerService<OpenFlowEvent, OpenFlow
      * @return set of OpenFlow classifiers
      */
     Set<OpenFlowClassifier> getClassifiersByDeviceIdAndQueue(DeviceId deviceId, int idQueue);
+
+    /**
+     * Records packet-in messages of a device dropped because their dispatch
+     * queue was full.
+     *
+     * @param deviceId the device id
+     * @param idQueue the queue id
+     * @param count number of dropped messages
+     */
+    default void addDroppedMessages(DeviceId deviceId, int idQueue, long count) {
+    }
+
+    /**
+     * Obtains the number of packet-in messages of a device dropped so far,
+     * by queue id.
+     *
+     * @param deviceId the device id
+     * @return map of queue id to dropped messages count
+     */
+    default Map<Integer, Long> getDroppedMessages(DeviceId deviceId) {
+        return Collections.emptyMap();
+    }
+
+    /**
+     * Forgets the packet-in messages of a device dropped so far, once the
+     * device is disconnected.
+     *
+     * @param deviceId the device id
+     */
+    default void removeDroppedMessages(DeviceId deviceId) {
+    }
 }
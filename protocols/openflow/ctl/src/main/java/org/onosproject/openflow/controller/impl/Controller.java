@@ -84,6 +84,10 @@ import static org.onlab.util.Tools.get;
 import static org.onlab.util.Tools.groupedThreads;
 import static org.onosproject.net.DeviceId.deviceId;
 import static org.onosproject.openflow.controller.Dpid.uri;
+import static org.onosproject.openflow.controller.impl.OsgiPropertyConstants.WRITE_COALESCING_LATENCY;
+import static org.onosproject.openflow.controller.impl.OsgiPropertyConstants.WRITE_COALESCING_LATENCY_DEFAULT;
+import static org.onosproject.openflow.controller.impl.OsgiPropertyConstants.WRITE_COALESCING_MAX_BYTES;
+import static org.onosproject.openflow.controller.impl.OsgiPropertyConstants.WRITE_COALESCING_MAX_BYTES_DEFAULT;
 
 
 /**
@@ -110,6 +114,8 @@ public class Controller {
     protected int workerThreads = 0;
     protected int[] cfgQueueSizes = {FIRST_QUEUE_SIZE, 0, 0, 0, 0, 0, 0, DEFAULT_QUEUE_SIZE};
     protected int[] cfgBulkSizes = new int[8];
+    protected int writeCoalescingLatencyMicros = WRITE_COALESCING_LATENCY_DEFAULT;
+    protected int writeCoalescingMaxBytes = WRITE_COALESCING_MAX_BYTES_DEFAULT;
 
     // Start time of the controller
     protected long systemStartTime;
@@ -148,6 +154,26 @@ public class Controller {
         return cfgBulkSizes[queueId];
     }
 
+    /**
+     * Returns the longest time outgoing messages are held back to be written
+     * to the channel together.
+     *
+     * @return latency bound in microseconds; 0 if write coalescing is disabled
+     */
+    public int getWriteCoalescingLatencyMicros() {
+        return writeCoalescingLatencyMicros;
+    }
+
+    /**
+     * Returns the number of bytes of pending outgoing messages after which
+     * they are written to the channel without waiting.
+     *
+     * @return byte budget of a coalesced write
+     */
+    public int getWriteCoalescingMaxBytes() {
+        return writeCoalescingMaxBytes;
+    }
+
     // **************
     // Initialization
     // **************
@@ -265,6 +291,7 @@ public class Controller {
         boolean restartRequired = setOpenFlowPorts(properties);
         restartRequired |= setWorkerThreads(properties);
         restartRequired |= setTlsParameters(properties);
+        setWriteCoalescingParams(properties);
         if (restartRequired) {
             restart();
         }
@@ -326,6 +353,35 @@ public class Controller {
         return oldValue != this.workerThreads; // restart if number of threads has changed
     }
 
+    /**
+     * Gets the write coalescing parameters from property dict. New values
+     * apply to the channels connected afterwards.
+     *
+     * @param properties dictionary
+     */
+    private void setWriteCoalescingParams(Dictionary<?, ?> properties) {
+        String latency = get(properties, WRITE_COALESCING_LATENCY);
+        if (!Strings.isNullOrEmpty(latency)) {
+            int value = Integer.parseInt(latency);
+            if (value < 0) {
+                throw new IllegalArgumentException(
+                    String.format("%s value must be a non-negative integer value", WRITE_COALESCING_LATENCY));
+            }
+            this.writeCoalescingLatencyMicros = value;
+        }
+        String maxBytes = get(properties, WRITE_COALESCING_MAX_BYTES);
+        if (!Strings.isNullOrEmpty(maxBytes)) {
+            int value = Integer.parseInt(maxBytes);
+            if (value <= 0) {
+                throw new IllegalArgumentException(
+                    String.format("%s value must be a positive integer value", WRITE_COALESCING_MAX_BYTES));
+            }
+            this.writeCoalescingMaxBytes = value;
+        }
+        log.debug("Write coalescing latency set to {}us, max bytes to {}",
+                  this.writeCoalescingLatencyMicros, this.writeCoalescingMaxBytes);
+    }
+
     static class TlsParams {
         final TlsMode mode;
         final String ksLocation;
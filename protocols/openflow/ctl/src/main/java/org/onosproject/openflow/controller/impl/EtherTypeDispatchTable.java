@@ -0,0 +1,160 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.openflow.controller.impl;
+
+import org.onlab.packet.Ethernet;
+import org.onosproject.openflow.controller.OpenFlowClassifier;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Immutable table mapping ethernet types to the dispatch queue of the
+ * packet-in messages carrying them.
+ * <p>
+ * The table is an open addressing hash table of primitive values, so that a
+ * lookup neither allocates nor iterates over the classifiers.
+ * </p>
+ */
+final class EtherTypeDispatchTable {
+
+    static final int NO_ETHER_TYPE = -1;
+
+    private static final int EMPTY = -1;
+    private static final int ETHERNET_TYPE_OFFSET = 12;
+    private static final int VLAN_HEADER_LENGTH = 4;
+
+    private static final EtherTypeDispatchTable EMPTY_TABLE =
+            new EtherTypeDispatchTable(new int[] {EMPTY}, new int[1]);
+
+    private final int[] keys;
+    private final int[] queues;
+    private final int mask;
+
+    private EtherTypeDispatchTable(int[] keys, int[] queues) {
+        this.keys = keys;
+        this.queues = queues;
+        this.mask = keys.length - 1;
+    }
+
+    /**
+     * Returns a table without any entry.
+     *
+     * @return empty table
+     */
+    static EtherTypeDispatchTable empty() {
+        return EMPTY_TABLE;
+    }
+
+    /**
+     * Builds the table from the classifiers of each queue. When the same
+     * ethernet type is classified into several queues, the queue with the
+     * lowest identifier wins.
+     *
+     * @param classifiers classifiers indexed by the queue they belong to
+     * @return dispatch table
+     */
+    static EtherTypeDispatchTable of(List<Set<OpenFlowClassifier>> classifiers) {
+        int count = classifiers.stream().mapToInt(Set::size).sum();
+        if (count == 0) {
+            return EMPTY_TABLE;
+        }
+
+        // keep the load factor at or below one half
+        int capacity = Integer.highestOneBit(Math.max(2, count * 2 - 1)) << 1;
+        int[] keys = new int[capacity];
+        int[] queues = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+
+        // queues are visited in ascending order, so the first insertion wins
+        for (Set<OpenFlowClassifier> queueClassifiers : classifiers) {
+            for (OpenFlowClassifier classifier : queueClassifiers) {
+                int key = classifier.ethernetType() & 0xffff;
+                int slot = slot(key, capacity - 1);
+                while (keys[slot] != EMPTY && keys[slot] != key) {
+                    slot = (slot + 1) & (capacity - 1);
+                }
+                if (keys[slot] == EMPTY) {
+                    keys[slot] = key;
+                    queues[slot] = classifier.idQueue();
+                }
+            }
+        }
+        return new EtherTypeDispatchTable(keys, queues);
+    }
+
+    private static int slot(int key, int mask) {
+        return (key * 0x9E3779B1 >>> 16) & mask;
+    }
+
+    /**
+     * Returns the queue of the given ethernet type.
+     *
+     * @param etherType    ethernet type, as an unsigned value
+     * @param defaultQueue queue returned when the type is not classified
+     * @return identifier of the queue
+     */
+    int lookup(int etherType, int defaultQueue) {
+        if (etherType == NO_ETHER_TYPE) {
+            return defaultQueue;
+        }
+        int slot = slot(etherType, mask);
+        int key;
+        while ((key = keys[slot]) != EMPTY) {
+            if (key == etherType) {
+                return queues[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return defaultQueue;
+    }
+
+    /**
+     * Reads the ethernet type of a raw frame without deserializing it.
+     * Up to two VLAN tags are skipped, in the same way as the ethernet
+     * deserializer does.
+     *
+     * @param frame raw ethernet frame
+     * @return ethernet type as an unsigned value, or {@link #NO_ETHER_TYPE}
+     * if the frame is too short
+     */
+    static int peekEtherType(byte[] frame) {
+        int offset = ETHERNET_TYPE_OFFSET;
+        int etherType = readShort(frame, offset);
+        if (etherType == (Ethernet.TYPE_QINQ & 0xffff)) {
+            offset += VLAN_HEADER_LENGTH;
+            etherType = readShort(frame, offset);
+        }
+        if (etherType == (Ethernet.TYPE_VLAN & 0xffff)) {
+            offset += VLAN_HEADER_LENGTH;
+            etherType = readShort(frame, offset);
+            if (etherType == (Ethernet.TYPE_VLAN & 0xffff)) {
+                offset += VLAN_HEADER_LENGTH;
+                etherType = readShort(frame, offset);
+            }
+        }
+        return etherType;
+    }
+
+    private static int readShort(byte[] frame, int offset) {
+        if (frame == null || frame.length < offset + 2) {
+            return NO_ETHER_TYPE;
+        }
+        return ((frame[offset] & 0xff) << 8) | (frame[offset + 1] & 0xff);
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.openflow.controller.impl;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Bounded, lock-free queue of messages with many producers and a single
+ * consumer.
+ * <p>
+ * Messages are stored in a ring whose slots carry a sequence number telling
+ * whether the slot is ready to be written or read; producers claim a slot with
+ * a single compare-and-set on the tail and the consumer never contends with
+ * them. Only one thread at a time may call {@link #poll()} or
+ * {@link #drainTo(Collection)}.
+ * </p>
+ */
+public class MpscMessagesQueue<T> {
+
+    /**
+     * Identifier of queue.
+     */
+    private final int idQueue;
+
+    /**
+     * Size of queue.
+     */
+    private final int sizeOfQueue;
+
+    /**
+     * Maximal bulk of messages that will be processed.
+     */
+    private volatile int bulk;
+
+    private final int mask;
+    private final AtomicReferenceArray<T> buffer;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * Messages rejected because the queue was full.
+     */
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Constructor.
+     *
+     * @param idQueue     Identifier of queue
+     * @param sizeOfQueue Size of queue
+     * @param bulk        Maximal bulk of messages that will be processed
+     */
+    public MpscMessagesQueue(int idQueue, int sizeOfQueue, int bulk) {
+        checkArgument(sizeOfQueue > 0 && sizeOfQueue <= 1 << 30, "Invalid queue size %s", sizeOfQueue);
+        this.idQueue = idQueue;
+        this.sizeOfQueue = sizeOfQueue;
+        this.bulk = bulk;
+
+        int capacity = sizeOfQueue == 1 ? 1 : Integer.highestOneBit(sizeOfQueue - 1) << 1;
+        this.mask = capacity - 1;
+        this.buffer = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Returns the identifier of this queue.
+     *
+     * @return the id of this queue
+     */
+    public int idQueue() {
+        return idQueue;
+    }
+
+    /**
+     * Return the size of this queue.
+     *
+     * @return the size of this queue
+     */
+    public int sizeOfQueue() {
+        return sizeOfQueue;
+    }
+
+    /**
+     * Offer new message to this queue.
+     *
+     * @param message  elemet to add
+     * @return <code>true</code> if the element was added to this queue, else <code>false</code>
+     */
+    public boolean offer(T message) {
+        for (;;) {
+            long pos = tail.get();
+            int slot = (int) pos & mask;
+            long diff = sequences.get(slot) - pos;
+            if (diff == 0) {
+                // the ring may be larger than the requested size
+                if (pos - head.get() >= sizeOfQueue) {
+                    rejected.increment();
+                    return false;
+                }
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    buffer.lazySet(slot, message);
+                    // publishes the message to the consumer
+                    sequences.set(slot, pos + 1);
+                    return true;
+                }
+            } else if (diff < 0) {
+                // the consumer has not freed the slot yet
+                rejected.increment();
+                return false;
+            }
+            // another producer claimed the slot; retry with the new tail
+        }
+    }
+
+    /**
+     * Retrieves and removes the head of this queue. Must only be called from
+     * the consumer thread.
+     *
+     * @return the head of this queue, or <code>null</code> if it is empty
+     */
+    public T poll() {
+        long pos = head.get();
+        int slot = (int) pos & mask;
+        if (sequences.get(slot) != pos + 1) {
+            return null;
+        }
+        T message = buffer.get(slot);
+        buffer.lazySet(slot, null);
+        // frees the slot for the producer of the next lap
+        sequences.set(slot, pos + mask + 1);
+        head.lazySet(pos + 1);
+        return message;
+    }
+
+    /**
+     * Transfer bulk of elements from this queue to the <code>messages</code> collection.
+     * Must only be called from the consumer thread.
+     *
+     * @param messages  the collection to transfer bulk of elements from this queue
+     * @return the numbers of elements transfered
+     */
+    public int drainTo(Collection<? super T> messages) {
+        int max = bulk;
+        int count = 0;
+        T message;
+        while (count < max && (message = poll()) != null) {
+            messages.add(message);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Return the elements count in this queue.
+     *
+     * @return the elements count
+     */
+    public int size() {
+        // read the head first so that the result is never negative
+        long h = head.get();
+        long t = tail.get();
+        return (int) Math.max(0, Math.min(t - h, sizeOfQueue));
+    }
+
+    /**
+     * Return the number of messages rejected because this queue was full.
+     *
+     * @return the rejected messages count
+     */
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * Return the maximal bulk of messages for this queue.
+     *
+     * @return maximal bulk of messages that will be processed
+     */
+    public int bulk() {
+        return bulk;
+    }
+
+    /**
+     * Set the maximal bulk of messages for this queue.
+     *
+     * @param bulk Maximal bulk of messages that will be processed
+     */
+    public void setBulk(int bulk) {
+        this.bulk = bulk;
+    }
+
+}
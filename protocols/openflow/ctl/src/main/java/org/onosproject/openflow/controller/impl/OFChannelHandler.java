@@ -24,7 +24,6 @@ import static org.onosproject.openflow.controller.Dpid.uri;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
-import java.nio.ByteBuffer;
 import java.nio.channels.ClosedChannelException;
 import java.security.cert.Certificate;
 import java.util.ArrayList;
@@ -50,16 +49,10 @@ import java.util.concurrent.locks.ReentrantLock;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.onlab.osgi.DefaultServiceDirectory;
-import org.onlab.packet.Ethernet;
 import org.onlab.packet.IpAddress;
-import org.onosproject.net.ConnectPoint;
 import org.onosproject.net.DeviceId;
-import org.onosproject.net.PortNumber;
-import org.onosproject.net.packet.DefaultInboundPacket;
-import org.onosproject.openflow.controller.DefaultOpenFlowPacketContext;
 import org.onosproject.openflow.controller.Dpid;
 import org.onosproject.openflow.controller.OpenFlowClassifier;
-import org.onosproject.openflow.controller.OpenFlowPacketContext;
 import org.onosproject.openflow.controller.OpenFlowService;
 import org.onosproject.openflow.controller.OpenFlowSession;
 import org.onosproject.openflow.controller.driver.OpenFlowSwitchDriver;
@@ -180,9 +173,9 @@ class OFChannelHandler extends ChannelInboundHandlerAdapter
     private static final int BACKLOG_READ_BUFFER_DEFAULT = 1000;
 
     /**
-     * Map with all LinkedBlockingMessagesQueue queues which contains OFMessages.
+     * Map with all MpscMessagesQueue queues which contains OFMessages.
      */
-    private Map<Integer, LinkedBlockingMessagesQueue<OFMessage>> dispatchQueuesMapProducer = new ConcurrentHashMap<>();
+    private Map<Integer, MpscMessagesQueue<OFMessage>> dispatchQueuesMapProducer = new ConcurrentHashMap<>();
 
     /**
      * OFMessage classifiers map.
@@ -190,6 +183,10 @@ class OFChannelHandler extends ChannelInboundHandlerAdapter
     private List<Set<OpenFlowClassifier>> messageClassifiersMapProducer =
             new CopyOnWriteArrayList<Set<OpenFlowClassifier>>();
 
+    /**
+     * Ethernet type to queue lookup table, rebuilt whenever the classifiers change.
+     */
+    private volatile EtherTypeDispatchTable dispatchTable = EtherTypeDispatchTable.empty();
 
     /**
      * Lock held by take, poll, etc.
@@ -228,6 +225,13 @@ class OFChannelHandler extends ChannelInboundHandlerAdapter
      */
     private final Deque<OFMessage> dispatchBacklog;
 
+    /**
+     * Coalesces outgoing messages into fewer flushes; null if disabled.
+     * <p>
+     * Gets initialized on channelActive.
+     */
+    private OFMessageWriteCoalescer writeCoalescer;
+
     /**
      * Create a new unconnected OFChannelHandler.
      * @param controller parent controller
@@ -244,7 +248,7 @@ class OFChannelHandler extends ChannelInboundHandlerAdapter
         for (int i = 0; i < NUM_OF_QUEUES; i++) {
             if (controller.getQueueSize(i) > 0) {
                 dispatchQueuesMapProducer.put(i,
-                        new LinkedBlockingMessagesQueue<>(i, controller.getQueueSize(i), controller.getBulkSize(i)));
+                        new MpscMessagesQueue<>(i, controller.getQueueSize(i), controller.getBulkSize(i)));
             }
             if (i != NUM_OF_QUEUES) {
                 messageClassifiersMapProducer.add(i, new CopyOnWriteArraySet<>());
@@ -1329,6 +1333,12 @@ class OFChannelHandler extends ChannelInboundHandlerAdapter
 
         dispatcher = Executors.newSingleThreadExecutor(groupedThreads("onos/of/dispatcher", channelId, log));
 
+        if (controller.getWriteCoalescingLatencyMicros() > 0) {
+            writeCoalescer = new OFMessageWriteCoalescer(channel,
+                                                         controller.getWriteCoalescingLatencyMicros(),
+                                                         controller.getWriteCoalescingMaxBytes());
+        }
+
         /*
             hack to wait for the switch to tell us what it's
             max version is. This is not spec compliant and should
@@ -1350,6 +1360,10 @@ class OFChannelHandler extends ChannelInboundHandlerAdapter
             dispatcher = null;
         }
 
+        if (writeCoalescer != null) {
+            log.debug("Write coalescing stats for sw:{}: {}", getSwitchInfoString(), writeCoalescer);
+        }
+
          if (thisdpid != 0) {
              if (!duplicateDpidFound) {
                  // if the disconnected switch (on this ChannelHandler)
@@ -1497,10 +1511,14 @@ class OFChannelHandler extends ChannelInboundHandlerAdapter
 
     /**
      * Increment totalCount variable and send signal to executor.
+     * The executor only waits for the count to leave zero, so the lock is
+     * taken on that transition only.
      */
     private void incrementAndSignal() {
+        if (totalCount.incrementAndGet() != 1) {
+            return;
+        }
         try {
-            totalCount.incrementAndGet();
             takeLock.lockInterruptibly();
             try {
                 notEmpty.signal();
@@ -1546,37 +1564,22 @@ class OFChannelHandler extends ChannelInboundHandlerAdapter
     }
 
     /**
-     * Parse OpenFlow message context for get Ethernet packet.
+     * Returns the queue of a packet-in message, looking only at the ethernet
+     * type of the raw frame.
      *
-     * @param message OpenFlow message
-     * @return parsed Ethernet packet
+     * @param packetIn packet-in message
+     * @return Id of destination Queue
      */
-    private Ethernet parsePacketInMessage(OFMessage message) {
-        OpenFlowPacketContext pktCtx = DefaultOpenFlowPacketContext
-                .packetContextFromPacketIn(sw, (OFPacketIn) message);
-        DeviceId id = DeviceId.deviceId(Dpid.uri(pktCtx.dpid().value()));
-        DefaultInboundPacket inPkt = new DefaultInboundPacket(
-                new ConnectPoint(id, PortNumber.portNumber(pktCtx.inPort())),
-                pktCtx.parsed(), ByteBuffer.wrap(pktCtx.unparsed()),
-                pktCtx.cookie());
-        return inPkt.parsed();
+    private int classifyPacketIn(OFPacketIn packetIn) {
+        return dispatchTable.lookup(EtherTypeDispatchTable.peekEtherType(packetIn.getData()),
+                                    NUM_OF_QUEUES - 1);
     }
 
     /**
-     * Classify the Ethernet packet for membership on one of the queues.
-     *
-     * @param packet ethernet packet
-     * @return Id of destination Queue
+     * Rebuilds the dispatch table from the current classifiers.
      */
-    private int classifyEthernetPacket(Ethernet packet) {
-        for (Set<OpenFlowClassifier> classifiers : this.messageClassifiersMapProducer) {
-            for (OpenFlowClassifier classifier : classifiers) {
-                if (classifier.ethernetType() == packet.getEtherType()) {
-                    return classifier.idQueue();
-                }
-            }
-        }
-        return NUM_OF_QUEUES - 1;
+    private void updateDispatchTable() {
+        dispatchTable = EtherTypeDispatchTable.of(messageClassifiersMapProducer);
     }
 
     /**
@@ -1590,7 +1593,7 @@ class OFChannelHandler extends ChannelInboundHandlerAdapter
         do {
             processed = 0;
             while (processed < queuesSize) {
-                for (LinkedBlockingMessagesQueue<OFMessage> queue :
+                for (MpscMessagesQueue<OFMessage> queue :
                         dispatchQueuesMapProducer.values()) {
                     processed += queue.drainTo(msgs);
                 }
@@ -1607,8 +1610,10 @@ class OFChannelHandler extends ChannelInboundHandlerAdapter
         log.debug("Begin dispatch OpenFlow Message");
         boolean backlogEmpty = processDispatchBacklogQueue();
         if (m.getType() == OFType.PACKET_IN) {
-            Ethernet pkt = parsePacketInMessage(m);
-            pushMessageToQueue(m, classifyEthernetPacket(pkt));
+            int idQueue = classifyPacketIn((OFPacketIn) m);
+            if (!pushMessageToQueue(m, idQueue) && openFlowManager != null) {
+                openFlowManager.addDroppedMessages(deviceId, idQueue, 1);
+            }
         } else {
             if (!backlogEmpty || !pushMessageToQueue(m, NUM_OF_QUEUES - 1)) {
                 dispatchBacklog.offer(m);
@@ -1839,7 +1844,11 @@ class OFChannelHandler extends ChannelInboundHandlerAdapter
             if (log.isTraceEnabled()) {
                 log.trace("Sending messages for switch {} via openflow channel: {}", getSwitchInfoString(), msgs);
             }
-            channel.writeAndFlush(msgs, channel.voidPromise());
+            if (writeCoalescer != null) {
+                writeCoalescer.write(msgs);
+            } else {
+                channel.writeAndFlush(msgs, channel.voidPromise());
+            }
             return true;
         } else {
             log.warn("Dropping messages for switch {} because channel is not connected: {}",
@@ -1859,6 +1868,7 @@ class OFChannelHandler extends ChannelInboundHandlerAdapter
             log.debug("Add OpenFlow Classifier for switch {} to queue {} with type {}",
                      classifier.deviceId().toString(), classifier.idQueue(), classifier.ethernetType());
             this.messageClassifiersMapProducer.get(classifier.idQueue()).add(classifier);
+            updateDispatchTable();
         }
     }
 
@@ -1868,6 +1878,7 @@ class OFChannelHandler extends ChannelInboundHandlerAdapter
             log.debug("Remove OpenFlow Classifier for switch {} from queue {} with type {}",
                       classifier.deviceId().toString(), classifier.idQueue(), classifier.ethernetType());
             this.messageClassifiersMapProducer.get(classifier.idQueue()).remove(classifier);
+            updateDispatchTable();
         }
     }
 
@@ -1893,6 +1904,7 @@ class OFChannelHandler extends ChannelInboundHandlerAdapter
                 classifiers.forEach((c) -> {
                         messageClassifiersMapProducer.get(c.idQueue()).add(c);
                 });
+                updateDispatchTable();
             }
         } catch (Exception e) {
             log.error("Initialize default classifier failed: {}", e.toString());
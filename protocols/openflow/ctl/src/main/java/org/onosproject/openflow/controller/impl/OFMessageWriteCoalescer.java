@@ -0,0 +1,164 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.openflow.controller.impl;
+
+import io.netty.channel.Channel;
+import org.projectfloodlight.openflow.protocol.OFMessage;
+import org.projectfloodlight.openflow.protocol.OFPacketOut;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+
+/**
+ * Gathers the OpenFlow messages sent to a channel within a short window, or
+ * up to a byte budget, and writes them to the channel with a single flush.
+ * <p>
+ * Messages may be submitted from any thread; they are written in submission
+ * order on the channel's event loop.
+ * </p>
+ */
+final class OFMessageWriteCoalescer {
+
+    // Rough size of the messages whose length is not cheap to compute;
+    // close to a flow mod with a handful of match fields and actions
+    private static final int DEFAULT_MESSAGE_LENGTH = 128;
+    // Packet-out header and a typical output action
+    private static final int PACKET_OUT_OVERHEAD = 40;
+
+    private final Channel channel;
+    private final long latencyMicros;
+    private final int maxBytes;
+
+    private final Queue<OFMessage> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingBytes = new AtomicInteger();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    private final LongAdder batchCount = new LongAdder();
+    private final LongAdder messageCount = new LongAdder();
+    private final AtomicLong maxBatchSize = new AtomicLong();
+
+    /**
+     * Creates a new coalescer for the channel.
+     *
+     * @param channel       channel to write to
+     * @param latencyMicros longest time a message is held back, in microseconds
+     * @param maxBytes      estimated number of bytes after which pending
+     *                      messages are flushed without waiting
+     */
+    OFMessageWriteCoalescer(Channel channel, long latencyMicros, int maxBytes) {
+        this.channel = channel;
+        this.latencyMicros = latencyMicros;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Queues the messages for the next flush.
+     *
+     * @param msgs messages to write
+     */
+    void write(Iterable<OFMessage> msgs) {
+        int bytes = 0;
+        for (OFMessage msg : msgs) {
+            pending.add(msg);
+            bytes += estimateLength(msg);
+        }
+
+        if (pendingBytes.addAndGet(bytes) >= maxBytes) {
+            channel.eventLoop().execute(this::flush);
+        } else if (flushScheduled.compareAndSet(false, true)) {
+            channel.eventLoop().schedule(this::flush, latencyMicros, TimeUnit.MICROSECONDS);
+        }
+    }
+
+    /**
+     * Writes all pending messages to the channel and flushes it.
+     */
+    void flush() {
+        // clear the flag before draining so that messages queued from now on
+        // are either drained below or trigger another flush
+        flushScheduled.set(false);
+
+        List<OFMessage> batch = new ArrayList<>();
+        int bytes = 0;
+        OFMessage msg;
+        while ((msg = pending.poll()) != null) {
+            batch.add(msg);
+            bytes += estimateLength(msg);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        pendingBytes.addAndGet(-bytes);
+
+        batchCount.increment();
+        messageCount.add(batch.size());
+        maxBatchSize.accumulateAndGet(batch.size(), Math::max);
+        channel.writeAndFlush(batch, channel.voidPromise());
+    }
+
+    /**
+     * Returns the number of flushes issued so far.
+     *
+     * @return number of batches
+     */
+    long batchCount() {
+        return batchCount.sum();
+    }
+
+    /**
+     * Returns the number of messages written so far.
+     *
+     * @return number of messages
+     */
+    long messageCount() {
+        return messageCount.sum();
+    }
+
+    /**
+     * Returns the largest number of messages written with a single flush.
+     *
+     * @return largest batch size
+     */
+    long maxBatchSize() {
+        return maxBatchSize.get();
+    }
+
+    private static int estimateLength(OFMessage msg) {
+        if (msg instanceof OFPacketOut) {
+            return PACKET_OUT_OVERHEAD + ((OFPacketOut) msg).getData().length;
+        }
+        return DEFAULT_MESSAGE_LENGTH;
+    }
+
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add("batches", batchCount())
+                .add("messages", messageCount())
+                .add("maxBatchSize", maxBatchSize())
+                .toString();
+    }
+}
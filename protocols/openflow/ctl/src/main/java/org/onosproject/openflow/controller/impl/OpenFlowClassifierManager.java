@@ -21,9 +21,11 @@ import static org.slf4j.LoggerFactory.getLogger;
 import java.util.Map;
 import java.util.Set;
 import java.util.Collections;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.stream.Collectors;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 
 import org.osgi.service.component.annotations.Activate;
@@ -77,6 +79,7 @@ public class OpenFlowClassifierManager extends ListenerRegistry<OpenFlowEvent, O
     );
 
     private final Map<DeviceId, Set<OpenFlowClassifier>> classifiersMap = Maps.newConcurrentMap();
+    private final Map<DeviceId, AtomicLongArray> droppedMessages = Maps.newConcurrentMap();
 
     @Activate
     private void activate() {
@@ -153,6 +156,30 @@ public class OpenFlowClassifierManager extends ListenerRegistry<OpenFlowEvent, O
         }
     }
 
+    @Override
+    public void addDroppedMessages(DeviceId deviceId, int idQueue, long count) {
+        droppedMessages.computeIfAbsent(deviceId, k -> new AtomicLongArray(OFChannelHandler.NUM_OF_QUEUES))
+                .addAndGet(idQueue, count);
+    }
+
+    @Override
+    public Map<Integer, Long> getDroppedMessages(DeviceId deviceId) {
+        AtomicLongArray dropped = droppedMessages.get(deviceId);
+        if (dropped == null) {
+            return ImmutableMap.of();
+        }
+        ImmutableMap.Builder<Integer, Long> builder = ImmutableMap.builder();
+        for (int i = 0; i < dropped.length(); i++) {
+            builder.put(i, dropped.get(i));
+        }
+        return builder.build();
+    }
+
+    @Override
+    public void removeDroppedMessages(DeviceId deviceId) {
+        droppedMessages.remove(deviceId);
+    }
+
     private void updateClassifiers(OpenFlowClassifierConfig classfConfig) {
         Set<OpenFlowClassifier> old = classifiersMap.put(classfConfig.subject(),
                                                          Sets.newHashSet(classfConfig.getClassifiers()));
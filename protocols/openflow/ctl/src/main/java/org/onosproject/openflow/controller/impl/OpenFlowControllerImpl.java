@@ -124,6 +124,8 @@ import static org.onosproject.openflow.controller.impl.OsgiPropertyConstants.*;
                 BULK_SIZE_N5 + ":Integer=" + BULK_SIZE_DEFAULT,
                 QUEUE_SIZE_N6 + ":Integer=" + QUEUE_SIZE_DEFAULT,
                 BULK_SIZE_N6 + ":Integer=" + BULK_SIZE_DEFAULT,
+                WRITE_COALESCING_LATENCY + ":Integer=" + WRITE_COALESCING_LATENCY_DEFAULT,
+                WRITE_COALESCING_MAX_BYTES + ":Integer=" + WRITE_COALESCING_MAX_BYTES_DEFAULT,
         }
 )
 
@@ -220,6 +222,12 @@ public class OpenFlowControllerImpl implements OpenFlowController {
     /** Size of bulk N6. */
     private int bulkSizeN6 = BULK_SIZE_DEFAULT;
 
+    /** Longest time in microseconds outgoing messages are held back to be written together; 0 disables. */
+    private int writeCoalescingLatencyMicros = WRITE_COALESCING_LATENCY_DEFAULT;
+
+    /** Bytes of outgoing messages after which they are written without waiting. */
+    private int writeCoalescingMaxBytes = WRITE_COALESCING_MAX_BYTES_DEFAULT;
+
     protected ExecutorService executorMsgs =
         Executors.newFixedThreadPool(32, groupedThreads("onos/of", "event-stats-%d", log));
 
@@ -900,6 +908,7 @@ public class OpenFlowControllerImpl implements OpenFlowController {
                 log.debug("sw was null for {}", dpid);
                 sw = activeEqualSwitches.remove(dpid);
             }
+            openFlowManager.removeDroppedMessages(DeviceId.deviceId(Dpid.uri(dpid)));
             for (OpenFlowSwitchListener l : ofSwitchListener) {
                 l.switchRemoved(dpid);
             }
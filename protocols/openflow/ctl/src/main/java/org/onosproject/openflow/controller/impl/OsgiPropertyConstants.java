@@ -68,4 +68,10 @@ public final class OsgiPropertyConstants {
     public static final int BULK_SIZE_DEFAULT = 100;
     public static final int QUEUE_SIZE_DEFAULT = 1;
 
+    public static final String WRITE_COALESCING_LATENCY = "writeCoalescingLatencyMicros";
+    public static final int WRITE_COALESCING_LATENCY_DEFAULT = 0;
+
+    public static final String WRITE_COALESCING_MAX_BYTES = "writeCoalescingMaxBytes";
+    public static final int WRITE_COALESCING_MAX_BYTES_DEFAULT = 64 * 1024;
+
 }
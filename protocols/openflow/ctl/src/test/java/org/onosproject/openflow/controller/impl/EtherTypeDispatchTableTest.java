@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.openflow.controller.impl;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+import org.onlab.packet.ARP;
+import org.onlab.packet.Ethernet;
+import org.onlab.packet.MacAddress;
+import org.onosproject.net.DeviceId;
+import org.onosproject.openflow.controller.OpenFlowClassifier;
+
+import java.util.Collections;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Tests for the ethernet type dispatch table.
+ */
+public class EtherTypeDispatchTableTest {
+
+    private static final DeviceId DID = DeviceId.deviceId("of:0000000000000001");
+    private static final int DEFAULT_QUEUE = 7;
+
+    private static OpenFlowClassifier classifier(int idQueue, short ethernetType) {
+        return new OpenFlowClassifier.Builder(DID, idQueue).ethernetType(ethernetType).build();
+    }
+
+    private static byte[] frame(short etherType, short vlan, short qinqVlan) {
+        Ethernet eth = new Ethernet();
+        eth.setSourceMACAddress(MacAddress.valueOf(1L));
+        eth.setDestinationMACAddress(MacAddress.BROADCAST);
+        eth.setEtherType(etherType);
+        eth.setVlanID(vlan);
+        eth.setQinQVID(qinqVlan);
+        eth.setPayload(new ARP());
+        return eth.serialize();
+    }
+
+    /**
+     * Tests lookups of classified and unclassified ethernet types.
+     */
+    @Test
+    public void testLookup() {
+        EtherTypeDispatchTable table = EtherTypeDispatchTable.of(ImmutableList.of(
+                ImmutableSet.of(classifier(0, Ethernet.TYPE_LLDP), classifier(0, Ethernet.TYPE_BSN)),
+                ImmutableSet.of(classifier(1, Ethernet.TYPE_ARP)),
+                ImmutableSet.of(classifier(2, Ethernet.TYPE_LLDP))));
+
+        assertThat(table.lookup(Ethernet.TYPE_LLDP & 0xffff, DEFAULT_QUEUE), is(0));
+        assertThat(table.lookup(Ethernet.TYPE_BSN & 0xffff, DEFAULT_QUEUE), is(0));
+        assertThat(table.lookup(Ethernet.TYPE_ARP & 0xffff, DEFAULT_QUEUE), is(1));
+        assertThat(table.lookup(Ethernet.TYPE_IPV4 & 0xffff, DEFAULT_QUEUE), is(DEFAULT_QUEUE));
+        assertThat(table.lookup(EtherTypeDispatchTable.NO_ETHER_TYPE, DEFAULT_QUEUE), is(DEFAULT_QUEUE));
+    }
+
+    /**
+     * Tests that an empty table sends everything to the default queue.
+     */
+    @Test
+    public void testEmpty() {
+        EtherTypeDispatchTable table = EtherTypeDispatchTable.of(ImmutableList.of(Collections.emptySet()));
+
+        assertThat(table.lookup(Ethernet.TYPE_LLDP & 0xffff, DEFAULT_QUEUE), is(DEFAULT_QUEUE));
+        assertThat(EtherTypeDispatchTable.empty().lookup(0, DEFAULT_QUEUE), is(DEFAULT_QUEUE));
+    }
+
+    /**
+     * Tests reading the ethernet type of untagged and tagged frames.
+     */
+    @Test
+    public void testPeekEtherType() {
+        assertThat(EtherTypeDispatchTable.peekEtherType(frame(Ethernet.TYPE_ARP, Ethernet.VLAN_UNTAGGED,
+                                                              Ethernet.VLAN_UNTAGGED)),
+                   is(Ethernet.TYPE_ARP & 0xffff));
+        assertThat(EtherTypeDispatchTable.peekEtherType(frame(Ethernet.TYPE_ARP, (short) 10,
+                                                              Ethernet.VLAN_UNTAGGED)),
+                   is(Ethernet.TYPE_ARP & 0xffff));
+        assertThat(EtherTypeDispatchTable.peekEtherType(frame(Ethernet.TYPE_ARP, (short) 10, (short) 20)),
+                   is(Ethernet.TYPE_ARP & 0xffff));
+        assertThat(EtherTypeDispatchTable.peekEtherType(new byte[13]), is(EtherTypeDispatchTable.NO_ETHER_TYPE));
+        assertThat(EtherTypeDispatchTable.peekEtherType(null), is(EtherTypeDispatchTable.NO_ETHER_TYPE));
+    }
+}
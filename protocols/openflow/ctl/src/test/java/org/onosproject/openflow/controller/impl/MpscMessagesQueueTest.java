@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.openflow.controller.impl;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+/**
+ * Tests for the bounded multi-producer single-consumer queue.
+ */
+public class MpscMessagesQueueTest {
+
+    /**
+     * Tests that the queue rejects messages beyond its size.
+     */
+    @Test
+    public void testBounded() {
+        // the ring is rounded up to 4 slots but only 3 messages fit
+        MpscMessagesQueue<Integer> queue = new MpscMessagesQueue<>(0, 3, 10);
+
+        assertThat(queue.offer(1), is(true));
+        assertThat(queue.offer(2), is(true));
+        assertThat(queue.offer(3), is(true));
+        assertThat(queue.offer(4), is(false));
+        assertThat(queue.size(), is(3));
+        assertThat(queue.rejected(), is(1L));
+
+        assertThat(queue.poll(), is(1));
+        assertThat(queue.offer(4), is(true));
+        assertThat(queue.size(), is(3));
+    }
+
+    /**
+     * Tests that draining is limited to the bulk size and keeps the order.
+     */
+    @Test
+    public void testDrainToBulk() {
+        MpscMessagesQueue<Integer> queue = new MpscMessagesQueue<>(0, 8, 2);
+        for (int i = 0; i < 5; i++) {
+            queue.offer(i);
+        }
+
+        List<Integer> drained = new ArrayList<>();
+        assertThat(queue.drainTo(drained), is(2));
+        assertThat(queue.drainTo(drained), is(2));
+        assertThat(queue.drainTo(drained), is(1));
+        assertThat(queue.drainTo(drained), is(0));
+        assertThat(drained, is(ImmutableList.of(0, 1, 2, 3, 4)));
+        assertThat(queue.poll(), nullValue());
+    }
+
+    /**
+     * Tests that messages offered concurrently are all received once.
+     */
+    @Test
+    public void testConcurrentProducers() throws InterruptedException {
+        final int producers = 4;
+        final int perProducer = 10_000;
+        MpscMessagesQueue<Integer> queue = new MpscMessagesQueue<>(0, 64, 16);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch done = new CountDownLatch(producers);
+
+        for (int p = 0; p < producers; p++) {
+            final int base = p * perProducer;
+            executor.execute(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!queue.offer(base + i)) {
+                        Thread.yield();
+                    }
+                }
+                done.countDown();
+            });
+        }
+
+        Set<Integer> received = new HashSet<>();
+        List<Integer> batch = new ArrayList<>();
+        while (received.size() < producers * perProducer) {
+            queue.drainTo(batch);
+            received.addAll(batch);
+            batch.clear();
+        }
+
+        assertThat(done.await(5, TimeUnit.SECONDS), is(true));
+        executor.shutdownNow();
+        assertThat(queue.size(), is(0));
+    }
+}
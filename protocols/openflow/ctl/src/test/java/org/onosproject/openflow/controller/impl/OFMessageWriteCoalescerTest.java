@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.openflow.controller.impl;
+
+import com.google.common.collect.ImmutableList;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.onosproject.openflow.OfMessageAdapter;
+import org.projectfloodlight.openflow.protocol.OFMessage;
+import org.projectfloodlight.openflow.protocol.OFType;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+/**
+ * Tests for the OpenFlow message write coalescer.
+ */
+public class OFMessageWriteCoalescerTest {
+
+    private EmbeddedChannel channel;
+
+    @Before
+    public void setUp() {
+        channel = new EmbeddedChannel();
+    }
+
+    @After
+    public void tearDown() {
+        channel.finishAndReleaseAll();
+    }
+
+    /**
+     * Tests that messages written within the window leave with one flush.
+     */
+    @Test
+    public void testCoalesceWithinWindow() {
+        OFMessageWriteCoalescer coalescer = new OFMessageWriteCoalescer(channel, 1, 64 * 1024);
+        OFMessage m1 = new OfMessageAdapter(OFType.FLOW_MOD);
+        OFMessage m2 = new OfMessageAdapter(OFType.FLOW_MOD);
+        OFMessage m3 = new OfMessageAdapter(OFType.BARRIER_REQUEST);
+
+        coalescer.write(Collections.singletonList(m1));
+        coalescer.write(ImmutableList.of(m2, m3));
+        assertThat(channel.readOutbound(), nullValue());
+
+        coalescer.flush();
+        List<OFMessage> batch = channel.readOutbound();
+        assertThat(batch, is(ImmutableList.of(m1, m2, m3)));
+        assertThat(coalescer.batchCount(), is(1L));
+        assertThat(coalescer.messageCount(), is(3L));
+        assertThat(coalescer.maxBatchSize(), is(3L));
+    }
+
+    /**
+     * Tests that exceeding the byte budget flushes without waiting.
+     */
+    @Test
+    public void testFlushOnByteBudget() {
+        OFMessageWriteCoalescer coalescer = new OFMessageWriteCoalescer(channel, 1_000_000, 1);
+        OFMessage m1 = new OfMessageAdapter(OFType.FLOW_MOD);
+
+        coalescer.write(Collections.singletonList(m1));
+        channel.runPendingTasks();
+
+        List<OFMessage> batch = channel.readOutbound();
+        assertThat(batch, is(ImmutableList.of(m1)));
+        assertThat(coalescer.batchCount(), is(1L));
+    }
+
+    /**
+     * Tests that a flush with nothing pending doesn't write to the channel.
+     */
+    @Test
+    public void testEmptyFlush() {
+        OFMessageWriteCoalescer coalescer = new OFMessageWriteCoalescer(channel, 1, 64 * 1024);
+
+        coalescer.flush();
+        assertThat(channel.readOutbound(), nullValue());
+        assertThat(coalescer.batchCount(), is(0L));
+    }
+}
@@ -15,18 +15,39 @@
  */
 package org.onosproject.ovsdb.controller;
 
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentMap;
 
+import org.onosproject.ovsdb.rfc.notation.Column;
+import org.onosproject.ovsdb.rfc.notation.OvsdbMap;
 import org.onosproject.ovsdb.rfc.notation.Row;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Maps;
 
+import static org.onosproject.ovsdb.controller.OvsdbConstant.EXTERNAL_ID;
+
 /**
  * The class representing a table data.
+ * <p>
+ * Besides the rows by uuid, the store indexes the rows by the value of their
+ * "name" column and by the entries of their "external_ids" column, so that
+ * the rows can be looked up without decoding every row of the table. The
+ * indexes are maintained as the rows are inserted and deleted. Several rows
+ * may share a value, in which case the row indexed last is looked up until
+ * it is deleted.
+ * </p>
  */
 public class OvsdbRowStore {
 
+    private static final String NAME = "name";
+
     private final ConcurrentMap<String, Row> rowStore = Maps.newConcurrentMap();
+    // uuids of the rows holding a value, in the order they were indexed
+    private final ConcurrentMap<String, List<String>> nameIndex = Maps.newConcurrentMap();
+    private final ConcurrentMap<String, ConcurrentMap<String, List<String>>> externalIdIndex =
+            Maps.newConcurrentMap();
 
     /**
      * Gets the row.
@@ -44,8 +65,12 @@ public class OvsdbRowStore {
      * @param uuid key of the row
      * @param row a row of the table
      */
-    public void insertRow(String uuid, Row row) {
-        rowStore.put(uuid, row);
+    public synchronized void insertRow(String uuid, Row row) {
+        Row oldRow = rowStore.put(uuid, row);
+        if (oldRow != null) {
+            unindex(uuid, oldRow);
+        }
+        index(uuid, row);
     }
 
     /**
@@ -53,12 +78,97 @@ public class OvsdbRowStore {
      *
      * @param uuid key of the row
      */
-    public void deleteRow(String uuid) {
-        rowStore.remove(uuid);
+    public synchronized void deleteRow(String uuid) {
+        Row oldRow = rowStore.remove(uuid);
+        if (oldRow != null) {
+            unindex(uuid, oldRow);
+        }
+    }
+
+    /**
+     * Gets the uuid of the row with the given name.
+     *
+     * @param name value of the "name" column
+     * @return uuid of the row, or null if there is no such row
+     */
+    public String getRowUuidByName(String name) {
+        return last(nameIndex.get(name));
+    }
+
+    /**
+     * Gets the uuid of the row with the given external id.
+     *
+     * @param key   key of the "external_ids" column
+     * @param value value of the key
+     * @return uuid of the row, or null if there is no such row
+     */
+    public String getRowUuidByExternalId(String key, String value) {
+        Map<String, List<String>> values = externalIdIndex.get(key);
+        return values == null ? null : last(values.get(value));
+    }
+
+    private void index(String uuid, Row row) {
+        String name = name(row);
+        if (name != null) {
+            index(nameIndex, name, uuid);
+        }
+        externalIds(row).forEach((key, value) -> index(
+                externalIdIndex.computeIfAbsent(key, k -> Maps.newConcurrentMap()), value, uuid));
+    }
+
+    private void unindex(String uuid, Row row) {
+        String name = name(row);
+        if (name != null) {
+            unindex(nameIndex, name, uuid);
+        }
+        externalIds(row).forEach((key, value) -> {
+            ConcurrentMap<String, List<String>> values = externalIdIndex.get(key);
+            if (values != null) {
+                unindex(values, value, uuid);
+            }
+        });
+    }
+
+    // The lists are replaced rather than modified, as they are read without locking
+    private static void index(ConcurrentMap<String, List<String>> index, String value, String uuid) {
+        index.merge(value, ImmutableList.of(uuid),
+                    (uuids, added) -> ImmutableList.<String>builder().addAll(uuids).addAll(added).build());
+    }
+
+    private static void unindex(ConcurrentMap<String, List<String>> index, String value, String uuid) {
+        index.computeIfPresent(value, (v, uuids) -> {
+            List<String> remaining = ImmutableList.copyOf(uuids.stream()
+                    .filter(u -> !u.equals(uuid)).iterator());
+            return remaining.isEmpty() ? null : remaining;
+        });
+    }
+
+    private static String last(List<String> uuids) {
+        return uuids == null ? null : uuids.get(uuids.size() - 1);
+    }
+
+    private static String name(Row row) {
+        Column column = row.getColumn(NAME);
+        return column != null && column.data() instanceof String ? (String) column.data() : null;
+    }
+
+    private static Map<String, String> externalIds(Row row) {
+        Column column = row.getColumn(EXTERNAL_ID);
+        if (column == null || !(column.data() instanceof OvsdbMap)) {
+            return Maps.newHashMap();
+        }
+        Map<String, String> externalIds = Maps.newHashMap();
+        ((Map<?, ?>) ((OvsdbMap) column.data()).map()).forEach((key, value) -> {
+            if (key instanceof String && value instanceof String) {
+                externalIds.put((String) key, (String) value);
+            }
+        });
+        return externalIds;
     }
 
     /**
-     * Gets the rowStore.
+     * Gets the rowStore. The rows must not be inserted or deleted through
+     * the returned map, or the indexes would go stale.
      *
      * @return rowStore
      */
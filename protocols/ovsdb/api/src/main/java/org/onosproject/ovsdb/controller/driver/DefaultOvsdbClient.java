@@ -112,7 +112,6 @@ import static org.onosproject.ovsdb.controller.OvsdbConstant.BRIDGES;
 import static org.onosproject.ovsdb.controller.OvsdbConstant.BRIDGE_CONTROLLER;
 import static org.onosproject.ovsdb.controller.OvsdbConstant.CONTROLLER;
 import static org.onosproject.ovsdb.controller.OvsdbConstant.DATABASENAME;
-import static org.onosproject.ovsdb.controller.OvsdbConstant.EXTERNAL_ID;
 import static org.onosproject.ovsdb.controller.OvsdbConstant.EXTERNAL_ID_INTERFACE_ID;
 import static org.onosproject.ovsdb.controller.OvsdbConstant.INTERFACE;
 import static org.onosproject.ovsdb.controller.OvsdbConstant.INTERFACES;
@@ -148,9 +147,9 @@ public class DefaultOvsdbClient implements OvsdbProviderService, OvsdbClientServ
     private Callback monitorCallBack;
     private OvsdbStore ovsdbStore = new OvsdbStore();
 
-    private final Map<String, String> requestMethod = Maps.newHashMap();
-    private final Map<String, SettableFuture<? extends Object>> requestResult = Maps.newHashMap();
-    private final Map<String, DatabaseSchema> schema = Maps.newHashMap();
+    private final Map<String, String> requestMethod = Maps.newConcurrentMap();
+    private final Map<String, SettableFuture<? extends Object>> requestResult = Maps.newConcurrentMap();
+    private final Map<String, DatabaseSchema> schema = Maps.newConcurrentMap();
 
 
     /**
@@ -284,6 +283,11 @@ public class DefaultOvsdbClient implements OvsdbProviderService, OvsdbClientServ
             return null;
         }
 
+        String mirrorUuid = rowStore.getRowUuidByName(mirrorName);
+        if (mirrorUuid != null) {
+            return mirrorUuid;
+        }
+
         ConcurrentMap<String, Row> mirrorTableRows = rowStore.getRowStore();
         if (mirrorTableRows == null) {
             log.warn("The mirror uuid is null");
@@ -380,6 +384,13 @@ public class DefaultOvsdbClient implements OvsdbProviderService, OvsdbClientServ
                 return null;
             }
 
+            OvsdbRowStore portRowStore = getRowStore(DATABASENAME, PORT);
+            String portUuid = portRowStore == null ? null : portRowStore.getRowUuidByName(portName);
+            if (portUuid != null && ports.contains(Uuid.uuid(portUuid))) {
+                return portUuid;
+            }
+
+            // port names are matched regardless of their case
             for (Uuid uuid : ports) {
                 Row portRow = getRow(DATABASENAME, PORT, uuid.value());
                 Port port = (Port) TableGenerator.getTable(dbSchema, portRow,
@@ -394,27 +405,13 @@ public class DefaultOvsdbClient implements OvsdbProviderService, OvsdbClientServ
 
     @Override
     public String getBridgeUuid(String bridgeName) {
-        DatabaseSchema dbSchema = schema.get(DATABASENAME);
         OvsdbRowStore rowStore = getRowStore(DATABASENAME, BRIDGE);
         if (rowStore == null) {
             log.debug("The bridge uuid is null");
             return null;
         }
 
-        ConcurrentMap<String, Row> bridgeTableRows = rowStore.getRowStore();
-        if (bridgeTableRows == null) {
-            log.debug("The bridge uuid is null");
-            return null;
-        }
-
-        for (String uuid : bridgeTableRows.keySet()) {
-            Bridge bridge = (Bridge) TableGenerator
-                    .getTable(dbSchema, bridgeTableRows.get(uuid), OvsdbTable.BRIDGE);
-            if (bridge.getName().equals(bridgeName)) {
-                return uuid;
-            }
-        }
-        return null;
+        return rowStore.getRowUuidByName(bridgeName);
     }
 
     private String getOvsUuid(String dbName) {
@@ -613,16 +610,11 @@ public class DefaultOvsdbClient implements OvsdbProviderService, OvsdbClientServ
         // Bridge or Port Table has a name column,in order to make the api more
         // general, put qos name in external_ids column of Qos Table if this qos
         // created by onos.
-        ConcurrentMap<String, Row> qosTableRows = qosRowStore.getRowStore();
-        ConcurrentMap<String, Row> portTableRows = portRowStore.getRowStore();
-        Row qosRow = qosTableRows.values().stream().filter(r -> {
-            OvsdbMap ovsdbMap = (OvsdbMap) (r.getColumn(EXTERNAL_ID).data());
-            return qosName.equals(ovsdbMap.map().get(QOS_EXTERNAL_ID_KEY));
-        }).findFirst().orElse(null);
-
-        Row portRow = portTableRows.values().stream()
-                .filter(r -> r.getColumn("name").data().equals(portNumber.name()))
-                .findFirst().orElse(null);
+        String qosUuid = qosRowStore.getRowUuidByExternalId(QOS_EXTERNAL_ID_KEY, qosName);
+        Row qosRow = qosUuid == null ? null : qosRowStore.getRow(qosUuid);
+
+        String portUuidValue = portRowStore.getRowUuidByName(portNumber.name());
+        Row portRow = portUuidValue == null ? null : portRowStore.getRow(portUuidValue);
         if (portRow != null && qosRow != null) {
             String qosId = qosRow.uuid().value();
             Uuid portUuid = portRow.uuid();
@@ -693,13 +685,10 @@ public class DefaultOvsdbClient implements OvsdbProviderService, OvsdbClientServ
             for (Map.Entry<Long, String> entry : ovsdbQos.qosQueues().get().entrySet()) {
                 OvsdbRowStore queueRowStore = getRowStore(DATABASENAME, QUEUE);
                 if (queueRowStore != null) {
-                    ConcurrentMap<String, Row> queueTableRows = queueRowStore.getRowStore();
-                    Row queueRow = queueTableRows.values().stream().filter(r -> {
-                        OvsdbMap ovsdbMap = (OvsdbMap) (r.getColumn(EXTERNAL_ID).data());
-                        return entry.getValue().equals(ovsdbMap.map().get(QUEUE_EXTERNAL_ID_KEY));
-                    }).findFirst().orElse(null);
-                    if (queueRow != null) {
-                        queues.put(entry.getKey(), queueRow.uuid());
+                    String queueUuid = queueRowStore.getRowUuidByExternalId(QUEUE_EXTERNAL_ID_KEY,
+                                                                            entry.getValue());
+                    if (queueUuid != null) {
+                        queues.put(entry.getKey(), Uuid.uuid(queueUuid));
                     }
                 }
             }
@@ -720,22 +709,20 @@ public class DefaultOvsdbClient implements OvsdbProviderService, OvsdbClientServ
     public void dropQos(QosId qosId) {
         OvsdbRowStore rowStore = getRowStore(DATABASENAME, QOS);
         if (rowStore != null) {
-            ConcurrentMap<String, Row> qosTableRows = rowStore.getRowStore();
-            Row qosRow = qosTableRows.values().stream().filter(r -> {
-                        OvsdbMap ovsdbMap = (OvsdbMap) (r.getColumn(EXTERNAL_ID).data());
-                        return qosId.name().equals(ovsdbMap.map().get(QOS_EXTERNAL_ID_KEY));
-                    }).findFirst().orElse(null);
-            if (qosRow != null) {
-                deleteConfig(QOS, UUID, qosRow.uuid().value(), PORT, PORT_QOS, qosRow.uuid());
+            String qosUuid = rowStore.getRowUuidByExternalId(QOS_EXTERNAL_ID_KEY, qosId.name());
+            if (qosUuid != null) {
+                deleteConfig(QOS, UUID, qosUuid, PORT, PORT_QOS, Uuid.uuid(qosUuid));
             }
         }
     }
     @Override
     public OvsdbQos getQos(QosId qosId) {
-        Set<OvsdbQos> ovsdbQoses = getQoses();
-        return ovsdbQoses.stream().filter(r ->
-                qosId.name().equals(r.externalIds().get(QOS_EXTERNAL_ID_KEY))).
-                findFirst().orElse(null);
+        OvsdbRowStore rowStore = getRowStore(DATABASENAME, QOS);
+        if (rowStore == null) {
+            return null;
+        }
+        String qosUuid = rowStore.getRowUuidByExternalId(QOS_EXTERNAL_ID_KEY, qosId.name());
+        return qosUuid == null ? null : getOvsdbQos(rowStore.getRow(qosUuid));
     }
 
     @Override
@@ -769,29 +756,20 @@ public class DefaultOvsdbClient implements OvsdbProviderService, OvsdbClientServ
             return;
         }
 
-        ConcurrentMap<String, Row> qosTableRows = qosRowStore.getRowStore();
-        ConcurrentMap<String, Row> queueTableRows = queueRowStore.getRowStore();
-
-        Row qosRow = qosTableRows.values().stream().filter(r -> {
-            OvsdbMap ovsdbMap = (OvsdbMap) (r.getColumn(EXTERNAL_ID).data());
-            return qosId.name().equals(ovsdbMap.map().get(QOS_EXTERNAL_ID_KEY));
-        }).findFirst().orElse(null);
-
-        if (qosRow == null) {
+        String qosUuidValue = qosRowStore.getRowUuidByExternalId(QOS_EXTERNAL_ID_KEY, qosId.name());
+        if (qosUuidValue == null) {
             log.warn("Can't find QoS {}", qosId);
             return;
         }
 
-        Uuid qosUuid = qosRow.uuid();
+        Uuid qosUuid = Uuid.uuid(qosUuidValue);
 
         Map<Long, Uuid> newQueues = new HashMap<>();
         for (Map.Entry<Long, QueueDescription> entry : queues.entrySet()) {
-            Row queueRow = queueTableRows.values().stream().filter(r -> {
-                OvsdbMap ovsdbMap = (OvsdbMap) (r.getColumn(EXTERNAL_ID).data());
-                return entry.getValue().queueId().name().equals(ovsdbMap.map().get(QUEUE_EXTERNAL_ID_KEY));
-            }).findFirst().orElse(null);
-            if (queueRow != null) {
-                newQueues.put(entry.getKey(), queueRow.uuid());
+            String queueUuid = queueRowStore.getRowUuidByExternalId(QUEUE_EXTERNAL_ID_KEY,
+                                                                    entry.getValue().queueId().name());
+            if (queueUuid != null) {
+                newQueues.put(entry.getKey(), Uuid.uuid(queueUuid));
             }
         }
 
@@ -816,12 +794,8 @@ public class DefaultOvsdbClient implements OvsdbProviderService, OvsdbClientServ
             return;
         }
 
-        ConcurrentMap<String, Row> qosTableRows = qosRowStore.getRowStore();
-
-        Row qosRow = qosTableRows.values().stream().filter(r -> {
-            OvsdbMap ovsdbMap = (OvsdbMap) (r.getColumn(EXTERNAL_ID).data());
-            return qosId.name().equals(ovsdbMap.map().get(QOS_EXTERNAL_ID_KEY));
-        }).findFirst().orElse(null);
+        String qosUuid = qosRowStore.getRowUuidByExternalId(QOS_EXTERNAL_ID_KEY, qosId.name());
+        Row qosRow = qosUuid == null ? null : qosRowStore.getRow(qosUuid);
 
         if (qosRow == null) {
             log.warn("Can't find QoS {}", qosId);
@@ -888,16 +862,11 @@ public class DefaultOvsdbClient implements OvsdbProviderService, OvsdbClientServ
             return;
         }
 
-        ConcurrentMap<String, Row> queueTableRows = queueRowStore.getRowStore();
-        Row queueRow = queueTableRows.values().stream().filter(r -> {
-            OvsdbMap ovsdbMap = (OvsdbMap) (r.getColumn(EXTERNAL_ID).data());
-            return queueId.name().equals(ovsdbMap.map().get(QUEUE_EXTERNAL_ID_KEY));
-        }).findFirst().orElse(null);
-        if (queueRow == null) {
+        String queueUuid = queueRowStore.getRowUuidByExternalId(QUEUE_EXTERNAL_ID_KEY, queueId.name());
+        if (queueUuid == null) {
             return;
         }
 
-        String queueUuid = queueRow.uuid().value();
         OvsdbRowStore qosRowStore = getRowStore(DATABASENAME, QOS);
         if (qosRowStore != null) {
             Map<Long, Uuid> queueMap = new HashMap<>();
@@ -920,10 +889,12 @@ public class DefaultOvsdbClient implements OvsdbProviderService, OvsdbClientServ
     }
     @Override
     public OvsdbQueue getQueue(QueueId queueId) {
-        Set<OvsdbQueue> ovsdbQueues = getQueues();
-        return ovsdbQueues.stream().filter(r ->
-                queueId.name().equals(r.externalIds().get(QUEUE_EXTERNAL_ID_KEY))).
-                findFirst().orElse(null);
+        OvsdbRowStore rowStore = getRowStore(DATABASENAME, QUEUE);
+        if (rowStore == null) {
+            return null;
+        }
+        String queueUuid = rowStore.getRowUuidByExternalId(QUEUE_EXTERNAL_ID_KEY, queueId.name());
+        return queueUuid == null ? null : getOvsdbQueue(rowStore.getRow(queueUuid));
     }
 
     @Override
@@ -1460,16 +1431,13 @@ public class DefaultOvsdbClient implements OvsdbProviderService, OvsdbClientServ
     public void processResult(JsonNode response) {
         log.debug("Handle result");
         String requestId = response.get("id").asText();
-        SettableFuture sf = requestResult.get(requestId);
+        SettableFuture sf = requestResult.remove(requestId);
+        String methodName = requestMethod.remove(requestId);
         if (sf == null) {
             log.debug("No such future to process");
             return;
         }
-        String methodName = requestMethod.get(requestId);
         sf.set(FromJsonUtil.jsonResultParser(response, methodName));
-
-        requestResult.remove(requestId);
-        requestMethod.remove(requestId);
     }
 
     @Override
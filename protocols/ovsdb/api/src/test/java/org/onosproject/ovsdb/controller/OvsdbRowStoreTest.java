@@ -0,0 +1,132 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.ovsdb.controller;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Before;
+import org.junit.Test;
+import org.onosproject.ovsdb.rfc.notation.Column;
+import org.onosproject.ovsdb.rfc.notation.OvsdbMap;
+import org.onosproject.ovsdb.rfc.notation.Row;
+import org.onosproject.ovsdb.rfc.notation.Uuid;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.onosproject.ovsdb.controller.OvsdbConstant.EXTERNAL_ID;
+import static org.onosproject.ovsdb.controller.OvsdbConstant.QOS_EXTERNAL_ID_KEY;
+
+/**
+ * Tests for the indexes of the OVSDB row store.
+ */
+public class OvsdbRowStoreTest {
+
+    private static final String UUID1 = "36e4b1a3-3c61-4e51-9c3c-bb1a77ac8e3a";
+    private static final String UUID2 = "4c4e8a3e-4f31-4c3e-9a3f-1fbd4a7cf6a2";
+
+    private OvsdbRowStore rowStore;
+
+    @Before
+    public void setUp() {
+        rowStore = new OvsdbRowStore();
+    }
+
+    private static Row row(String uuid, String name, Map<String, String> externalIds) {
+        Map<String, Column> columns = new HashMap<>();
+        if (name != null) {
+            columns.put("name", new Column("name", name));
+        }
+        columns.put(EXTERNAL_ID, new Column(EXTERNAL_ID, OvsdbMap.ovsdbMap(externalIds)));
+        return new Row("Bridge", Uuid.uuid(uuid), columns);
+    }
+
+    /**
+     * Tests that rows are found by name and external id.
+     */
+    @Test
+    public void testLookups() {
+        rowStore.insertRow(UUID1, row(UUID1, "br-int", ImmutableMap.of(QOS_EXTERNAL_ID_KEY, "qos1")));
+        rowStore.insertRow(UUID2, row(UUID2, "br-ex", ImmutableMap.of()));
+
+        assertThat(rowStore.getRowUuidByName("br-int"), is(UUID1));
+        assertThat(rowStore.getRowUuidByName("br-ex"), is(UUID2));
+        assertThat(rowStore.getRowUuidByName("br-tun"), nullValue());
+        assertThat(rowStore.getRowUuidByExternalId(QOS_EXTERNAL_ID_KEY, "qos1"), is(UUID1));
+        assertThat(rowStore.getRowUuidByExternalId(QOS_EXTERNAL_ID_KEY, "qos2"), nullValue());
+    }
+
+    /**
+     * Tests that updating a row replaces its index entries.
+     */
+    @Test
+    public void testUpdate() {
+        rowStore.insertRow(UUID1, row(UUID1, "br-int", ImmutableMap.of(QOS_EXTERNAL_ID_KEY, "qos1")));
+        rowStore.insertRow(UUID1, row(UUID1, "br-new", ImmutableMap.of(QOS_EXTERNAL_ID_KEY, "qos2")));
+
+        assertThat(rowStore.getRowUuidByName("br-int"), nullValue());
+        assertThat(rowStore.getRowUuidByName("br-new"), is(UUID1));
+        assertThat(rowStore.getRowUuidByExternalId(QOS_EXTERNAL_ID_KEY, "qos1"), nullValue());
+        assertThat(rowStore.getRowUuidByExternalId(QOS_EXTERNAL_ID_KEY, "qos2"), is(UUID1));
+    }
+
+    /**
+     * Tests that deleting a row removes its index entries.
+     */
+    @Test
+    public void testDelete() {
+        rowStore.insertRow(UUID1, row(UUID1, "br-int", ImmutableMap.of(QOS_EXTERNAL_ID_KEY, "qos1")));
+        rowStore.deleteRow(UUID1);
+
+        assertThat(rowStore.getRow(UUID1), nullValue());
+        assertThat(rowStore.getRowUuidByName("br-int"), nullValue());
+        assertThat(rowStore.getRowUuidByExternalId(QOS_EXTERNAL_ID_KEY, "qos1"), nullValue());
+    }
+
+    /**
+     * Tests that the rows sharing an external id remain found until all of
+     * them are deleted.
+     */
+    @Test
+    public void testSharedExternalId() {
+        rowStore.insertRow(UUID1, row(UUID1, "br-int", ImmutableMap.of(QOS_EXTERNAL_ID_KEY, "qos1")));
+        rowStore.insertRow(UUID2, row(UUID2, "br-ex", ImmutableMap.of(QOS_EXTERNAL_ID_KEY, "qos1")));
+        assertThat(rowStore.getRowUuidByExternalId(QOS_EXTERNAL_ID_KEY, "qos1"), is(UUID2));
+
+        rowStore.deleteRow(UUID2);
+        assertThat(rowStore.getRowUuidByExternalId(QOS_EXTERNAL_ID_KEY, "qos1"), is(UUID1));
+
+        rowStore.insertRow(UUID2, row(UUID2, "br-ex", ImmutableMap.of(QOS_EXTERNAL_ID_KEY, "qos1")));
+        rowStore.deleteRow(UUID1);
+        assertThat(rowStore.getRowUuidByExternalId(QOS_EXTERNAL_ID_KEY, "qos1"), is(UUID2));
+
+        rowStore.deleteRow(UUID2);
+        assertThat(rowStore.getRowUuidByExternalId(QOS_EXTERNAL_ID_KEY, "qos1"), nullValue());
+    }
+
+    /**
+     * Tests that a row without a name is only indexed by its external ids.
+     */
+    @Test
+    public void testRowWithoutName() {
+        rowStore.insertRow(UUID1, row(UUID1, null, ImmutableMap.of(QOS_EXTERNAL_ID_KEY, "qos1")));
+
+        assertThat(rowStore.getRow(UUID1).uuid().value(), is(UUID1));
+        assertThat(rowStore.getRowUuidByExternalId(QOS_EXTERNAL_ID_KEY, "qos1"), is(UUID1));
+    }
+}
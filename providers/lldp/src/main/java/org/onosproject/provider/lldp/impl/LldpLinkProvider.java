@@ -55,6 +55,7 @@ import org.onosproject.net.provider.AbstractProvider;
 import org.onosproject.net.provider.ProviderId;
 import org.onosproject.provider.lldpcommon.LinkDiscovery;
 import org.onosproject.provider.lldpcommon.LinkDiscoveryContext;
+import org.onosproject.provider.lldpcommon.LinkDiscoveryScheduler;
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -182,6 +183,9 @@ public class LldpLinkProvider extends AbstractProvider implements ProbedLinkProv
     // Device link discovery helpers.
     protected final Map<DeviceId, LinkDiscovery> discoverers = new ConcurrentHashMap<>();
 
+    // Spreads the probes of the discovery helpers over the probe period.
+    private LinkDiscoveryScheduler scheduler;
+
     // Most recent time a tracked link was seen; links are tracked if their
     // destination connection point is mastered by this controller instance.
     private final Map<LinkKey, Long> linkTimes = Maps.newConcurrentMap();
@@ -361,6 +365,8 @@ public class LldpLinkProvider extends AbstractProvider implements ProbedLinkProv
         deviceService.addListener(deviceListener);
         packetService.addProcessor(packetProcessor, PacketProcessor.advisor(0));
 
+        scheduler = new LinkDiscoveryScheduler(() -> probeRate);
+        scheduler.start();
         loadDevices();
 
         executor = newSingleThreadScheduledExecutor(groupedThreads("onos/link", "discovery-%d", log));
@@ -389,6 +395,9 @@ public class LldpLinkProvider extends AbstractProvider implements ProbedLinkProv
         discoverers.values().forEach(LinkDiscovery::stop);
         discoverers.clear();
         linkTimes.clear();
+        if (scheduler != null) {
+            scheduler.stop();
+        }
 
         providerService = null;
     }
@@ -462,7 +471,7 @@ public class LldpLinkProvider extends AbstractProvider implements ProbedLinkProv
         }
 
         LinkDiscovery ld = discoverers.computeIfAbsent(device.id(),
-                                     did -> new LinkDiscovery(device.id(), context));
+                                     did -> new LinkDiscovery(device.id(), context, scheduler));
         if (ld.isStopped()) {
             ld.start();
         }
@@ -15,12 +15,16 @@
  */
 package org.onosproject.provider.lldpcommon;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import io.netty.util.Timeout;
 import io.netty.util.TimerTask;
 import io.netty.util.internal.StringUtil;
 import org.onlab.packet.Ethernet;
+import org.onlab.packet.LinkProbeFrame;
+import org.onlab.packet.LinkProbeTemplate;
 import org.onlab.packet.MacAddress;
 import org.onlab.packet.ONOSLLDP;
 import org.onlab.util.Timer;
@@ -44,6 +48,7 @@ import org.onosproject.net.packet.PacketContext;
 import org.slf4j.Logger;
 
 import java.nio.ByteBuffer;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -74,9 +79,11 @@ public class LinkDiscovery implements TimerTask {
 
     private final DeviceId deviceId;
     private final LinkDiscoveryContext context;
+    private final LinkDiscoveryScheduler scheduler;
 
-    private final Ethernet ethPacket;
-    private final Ethernet bddpEth;
+    // Probe frames of the device, built again when the device or the cluster changes
+    private volatile LinkProbeTemplate lldpTemplate;
+    private volatile LinkProbeTemplate bddpTemplate;
 
     private Timeout timeout;
     private volatile boolean isStopped;
@@ -92,18 +99,23 @@ public class LinkDiscovery implements TimerTask {
      * @param context discovery context
      */
     public LinkDiscovery(DeviceId deviceId, LinkDiscoveryContext context) {
+        this(deviceId, context, null);
+    }
+
+    /**
+     * Instantiates discovery manager for the given physical switch, whose
+     * probes are scheduled by the given scheduler rather than by the
+     * discovery manager itself.
+     *
+     * @param deviceId  the physical switch
+     * @param context   discovery context
+     * @param scheduler probe scheduler shared by the discovery managers
+     */
+    public LinkDiscovery(DeviceId deviceId, LinkDiscoveryContext context,
+                         LinkDiscoveryScheduler scheduler) {
         this.deviceId = deviceId;
         this.context = context;
-
-        ethPacket = new Ethernet();
-        ethPacket.setEtherType(Ethernet.TYPE_LLDP);
-        ethPacket.setDestinationMACAddress(MacAddress.ONOS_LLDP);
-        ethPacket.setPad(true);
-
-        bddpEth = new Ethernet();
-        bddpEth.setEtherType(Ethernet.TYPE_BSN);
-        bddpEth.setDestinationMACAddress(MacAddress.BROADCAST);
-        bddpEth.setPad(true);
+        this.scheduler = scheduler;
 
         isStopped = true;
         start();
@@ -114,7 +126,11 @@ public class LinkDiscovery implements TimerTask {
     public synchronized void stop() {
         if (!isStopped) {
             isStopped = true;
-            timeout.cancel();
+            if (scheduler != null) {
+                scheduler.remove(this);
+            } else {
+                timeout.cancel();
+            }
         } else {
             log.warn("LinkDiscovery stopped multiple times?");
         }
@@ -123,14 +139,18 @@ public class LinkDiscovery implements TimerTask {
     public synchronized void start() {
         if (isStopped) {
             isStopped = false;
-            timeout = Timer.newTimeout(this, 0, MILLISECONDS);
+            if (scheduler != null) {
+                scheduler.add(this);
+            } else {
+                timeout = Timer.newTimeout(this, 0, MILLISECONDS);
+            }
         } else {
             log.warn("LinkDiscovery started multiple times?");
         }
     }
 
     public synchronized boolean isStopped() {
-        return isStopped || timeout.isCancelled();
+        return isStopped || (timeout != null && timeout.isCancelled());
     }
 
     /**
@@ -172,6 +192,12 @@ public class LinkDiscovery implements TimerTask {
      * @return true if handled
      */
     public boolean handleLldp(PacketContext packetContext) {
+        // ONOS probes are read in place from the raw frame
+        LinkProbeFrame probe = LinkProbeFrame.read(packetContext.inPacket().unparsed());
+        if (probe != null) {
+            return processOnosProbe(packetContext, probe);
+        }
+
         Ethernet eth = packetContext.inPacket().parsed();
         if (eth == null) {
             return false;
@@ -197,6 +223,23 @@ public class LinkDiscovery implements TimerTask {
         return false;
     }
 
+    private boolean processOnosProbe(PacketContext packetContext, LinkProbeFrame probe) {
+        Type lt;
+        if (notMy(probe.sourceMac().toString())) {
+            lt = Type.EDGE;
+        } else {
+            lt = probe.etherType() == Ethernet.TYPE_LLDP ?
+                    Type.DIRECT : Type.INDIRECT;
+
+            /* Verify MAC in LLDP packets */
+            if (!probe.verify(context.lldpSecret(), context.maxDiscoveryDelay())) {
+                log.warn("LLDP Packet failed to validate!");
+                return true;
+            }
+        }
+        return onosLinkDetected(packetContext, probe.deviceId(), probe.port(), lt);
+    }
+
     private boolean processOnosLldp(PacketContext packetContext, Ethernet eth) {
         ONOSLLDP onoslldp = ONOSLLDP.parseONOSLLDP(eth);
         if (onoslldp != null) {
@@ -213,28 +256,31 @@ public class LinkDiscovery implements TimerTask {
                     return true;
                 }
             }
+            return onosLinkDetected(packetContext, onoslldp.getDeviceString(), onoslldp.getPort(), lt);
+        }
+        return false;
+    }
 
-            PortNumber srcPort = portNumber(onoslldp.getPort());
-            PortNumber dstPort = packetContext.inPacket().receivedFrom().port();
+    private boolean onosLinkDetected(PacketContext packetContext, String idString, int portNum, Type lt) {
+        PortNumber srcPort = portNumber(portNum);
+        PortNumber dstPort = packetContext.inPacket().receivedFrom().port();
 
-            String idString = onoslldp.getDeviceString();
-            if (!isNullOrEmpty(idString)) {
-                try {
-                    DeviceId srcDeviceId = DeviceId.deviceId(idString);
-                    DeviceId dstDeviceId = packetContext.inPacket().receivedFrom().deviceId();
+        if (!isNullOrEmpty(idString)) {
+            try {
+                DeviceId srcDeviceId = DeviceId.deviceId(idString);
+                DeviceId dstDeviceId = packetContext.inPacket().receivedFrom().deviceId();
 
-                    ConnectPoint src = new ConnectPoint(srcDeviceId, srcPort);
-                    ConnectPoint dst = new ConnectPoint(dstDeviceId, dstPort);
+                ConnectPoint src = new ConnectPoint(srcDeviceId, srcPort);
+                ConnectPoint dst = new ConnectPoint(dstDeviceId, dstPort);
 
-                    LinkDescription ld = new DefaultLinkDescription(src, dst, lt);
-                    context.providerService().linkDetected(ld);
-                    context.touchLink(LinkKey.linkKey(src, dst));
-                } catch (IllegalStateException | IllegalArgumentException e) {
-                    log.warn("There is a exception during link creation: {}", e.getMessage());
-                    return true;
-                }
+                LinkDescription ld = new DefaultLinkDescription(src, dst, lt);
+                context.providerService().linkDetected(ld);
+                context.touchLink(LinkKey.linkKey(src, dst));
+            } catch (IllegalStateException | IllegalArgumentException e) {
+                log.warn("There is a exception during link creation: {}", e.getMessage());
                 return true;
             }
+            return true;
         }
         return false;
     }
@@ -371,15 +417,7 @@ public class LinkDiscovery implements TimerTask {
     @Override
     public void run(Timeout t) {
         try {
-            // Check first if it has been stopped
-            if (isStopped()) {
-                return;
-            }
-            // Verify if we are still the master
-            if (context.mastershipService().isLocalMaster(deviceId)) {
-                log.trace("Sending probes from {}", deviceId);
-                ImmutableMap.copyOf(portMap).forEach(this::sendProbes);
-            }
+            probe();
         } catch (Exception e) {
             // Catch all exceptions to avoid timer task being cancelled
             if (!isStopped()) {
@@ -398,80 +436,107 @@ public class LinkDiscovery implements TimerTask {
     }
 
     /**
-     * Creates packet_out LLDP for specified output port.
-     *
-     * @param portNumber the port
-     * @param portDesc the port description
-     * @return Packet_out message with LLDP data
+     * Sends an LLDP, and a BDDP if enabled, out of every port of the device,
+     * if it has not been stopped and this node is still its master.
      */
-    private OutboundPacket createOutBoundLldp(Long portNumber, String portDesc) {
-        if (portNumber == null) {
-            return null;
+    void probe() {
+        // Check first if it has been stopped
+        if (isStopped()) {
+            return;
         }
-        ONOSLLDP lldp = getLinkProbe(portNumber, portDesc);
-        if (lldp == null) {
-            log.warn("Cannot get link probe with portNumber {} and portDesc {} for {} at LLDP packet creation.",
-                    portNumber, portDesc, deviceId);
-            return null;
+        // Verify if we are still the master
+        if (context.mastershipService().isLocalMaster(deviceId)) {
+            log.trace("Sending probes from {}", deviceId);
+            sendProbes(ImmutableMap.copyOf(portMap));
         }
-        ethPacket.setSourceMACAddress(context.fingerprint()).setPayload(lldp);
-        return new DefaultOutboundPacket(deviceId,
-                                         builder().setOutput(portNumber(portNumber)).build(),
-                                         ByteBuffer.wrap(ethPacket.serialize()));
     }
 
     /**
-     * Creates packet_out BDDP for specified output port.
+     * Creates packet_out probes for specified output port, from the probe
+     * frame template of the device.
      *
+     * @param template   the probe template
      * @param portNumber the port
-     * @param portDesc the port description
-     * @return Packet_out message with LLDP data
+     * @param portDesc   the port description
+     * @return Packet_out message with the probe data
      */
-    private OutboundPacket createOutBoundBddp(Long portNumber, String portDesc) {
-        if (portNumber == null) {
-            return null;
-        }
-        ONOSLLDP lldp = getLinkProbe(portNumber, portDesc);
-        if (lldp == null) {
-            log.warn("Cannot get link probe with portNumber {} and portDesc {} for {} at BDDP packet creation.",
-                    portNumber, portDesc, deviceId);
+    private OutboundPacket createOutBoundProbe(LinkProbeTemplate template, long portNumber, String portDesc) {
+        byte[] frame = template.probe((int) portNumber, portDesc);
+        if (frame == null) {
+            log.warn("Cannot get link probe with portNumber {} and portDesc {} for {}",
+                     portNumber, portDesc, deviceId);
             return null;
         }
-        bddpEth.setSourceMACAddress(context.fingerprint()).setPayload(lldp);
         return new DefaultOutboundPacket(deviceId,
                                          builder().setOutput(portNumber(portNumber)).build(),
-                                         ByteBuffer.wrap(bddpEth.serialize()));
+                                         ByteBuffer.wrap(frame));
     }
 
-    private ONOSLLDP getLinkProbe(Long portNumber, String portDesc) {
+    /**
+     * Returns the probe templates of the device, building them again if the
+     * chassis of the device, the fingerprint or the secret changed.
+     *
+     * @return LLDP template, and BDDP template if enabled; empty if the
+     * device cannot be found
+     */
+    private List<LinkProbeTemplate> templates() {
         Device device = context.deviceService().getDevice(deviceId);
         if (device == null) {
             log.warn("Cannot find the device {}", deviceId);
-            return null;
+            return ImmutableList.of();
+        }
+        MacAddress source = MacAddress.valueOf(context.fingerprint());
+        String secret = context.lldpSecret();
+
+        LinkProbeTemplate lldp = lldpTemplate;
+        if (lldp == null || !lldp.matches(device.chassisId(), source, secret)) {
+            lldp = new LinkProbeTemplate(deviceId.toString(), device.chassisId(), MacAddress.ONOS_LLDP,
+                                         source, Ethernet.TYPE_LLDP, secret);
+            lldpTemplate = lldp;
+        }
+        if (!context.useBddp()) {
+            return ImmutableList.of(lldp);
+        }
+        LinkProbeTemplate bddp = bddpTemplate;
+        if (bddp == null || !bddp.matches(device.chassisId(), source, secret)) {
+            bddp = new LinkProbeTemplate(deviceId.toString(), device.chassisId(), MacAddress.BROADCAST,
+                                         source, Ethernet.TYPE_BSN, secret);
+            bddpTemplate = bddp;
         }
-        return ONOSLLDP.onosSecureLLDP(deviceId.toString(), device.chassisId(), portNumber.intValue(), portDesc,
-                                       context.lldpSecret());
+        return ImmutableList.of(lldp, bddp);
     }
 
     private void sendProbes(Long portNumber, String portDesc) {
-        if (context.packetService() == null) {
+        sendProbes(ImmutableMap.of(portNumber, portDesc));
+    }
+
+    /**
+     * Builds the probes of the given ports from the templates of the device,
+     * then emits them back to back.
+     *
+     * @param ports port numbers and descriptions
+     */
+    private void sendProbes(Map<Long, String> ports) {
+        if (context.packetService() == null || ports.isEmpty()) {
             return;
         }
-        log.trace("Sending probes out of {}@{}", portNumber, deviceId);
-        OutboundPacket pkt = createOutBoundLldp(portNumber, portDesc);
-        if (pkt != null) {
-            context.packetService().emit(pkt);
-        } else {
-            log.warn("Cannot send lldp packet due to packet is null {}", deviceId);
+        List<LinkProbeTemplate> templates = templates();
+        if (templates.isEmpty()) {
+            log.warn("Cannot send probes due to missing device {}", deviceId);
+            return;
         }
-        if (context.useBddp()) {
-            OutboundPacket bpkt = createOutBoundBddp(portNumber, portDesc);
-            if (bpkt != null) {
-                context.packetService().emit(bpkt);
-            } else {
-                log.warn("Cannot send bddp packet due to packet is null {}", deviceId);
+
+        List<OutboundPacket> packets = Lists.newArrayListWithCapacity(ports.size() * templates.size());
+        ports.forEach((portNumber, portDesc) -> {
+            log.trace("Sending probes out of {}@{}", portNumber, deviceId);
+            for (LinkProbeTemplate template : templates) {
+                OutboundPacket pkt = createOutBoundProbe(template, portNumber, portDesc);
+                if (pkt != null) {
+                    packets.add(pkt);
+                }
             }
-        }
+        });
+        packets.forEach(context.packetService()::emit);
     }
 
     public boolean containsPort(long portNumber) {
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.provider.lldpcommon;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
+import org.onlab.util.Timer;
+import org.slf4j.Logger;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Schedules the probes of the link discovery helpers of a provider, so that
+ * they are spread evenly over the probe period instead of being sent in
+ * bursts.
+ * <p>
+ * The probe period is divided into a wheel of slots, and each helper is
+ * placed in the slot holding the fewest helpers. A single task on the shared
+ * timer visits the slots in turn and runs the probes of the helpers of each
+ * slot. The slot to visit is derived from the wall clock, so that a period
+ * lasts the probe rate whatever the granularity of the timer; slots missed
+ * because of a late tick are caught up. A helper is first probed at the
+ * visit following its registration, so that a new device is probed without
+ * waiting for its slot.
+ * </p>
+ * <p>
+ * The probes are spread per node: each instance schedules the helpers of its
+ * own provider, which probe only the devices the node masters, and the
+ * instances of the cluster are not coordinated with each other.
+ * </p>
+ */
+public class LinkDiscoveryScheduler implements TimerTask {
+
+    static final int SLOTS = 32;
+
+    private final Logger log = getLogger(getClass());
+
+    private final LongSupplier probeRate;
+    private final LongSupplier clock;
+
+    private final List<Set<LinkDiscovery>> slots = Lists.newArrayListWithCapacity(SLOTS);
+    private final Map<LinkDiscovery, Integer> slotOf = Maps.newHashMap();
+    // helpers registered since the last visit
+    private final Set<LinkDiscovery> added = Sets.newLinkedHashSet();
+
+    // only accessed from the timer task
+    private long lastSlot = -1;
+
+    private Timeout timeout;
+    private volatile boolean isStopped = true;
+
+    /**
+     * Creates a new scheduler.
+     *
+     * @param probeRate supplier of the probe rate in millis
+     */
+    public LinkDiscoveryScheduler(LongSupplier probeRate) {
+        this(probeRate, System::currentTimeMillis);
+    }
+
+    /**
+     * Creates a new scheduler reading the time from the given clock.
+     *
+     * @param probeRate supplier of the probe rate in millis
+     * @param clock     supplier of the current time in millis
+     */
+    LinkDiscoveryScheduler(LongSupplier probeRate, LongSupplier clock) {
+        this.probeRate = checkNotNull(probeRate);
+        this.clock = checkNotNull(clock);
+        for (int i = 0; i < SLOTS; i++) {
+            slots.add(Sets.newLinkedHashSet());
+        }
+    }
+
+    /**
+     * Starts visiting the slots.
+     */
+    public synchronized void start() {
+        if (isStopped) {
+            isStopped = false;
+            lastSlot = -1;
+            timeout = Timer.newTimeout(this, 0, MILLISECONDS);
+        } else {
+            log.warn("LinkDiscoveryScheduler started multiple times?");
+        }
+    }
+
+    /**
+     * Stops visiting the slots; the helpers stay registered.
+     */
+    public synchronized void stop() {
+        if (!isStopped) {
+            isStopped = true;
+            timeout.cancel();
+        }
+    }
+
+    /**
+     * Registers a discovery helper, in the slot holding the fewest helpers.
+     *
+     * @param discovery link discovery helper
+     */
+    synchronized void add(LinkDiscovery discovery) {
+        if (slotOf.containsKey(discovery)) {
+            return;
+        }
+        int slot = 0;
+        for (int i = 1; i < SLOTS; i++) {
+            if (slots.get(i).size() < slots.get(slot).size()) {
+                slot = i;
+            }
+        }
+        slots.get(slot).add(discovery);
+        slotOf.put(discovery, slot);
+        added.add(discovery);
+    }
+
+    /**
+     * Unregisters a discovery helper.
+     *
+     * @param discovery link discovery helper
+     */
+    synchronized void remove(LinkDiscovery discovery) {
+        Integer slot = slotOf.remove(discovery);
+        if (slot != null) {
+            slots.get(slot).remove(discovery);
+        }
+        added.remove(discovery);
+    }
+
+    private synchronized List<LinkDiscovery> discoveries(int slot) {
+        return ImmutableList.copyOf(slots.get(slot));
+    }
+
+    private synchronized List<LinkDiscovery> takeAdded() {
+        List<LinkDiscovery> discoveries = ImmutableList.copyOf(added);
+        added.clear();
+        return discoveries;
+    }
+
+    @Override
+    public void run(Timeout t) {
+        if (isStopped) {
+            return;
+        }
+        long rate = Math.max(probeRate.getAsLong(), 1);
+        try {
+            probeDueSlots(rate);
+        } finally {
+            synchronized (this) {
+                if (!isStopped) {
+                    timeout = t.timer().newTimeout(this, Math.max(rate / SLOTS, 1), MILLISECONDS);
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs the probes of the helpers registered since the last visit, then
+     * of the helpers of the slots due since the last visit; each helper is
+     * probed once.
+     *
+     * @param rate probe rate in millis
+     */
+    void probeDueSlots(long rate) {
+        Set<LinkDiscovery> probes = Sets.newLinkedHashSet(takeAdded());
+        long slot = clock.getAsLong() * SLOTS / rate;
+        // at most one period is caught up, for instance after the rate changed
+        long first = lastSlot < 0 ? slot : Math.max(lastSlot + 1, slot - SLOTS + 1);
+        for (long s = first; s <= slot; s++) {
+            probes.addAll(discoveries((int) (s % SLOTS)));
+        }
+        lastSlot = slot;
+        probes.forEach(this::probe);
+    }
+
+    private void probe(LinkDiscovery discovery) {
+        try {
+            discovery.probe();
+        } catch (Exception e) {
+            // Catch all exceptions to keep visiting the other helpers
+            log.error("Exception thrown during link discovery process", e);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.provider.lldpcommon;
+
+import com.google.common.collect.Lists;
+import org.junit.Before;
+import org.junit.Test;
+import org.onosproject.net.DeviceId;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.onosproject.provider.lldpcommon.LinkDiscoveryScheduler.SLOTS;
+
+/**
+ * Test suite for the scheduler of the link discovery probes.
+ */
+public class LinkDiscoverySchedulerTest {
+
+    // One slot per millisecond
+    private static final long RATE = SLOTS;
+
+    private final AtomicLong now = new AtomicLong();
+    private final List<TestDiscovery> probed = Lists.newArrayList();
+
+    private LinkDiscoveryScheduler scheduler;
+
+    @Before
+    public void setUp() {
+        scheduler = new LinkDiscoveryScheduler(() -> RATE, now::get);
+    }
+
+    /**
+     * Tests that the helpers are placed in the slots holding the fewest
+     * helpers.
+     */
+    @Test
+    public void testLeastLoadedPlacement() {
+        List<TestDiscovery> discoveries = Lists.newArrayList();
+        for (int i = 0; i < SLOTS + 2; i++) {
+            discoveries.add(new TestDiscovery(i));
+        }
+
+        // the helpers just registered are probed at the first visit
+        assertEquals(discoveries, probeAt(0));
+
+        // each slot holds one helper, and the first two slots another one
+        for (int slot = 1; slot <= SLOTS; slot++) {
+            int index = slot % SLOTS;
+            assertEquals(index < 2 ? Lists.newArrayList(discoveries.get(index), discoveries.get(SLOTS + index))
+                                  : Lists.newArrayList(discoveries.get(index)),
+                         probeAt(slot));
+        }
+
+        // the freed slot is filled first
+        discoveries.get(5).stop();
+        TestDiscovery added = new TestDiscovery(SLOTS + 2);
+        assertEquals(Lists.newArrayList(added), probeFrom(SLOTS + 1, SLOTS + 5));
+
+        // helpers are registered once
+        scheduler.add(added);
+        assertEquals(Lists.newArrayList(added), probeFrom(SLOTS + 6, 2 * SLOTS + 5));
+    }
+
+    /**
+     * Tests that the slots missed since the last visit are caught up, up to
+     * one period.
+     */
+    @Test
+    public void testCatchUp() {
+        List<TestDiscovery> discoveries = Lists.newArrayList();
+        for (int i = 0; i < SLOTS; i++) {
+            discoveries.add(new TestDiscovery(i));
+        }
+
+        // the first visit probes the current slot, and the helpers just registered
+        assertEquals(discoveries, probeAt(100));
+        assertEquals(Lists.newArrayList(discoveries.get(5)), probeAt(101));
+
+        // a late tick probes the slots missed meanwhile
+        assertEquals(discoveries.subList(6, 9), probeAt(104));
+
+        // an early tick probes nothing
+        assertEquals(Lists.newArrayList(), probeAt(104));
+
+        // a long pause probes each helper once
+        List<TestDiscovery> caughtUp = probeAt(1000);
+        assertEquals(SLOTS, caughtUp.size());
+        assertEquals(SLOTS, caughtUp.stream().distinct().count());
+        assertEquals(discoveries.get(1000 % SLOTS), caughtUp.get(SLOTS - 1));
+    }
+
+    /**
+     * Tests that a helper registered while the slots are visited is probed
+     * at the next visit, then in its slot.
+     */
+    @Test
+    public void testProbeAdded() {
+        TestDiscovery first = new TestDiscovery(0);
+        assertEquals(Lists.newArrayList(first), probeAt(SLOTS - 1));
+
+        // registered in the second slot, yet probed at the visit of the first one
+        TestDiscovery second = new TestDiscovery(1);
+        assertEquals(Lists.newArrayList(second, first), probeAt(SLOTS));
+        assertEquals(Lists.newArrayList(second), probeAt(SLOTS + 1));
+
+        // not once stopped
+        TestDiscovery third = new TestDiscovery(2);
+        third.stop();
+        assertEquals(Lists.newArrayList(), probeAt(SLOTS + 2));
+    }
+
+    // Visits the slots one at a time, and returns the probes of the last one
+    private List<TestDiscovery> probeFrom(long first, long last) {
+        for (long millis = first; millis < last; millis++) {
+            probeAt(millis);
+        }
+        return probeAt(last);
+    }
+
+    private List<TestDiscovery> probeAt(long millis) {
+        probed.clear();
+        now.set(millis);
+        scheduler.probeDueSlots(RATE);
+        return Lists.newArrayList(probed);
+    }
+
+    // Discovery helper recording its probes
+    private class TestDiscovery extends LinkDiscovery {
+        TestDiscovery(int index) {
+            super(DeviceId.deviceId("test:" + index), null, scheduler);
+        }
+
+        @Override
+        void probe() {
+            probed.add(this);
+        }
+    }
+}
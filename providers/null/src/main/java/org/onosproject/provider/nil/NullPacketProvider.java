@@ -15,11 +15,17 @@
  */
 package org.onosproject.provider.nil;
 
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.onlab.packet.DeserializationException;
 import org.onlab.packet.Ethernet;
 import org.onlab.packet.ICMP;
+import org.onlab.util.LatencyHistogram;
 import org.onlab.util.Timer;
 import org.onosproject.net.ConnectPoint;
 import org.onosproject.net.Device;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.Host;
 import org.onosproject.net.PortNumber;
 import org.onosproject.net.device.DeviceAdminService;
 import org.onosproject.net.host.HostService;
@@ -34,20 +40,40 @@ import org.slf4j.Logger;
 import io.netty.util.Timeout;
 import io.netty.util.TimerTask;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 import java.util.stream.Collectors;
 
+import static com.google.common.base.Strings.isNullOrEmpty;
 import static com.google.common.collect.ImmutableList.copyOf;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.onlab.util.Tools.groupedThreads;
 import static org.onosproject.net.MastershipRole.MASTER;
 import static org.slf4j.LoggerFactory.getLogger;
 
 /**
  * Provider which generates simulated packets and acts as a sink for outbound
  * packets. To be used for benchmarking only.
+ * <p>
+ * Packets are either synthetic echo requests generated at a fixed rate, or
+ * Ethernet frames replayed from a pcap or pcapng capture file. In replay mode,
+ * each pair of capture interface and source MAC address is mapped onto an
+ * edge port of the simulated network, so that a captured host keeps showing
+ * up at the same location. The latency between the injection of a packet
+ * and its packet-out through the packet context is recorded.
+ * </p>
  */
 class NullPacketProvider extends NullProviders.AbstractNullProvider
         implements PacketProvider {
@@ -71,16 +97,25 @@ class NullPacketProvider extends NullProviders.AbstractNullProvider
 
     private Timeout timeout;
 
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final AtomicLong injected = new AtomicLong();
+
+    private PacketReplayTask replayTask;
+    private ExecutorService replayExecutor;
+
     /**
      * Starts the packet generation process.
      *
      * @param packetRate      packets per second
+     * @param replayFile      capture file to replay; empty for synthetic packets
+     * @param replaySpeed     replay speed relative to the capture; 0 for
+     *                        maximum speed
      * @param hostService     host service
      * @param deviceService   device service
      * @param providerService packet provider service
      */
-    void start(int packetRate, HostService hostService,
-               DeviceAdminService deviceService,
+    void start(int packetRate, String replayFile, double replaySpeed,
+               HostService hostService, DeviceAdminService deviceService,
                PacketProviderService providerService) {
         this.hostService = hostService;
         this.providerService = providerService;
@@ -89,6 +124,13 @@ class NullPacketProvider extends NullProviders.AbstractNullProvider
                 .filter(d -> deviceService.getRole(d.id()) == MASTER)
                 .collect(Collectors.toList());
 
+        if (!isNullOrEmpty(replayFile)) {
+            replayTask = new PacketReplayTask(Paths.get(replayFile), replaySpeed);
+            replayExecutor = newSingleThreadExecutor(groupedThreads("onos/null", "packet-replay", log));
+            replayExecutor.execute(replayTask);
+            log.info("Settings: replayFile={}, replaySpeed={}", replayFile, replaySpeed);
+            return;
+        }
         adjustRate(packetRate);
         timeout = Timer.newTimeout(new PacketDriverTask(), INITIAL_DELAY, SECONDS);
     }
@@ -99,6 +141,10 @@ class NullPacketProvider extends NullProviders.AbstractNullProvider
      * @param packetRate new packet rate
      */
     void adjustRate(int packetRate) {
+        if (replayTask != null) {
+            // the replay is paced by the capture instead
+            return;
+        }
         boolean needsRestart = delay == 0 && packetRate > 0;
         delay = packetRate > 0 ? 1000 / packetRate : 0;
         if (needsRestart) {
@@ -114,6 +160,39 @@ class NullPacketProvider extends NullProviders.AbstractNullProvider
         if (timeout != null) {
             timeout.cancel();
         }
+        if (replayTask != null) {
+            replayTask.cancel();
+            replayExecutor.shutdownNow();
+            replayTask = null;
+            replayExecutor = null;
+        }
+    }
+
+    /**
+     * Returns the histogram of the latencies between the injection of a
+     * packet and its packet-out.
+     *
+     * @return latency histogram
+     */
+    LatencyHistogram latencies() {
+        return latencies;
+    }
+
+    /**
+     * Returns the number of packets injected since the last reset.
+     *
+     * @return number of packets
+     */
+    long injected() {
+        return injected.get();
+    }
+
+    /**
+     * Clears the packet counter and the latency histogram.
+     */
+    void resetStatistics() {
+        injected.set(0);
+        latencies.reset();
     }
 
     @Override
@@ -121,6 +200,12 @@ class NullPacketProvider extends NullProviders.AbstractNullProvider
         // We don't have a network to emit to. Keep a counter here, maybe?
     }
 
+    // Injects the packet into the core.
+    private void inject(InboundPacket inPkt) {
+        injected.incrementAndGet();
+        providerService.processPacket(new NullPacketContext(inPkt, null));
+    }
+
     /**
      * Generates packet events at a given rate.
      */
@@ -154,19 +239,120 @@ class NullPacketProvider extends NullProviders.AbstractNullProvider
             InboundPacket inPkt = new DefaultInboundPacket(
                     new ConnectPoint(device.id(), PortNumber.portNumber(SRC_HOST)),
                     eth, ByteBuffer.wrap(eth.serialize()));
-            providerService.processPacket(new NullPacketContext(inPkt, null));
+            inject(inPkt);
+        }
+    }
+
+    /**
+     * Replays the frames of a capture file, over and over until cancelled.
+     */
+    private class PacketReplayTask implements Runnable {
+
+        private final Path path;
+        private final double speed;
+        private volatile boolean cancelled;
+
+        // Edge ports, and the port of each interface and source MAC address
+        private List<ConnectPoint> edgePorts;
+        private final Map<Long, ConnectPoint> ingressPorts = Maps.newHashMap();
+
+        PacketReplayTask(Path path, double speed) {
+            this.path = path;
+            this.speed = speed;
+        }
+
+        void cancel() {
+            cancelled = true;
+        }
+
+        @Override
+        public void run() {
+            // Give the topology time to settle as the synthetic packets do
+            LockSupport.parkNanos(SECONDS.toNanos(INITIAL_DELAY));
+            edgePorts = edgePorts();
+            if (edgePorts.isEmpty()) {
+                log.warn("No edge ports to replay {} onto", path);
+                return;
+            }
+            try {
+                while (!cancelled && replay()) {
+                    log.debug("Replayed {}", path);
+                }
+            } catch (IOException e) {
+                log.warn("Unable to replay {}", path, e);
+            }
+        }
+
+        // Replays the capture once; returns false if it has no frames.
+        private boolean replay() throws IOException {
+            boolean replayed = false;
+            try (PcapReader reader = new PcapReader(path)) {
+                long firstTimestamp = 0;
+                long start = System.nanoTime();
+                for (PcapReader.Frame frame = reader.next(); frame != null && !cancelled;
+                        frame = reader.next()) {
+                    if (!replayed) {
+                        firstTimestamp = frame.timestamp();
+                        replayed = true;
+                    }
+                    if (speed > 0) {
+                        long due = start + (long) ((frame.timestamp() - firstTimestamp) / speed);
+                        for (long wait = due - System.nanoTime(); wait > 0 && !cancelled;
+                                wait = due - System.nanoTime()) {
+                            LockSupport.parkNanos(wait);
+                        }
+                    }
+                    send(frame);
+                }
+            }
+            return replayed;
+        }
+
+        private void send(PcapReader.Frame frame) {
+            byte[] data = frame.data();
+            Ethernet eth;
+            try {
+                eth = Ethernet.deserializer().deserialize(data, 0, data.length);
+            } catch (DeserializationException e) {
+                log.trace("Skipping malformed frame", e);
+                return;
+            }
+            long key = ((long) frame.interfaceId() << Long.SIZE - Short.SIZE) | eth.getSourceMAC().toLong();
+            ConnectPoint ingress = ingressPorts.computeIfAbsent(
+                    key, k -> edgePorts.get(ingressPorts.size() % edgePorts.size()));
+            inject(new DefaultInboundPacket(ingress, eth, ByteBuffer.wrap(data)));
+        }
+
+        // Host locations on the devices we master, or else the host port
+        // used for the synthetic packets.
+        private List<ConnectPoint> edgePorts() {
+            Set<DeviceId> deviceIds = devices.stream().map(Device::id).collect(Collectors.toSet());
+            List<ConnectPoint> ports = Lists.newArrayList();
+            for (Host host : hostService.getHosts()) {
+                if (deviceIds.contains(host.location().deviceId())) {
+                    ports.add(new ConnectPoint(host.location().deviceId(), host.location().port()));
+                }
+            }
+            if (ports.isEmpty()) {
+                devices.forEach(d -> ports.add(new ConnectPoint(d.id(), PortNumber.portNumber(SRC_HOST))));
+            }
+            ports.sort(Comparator.comparing(ConnectPoint::toString));
+            return ports.stream().distinct().collect(Collectors.toList());
         }
     }
 
      // Minimal PacketContext to make core and applications happy.
     private final class NullPacketContext extends DefaultPacketContext {
+        private final long injectedNanos = System.nanoTime();
+
         private NullPacketContext(InboundPacket inPkt, OutboundPacket outPkt) {
             super(System.currentTimeMillis(), inPkt, outPkt, false);
         }
 
         @Override
         public void send() {
-            // We don't send anything out.
+            // We don't send anything out, but account for the packet-out.
+            latencies.record(System.nanoTime() - injectedNanos);
         }
     }
 
@@ -16,6 +16,7 @@
 package org.onosproject.provider.nil;
 
 import org.onlab.osgi.DefaultServiceDirectory;
+import org.onlab.util.LatencyHistogram;
 import org.onosproject.cfg.ComponentConfigService;
 import org.onosproject.cluster.ClusterService;
 import org.onosproject.cluster.NodeId;
@@ -78,6 +79,8 @@ import static org.slf4j.LoggerFactory.getLogger;
             DEVICE_COUNT + ":Integer=" + DEVICE_COUNT_DEFAULT,
             HOST_COUNT + ":Integer=" +  HOST_COUNT_DEFAULT,
             PACKET_RATE + ":Integer=" +  PACKET_RATE_DEFAULT,
+            PACKET_REPLAY_FILE + "=" + PACKET_REPLAY_FILE_DEFAULT,
+            PACKET_REPLAY_SPEED + ":Double=" + PACKET_REPLAY_SPEED_DEFAULT,
             MUTATION_RATE + ":Double=" + MUTATION_RATE_DEFAULT,
             MASTERSHIP + "=" + MASTERSHIP_DEFAULT,
         })
@@ -90,7 +93,8 @@ public class NullProviders {
 
     private static final String FORMAT =
             "Settings: enabled={}, topoShape={}, deviceCount={}, " +
-                    "hostCount={}, packetRate={}, mutationRate={}";
+                    "hostCount={}, packetRate={}, packetReplayFile={}, " +
+                    "packetReplaySpeed={}, mutationRate={}";
 
     @Reference(cardinality = ReferenceCardinality.MANDATORY)
     protected ClusterService clusterService;
@@ -160,6 +164,12 @@ public class NullProviders {
     /** Packet-in/s rate; 0 for no packets. */
     private int packetRate = PACKET_RATE_DEFAULT;
 
+    /** Path of a pcap or pcapng file to replay instead of generating packets. */
+    private String packetReplayFile = PACKET_REPLAY_FILE_DEFAULT;
+
+    /** Replay speed relative to the capture; 0 for maximum speed. */
+    private double packetReplaySpeed = PACKET_REPLAY_SPEED_DEFAULT;
+
     /** Link event/s topology mutation rate; 0 for no mutations. */
     private double mutationRate = MUTATION_RATE_DEFAULT;
 
@@ -208,8 +218,8 @@ public class NullProviders {
 
         boolean newEnabled;
         int newDeviceCount, newHostCount, newPacketRate;
-        double newMutationRate;
-        String newTopoShape, newMastership;
+        double newMutationRate, newPacketReplaySpeed;
+        String newTopoShape, newMastership, newPacketReplayFile;
         try {
             String s = get(properties, ENABLED);
             newEnabled = isNullOrEmpty(s) ? enabled : Boolean.parseBoolean(s.trim());
@@ -226,6 +236,12 @@ public class NullProviders {
             s = get(properties, PACKET_RATE);
             newPacketRate = isNullOrEmpty(s) ? packetRate : Integer.parseInt(s.trim());
 
+            s = get(properties, PACKET_REPLAY_FILE);
+            newPacketReplayFile = isNullOrEmpty(s) ? PACKET_REPLAY_FILE_DEFAULT : s;
+
+            s = get(properties, PACKET_REPLAY_SPEED);
+            newPacketReplaySpeed = isNullOrEmpty(s) ? packetReplaySpeed : Double.parseDouble(s.trim());
+
             s = get(properties, MUTATION_RATE);
             newMutationRate = isNullOrEmpty(s) ? mutationRate : Double.parseDouble(s.trim());
 
@@ -236,6 +252,8 @@ public class NullProviders {
             newDeviceCount = deviceCount;
             newHostCount = hostCount;
             newPacketRate = packetRate;
+            newPacketReplayFile = packetReplayFile;
+            newPacketReplaySpeed = packetReplaySpeed;
             newMutationRate = mutationRate;
             newMastership = mastership;
         }
@@ -248,10 +266,20 @@ public class NullProviders {
             deviceCount = newDeviceCount;
             hostCount = newHostCount;
             packetRate = newPacketRate;
+            packetReplayFile = newPacketReplayFile;
+            packetReplaySpeed = newPacketReplaySpeed;
             mutationRate = newMutationRate;
             restartSimulation();
         }
 
+        // Any change in the replay implies restarting the packet generation
+        if (!Objects.equals(newPacketReplayFile, packetReplayFile) ||
+                newPacketReplaySpeed != packetReplaySpeed) {
+            packetReplayFile = newPacketReplayFile;
+            packetReplaySpeed = newPacketReplaySpeed;
+            restartPackets();
+        }
+
         // Any change in the following parameters implies just a rate change
         if (newPacketRate != packetRate || newMutationRate != mutationRate) {
             packetRate = newPacketRate;
@@ -266,7 +294,7 @@ public class NullProviders {
         }
 
         log.info(FORMAT, enabled, topoShape, deviceCount, hostCount,
-                 packetRate, mutationRate);
+                 packetRate, packetReplayFile, packetReplaySpeed, mutationRate);
     }
 
     /**
@@ -278,6 +306,32 @@ public class NullProviders {
         return simulator;
     }
 
+    /**
+     * Returns the histogram of the latencies between the injection of a
+     * simulated packet and its packet-out.
+     *
+     * @return latency histogram
+     */
+    public LatencyHistogram packetLatencies() {
+        return packetProvider.latencies();
+    }
+
+    /**
+     * Returns the number of simulated packets injected since the last reset.
+     *
+     * @return number of packets
+     */
+    public long injectedPackets() {
+        return packetProvider.injected();
+    }
+
+    /**
+     * Clears the simulated packet counter and latency histogram.
+     */
+    public void resetPacketStatistics() {
+        packetProvider.resetStatistics();
+    }
+
     /**
      * Severs the link between the specified end-points in both directions.
      *
@@ -342,8 +396,8 @@ public class NullProviders {
                        linkProviderService);
         flowRuleProvider.start(flowRuleProviderService);
         groupProvider.start(groupProviderService);
-        packetProvider.start(packetRate, hostService, deviceService,
-                             packetProviderService);
+        packetProvider.start(packetRate, packetReplayFile, packetReplaySpeed,
+                             hostService, deviceService, packetProviderService);
         simulator.setUpTopology();
         groupProvider.initDevicesGroupTable(simulator.deviceIds);
         topologyMutationDriver.start(mutationRate, linkService, deviceService,
@@ -394,6 +448,15 @@ public class NullProviders {
         }
     }
 
+    // Restarts the packet generation with the current replay settings.
+    private void restartPackets() {
+        if (simulator != null) {
+            packetProvider.stop();
+            packetProvider.start(packetRate, packetReplayFile, packetReplaySpeed,
+                                 hostService, deviceService, packetProviderService);
+        }
+    }
+
     // Changes packet and mutation rates.
     private void adjustRates() {
         packetProvider.adjustRate(packetRate);
@@ -38,6 +38,12 @@ public final class OsgiPropertyConstants {
     public static final String PACKET_RATE = "packetRate";
     public static final int PACKET_RATE_DEFAULT = 0;
 
+    public static final String PACKET_REPLAY_FILE = "packetReplayFile";
+    public static final String PACKET_REPLAY_FILE_DEFAULT = "";
+
+    public static final String PACKET_REPLAY_SPEED = "packetReplaySpeed";
+    public static final double PACKET_REPLAY_SPEED_DEFAULT = 1.0;
+
     public static final String MUTATION_RATE = "mutationRate";
     public static final double MUTATION_RATE_DEFAULT = 0;
 
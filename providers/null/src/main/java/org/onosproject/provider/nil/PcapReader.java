@@ -0,0 +1,323 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.provider.nil;
+
+import com.google.common.collect.Lists;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Sequential reader of the Ethernet frames of a pcap or pcapng capture file.
+ * <p>
+ * Both byte orders and the microsecond and nanosecond variants of the pcap
+ * format are supported. For pcapng, the enhanced, simple and obsolete packet
+ * blocks are read and the timestamps are converted using the resolution of
+ * their interface; all other blocks are skipped. Frames captured on
+ * interfaces whose link type is not Ethernet are skipped as well.
+ */
+final class PcapReader implements Closeable {
+
+    private static final int PCAP_MAGIC_MICROS = 0xa1b2c3d4;
+    private static final int PCAP_MAGIC_NANOS = 0xa1b23c4d;
+    private static final int PCAPNG_SECTION_HEADER = 0x0a0d0d0a;
+    private static final int PCAPNG_BYTE_ORDER_MAGIC = 0x1a2b3c4d;
+
+    private static final int PCAPNG_INTERFACE_DESCRIPTION = 0x00000001;
+    private static final int PCAPNG_OBSOLETE_PACKET = 0x00000002;
+    private static final int PCAPNG_SIMPLE_PACKET = 0x00000003;
+    private static final int PCAPNG_ENHANCED_PACKET = 0x00000006;
+
+    private static final int OPTION_END = 0;
+    private static final int OPTION_IF_TSRESOL = 9;
+
+    private static final int LINKTYPE_ETHERNET = 1;
+    private static final int MAX_BLOCK_LENGTH = 1 << 24;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final DataInputStream in;
+    private final boolean pcapng;
+
+    // pcap only
+    private int linkType;
+    private boolean nanos;
+
+    // pcapng interfaces of the current section, as link type and resolution
+    private final List<int[]> interfaces = Lists.newArrayList();
+
+    private ByteOrder order;
+    private long lastTimestamp;
+
+    /**
+     * Frame read from a capture file.
+     */
+    static final class Frame {
+        private final int interfaceId;
+        private final long timestamp;
+        private final byte[] data;
+
+        private Frame(int interfaceId, long timestamp, byte[] data) {
+            this.interfaceId = interfaceId;
+            this.timestamp = timestamp;
+            this.data = data;
+        }
+
+        /**
+         * Returns the index of the interface the frame was captured on; always
+         * 0 for pcap files.
+         *
+         * @return interface index
+         */
+        int interfaceId() {
+            return interfaceId;
+        }
+
+        /**
+         * Returns the capture time of the frame.
+         *
+         * @return nanoseconds since the epoch
+         */
+        long timestamp() {
+            return timestamp;
+        }
+
+        /**
+         * Returns the captured bytes of the frame.
+         *
+         * @return frame bytes
+         */
+        byte[] data() {
+            return data;
+        }
+    }
+
+    /**
+     * Opens the given capture file and reads its header.
+     *
+     * @param path capture file
+     * @throws IOException if the file cannot be read or is not a capture file
+     */
+    PcapReader(Path path) throws IOException {
+        in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)));
+        try {
+            byte[] magic = new byte[4];
+            in.readFully(magic);
+            int bigEndian = ByteBuffer.wrap(magic).getInt();
+            int littleEndian = ByteBuffer.wrap(magic).order(ByteOrder.LITTLE_ENDIAN).getInt();
+            if (bigEndian == PCAPNG_SECTION_HEADER) {
+                pcapng = true;
+                byte[] length = new byte[4];
+                in.readFully(length);
+                readSectionHeader(length);
+            } else {
+                pcapng = false;
+                readFileHeader(bigEndian, littleEndian);
+            }
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the next Ethernet frame.
+     *
+     * @return the next frame, or null at the end of the file
+     * @throws IOException if the file cannot be read or is malformed
+     */
+    Frame next() throws IOException {
+        try {
+            while (true) {
+                Frame frame = pcapng ? readBlock() : readRecord();
+                if (frame != null) {
+                    return frame;
+                }
+            }
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private void readFileHeader(int bigEndian, int littleEndian) throws IOException {
+        int magic;
+        if (bigEndian == PCAP_MAGIC_MICROS || bigEndian == PCAP_MAGIC_NANOS) {
+            order = ByteOrder.BIG_ENDIAN;
+            magic = bigEndian;
+        } else if (littleEndian == PCAP_MAGIC_MICROS || littleEndian == PCAP_MAGIC_NANOS) {
+            order = ByteOrder.LITTLE_ENDIAN;
+            magic = littleEndian;
+        } else {
+            throw new IOException("Not a pcap or pcapng file");
+        }
+        nanos = magic == PCAP_MAGIC_NANOS;
+        // version, time zone, accuracy, snapshot length and link type
+        ByteBuffer header = read(20);
+        linkType = header.getInt(16) & 0x0fffffff;
+    }
+
+    private Frame readRecord() throws IOException {
+        ByteBuffer header = read(16);
+        long seconds = header.getInt() & 0xffffffffL;
+        long fraction = header.getInt() & 0xffffffffL;
+        int length = header.getInt();
+        checkLength(length);
+        byte[] data = new byte[length];
+        in.readFully(data);
+        if (linkType != LINKTYPE_ETHERNET) {
+            return null;
+        }
+        return new Frame(0, seconds * NANOS_PER_SECOND + (nanos ? fraction : fraction * 1000), data);
+    }
+
+    /**
+     * Reads the remainder of a section header block, whose type and given
+     * total length have been read already. The byte order of the section is
+     * given by its byte-order magic, which follows the total length.
+     */
+    private void readSectionHeader(byte[] length) throws IOException {
+        byte[] magic = new byte[4];
+        in.readFully(magic);
+        if (ByteBuffer.wrap(magic).getInt() == PCAPNG_BYTE_ORDER_MAGIC) {
+            order = ByteOrder.BIG_ENDIAN;
+        } else if (ByteBuffer.wrap(magic).order(ByteOrder.LITTLE_ENDIAN).getInt() == PCAPNG_BYTE_ORDER_MAGIC) {
+            order = ByteOrder.LITTLE_ENDIAN;
+        } else {
+            throw new IOException("Malformed pcapng section header");
+        }
+        int totalLength = ByteBuffer.wrap(length).order(order).getInt();
+        checkLength(totalLength - 12);
+        // version, section length, options and trailing block length
+        read(totalLength - 12);
+        interfaces.clear();
+    }
+
+    private Frame readBlock() throws IOException {
+        ByteBuffer header = read(8);
+        // the section header type reads the same in both byte orders
+        int type = header.getInt();
+        if (type == PCAPNG_SECTION_HEADER) {
+            byte[] length = new byte[4];
+            header.get(length);
+            readSectionHeader(length);
+            return null;
+        }
+        int totalLength = header.getInt();
+        checkLength(totalLength - 12);
+        // block body followed by the trailing block length
+        ByteBuffer body = read(totalLength - 8);
+        switch (type) {
+            case PCAPNG_INTERFACE_DESCRIPTION:
+                interfaces.add(new int[]{body.getShort(0) & 0xffff, resolution(body, 8, totalLength - 12)});
+                return null;
+            case PCAPNG_ENHANCED_PACKET:
+                return frame(body.getInt(0), body.getInt(4), body.getInt(8), body.getInt(12), body, 20);
+            case PCAPNG_OBSOLETE_PACKET:
+                return frame(body.getShort(0) & 0xffff, body.getInt(4), body.getInt(8), body.getInt(12), body, 20);
+            case PCAPNG_SIMPLE_PACKET:
+                // captured up to the snapshot length, and without a timestamp
+                int length = Math.min(body.getInt(0), totalLength - 16);
+                return frame(0, -1, -1, length, body, 4);
+            default:
+                return null;
+        }
+    }
+
+    private Frame frame(int interfaceId, int high, int low, int length,
+                        ByteBuffer body, int offset) throws IOException {
+        if (interfaceId >= interfaces.size()) {
+            throw new IOException("Packet captured on undescribed interface " + interfaceId);
+        }
+        int[] description = interfaces.get(interfaceId);
+        if (description[0] != LINKTYPE_ETHERNET) {
+            return null;
+        }
+        if (length < 0 || offset + length > body.limit()) {
+            throw new IOException("Malformed pcapng packet block");
+        }
+        if (high != -1 || low != -1) {
+            lastTimestamp = toNanos(((long) high << 32) | (low & 0xffffffffL), description[1]);
+        }
+        byte[] data = new byte[length];
+        body.position(offset);
+        body.get(data);
+        return new Frame(interfaceId, lastTimestamp, data);
+    }
+
+    /**
+     * Returns the timestamp resolution given by the options of an interface
+     * description block, microseconds by default.
+     */
+    private static int resolution(ByteBuffer body, int offset, int end) {
+        while (offset + 4 <= end) {
+            int code = body.getShort(offset) & 0xffff;
+            int length = body.getShort(offset + 2) & 0xffff;
+            if (code == OPTION_END) {
+                break;
+            }
+            if (code == OPTION_IF_TSRESOL && length >= 1) {
+                return body.get(offset + 4) & 0xff;
+            }
+            offset += 4 + ((length + 3) & ~3);
+        }
+        return 6;
+    }
+
+    /**
+     * Converts a timestamp in units of the given resolution, a negative power
+     * of 2 if its most significant bit is set and of 10 otherwise.
+     */
+    private static long toNanos(long timestamp, int resolution) {
+        int exponent = resolution & 0x7f;
+        if ((resolution & 0x80) != 0) {
+            long seconds = timestamp >>> exponent;
+            long fraction = timestamp & ((1L << exponent) - 1);
+            return seconds * NANOS_PER_SECOND + ((fraction * NANOS_PER_SECOND) >>> exponent);
+        }
+        long nanos = timestamp;
+        for (int i = exponent; i < 9; i++) {
+            nanos *= 10;
+        }
+        for (int i = 9; i < exponent; i++) {
+            nanos /= 10;
+        }
+        return nanos;
+    }
+
+    private ByteBuffer read(int length) throws IOException {
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return ByteBuffer.wrap(bytes).order(order != null ? order : ByteOrder.BIG_ENDIAN);
+    }
+
+    private static void checkLength(int length) throws IOException {
+        if (length < 0 || length > MAX_BLOCK_LENGTH) {
+            throw new IOException("Malformed capture file");
+        }
+    }
+}
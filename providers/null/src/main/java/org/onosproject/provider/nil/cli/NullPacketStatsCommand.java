@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.provider.nil.cli;
+
+import org.apache.karaf.shell.api.action.Command;
+import org.apache.karaf.shell.api.action.Option;
+import org.apache.karaf.shell.api.action.lifecycle.Service;
+import org.onlab.util.LatencyHistogram;
+import org.onosproject.cli.AbstractShellCommand;
+import org.onosproject.net.packet.PacketProcessorEntry;
+import org.onosproject.net.packet.PacketService;
+import org.onosproject.provider.nil.NullProviders;
+
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Displays the packet-in to packet-out latencies of the simulated packets and
+ * the time spent by each packet processor.
+ */
+@Service
+@Command(scope = "onos", name = "null-packet-stats",
+        description = "Displays the latencies of the simulated packets and the packet processor timings")
+public class NullPacketStatsCommand extends AbstractShellCommand {
+
+    private static final String SUMMARY_FMT =
+            "injected=%d, sent=%d, meanNanos=%d, p50=%d, p90=%d, p99=%d, p999=%d, maxNanos=%d";
+    private static final String BUCKET_FMT = "  <=%dns: %d";
+    private static final String PROCESSOR_FMT = "  priority=%d, class=%s, packets=%d, avgNanos=%d";
+
+    @Option(name = "-r", aliases = "--reset",
+            description = "Resets the statistics after displaying them")
+    private boolean reset = false;
+
+    @Override
+    protected void doExecute() {
+        NullProviders service = get(NullProviders.class);
+        LatencyHistogram latencies = service.packetLatencies();
+
+        print(SUMMARY_FMT, service.injectedPackets(), latencies.count(),
+              latencies.meanNanos(), latencies.percentileNanos(50),
+              latencies.percentileNanos(90), latencies.percentileNanos(99),
+              latencies.percentileNanos(99.9), latencies.maxNanos());
+        powerOfTwoBuckets(latencies).forEach((bound, count) -> print(BUCKET_FMT, bound, count));
+
+        print("Packet processors:");
+        for (PacketProcessorEntry entry : get(PacketService.class).getProcessors()) {
+            print(PROCESSOR_FMT, entry.priority(), entry.processor().getClass().getName(),
+                  entry.invocations(), entry.averageNanos());
+        }
+
+        if (reset) {
+            service.resetPacketStatistics();
+        }
+    }
+
+    // Folds the fine counters of the histogram into buckets bounded by powers
+    // of 2, which are enough to show the shape of the distribution.
+    private static SortedMap<Long, Long> powerOfTwoBuckets(LatencyHistogram latencies) {
+        SortedMap<Long, Long> buckets = new TreeMap<>();
+        latencies.buckets().forEach((bound, count) -> {
+            long upper = bound == 0 ? 0 : (Long.highestOneBit(bound) << 1) - 1;
+            buckets.merge(upper, count, Long::sum);
+        });
+        return buckets;
+    }
+
+}
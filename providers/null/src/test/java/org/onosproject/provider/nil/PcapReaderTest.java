@@ -0,0 +1,224 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.provider.nil;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Test suite for the capture file reader.
+ */
+public class PcapReaderTest {
+
+    private static final byte[] FRAME1 = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14};
+    private static final byte[] FRAME2 = {21, 22, 23, 24, 25, 26, 27, 28, 29, 30, 31, 32, 33, 34, 35};
+    private static final int LINKTYPE_ETHERNET = 1;
+    private static final int LINKTYPE_RAW = 101;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Tests reading pcap files in both byte orders and timestamp resolutions.
+     */
+    @Test
+    public void testPcap() throws IOException {
+        for (ByteOrder order : new ByteOrder[]{ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+            ByteBuffer file = pcapHeader(order, 0xa1b2c3d4, LINKTYPE_ETHERNET);
+            pcapRecord(file, 10, 500, FRAME1);
+            pcapRecord(file, 11, 20, FRAME2);
+            try (PcapReader reader = new PcapReader(write(file))) {
+                assertFrame(reader.next(), 0, 10_000_500_000L, FRAME1);
+                assertFrame(reader.next(), 0, 11_000_020_000L, FRAME2);
+                assertNull(reader.next());
+            }
+
+            file = pcapHeader(order, 0xa1b23c4d, LINKTYPE_ETHERNET);
+            pcapRecord(file, 10, 500, FRAME1);
+            try (PcapReader reader = new PcapReader(write(file))) {
+                assertFrame(reader.next(), 0, 10_000_000_500L, FRAME1);
+                assertNull(reader.next());
+            }
+        }
+    }
+
+    /**
+     * Tests that the frames of a pcap file which does not capture Ethernet
+     * are skipped.
+     */
+    @Test
+    public void testPcapOtherLinkType() throws IOException {
+        ByteBuffer file = pcapHeader(ByteOrder.BIG_ENDIAN, 0xa1b2c3d4, LINKTYPE_RAW);
+        pcapRecord(file, 10, 500, FRAME1);
+        try (PcapReader reader = new PcapReader(write(file))) {
+            assertNull(reader.next());
+        }
+    }
+
+    /**
+     * Tests reading a single section pcapng file, with interfaces of
+     * different link types and timestamp resolutions.
+     */
+    @Test
+    public void testPcapngSection() throws IOException {
+        ByteBuffer file = buffer(ByteOrder.LITTLE_ENDIAN);
+        sectionHeader(file);
+        interfaceDescription(file, LINKTYPE_ETHERNET, 9);
+        interfaceDescription(file, LINKTYPE_RAW, -1);
+        interfaceDescription(file, LINKTYPE_ETHERNET, -1);
+        enhancedPacket(file, 0, 12_000_000_007L, FRAME1);
+        enhancedPacket(file, 1, 13_000_000L, FRAME1);
+        enhancedPacket(file, 2, 14_000_003L, FRAME2);
+        try (PcapReader reader = new PcapReader(write(file))) {
+            assertFrame(reader.next(), 0, 12_000_000_007L, FRAME1);
+            assertFrame(reader.next(), 2, 14_000_003_000L, FRAME2);
+            assertNull(reader.next());
+        }
+    }
+
+    /**
+     * Tests reading a pcapng file whose sections have different byte
+     * orders, each with its own interfaces.
+     */
+    @Test
+    public void testPcapngSections() throws IOException {
+        ByteBuffer file = buffer(ByteOrder.LITTLE_ENDIAN);
+        sectionHeader(file);
+        interfaceDescription(file, LINKTYPE_RAW, -1);
+        interfaceDescription(file, LINKTYPE_ETHERNET, -1);
+        enhancedPacket(file, 1, 10_000_001L, FRAME1);
+
+        file.order(ByteOrder.BIG_ENDIAN);
+        sectionHeader(file);
+        interfaceDescription(file, LINKTYPE_ETHERNET, 9);
+        enhancedPacket(file, 0, 11_000_000_002L, FRAME2);
+
+        file.order(ByteOrder.LITTLE_ENDIAN);
+        sectionHeader(file);
+        interfaceDescription(file, LINKTYPE_ETHERNET, -1);
+        enhancedPacket(file, 0, 12_000_003L, FRAME1);
+
+        try (PcapReader reader = new PcapReader(write(file))) {
+            assertFrame(reader.next(), 1, 10_000_001_000L, FRAME1);
+            assertFrame(reader.next(), 0, 11_000_000_002L, FRAME2);
+            assertFrame(reader.next(), 0, 12_000_003_000L, FRAME1);
+            assertNull(reader.next());
+        }
+    }
+
+    /**
+     * Tests that the frames preceding a truncated tail are read.
+     */
+    @Test
+    public void testTruncatedTail() throws IOException {
+        ByteBuffer file = pcapHeader(ByteOrder.LITTLE_ENDIAN, 0xa1b2c3d4, LINKTYPE_ETHERNET);
+        pcapRecord(file, 10, 500, FRAME1);
+        pcapRecord(file, 11, 20, FRAME2);
+        file.position(file.position() - 3);
+        try (PcapReader reader = new PcapReader(write(file))) {
+            assertFrame(reader.next(), 0, 10_000_500_000L, FRAME1);
+            assertNull(reader.next());
+        }
+
+        file = buffer(ByteOrder.BIG_ENDIAN);
+        sectionHeader(file);
+        interfaceDescription(file, LINKTYPE_ETHERNET, -1);
+        enhancedPacket(file, 0, 10_000_001L, FRAME1);
+        enhancedPacket(file, 0, 11_000_001L, FRAME2);
+        file.position(file.position() - 10);
+        try (PcapReader reader = new PcapReader(write(file))) {
+            assertFrame(reader.next(), 0, 10_000_001_000L, FRAME1);
+            assertNull(reader.next());
+        }
+    }
+
+    private static void assertFrame(PcapReader.Frame frame, int interfaceId, long timestamp, byte[] data) {
+        assertEquals(interfaceId, frame.interfaceId());
+        assertEquals(timestamp, frame.timestamp());
+        assertArrayEquals(data, frame.data());
+    }
+
+    private Path write(ByteBuffer file) throws IOException {
+        Path path = folder.newFile().toPath();
+        Files.write(path, Arrays.copyOf(file.array(), file.position()));
+        return path;
+    }
+
+    private static ByteBuffer buffer(ByteOrder order) {
+        return ByteBuffer.allocate(4096).order(order);
+    }
+
+    private static ByteBuffer pcapHeader(ByteOrder order, int magic, int linkType) {
+        ByteBuffer file = buffer(order);
+        file.putInt(magic);
+        file.putShort((short) 2).putShort((short) 4);
+        file.putInt(0).putInt(0);
+        file.putInt(65535);
+        file.putInt(linkType);
+        return file;
+    }
+
+    private static void pcapRecord(ByteBuffer file, int seconds, int fraction, byte[] data) {
+        file.putInt(seconds).putInt(fraction);
+        file.putInt(data.length).putInt(data.length);
+        file.put(data);
+    }
+
+    private static void sectionHeader(ByteBuffer file) {
+        file.putInt(0x0a0d0d0a).putInt(28);
+        file.putInt(0x1a2b3c4d);
+        file.putShort((short) 1).putShort((short) 0);
+        file.putLong(-1);
+        file.putInt(28);
+    }
+
+    private static void interfaceDescription(ByteBuffer file, int linkType, int resolution) {
+        int length = resolution < 0 ? 20 : 32;
+        file.putInt(1).putInt(length);
+        file.putShort((short) linkType).putShort((short) 0);
+        file.putInt(65535);
+        if (resolution >= 0) {
+            // if_tsresol, padded to 32 bits, then opt_endofopt
+            file.putShort((short) 9).putShort((short) 1);
+            file.put((byte) resolution).put(new byte[3]);
+            file.putInt(0);
+        }
+        file.putInt(length);
+    }
+
+    private static void enhancedPacket(ByteBuffer file, int interfaceId, long timestamp, byte[] data) {
+        int padded = (data.length + 3) & ~3;
+        int length = 32 + padded;
+        file.putInt(6).putInt(length);
+        file.putInt(interfaceId);
+        file.putInt((int) (timestamp >>> 32)).putInt((int) timestamp);
+        file.putInt(data.length).putInt(data.length);
+        file.put(data).put(new byte[padded - data.length]);
+        file.putInt(length);
+    }
+}
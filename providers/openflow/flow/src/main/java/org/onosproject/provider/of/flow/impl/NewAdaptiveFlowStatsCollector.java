@@ -142,17 +142,30 @@ public class NewAdaptiveFlowStatsCollector implements SwitchDataCollector {
         return DefaultServiceDirectory.getService(serviceClass);
     }
 
-    // check calAndPollInterval validity and set all pollInterval values and finally initialize each task call count
-    private void initMemberVars(int pollInterval) {
+    /**
+     * Returns the interval between two polls of the entire flow table, the
+     * longest time a flow entry goes without being polled.
+     *
+     * @param pollInterval cal and immediate poll frequency in seconds
+     * @return interval in seconds
+     */
+    static int entirePollInterval(int pollInterval) {
+        return ENTIRE_POLL_TIMES * CAL_AND_POLL_TIMES * validPollInterval(pollInterval);
+    }
+
+    // bounds the cal and immediate poll frequency
+    private static int validPollInterval(int pollInterval) {
         if (pollInterval < MIN_CAL_AND_POLL_FREQUENCY) {
-            this.calAndPollInterval = MIN_CAL_AND_POLL_FREQUENCY;
+            return MIN_CAL_AND_POLL_FREQUENCY;
         } else if (pollInterval >= MAX_CAL_AND_POLL_FREQUENCY) {
-            this.calAndPollInterval = MAX_CAL_AND_POLL_FREQUENCY;
-        } else {
-            this.calAndPollInterval = pollInterval;
+            return MAX_CAL_AND_POLL_FREQUENCY;
         }
+        return pollInterval;
+    }
 
-        calAndPollInterval = CAL_AND_POLL_TIMES * calAndPollInterval;
+    // check calAndPollInterval validity and set all pollInterval values and finally initialize each task call count
+    private void initMemberVars(int pollInterval) {
+        calAndPollInterval = CAL_AND_POLL_TIMES * validPollInterval(pollInterval);
         midPollInterval = MID_POLL_TIMES * calAndPollInterval;
         longPollInterval = LONG_POLL_TIMES * calAndPollInterval;
         entirePollInterval = ENTIRE_POLL_TIMES * calAndPollInterval;
@@ -53,6 +53,7 @@ import org.onosproject.openflow.controller.OpenFlowSwitch;
 import org.onosproject.openflow.controller.OpenFlowSwitchListener;
 import org.onosproject.openflow.controller.RoleState;
 import org.onosproject.provider.of.flow.util.FlowEntryBuilder;
+import org.onosproject.provider.of.flow.util.FlowEntryConversionCache;
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -133,6 +134,8 @@ public class OpenFlowRuleProvider extends AbstractProvider
 
     private static final int MIN_EXPECTED_BYTE_LEN = 56;
     private static final int SKIP_BYTES = 4;
+    // Number of polls of a flow entry its conversion stays cached without being used
+    private static final int CONVERSION_EXPIRY_POLLS = 3;
 
     /** Frequency (in seconds) for polling flow statistics. */
     private int flowPollFrequency = POLL_FREQUENCY_DEFAULT;
@@ -146,6 +149,8 @@ public class OpenFlowRuleProvider extends AbstractProvider
 
     private Cache<Long, InternalCacheEntry> pendingBatches;
 
+    private FlowEntryConversionCache conversions;
+
     private final Timer timer = new Timer("onos-openflow-collector");
 
 
@@ -173,6 +178,7 @@ public class OpenFlowRuleProvider extends AbstractProvider
         modified(context);
 
         pendingBatches = createBatchCache();
+        conversions = createConversionCache();
 
         createCollectors();
 
@@ -184,6 +190,7 @@ public class OpenFlowRuleProvider extends AbstractProvider
     protected void deactivate(ComponentContext context) {
         cfgService.unregisterProperties(getClass(), false);
         stopCollectors();
+        conversions.clear();
         providerRegistry.unregister(this);
         providerService = null;
 
@@ -205,6 +212,7 @@ public class OpenFlowRuleProvider extends AbstractProvider
         if (newFlowPollFrequency != flowPollFrequency) {
             flowPollFrequency = newFlowPollFrequency;
             adjustRate();
+            resetConversionCache();
         }
 
         log.info("Settings: flowPollFrequency={}", flowPollFrequency);
@@ -217,6 +225,7 @@ public class OpenFlowRuleProvider extends AbstractProvider
             // stop previous collector
             stopCollectors();
             adaptiveFlowSampling = newAdaptiveFlowSampling;
+            resetConversionCache();
             // create new collectors
             createCollectors();
         }
@@ -235,6 +244,21 @@ public class OpenFlowRuleProvider extends AbstractProvider
                 }).build();
     }
 
+    private FlowEntryConversionCache createConversionCache() {
+        // adaptive flow sampling polls the long-lived entries less often
+        int pollInterval = adaptiveFlowSampling ?
+                NewAdaptiveFlowStatsCollector.entirePollInterval(flowPollFrequency) : flowPollFrequency;
+        return new FlowEntryConversionCache(CONVERSION_EXPIRY_POLLS * pollInterval, TimeUnit.SECONDS);
+    }
+
+    // The conversions expire after the polling interval they were created for
+    private void resetConversionCache() {
+        if (conversions != null) {
+            conversions.clear();
+            conversions = createConversionCache();
+        }
+    }
+
     private void createCollectors() {
         controller.getSwitches().forEach(this::createCollector);
     }
@@ -423,6 +447,7 @@ public class OpenFlowRuleProvider extends AbstractProvider
                 stopCollectorIfNeeded(simpleCollectors.remove(dpid));
             }
             stopCollectorIfNeeded(tableStatsCollectors.remove(dpid));
+            conversions.invalidate(DeviceId.deviceId(Dpid.uri(dpid)));
         }
 
         @Override
@@ -646,7 +671,8 @@ public class OpenFlowRuleProvider extends AbstractProvider
 
             if (adaptiveFlowSampling && afsc != null)  {
                 List<FlowEntry> flowEntries = replies.getEntries().stream()
-                        .map(entry -> new FlowEntryBuilder(did, entry, handler).withSetAfsc(afsc).build())
+                        .map(entry -> new FlowEntryBuilder(did, entry, handler).withSetAfsc(afsc)
+                                .withConversionCache(conversions).build())
                         .collect(Collectors.toList());
 
                 // Check that OFFlowStatsReply Xid is same with the one of OFFlowStatsRequest?
@@ -667,7 +693,8 @@ public class OpenFlowRuleProvider extends AbstractProvider
                 }
             } else {
                 List<FlowEntry> flowEntries = replies.getEntries().stream()
-                        .map(entry -> new FlowEntryBuilder(did, entry, handler).build())
+                        .map(entry -> new FlowEntryBuilder(did, entry, handler)
+                                .withConversionCache(conversions).build())
                         .collect(Collectors.toList());
 
                 // call existing entire flow stats update with flowMissing synchronization
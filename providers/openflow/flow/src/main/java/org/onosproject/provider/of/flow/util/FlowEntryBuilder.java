@@ -149,6 +149,10 @@ public class FlowEntryBuilder {
     // null is not AFM mode, namely SimpleStatsCollector mode
     private NewAdaptiveFlowStatsCollector afsc;
 
+    // Conversions of the selectors and treatments of the flow stats entries,
+    // null if the conversions are not cached
+    private FlowEntryConversionCache conversions;
+
     public FlowEntryBuilder(DeviceId deviceId, OFFlowStatsEntry entry, DriverHandler driverHandler) {
         this.stat = entry;
         this.match = entry.getMatch();
@@ -219,6 +223,18 @@ public class FlowEntryBuilder {
         return this;
     }
 
+    /**
+     * Reuses the selector and treatment already converted from the same
+     * match and instructions of a flow stats entry of the device.
+     *
+     * @param conversions conversion cache
+     * @return this builder
+     */
+    public FlowEntryBuilder withConversionCache(FlowEntryConversionCache conversions) {
+        this.conversions = conversions;
+        return this;
+    }
+
     public FlowEntry build(FlowEntryState... state) {
         try {
             switch (this.type) {
@@ -242,11 +258,22 @@ public class FlowEntryBuilder {
     }
 
     private FlowEntry createFlowEntryFromStat() {
+        TrafficSelector selector;
+        TrafficTreatment treatment;
+        if (conversions != null) {
+            FlowEntryConversionCache.Conversion conversion =
+                    conversions.get(deviceId, match, instructions, this::buildSelector, this::buildTreatment);
+            selector = conversion.selector();
+            treatment = conversion.treatment();
+        } else {
+            selector = buildSelector();
+            treatment = buildTreatment();
+        }
 
         FlowRule.Builder builder = DefaultFlowRule.builder()
                 .forDevice(deviceId)
-                .withSelector(buildSelector())
-                .withTreatment(buildTreatment())
+                .withSelector(selector)
+                .withTreatment(treatment)
                 .withPriority(stat.getPriority())
                 .withIdleTimeout(stat.getIdleTimeout())
                 .withCookie(stat.getCookie().getValue());
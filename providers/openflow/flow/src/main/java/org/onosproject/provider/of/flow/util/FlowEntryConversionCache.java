@@ -0,0 +1,173 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.provider.of.flow.util;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Maps;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.flow.TrafficSelector;
+import org.onosproject.net.flow.TrafficTreatment;
+import org.projectfloodlight.openflow.protocol.instruction.OFInstruction;
+import org.projectfloodlight.openflow.protocol.match.Match;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Cache of the selectors and treatments converted from the match and the
+ * instructions of the flow stats entries of the devices.
+ * <p>
+ * The match and the instructions of a flow entry do not change between two
+ * polls of the flow stats, so their conversion is reused and only the
+ * counters of the entry are built again. Conversions which have not been
+ * used for the given time are evicted.
+ * </p>
+ */
+public final class FlowEntryConversionCache {
+
+    private final long expireAfterAccess;
+    private final TimeUnit unit;
+    private final Ticker ticker;
+
+    private final Map<DeviceId, Cache<Key, Conversion>> caches = Maps.newConcurrentMap();
+
+    /**
+     * Creates a new conversion cache.
+     *
+     * @param expireAfterAccess time after which an unused conversion is evicted
+     * @param unit              time unit of the expiry
+     */
+    public FlowEntryConversionCache(long expireAfterAccess, TimeUnit unit) {
+        this(expireAfterAccess, unit, Ticker.systemTicker());
+    }
+
+    /**
+     * Creates a new conversion cache reading the time from the given ticker.
+     *
+     * @param expireAfterAccess time after which an unused conversion is evicted
+     * @param unit              time unit of the expiry
+     * @param ticker            source of the time
+     */
+    FlowEntryConversionCache(long expireAfterAccess, TimeUnit unit, Ticker ticker) {
+        this.expireAfterAccess = expireAfterAccess;
+        this.unit = unit;
+        this.ticker = ticker;
+    }
+
+    /**
+     * Returns the conversion of the given match and instructions of a
+     * device, converting them if they are not cached yet.
+     *
+     * @param deviceId     device identifier
+     * @param match        match of the flow entry
+     * @param instructions instructions of the flow entry
+     * @param selector     converts the match
+     * @param treatment    converts the instructions
+     * @return selector and treatment of the flow entry
+     */
+    Conversion get(DeviceId deviceId, Match match, List<OFInstruction> instructions,
+                   Supplier<TrafficSelector> selector, Supplier<TrafficTreatment> treatment) {
+        Cache<Key, Conversion> cache = caches.computeIfAbsent(deviceId, d -> CacheBuilder.newBuilder()
+                .expireAfterAccess(expireAfterAccess, unit)
+                .ticker(ticker)
+                .build());
+        Key key = new Key(match, instructions);
+        Conversion conversion = cache.getIfPresent(key);
+        if (conversion == null) {
+            // not cached if the conversion fails
+            conversion = new Conversion(selector.get(), treatment.get());
+            cache.put(key, conversion);
+        }
+        return conversion;
+    }
+
+    /**
+     * Removes the conversions of a device.
+     *
+     * @param deviceId device identifier
+     */
+    public void invalidate(DeviceId deviceId) {
+        Cache<Key, Conversion> cache = caches.remove(deviceId);
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    /**
+     * Removes the conversions of all devices.
+     */
+    public void clear() {
+        caches.values().forEach(Cache::invalidateAll);
+        caches.clear();
+    }
+
+    /**
+     * Selector and treatment converted from a flow entry.
+     */
+    static final class Conversion {
+        private final TrafficSelector selector;
+        private final TrafficTreatment treatment;
+
+        private Conversion(TrafficSelector selector, TrafficTreatment treatment) {
+            this.selector = selector;
+            this.treatment = treatment;
+        }
+
+        TrafficSelector selector() {
+            return selector;
+        }
+
+        TrafficTreatment treatment() {
+            return treatment;
+        }
+    }
+
+    private static final class Key {
+        private final Match match;
+        private final List<OFInstruction> instructions;
+        private final int hash;
+
+        private Key(Match match, List<OFInstruction> instructions) {
+            this.match = match;
+            this.instructions = instructions;
+            this.hash = Objects.hash(match, instructions);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key that = (Key) obj;
+            return hash == that.hash &&
+                    Objects.equals(match, that.match) &&
+                    Objects.equals(instructions, that.instructions);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.provider.of.flow.util;
+
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableList;
+import org.junit.Before;
+import org.junit.Test;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.driver.Behaviour;
+import org.onosproject.net.driver.Driver;
+import org.onosproject.net.driver.DriverData;
+import org.onosproject.net.driver.DriverHandler;
+import org.onosproject.net.flow.DefaultTrafficSelector;
+import org.onosproject.net.flow.DefaultTrafficTreatment;
+import org.onosproject.net.flow.FlowEntry;
+import org.onosproject.net.flow.TrafficSelector;
+import org.onosproject.net.flow.TrafficTreatment;
+import org.projectfloodlight.openflow.protocol.OFFactory;
+import org.projectfloodlight.openflow.protocol.OFFlowStatsEntry;
+import org.projectfloodlight.openflow.protocol.instruction.OFInstruction;
+import org.projectfloodlight.openflow.protocol.match.Match;
+import org.projectfloodlight.openflow.protocol.match.MatchField;
+import org.projectfloodlight.openflow.protocol.ver10.OFFactoryVer10;
+import org.projectfloodlight.openflow.protocol.ver13.OFFactoryVer13;
+import org.projectfloodlight.openflow.types.OFPort;
+import org.projectfloodlight.openflow.types.U64;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Test suite for the cache of the flow entry conversions.
+ */
+public class FlowEntryConversionCacheTest {
+
+    private static final DeviceId DID1 = DeviceId.deviceId("of:0000000000000001");
+    private static final DeviceId DID2 = DeviceId.deviceId("of:0000000000000002");
+    private static final OFFactory OF10 = OFFactoryVer10.INSTANCE;
+    private static final OFFactory OF13 = OFFactoryVer13.INSTANCE;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final Ticker ticker = new Ticker() {
+        @Override
+        public long read() {
+            return nanos.get();
+        }
+    };
+    private final AtomicInteger converted = new AtomicInteger();
+    private final Supplier<TrafficSelector> selector = () -> {
+        converted.incrementAndGet();
+        return DefaultTrafficSelector.emptySelector();
+    };
+    private final Supplier<TrafficTreatment> treatment = DefaultTrafficTreatment::emptyTreatment;
+
+    private FlowEntryConversionCache cache;
+
+    @Before
+    public void setUp() {
+        cache = new FlowEntryConversionCache(10, TimeUnit.SECONDS, ticker);
+    }
+
+    /**
+     * Tests that equal matches and instructions of a device share one
+     * conversion.
+     */
+    @Test
+    public void testHitsAndMisses() {
+        FlowEntryConversionCache.Conversion conversion = cache.get(DID1, match(1), instructions(2), selector,
+                                                                   treatment);
+        assertEquals(1, converted.get());
+
+        assertSame(conversion, cache.get(DID1, match(1), instructions(2), selector, treatment));
+        assertEquals(1, converted.get());
+
+        assertNotSame(conversion, cache.get(DID1, match(3), instructions(2), selector, treatment));
+        assertNotSame(conversion, cache.get(DID1, match(1), instructions(3), selector, treatment));
+        assertNotSame(conversion, cache.get(DID2, match(1), instructions(2), selector, treatment));
+        assertEquals(4, converted.get());
+    }
+
+    /**
+     * Tests that the conversions expire once unused for the given time.
+     */
+    @Test
+    public void testExpiry() {
+        cache.get(DID1, match(1), instructions(2), selector, treatment);
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(8));
+        cache.get(DID1, match(1), instructions(2), selector, treatment);
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(8));
+        cache.get(DID1, match(1), instructions(2), selector, treatment);
+        assertEquals(1, converted.get());
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(11));
+        cache.get(DID1, match(1), instructions(2), selector, treatment);
+        assertEquals(2, converted.get());
+    }
+
+    /**
+     * Tests that the conversions of a device are removed on their own.
+     */
+    @Test
+    public void testInvalidate() {
+        cache.get(DID1, match(1), instructions(2), selector, treatment);
+        cache.get(DID2, match(1), instructions(2), selector, treatment);
+
+        cache.invalidate(DID1);
+        cache.get(DID2, match(1), instructions(2), selector, treatment);
+        assertEquals(2, converted.get());
+        cache.get(DID1, match(1), instructions(2), selector, treatment);
+        assertEquals(3, converted.get());
+
+        cache.clear();
+        cache.get(DID1, match(1), instructions(2), selector, treatment);
+        cache.get(DID2, match(1), instructions(2), selector, treatment);
+        assertEquals(5, converted.get());
+    }
+
+    /**
+     * Tests that the OpenFlow 1.0 entries, whose actions are wrapped into a
+     * new instruction for every entry, share the conversion of equal actions.
+     */
+    @Test
+    public void testOf10Entries() {
+        FlowEntry first = build(of10Entry(2, 10));
+        FlowEntry second = build(of10Entry(2, 20));
+        FlowEntry other = build(of10Entry(3, 30));
+
+        assertSame(first.selector(), second.selector());
+        assertSame(first.treatment(), second.treatment());
+        assertEquals(20, second.packets());
+        assertNotSame(first.treatment(), other.treatment());
+
+        FlowEntry uncached = new FlowEntryBuilder(DID1, of10Entry(3, 30), new TestDriverHandler()).build();
+        assertEquals(uncached.selector(), other.selector());
+        assertEquals(uncached.treatment(), other.treatment());
+    }
+
+    private FlowEntry build(OFFlowStatsEntry entry) {
+        return new FlowEntryBuilder(DID1, entry, new TestDriverHandler()).withConversionCache(cache).build();
+    }
+
+    private static Match match(int inPort) {
+        return OF13.buildMatch().setExact(MatchField.IN_PORT, OFPort.of(inPort)).build();
+    }
+
+    private static List<OFInstruction> instructions(int outPort) {
+        return ImmutableList.of(OF13.instructions().applyActions(
+                ImmutableList.of(OF13.actions().output(OFPort.of(outPort), Integer.MAX_VALUE))));
+    }
+
+    private static OFFlowStatsEntry of10Entry(int outPort, long packets) {
+        return OF10.buildFlowStatsEntry()
+                .setMatch(OF10.buildMatch().setExact(MatchField.IN_PORT, OFPort.of(1)).build())
+                .setActions(ImmutableList.of(OF10.actions().output(OFPort.of(outPort), 0xffff)))
+                .setCookie(U64.ZERO)
+                .setPriority(100)
+                .setDurationSec(5)
+                .setPacketCount(U64.of(packets))
+                .setByteCount(U64.of(packets * 100))
+                .build();
+    }
+
+    // Driver handler without extension interpreters
+    private static class TestDriverHandler implements DriverHandler {
+        @Override
+        public Driver driver() {
+            return null;
+        }
+
+        @Override
+        public DriverData data() {
+            return null;
+        }
+
+        @Override
+        public <T extends Behaviour> T behaviour(Class<T> behaviourClass) {
+            return null;
+        }
+
+        @Override
+        public <T> T get(Class<T> serviceClass) {
+            return null;
+        }
+
+        @Override
+        public boolean hasBehaviour(Class<? extends Behaviour> behaviourClass) {
+            return false;
+        }
+    }
+}
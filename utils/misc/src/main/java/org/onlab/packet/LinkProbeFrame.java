@@ -0,0 +1,300 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onlab.packet;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Received ONOS link probe frame, read in place.
+ * <p>
+ * The fields of the probe are located by walking the TLVs of the raw frame,
+ * and read at their offsets, rather than deserializing the frame into
+ * {@link Ethernet} and {@link ONOSLLDP} instances. Only frames carrying the
+ * name TLV of ONOS probes, a device TLV and a numeric port identifier are
+ * read; the other frames are left to {@link ONOSLLDP#parseONOSLLDP} and
+ * {@link ONOSLLDP#parseLLDP}.
+ * </p>
+ */
+public final class LinkProbeFrame {
+
+    private static final int ETHER_TYPE_OFFSET = 12;
+    private static final int SOURCE_MAC_OFFSET = 6;
+    private static final int VLAN_TAG_LENGTH = 4;
+    private static final int TLV_HEADER_LENGTH = 2;
+    private static final int ORG_HEADER_LENGTH =
+            LLDPOrganizationalTLV.OUI_LENGTH + LLDPOrganizationalTLV.SUBTYPE_LENGTH;
+    private static final int TIMESTAMP_LENGTH = 8;
+    private static final byte END_TLV_TYPE = 0;
+    private static final long INVALID_PORT = Long.MIN_VALUE;
+
+    private static final byte[] ONOS_OUI = MacAddress.ONOS.oui();
+    private static final byte[] DEFAULT_NAME = ONOSLLDP.DEFAULT_NAME.getBytes(StandardCharsets.UTF_8);
+
+    private final ByteBuffer frame;
+    private final short etherType;
+    private final int sourceOffset;
+    private final int chassisOffset;
+    private final int port;
+    private final String deviceId;
+    private final long timestamp;
+    private final int sigOffset;
+    private final int sigLength;
+
+    private LinkProbeFrame(ByteBuffer frame, short etherType, int sourceOffset,
+                           int chassisOffset, int port, String deviceId,
+                           long timestamp, int sigOffset, int sigLength) {
+        this.frame = frame;
+        this.etherType = etherType;
+        this.sourceOffset = sourceOffset;
+        this.chassisOffset = chassisOffset;
+        this.port = port;
+        this.deviceId = deviceId;
+        this.timestamp = timestamp;
+        this.sigOffset = sigOffset;
+        this.sigLength = sigLength;
+    }
+
+    /**
+     * Reads the ONOS link probe in the given frame, from its position to its
+     * limit. The frame is neither modified nor consumed, and must not be
+     * modified while the returned probe is in use.
+     *
+     * @param frame raw ethernet frame, may be null
+     * @return link probe, or null if the frame is not an ONOS link probe
+     * which can be read in place
+     */
+    public static LinkProbeFrame read(ByteBuffer frame) {
+        if (frame == null) {
+            return null;
+        }
+        int start = frame.position();
+        int limit = frame.limit();
+        int offset = start + ETHER_TYPE_OFFSET;
+        if (offset + 2 > limit) {
+            return null;
+        }
+        short etherType = frame.getShort(offset);
+        // skips the VLAN tags
+        while (etherType == Ethernet.TYPE_VLAN || etherType == Ethernet.TYPE_QINQ) {
+            offset += VLAN_TAG_LENGTH;
+            if (offset + 2 > limit) {
+                return null;
+            }
+            etherType = frame.getShort(offset);
+        }
+        if (etherType != Ethernet.TYPE_LLDP && etherType != Ethernet.TYPE_BSN) {
+            return null;
+        }
+
+        boolean named = false;
+        int chassisOffset = -1;
+        long port = INVALID_PORT;
+        int deviceOffset = -1;
+        int deviceLength = 0;
+        long timestamp = 0;
+        int sigOffset = -1;
+        int sigLength = 0;
+
+        offset += 2;
+        while (offset + TLV_HEADER_LENGTH <= limit) {
+            int header = frame.getShort(offset) & 0xffff;
+            byte type = (byte) (header >>> 9);
+            int length = header & 0x1ff;
+            int value = offset + TLV_HEADER_LENGTH;
+            if (type == END_TLV_TYPE) {
+                break;
+            }
+            if (value + length > limit) {
+                return null;
+            }
+            if (type == LLDP.CHASSIS_TLV_TYPE) {
+                if (length == LLDP.CHASSIS_TLV_SIZE && frame.get(value) == LLDP.CHASSIS_TLV_SUBTYPE) {
+                    chassisOffset = value + 1;
+                }
+            } else if (type == LLDP.PORT_TLV_TYPE) {
+                if (length < 2 || frame.get(value) != LLDP.PORT_TLV_COMPONENT_SUBTYPE) {
+                    return null;
+                }
+                port = readPortNumber(frame, value + 1, length - 1);
+                if (port == INVALID_PORT) {
+                    return null;
+                }
+            } else if (type == LLDPOrganizationalTLV.ORGANIZATIONAL_TLV_TYPE &&
+                    length >= ORG_HEADER_LENGTH && isOnosOui(frame, value)) {
+                byte subtype = frame.get(value + LLDPOrganizationalTLV.OUI_LENGTH);
+                int info = value + ORG_HEADER_LENGTH;
+                int infoLength = length - ORG_HEADER_LENGTH;
+                if (subtype == ONOSLLDP.NAME_SUBTYPE) {
+                    named = equals(frame, info, infoLength, DEFAULT_NAME);
+                } else if (subtype == ONOSLLDP.DEVICE_SUBTYPE) {
+                    deviceOffset = info;
+                    deviceLength = infoLength;
+                } else if (subtype == ONOSLLDP.TIMESTAMP_SUBTYPE && infoLength == TIMESTAMP_LENGTH) {
+                    timestamp = frame.getLong(info);
+                } else if (subtype == ONOSLLDP.SIG_SUBTYPE) {
+                    sigOffset = info;
+                    sigLength = infoLength;
+                }
+            }
+            offset = value + length;
+        }
+
+        if (!named || port == INVALID_PORT || deviceLength == 0) {
+            return null;
+        }
+        byte[] device = new byte[deviceLength];
+        for (int i = 0; i < deviceLength; i++) {
+            device[i] = frame.get(deviceOffset + i);
+        }
+        return new LinkProbeFrame(frame, etherType, start + SOURCE_MAC_OFFSET, chassisOffset, (int) port,
+                                  new String(device, StandardCharsets.UTF_8),
+                                  timestamp, sigOffset, sigLength);
+    }
+
+    /**
+     * Returns the ethernet type of the probe, LLDP or BDDP.
+     *
+     * @return ethernet type
+     */
+    public short etherType() {
+        return etherType;
+    }
+
+    /**
+     * Returns the source MAC address of the probe, that is the fingerprint
+     * of the cluster which sent it.
+     *
+     * @return source MAC address
+     */
+    public MacAddress sourceMac() {
+        return readMac(sourceOffset);
+    }
+
+    /**
+     * Returns the chassis identifier of the device which sent the probe.
+     *
+     * @return chassis MAC address, or {@link MacAddress#NONE} if the chassis
+     * identifier is not a MAC address
+     */
+    public MacAddress chassisId() {
+        return chassisOffset < 0 ? MacAddress.NONE : readMac(chassisOffset);
+    }
+
+    /**
+     * Returns the number of the port which sent the probe.
+     *
+     * @return port number
+     */
+    public int port() {
+        return port;
+    }
+
+    /**
+     * Returns the identifier of the device which sent the probe.
+     *
+     * @return device identifier as a string
+     */
+    public String deviceId() {
+        return deviceId;
+    }
+
+    /**
+     * Returns the timestamp of the probe.
+     *
+     * @return timestamp in millis, or 0 if the probe is not signed
+     */
+    public long timestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Verifies the signature of the probe, as {@link ONOSLLDP#verify} does.
+     *
+     * @param secret   secret signing the probes, null if they are not signed
+     * @param maxDelay maximum age of the probe, in millis
+     * @return true if the probe is valid
+     */
+    public boolean verify(String secret, long maxDelay) {
+        if (secret == null) {
+            return true;
+        }
+        if (sigOffset < 0) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        if (timestamp + maxDelay <= now || timestamp > now) {
+            return false;
+        }
+        byte[] sig = ONOSLLDP.createSig(deviceId, port, timestamp, secret);
+        if (sig == null || sig.length != sigLength) {
+            return false;
+        }
+        // compares every byte, whatever the outcome
+        int diff = 0;
+        for (int i = 0; i < sigLength; i++) {
+            diff |= sig[i] ^ frame.get(sigOffset + i);
+        }
+        return diff == 0;
+    }
+
+    private MacAddress readMac(int offset) {
+        byte[] mac = new byte[MacAddress.MAC_ADDRESS_LENGTH];
+        for (int i = 0; i < mac.length; i++) {
+            mac[i] = frame.get(offset + i);
+        }
+        return MacAddress.valueOf(mac);
+    }
+
+    // Parses the decimal port number of a port TLV, as written from an int
+    private static long readPortNumber(ByteBuffer frame, int offset, int length) {
+        boolean negative = frame.get(offset) == '-';
+        int first = negative ? 1 : 0;
+        // at most 10 digits
+        if (first == length || length - first > 10) {
+            return INVALID_PORT;
+        }
+        long number = 0;
+        for (int i = first; i < length; i++) {
+            byte digit = frame.get(offset + i);
+            if (digit < '0' || digit > '9') {
+                return INVALID_PORT;
+            }
+            number = number * 10 + digit - '0';
+        }
+        number = negative ? -number : number;
+        if (number < Integer.MIN_VALUE || number > Integer.MAX_VALUE) {
+            return INVALID_PORT;
+        }
+        return number;
+    }
+
+    private static boolean isOnosOui(ByteBuffer frame, int offset) {
+        return equals(frame, offset, ONOS_OUI.length, ONOS_OUI);
+    }
+
+    private static boolean equals(ByteBuffer frame, int offset, int length, byte[] bytes) {
+        if (length != bytes.length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (frame.get(offset + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
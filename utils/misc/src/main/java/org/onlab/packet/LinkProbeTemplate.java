@@ -0,0 +1,183 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onlab.packet;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Pre-serialized ONOS link probe frame of a device.
+ * <p>
+ * The parts of the frame which are the same for all ports of the device,
+ * that is the Ethernet header, chassis, TTL, name and device TLVs, are
+ * serialized once. A probe for a port is then written by copying them around
+ * the port TLV and, in secure mode, the timestamp and signature TLVs. The
+ * resulting frame is the one {@link ONOSLLDP#onosSecureLLDP} would produce.
+ * </p>
+ */
+public final class LinkProbeTemplate {
+
+    private static final int MIN_FRAME_LENGTH = 60;
+    private static final int TLV_HEADER_LENGTH = 2;
+    private static final int ETHERNET_HEADER_LENGTH = 14;
+    private static final int TIMESTAMP_LENGTH = 8;
+    private static final byte PORT_DESC_TLV_TYPE = 4;
+
+    private final String deviceId;
+    private final ChassisId chassisId;
+    private final MacAddress source;
+    private final String secret;
+
+    // Ethernet header and chassis TLV
+    private final byte[] head;
+    // TTL, name and device TLVs
+    private final byte[] tail;
+
+    /**
+     * Creates a template of the probes of a device.
+     *
+     * @param deviceId    device identifier as a string
+     * @param chassisId   chassis identifier of the device
+     * @param destination destination MAC address of the probes
+     * @param source      source MAC address of the probes
+     * @param etherType   ethernet type of the probes
+     * @param secret      secret signing the probes, null for unsigned probes
+     */
+    public LinkProbeTemplate(String deviceId, ChassisId chassisId,
+                             MacAddress destination, MacAddress source,
+                             short etherType, String secret) {
+        this.deviceId = checkNotNull(deviceId);
+        this.chassisId = checkNotNull(chassisId);
+        this.source = checkNotNull(source);
+        this.secret = secret;
+
+        ONOSLLDP lldp = new ONOSLLDP(ONOSLLDP.NAME_SUBTYPE, ONOSLLDP.DEVICE_SUBTYPE);
+        lldp.setPortId(0);
+        lldp.setDevice(deviceId);
+        lldp.setChassisId(chassisId);
+        Ethernet eth = new Ethernet();
+        eth.setEtherType(etherType);
+        eth.setDestinationMACAddress(checkNotNull(destination));
+        eth.setSourceMACAddress(source);
+        eth.setPayload(lldp);
+        byte[] frame = eth.serialize();
+
+        int portOffset = ETHERNET_HEADER_LENGTH + TLV_HEADER_LENGTH + lldp.getChassisId().getLength();
+        int ttlOffset = portOffset + TLV_HEADER_LENGTH + lldp.getPortId().getLength();
+        // leaves out the end of LLDPDU
+        this.head = Arrays.copyOfRange(frame, 0, portOffset);
+        this.tail = Arrays.copyOfRange(frame, ttlOffset, frame.length - TLV_HEADER_LENGTH);
+    }
+
+    /**
+     * Indicates whether this template still describes the probes of its
+     * device.
+     *
+     * @param chassisId chassis identifier of the device
+     * @param source    source MAC address of the probes
+     * @param secret    secret signing the probes
+     * @return true if the probes of this template carry the given values
+     */
+    public boolean matches(ChassisId chassisId, MacAddress source, String secret) {
+        return this.chassisId.equals(chassisId) && this.source.equals(source) &&
+                Objects.equals(this.secret, secret);
+    }
+
+    /**
+     * Returns the probe frame of a port, timestamped with the current time.
+     *
+     * @param portNum  port number
+     * @param portDesc port description, may be null or empty
+     * @return probe frame, or null if the probe cannot be signed
+     */
+    public byte[] probe(int portNum, String portDesc) {
+        return probe(portNum, portDesc, System.currentTimeMillis());
+    }
+
+    /**
+     * Returns the probe frame of a port.
+     *
+     * @param portNum   port number
+     * @param portDesc  port description, may be null or empty
+     * @param timestamp timestamp of the probe, in millis
+     * @return probe frame, or null if the probe cannot be signed
+     */
+    public byte[] probe(int portNum, String portDesc, long timestamp) {
+        byte[] port = String.valueOf(portNum).getBytes(StandardCharsets.UTF_8);
+        byte[] sig = null;
+        if (secret != null) {
+            sig = ONOSLLDP.createSig(deviceId, portNum, timestamp, secret);
+            if (sig == null) {
+                return null;
+            }
+        }
+        byte[] desc = null;
+        if (portDesc != null && !portDesc.isEmpty()) {
+            desc = portDesc.getBytes(StandardCharsets.UTF_8);
+            if (desc.length > LLDPTLV.MAX_LENGTH) {
+                desc = Arrays.copyOf(desc, LLDPTLV.MAX_LENGTH);
+            }
+        }
+
+        int length = head.length + TLV_HEADER_LENGTH + 1 + port.length + tail.length + TLV_HEADER_LENGTH;
+        if (sig != null) {
+            length += orgTlvLength(TIMESTAMP_LENGTH) + orgTlvLength(sig.length);
+        }
+        if (desc != null) {
+            length += TLV_HEADER_LENGTH + desc.length;
+        }
+
+        byte[] frame = new byte[Math.max(length, MIN_FRAME_LENGTH)];
+        ByteBuffer bb = ByteBuffer.wrap(frame);
+        bb.put(head);
+        putTlvHeader(bb, LLDP.PORT_TLV_TYPE, 1 + port.length);
+        bb.put(LLDP.PORT_TLV_COMPONENT_SUBTYPE);
+        bb.put(port);
+        bb.put(tail);
+        if (sig != null) {
+            putOrgTlvHeader(bb, ONOSLLDP.TIMESTAMP_SUBTYPE, TIMESTAMP_LENGTH);
+            bb.putLong(timestamp);
+            putOrgTlvHeader(bb, ONOSLLDP.SIG_SUBTYPE, sig.length);
+            bb.put(sig);
+        }
+        if (desc != null) {
+            putTlvHeader(bb, PORT_DESC_TLV_TYPE, desc.length);
+            bb.put(desc);
+        }
+        // end of LLDPDU and padding are left zeroed
+        return frame;
+    }
+
+    private static int orgTlvLength(int infoLength) {
+        return TLV_HEADER_LENGTH + LLDPOrganizationalTLV.OUI_LENGTH +
+                LLDPOrganizationalTLV.SUBTYPE_LENGTH + infoLength;
+    }
+
+    private static void putTlvHeader(ByteBuffer bb, byte type, int length) {
+        bb.putShort((short) ((0x7f & type) << 9 | 0x1ff & length));
+    }
+
+    private static void putOrgTlvHeader(ByteBuffer bb, byte subtype, int infoLength) {
+        putTlvHeader(bb, LLDPOrganizationalTLV.ORGANIZATIONAL_TLV_TYPE,
+                     LLDPOrganizationalTLV.OUI_LENGTH + LLDPOrganizationalTLV.SUBTYPE_LENGTH + infoLength);
+        bb.put(MacAddress.ONOS.oui());
+        bb.put(subtype);
+    }
+}
@@ -484,7 +484,7 @@ public class ONOSLLDP extends LLDP {
         }
     }
 
-    private static byte[] createSig(String deviceId, int portNum, long timestamp, String secret) {
+    static byte[] createSig(String deviceId, int portNum, long timestamp, String secret) {
         byte[] pnb = ByteBuffer.allocate(8).putLong(portNum).array();
         byte[] tmb = ByteBuffer.allocate(8).putLong(timestamp).array();
 
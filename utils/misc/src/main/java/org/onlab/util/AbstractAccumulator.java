@@ -189,6 +189,17 @@ public abstract class AbstractAccumulator<T> implements Accumulator<T> {
         return finalizedList;
     }
 
+    /**
+     * Removes the accumulated items without processing them, for instance
+     * to process or discard them right away when the accumulator is no
+     * longer used.
+     *
+     * @return list of the removed items
+     */
+    protected List<T> drainItems() {
+        return finalizeCurrentBatch();
+    }
+
     @Override
     public boolean isReady() {
         return true;
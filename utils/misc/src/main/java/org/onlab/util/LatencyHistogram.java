@@ -0,0 +1,168 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onlab.util;
+
+import com.google.common.collect.Maps;
+
+import java.util.SortedMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * High dynamic range histogram of latencies.
+ * <p>
+ * As in HdrHistogram, the values are counted in linear sub-buckets within
+ * buckets of increasing powers of 2, so that any recorded value is known
+ * within 1/64th, about 1.6%, whatever its magnitude. All values of a long
+ * are covered by the 3712 counters. Recording is lock-free, so the histogram
+ * may be updated from any number of threads.
+ * </p>
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int COUNTERS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(COUNTERS);
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Records a latency.
+     *
+     * @param nanos latency in nanoseconds
+     */
+    public void record(long nanos) {
+        record(nanos, 1);
+    }
+
+    /**
+     * Records several occurrences of the same latency.
+     *
+     * @param nanos latency in nanoseconds
+     * @param count number of occurrences
+     */
+    public void record(long nanos, int count) {
+        long value = Math.max(nanos, 0);
+        counts.addAndGet(index(value), count);
+        total.add(value * count);
+        max.accumulate(value);
+    }
+
+    /**
+     * Returns the number of recorded latencies.
+     *
+     * @return number of latencies
+     */
+    public long count() {
+        long count = 0;
+        for (int i = 0; i < COUNTERS; i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the mean of the recorded latencies.
+     *
+     * @return mean latency in nanoseconds; 0 if none was recorded
+     */
+    public long meanNanos() {
+        long count = count();
+        return count > 0 ? total.sum() / count : 0;
+    }
+
+    /**
+     * Returns the largest recorded latency.
+     *
+     * @return maximum latency in nanoseconds
+     */
+    public long maxNanos() {
+        return max.get();
+    }
+
+    /**
+     * Returns the given percentile of the recorded latencies, as the largest
+     * value equivalent to it within the precision of the histogram.
+     *
+     * @param percentile percentile, between 0 and 100
+     * @return latency in nanoseconds; 0 if none was recorded
+     */
+    public long percentileNanos(double percentile) {
+        long count = count();
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(count * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < COUNTERS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(highestEquivalentValue(i), maxNanos());
+            }
+        }
+        return maxNanos();
+    }
+
+    /**
+     * Returns the non-empty counters.
+     *
+     * @return number of latencies keyed by the largest value of their
+     * counter, in nanoseconds
+     */
+    public SortedMap<Long, Long> buckets() {
+        SortedMap<Long, Long> buckets = Maps.newTreeMap();
+        for (int i = 0; i < COUNTERS; i++) {
+            long count = counts.get(i);
+            if (count > 0) {
+                buckets.put(highestEquivalentValue(i), count);
+            }
+        }
+        return buckets;
+    }
+
+    /**
+     * Clears the recorded latencies.
+     */
+    public void reset() {
+        for (int i = 0; i < COUNTERS; i++) {
+            counts.set(i, 0);
+        }
+        total.reset();
+        max.reset();
+    }
+
+    // Values below 2 * SUB_BUCKETS are counted exactly; above, the value is
+    // shifted so that its SUB_BUCKET_BITS + 1 leading bits select the counter.
+    private static int index(long value) {
+        if (value < 2 * SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+    }
+
+    private static long highestEquivalentValue(int index) {
+        if (index < 2 * SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long subBucket = index % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
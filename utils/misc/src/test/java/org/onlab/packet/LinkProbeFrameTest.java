@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onlab.packet;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for the LinkProbeFrame class.
+ */
+public class LinkProbeFrameTest {
+
+    private static final String DEVICE_ID = "of:c0a80a6e00000001";
+    private static final ChassisId CHASSIS_ID = new ChassisId(67890);
+    private static final MacAddress SOURCE = MacAddress.valueOf("a4:23:05:00:00:01");
+    private static final int PORT_NUMBER = 98761234;
+    private static final String PORT_DESC = "Ethernet1";
+    private static final String TEST_SECRET = "test";
+
+    /**
+     * Tests that the fields of a signed probe are read as ONOSLLDP parses
+     * them.
+     */
+    @Test
+    public void testSameAsOnosLldp() throws Exception {
+        LinkProbeTemplate template = new LinkProbeTemplate(DEVICE_ID, CHASSIS_ID, MacAddress.ONOS_LLDP,
+                                                           SOURCE, Ethernet.TYPE_LLDP, TEST_SECRET);
+        byte[] frame = template.probe(PORT_NUMBER, PORT_DESC);
+        ONOSLLDP lldp = ONOSLLDP.parseONOSLLDP(Ethernet.deserializer().deserialize(frame, 0, frame.length));
+
+        LinkProbeFrame probe = LinkProbeFrame.read(ByteBuffer.wrap(frame));
+
+        assertEquals(Ethernet.TYPE_LLDP, probe.etherType());
+        assertEquals(SOURCE, probe.sourceMac());
+        assertEquals(lldp.getChassisIdByMac(), probe.chassisId());
+        assertEquals(DEVICE_ID, probe.deviceId());
+        assertEquals(PORT_NUMBER, probe.port());
+        assertEquals(lldp.getTimestamp(), probe.timestamp());
+        assertTrue(probe.verify(TEST_SECRET, 60_000));
+        assertFalse(probe.verify("other", 60_000));
+        assertFalse(probe.verify(TEST_SECRET, 0));
+    }
+
+    /**
+     * Tests that an unsigned probe behind a VLAN tag is read from the
+     * position of its buffer.
+     */
+    @Test
+    public void testUnsignedTaggedProbe() {
+        Ethernet eth = new Ethernet();
+        eth.setEtherType(Ethernet.TYPE_BSN);
+        eth.setDestinationMACAddress(MacAddress.BROADCAST);
+        eth.setSourceMACAddress(SOURCE);
+        eth.setVlanID((short) 10);
+        eth.setPad(true);
+        eth.setPayload(ONOSLLDP.onosSecureLLDP(DEVICE_ID, CHASSIS_ID, -2, null, null));
+        byte[] frame = eth.serialize();
+        ByteBuffer buffer = ByteBuffer.allocate(frame.length + 4);
+        buffer.position(4);
+        buffer.put(frame);
+        buffer.position(4);
+
+        LinkProbeFrame probe = LinkProbeFrame.read(buffer);
+
+        assertEquals(Ethernet.TYPE_BSN, probe.etherType());
+        assertEquals(SOURCE, probe.sourceMac());
+        assertEquals(-2, probe.port());
+        assertEquals(0, probe.timestamp());
+        assertTrue(probe.verify(null, 60_000));
+        assertFalse(probe.verify(TEST_SECRET, 60_000));
+        assertEquals(4, buffer.position());
+    }
+
+    /**
+     * Tests that the frames which are not ONOS probes are left to ONOSLLDP.
+     */
+    @Test
+    public void testNotOnosProbe() {
+        ONOSLLDP lldp = ONOSLLDP.onosSecureLLDP(DEVICE_ID, CHASSIS_ID, PORT_NUMBER, null);
+        Ethernet eth = new Ethernet();
+        eth.setEtherType(Ethernet.TYPE_LLDP);
+        eth.setDestinationMACAddress(MacAddress.ONOS_LLDP);
+        eth.setSourceMACAddress(SOURCE);
+        eth.setPayload(lldp);
+        byte[] frame = eth.serialize();
+
+        assertNull(LinkProbeFrame.read(null));
+        // truncated
+        assertNull(LinkProbeFrame.read(ByteBuffer.wrap(Arrays.copyOf(frame, 30))));
+
+        lldp.setPortName("eth0");
+        assertNull(LinkProbeFrame.read(ByteBuffer.wrap(eth.serialize())));
+
+        lldp.setPortId(PORT_NUMBER);
+        lldp.setName("other");
+        assertNull(LinkProbeFrame.read(ByteBuffer.wrap(eth.serialize())));
+
+        ByteBuffer.wrap(frame).putShort(12, Ethernet.TYPE_IPV4);
+        assertNull(LinkProbeFrame.read(ByteBuffer.wrap(frame)));
+    }
+}
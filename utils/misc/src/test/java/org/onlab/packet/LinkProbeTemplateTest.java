@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onlab.packet;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for the LinkProbeTemplate class.
+ */
+public class LinkProbeTemplateTest {
+
+    private static final String DEVICE_ID = "of:c0a80a6e00000001";
+    private static final ChassisId CHASSIS_ID = new ChassisId(67890);
+    private static final MacAddress SOURCE = MacAddress.valueOf("a4:23:05:00:00:01");
+    private static final int PORT_NUMBER = 98761234;
+    private static final String PORT_DESC = "Ethernet1";
+    private static final String TEST_SECRET = "test";
+    private static final long TIMESTAMP = 1234567890L;
+
+    /**
+     * Tests that the probes of a template are the ones built from ONOSLLDP.
+     */
+    @Test
+    public void testSameAsOnosLldp() {
+        ONOSLLDP lldp = ONOSLLDP.onosSecureLLDP(DEVICE_ID, CHASSIS_ID, PORT_NUMBER, PORT_DESC, TEST_SECRET);
+        lldp.setTimestamp(TIMESTAMP);
+        lldp.setSig(ONOSLLDP.createSig(DEVICE_ID, PORT_NUMBER, TIMESTAMP, TEST_SECRET));
+
+        LinkProbeTemplate template = new LinkProbeTemplate(DEVICE_ID, CHASSIS_ID, MacAddress.ONOS_LLDP,
+                                                           SOURCE, Ethernet.TYPE_LLDP, TEST_SECRET);
+
+        assertArrayEquals(frame(lldp, MacAddress.ONOS_LLDP, Ethernet.TYPE_LLDP),
+                          template.probe(PORT_NUMBER, PORT_DESC, TIMESTAMP));
+    }
+
+    /**
+     * Tests that unsigned probes are the ones built from ONOSLLDP.
+     */
+    @Test
+    public void testUnsignedSameAsOnosLldp() {
+        ONOSLLDP lldp = ONOSLLDP.onosSecureLLDP(DEVICE_ID, CHASSIS_ID, 1, null, null);
+
+        LinkProbeTemplate template = new LinkProbeTemplate(DEVICE_ID, CHASSIS_ID, MacAddress.BROADCAST,
+                                                           SOURCE, Ethernet.TYPE_BSN, null);
+
+        assertArrayEquals(frame(lldp, MacAddress.BROADCAST, Ethernet.TYPE_BSN),
+                          template.probe(1, null, TIMESTAMP));
+    }
+
+    /**
+     * Tests that a probe is parsed and verified as an ONOS probe.
+     */
+    @Test
+    public void testVerifiedProbe() throws Exception {
+        LinkProbeTemplate template = new LinkProbeTemplate(DEVICE_ID, CHASSIS_ID, MacAddress.ONOS_LLDP,
+                                                           SOURCE, Ethernet.TYPE_LLDP, TEST_SECRET);
+        byte[] frame = template.probe(PORT_NUMBER, PORT_DESC);
+
+        Ethernet eth = Ethernet.deserializer().deserialize(frame, 0, frame.length);
+        ONOSLLDP probe = ONOSLLDP.parseONOSLLDP(eth);
+
+        assertEquals(DEVICE_ID, probe.getDeviceString());
+        assertEquals(Integer.valueOf(PORT_NUMBER), probe.getPort());
+        assertTrue(ONOSLLDP.verify(probe, TEST_SECRET, 60_000));
+        assertFalse(ONOSLLDP.verify(probe, "other", 60_000));
+    }
+
+    /**
+     * Tests whether a template still matches its device.
+     */
+    @Test
+    public void testMatches() {
+        LinkProbeTemplate template = new LinkProbeTemplate(DEVICE_ID, CHASSIS_ID, MacAddress.ONOS_LLDP,
+                                                           SOURCE, Ethernet.TYPE_LLDP, TEST_SECRET);
+
+        assertTrue(template.matches(CHASSIS_ID, SOURCE, TEST_SECRET));
+        assertFalse(template.matches(new ChassisId(1), SOURCE, TEST_SECRET));
+        assertFalse(template.matches(CHASSIS_ID, MacAddress.ONOS, TEST_SECRET));
+        assertFalse(template.matches(CHASSIS_ID, SOURCE, null));
+    }
+
+    private static byte[] frame(ONOSLLDP lldp, MacAddress destination, short etherType) {
+        Ethernet eth = new Ethernet();
+        eth.setEtherType(etherType);
+        eth.setDestinationMACAddress(destination);
+        eth.setSourceMACAddress(SOURCE);
+        eth.setPad(true);
+        eth.setPayload(lldp);
+        return eth.serialize();
+    }
+}
@@ -134,6 +134,17 @@ public class AbstractAccumulatorTest {
         assertEquals("incorrect batch", "abcdefg", accumulator.batch);
     }
 
+    @Test
+    public void drainItems() {
+        TestAccumulator accumulator = new TestAccumulator();
+        accumulator.add(new TestItem("a"));
+        accumulator.add(new TestItem("b"));
+        assertEquals("incorrect drained items", 2, accumulator.drainItems().size());
+        timer.advanceTimeMillis(120, LONG_REAL_TIME_DELAY);
+        assertTrue("should not have fired", accumulator.batch.isEmpty());
+        assertTrue("should have no items left", accumulator.drainItems().isEmpty());
+    }
+
     @Test
     public void stormTest() {
         TestAccumulator accumulator = new TestAccumulator();
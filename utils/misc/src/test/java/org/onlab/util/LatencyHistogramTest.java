@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onlab.util;
+
+import org.junit.Test;
+
+import java.util.SortedMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of the latency histogram.
+ */
+public class LatencyHistogramTest {
+
+    /**
+     * Tests that the small latencies are counted exactly.
+     */
+    @Test
+    public void testSmallValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long nanos = 0; nanos < 128; nanos++) {
+            histogram.record(nanos);
+        }
+        assertEquals(128, histogram.count());
+        assertEquals(63, histogram.meanNanos());
+        assertEquals(127, histogram.maxNanos());
+        assertEquals(63, histogram.percentileNanos(50));
+        assertEquals(0, histogram.percentileNanos(0));
+        assertEquals(127, histogram.percentileNanos(100));
+        assertEquals(128, histogram.buckets().size());
+    }
+
+    /**
+     * Tests that the large latencies are known within 1/64th.
+     */
+    @Test
+    public void testPrecision() {
+        for (long nanos = 128; nanos > 0 && nanos < Long.MAX_VALUE / 3; nanos = nanos * 3 + 1) {
+            LatencyHistogram histogram = new LatencyHistogram();
+            histogram.record(nanos);
+            histogram.record(nanos * 2);
+            long percentile = histogram.percentileNanos(50);
+            assertTrue(percentile >= nanos);
+            assertTrue(percentile - nanos <= nanos / 64);
+            assertEquals(nanos * 2, histogram.percentileNanos(100));
+        }
+
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(Long.MAX_VALUE);
+        histogram.record(-1);
+        assertEquals(Long.MAX_VALUE, histogram.percentileNanos(100));
+        assertEquals(0, histogram.percentileNanos(50));
+    }
+
+    /**
+     * Tests the percentiles of latencies recorded several at once.
+     */
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1_000, 90);
+        histogram.record(1_000_000, 9);
+        histogram.record(1_000_000_000, 1);
+
+        assertEquals(100, histogram.count());
+        assertEquals(1_000_000_000, histogram.maxNanos());
+        assertEquals((90 * 1_000L + 9 * 1_000_000L + 1_000_000_000L) / 100, histogram.meanNanos());
+        assertWithin(1_000, histogram.percentileNanos(50));
+        assertWithin(1_000, histogram.percentileNanos(90));
+        assertWithin(1_000_000, histogram.percentileNanos(99));
+        assertEquals(1_000_000_000, histogram.percentileNanos(99.9));
+
+        SortedMap<Long, Long> buckets = histogram.buckets();
+        assertEquals(3, buckets.size());
+        assertEquals(Long.valueOf(90), buckets.get(buckets.firstKey()));
+        assertEquals(Long.valueOf(1), buckets.get(buckets.lastKey()));
+    }
+
+    /**
+     * Tests that the histogram is cleared.
+     */
+    @Test
+    public void testReset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1_000, 10);
+        histogram.reset();
+
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.meanNanos());
+        assertEquals(0, histogram.maxNanos());
+        assertEquals(0, histogram.percentileNanos(99));
+        assertTrue(histogram.buckets().isEmpty());
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue(actual >= expected && actual - expected <= expected / 64);
+    }
+}